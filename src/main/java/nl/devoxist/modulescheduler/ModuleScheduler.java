@@ -22,6 +22,9 @@
 
 package nl.devoxist.modulescheduler;
 
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.runner.RecurringRunner;
+import nl.devoxist.modulescheduler.runner.RunReport;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
 
 /**
@@ -29,7 +32,7 @@ import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
  * {@link #updateSettings(ModuleSchedulerSettings)}.
  *
  * @author Dev-Bjorn
- * @version 1.0.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public interface ModuleScheduler {
@@ -61,4 +64,28 @@ public interface ModuleScheduler {
      * @since 1.0.0
      */
     void afterModuleExecute(Module module);
+
+    /**
+     * Called after the {@link Module} or task has been measured, this is after
+     * {@link #afterModuleExecute(Module)}. The report contains the durations of the construction and the execution of
+     * the {@link Module}. It also contains the used CPU time and the allocated bytes, if the resource accounting is
+     * enabled through {@link ModuleSchedulerSettings#setResourceAccounting(boolean)}.
+     *
+     * @param moduleReport The report of the {@link Module} that has been executed.
+     *
+     * @since 1.3.0
+     */
+    default void onModuleReport(ModuleReport moduleReport) {
+    }
+
+    /**
+     * Called after a tick of a {@link RecurringRunner} has completed. The report contains the reports of the
+     * {@link Module}s of the tick.
+     *
+     * @param runReport The report of the completed tick.
+     *
+     * @since 1.3.0
+     */
+    default void onTickReport(RunReport runReport) {
+    }
 }
@@ -22,24 +22,42 @@
 
 package nl.devoxist.modulescheduler;
 
+import nl.devoxist.modulescheduler.distributed.DistributedRunner;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.resolvers.ConditionResolver;
 import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.schedule.OverlapPolicy;
+import nl.devoxist.modulescheduler.schedule.TickSchedule;
+import nl.devoxist.modulescheduler.runner.LazyModuleLoader;
+import nl.devoxist.modulescheduler.runner.RecurringRunner;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.runner.ShutdownReport;
+import nl.devoxist.modulescheduler.runner.ShutdownRunner;
 import nl.devoxist.modulescheduler.runner.StageRunner;
 import nl.devoxist.modulescheduler.settings.ModuleInformation;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.ModuleGraph;
 import nl.devoxist.modulescheduler.stage.Stage;
 import nl.devoxist.modulescheduler.stage.Staging;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link Scheduler} is an object that is scheduling and executing the modules that are given in the settings of
  * {@link ModuleScheduler}.
  *
  * @author Dev-Bjorn
- * @version 1.0.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class Scheduler {
@@ -62,6 +80,39 @@ public final class Scheduler {
      * @since 1.0.0
      */
     private final ModuleSchedulerInformation moduleSchedulerInformation;
+    /**
+     * The future of the report of the run of the current running scheduler.
+     *
+     * @since 1.3.0
+     */
+    private final CompletableFuture<RunReport> runReport = new CompletableFuture<>();
+    /**
+     * The constructed {@link Module}s of all the runs, linked with their class. These are used to construct the
+     * {@link Module}s that are added to the graph later.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> constructedModules = new ConcurrentHashMap<>();
+    /**
+     * The loader of the {@link nl.devoxist.modulescheduler.annotation.Lazy} {@link Module}s, that are left out of the
+     * eager runs and are constructed on their first lookup.
+     *
+     * @since 1.3.0
+     */
+    private final LazyModuleLoader lazyModuleLoader;
+    /**
+     * The live graph of the {@link Module}s. This is {@code null} until the {@link Module}s are staged.
+     *
+     * @since 1.3.0
+     */
+    private volatile ModuleGraph moduleGraph;
+    /**
+     * The future of the last run or change of the graph. The changes of the graph are chained on this future, so
+     * these are applied one by one after the first run.
+     *
+     * @since 1.3.0
+     */
+    private CompletableFuture<?> lastUpdate = runReport;
 
     /**
      * Construct and run the loading algorithm of the given {@link ModuleScheduler}. It will automatically resolve the
@@ -76,6 +127,8 @@ public final class Scheduler {
         this.moduleScheduler = moduleScheduler;
         this.moduleSchedulerSettings = new ModuleSchedulerSettings();
         this.moduleSchedulerInformation = new ModuleSchedulerInformation(moduleSchedulerSettings);
+        this.lazyModuleLoader = new LazyModuleLoader(moduleSchedulerSettings, moduleScheduler, constructedModules);
+        this.moduleSchedulerSettings.getModuleRegistry().setLazyLoader(lazyModuleLoader);
 
         Thread thread = new Thread(this::run);
         thread.start();
@@ -92,17 +145,294 @@ public final class Scheduler {
         try {
             this.moduleScheduler.updateSettings(this.moduleSchedulerSettings);
 
-            Set<Class<? extends Module>> modules = this.moduleSchedulerSettings.getModules();
+            Set<Class<? extends Module>> modules = ConditionResolver.pruneModules(
+                    this.moduleSchedulerSettings.getModules(),
+                    this.moduleSchedulerSettings
+            );
             Map<Class<? extends Module>, ModuleInformation<?>>
-                    moduleInformationSet = DependencyResolver.resolveDependencies(modules);
+                    moduleInformationSet = DependencyResolver.resolveDependencies(
+                    modules,
+                    this.moduleSchedulerSettings.getResolverParallelism()
+            );
 
             this.moduleSchedulerInformation.setModuleInformationMap(moduleInformationSet);
 
             Set<Stage> stages = Staging.stageModules(this.moduleSchedulerInformation);
+            this.moduleGraph = new ModuleGraph(this.moduleSchedulerInformation, moduleInformationSet, stages);
+            Set<Stage> eagerStages = this.lazyModuleLoader.defer(stages);
 
-            StageRunner.runStages(this.moduleSchedulerSettings, this.moduleScheduler, stages);
-        } catch (InterruptedException ignored) {
+            CompletableFuture<RunReport> stagesReport;
+            if (this.moduleSchedulerSettings.getWorkerProcesses() > 0) {
+                stagesReport = DistributedRunner.runStages(
+                        this.moduleSchedulerSettings,
+                        this.moduleScheduler,
+                        eagerStages,
+                        this.constructedModules
+                );
+            } else {
+                stagesReport = StageRunner.runStages(
+                        this.moduleSchedulerSettings,
+                        this.moduleScheduler,
+                        eagerStages,
+                        this.constructedModules
+                );
+            }
+
+            stagesReport.whenComplete((report, throwable) -> {
+                if (throwable != null) {
+                    this.runReport.completeExceptionally(throwable);
+                    return;
+                }
+                this.runReport.complete(report);
+            });
+        } catch (InterruptedException e) {
+            this.runReport.completeExceptionally(e);
+        } catch (RuntimeException e) {
+            this.runReport.completeExceptionally(e);
+            throw e;
         }
     }
 
+    /**
+     * Get the future of the report of the run. The report contains the measured durations of the {@link Module}s and
+     * the predicted and measured makespan of the run.
+     *
+     * @return The future of the report of the run. This future completes exceptionally if the {@link Module}s could
+     * not be staged or if a {@link Module} failed.
+     *
+     * @since 1.3.0
+     */
+    public CompletableFuture<RunReport> getRunReport() {
+        return runReport;
+    }
+
+    /**
+     * Add {@link Module}s to the live graph of the scheduler. Only the added {@link Module}s are resolved and staged,
+     * after which these are constructed and executed on top of the already constructed {@link Module}s. The change is
+     * applied after the first run and after the previous changes of the graph. The inactive
+     * {@link nl.devoxist.modulescheduler.annotation.Conditional} {@link Module}s and their dependents are not added.
+     *
+     * @param modules The {@link Module}s that need to be added.
+     *
+     * @return The future of the report of the run of the added {@link Module}s. This future completes exceptionally
+     * if the {@link Module}s could not be staged, if the added {@link Module}s contain a dependency cycle or if an
+     * added {@link Module} failed.
+     *
+     * @since 1.3.0
+     */
+    public synchronized CompletableFuture<RunReport> addModules(@NotNull Collection<Class<? extends Module>> modules) {
+        List<Class<? extends Module>> moduleList = List.copyOf(modules);
+
+        CompletableFuture<RunReport> update = lastUpdate
+                .handle((result, throwable) -> null)
+                .thenCompose(ignored -> StageRunner.runStages(
+                        this.moduleSchedulerSettings,
+                        this.moduleScheduler,
+                        this.lazyModuleLoader.defer(requireModuleGraph().addModules(
+                                ConditionResolver.pruneModules(moduleList, this.moduleSchedulerSettings)
+                        )),
+                        this.constructedModules
+                ));
+
+        lastUpdate = update;
+        return update;
+    }
+
+    /**
+     * Remove {@link Module}s from the live graph of the scheduler. The {@link Module}s that depend on a removed
+     * {@link Module} are removed as well, the {@link Module}s that only softly depend on it stay. The removed
+     * {@link AutoCloseable} {@link Module}s are closed in the reverse load order. The change is applied after the first run and after the previous changes of
+     * the graph.
+     *
+     * @param modules The {@link Module}s that need to be removed.
+     *
+     * @return The future of the classes of all the removed {@link Module}s. This future completes exceptionally if
+     * the {@link Module}s could not be staged.
+     *
+     * @since 1.3.0
+     */
+    public synchronized CompletableFuture<Set<Class<? extends Module>>> removeModules(
+            @NotNull Collection<Class<? extends Module>> modules
+    ) {
+        List<Class<? extends Module>> moduleList = List.copyOf(modules);
+
+        CompletableFuture<Set<Class<? extends Module>>> update = lastUpdate
+                .handle((result, throwable) -> null)
+                .thenApply(ignored -> {
+                    ModuleGraph graph = requireModuleGraph();
+                    Set<Stage> affectedStages = graph.getAffectedStages(moduleList);
+                    Set<Class<? extends Module>> removedModules = graph.removeModules(moduleList);
+
+                    Map<Class<? extends Module>, Module> removedInstances = new HashMap<>();
+                    for (Class<? extends Module> moduleCls : removedModules) {
+                        Module module = this.constructedModules.remove(moduleCls);
+                        if (module != null) {
+                            removedInstances.put(moduleCls, module);
+                        }
+                    }
+                    this.lazyModuleLoader.forget(removedModules);
+                    removedModules.forEach(this.moduleSchedulerSettings.getModuleRegistry()::remove);
+
+                    ShutdownRunner.closeModules(this.moduleSchedulerSettings, affectedStages, removedInstances);
+                    return removedModules;
+                });
+
+        lastUpdate = update;
+        return update;
+    }
+
+    /**
+     * Execute the given {@link Module}s and all their transitive dependents again. Fresh instances of these
+     * {@link Module}s are constructed in the correct load order, with the parallelism of the settings, and replace the
+     * previous instances in the output register. The replaced {@link AutoCloseable} instances are closed in the
+     * reverse load order after the re-execution, an instance that has not been replaced because the re-execution
+     * failed is kept. The other {@link Module}s are not executed again, their instances are used to construct the
+     * fresh instances. The re-execution is applied after the first run and after the previous
+     * changes of the graph. The lazy {@link Module}s that have not been constructed yet are not executed.
+     *
+     * @param modules The {@link Module}s that need to be executed again.
+     *
+     * @return The future of the report of the re-execution. This future completes exceptionally if the
+     * {@link Module}s could not be staged or if a {@link Module} failed.
+     *
+     * @since 1.3.0
+     */
+    public synchronized CompletableFuture<RunReport> rerunModules(@NotNull Collection<Class<? extends Module>> modules) {
+        List<Class<? extends Module>> moduleList = List.copyOf(modules);
+
+        CompletableFuture<RunReport> update = lastUpdate
+                .handle((result, throwable) -> null)
+                .thenCompose(ignored -> {
+                    Set<Stage> stages =
+                            this.lazyModuleLoader.removeUnloaded(requireModuleGraph().getAffectedStages(moduleList));
+                    Map<Class<? extends Module>, Module> previousModules = new HashMap<>();
+                    for (Stage stage : stages) {
+                        Class<? extends Module> moduleCls = stage.moduleInformation().getModule();
+                        Module module = this.constructedModules.remove(moduleCls);
+                        if (module != null) {
+                            previousModules.put(moduleCls, module);
+                        }
+                    }
+
+                    return StageRunner.runStages(
+                            this.moduleSchedulerSettings,
+                            this.moduleScheduler,
+                            stages,
+                            this.constructedModules
+                    ).whenComplete((report, throwable) -> {
+                        previousModules.forEach(this.constructedModules::putIfAbsent);
+                        ShutdownRunner.closeReplacedModules(
+                                this.moduleSchedulerSettings,
+                                stages,
+                                previousModules,
+                                this.constructedModules
+                        );
+                    });
+                });
+
+        lastUpdate = update;
+        return update;
+    }
+
+    /**
+     * Run all the {@link Module}s of the live graph again and again on the ticks of the given schedule. The graph is
+     * compiled and prepared once, every tick constructs and executes fresh instances of the {@link Module}s, which
+     * replace the previous instances in the output register. The replaced {@link AutoCloseable} instances are closed
+     * after every tick. The recurring run starts after the first run and after
+     * the previous changes of the graph. Changes of the graph after the start are not picked up by the recurring run.
+     *
+     * @param tickSchedule  The schedule of the ticks.
+     * @param overlapPolicy The policy for a tick that is due while the previous tick is still running.
+     *
+     * @return The future of the started {@link RecurringRunner}, which needs to be closed to stop the ticks. This
+     * future completes exceptionally if the {@link Module}s could not be staged.
+     *
+     * @since 1.3.0
+     */
+    public synchronized CompletableFuture<RecurringRunner> runRecurring(
+            @NotNull TickSchedule tickSchedule,
+            @NotNull OverlapPolicy overlapPolicy
+    ) {
+        CompletableFuture<RecurringRunner> update = lastUpdate
+                .handle((result, throwable) -> null)
+                .thenApply(ignored -> RecurringRunner.start(
+                        this.moduleSchedulerSettings,
+                        this.moduleScheduler,
+                        this.lazyModuleLoader.removeUnloaded(requireModuleGraph().getStages()),
+                        this.constructedModules,
+                        tickSchedule,
+                        overlapPolicy
+                ));
+
+        lastUpdate = update;
+        return update;
+    }
+
+    /**
+     * Close the constructed {@link AutoCloseable} {@link Module}s in the reverse load order. A {@link Module} is closed
+     * after all the {@link Module}s that depend on it have been closed, independent {@link Module}s are closed in
+     * parallel. A closing that does not return within its timeout is reported and does not hold up the other
+     * closings. The closed {@link Module}s are removed from the output register and the lazy {@link Module}s that
+     * have not been constructed yet are not constructed anymore. The shutdown is applied after the
+     * first run and after the previous changes of the graph. The {@link RecurringRunner}s need to be closed before the
+     * shutdown, otherwise they construct new instances of the {@link Module}s.
+     *
+     * @return The future of the report of the shutdown.
+     *
+     * @since 1.3.0
+     */
+    public synchronized CompletableFuture<ShutdownReport> shutdown() {
+        CompletableFuture<ShutdownReport> update = lastUpdate
+                .handle((result, throwable) -> null)
+                .thenApply(ignored -> {
+                    ModuleGraph graph = this.moduleGraph;
+                    Set<Stage> stages = graph == null ? Set.of() : graph.getStages();
+                    ShutdownReport shutdownReport = ShutdownRunner.closeModules(
+                            this.moduleSchedulerSettings,
+                            stages,
+                            this.constructedModules
+                    );
+
+                    this.lazyModuleLoader.forget(stages.stream()
+                                                         .<Class<? extends Module>>map(
+                                                                 (stage) -> stage.moduleInformation().getModule()
+                                                         )
+                                                         .toList());
+                    for (Class<? extends Module> moduleCls : Set.copyOf(this.constructedModules.keySet())) {
+                        this.constructedModules.remove(moduleCls);
+                        this.moduleSchedulerSettings.getModuleRegistry().remove(moduleCls);
+                    }
+                    return shutdownReport;
+                });
+
+        lastUpdate = update;
+        return update;
+    }
+
+    /**
+     * Get the live graph of the {@link Module}s.
+     *
+     * @return The live graph of the {@link Module}s, or {@code null} if the {@link Module}s are not yet staged.
+     *
+     * @since 1.3.0
+     */
+    public @Nullable ModuleGraph getModuleGraph() {
+        return moduleGraph;
+    }
+
+    /**
+     * Get the live graph of the {@link Module}s, which must be staged.
+     *
+     * @return The live graph of the {@link Module}s.
+     *
+     * @throws ModuleException If the {@link Module}s are not staged.
+     * @since 1.3.0
+     */
+    private @NotNull ModuleGraph requireModuleGraph() {
+        ModuleGraph graph = this.moduleGraph;
+        if (graph == null) {
+            throw new ModuleException("The modules have not been staged, so the graph cannot be changed.");
+        }
+        return graph;
+    }
 }
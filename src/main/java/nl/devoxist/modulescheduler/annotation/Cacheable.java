@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the {@link Module} as cacheable.
+ * <p>
+ * A cacheable {@link Module} is deterministic, it produces the same state from the same inputs. The state of the
+ * {@link Module} is stored in the module cache after its execution, under a key that is derived from the inputs of the
+ * {@link Module} and the keys of its dependencies. When the key is found in the cache during a later run, the
+ * {@link Module} is not constructed and not executed, but restored from the cache by its {@link ModuleCodec}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+    /**
+     * Set the codec of the {@link Module}, which derives the key of the inputs and stores and restores the state of
+     * the {@link Module}. The codec needs a constructor without parameters.
+     *
+     * @return The codec of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    Class<? extends ModuleCodec<?>> value();
+
+}
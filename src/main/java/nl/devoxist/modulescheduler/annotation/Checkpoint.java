@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the {@link Module} as checkpointable.
+ * <p>
+ * The effects of {@link Module#onExecute()} of a checkpointable {@link Module} are durable, like files that are written
+ * to disk. When the checkpoint journal is enabled, the completion of a checkpointable {@link Module} is recorded in the
+ * journal. When an interrupted run is started again, a recorded {@link Module} is constructed and published, but
+ * {@link Module#onExecute()} is skipped. So only the remaining {@link Module}s are executed.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Checkpoint {
+
+    /**
+     * Set the version of the {@link Module}. A recorded completion is only valid for the same version, so a change of
+     * the version executes the {@link Module} again.
+     *
+     * @return The version of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    String version() default "";
+
+}
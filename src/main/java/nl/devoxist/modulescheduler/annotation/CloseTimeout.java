@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+import java.lang.annotation.*;
+
+/**
+ * Set the timeout of the closing of an {@link AutoCloseable} {@link Module} on shutdown. Without this annotation the
+ * default timeout of the settings is used. When the timeout has passed, the {@link Module} is reported as timed out
+ * and the shutdown continues with the dependencies of the {@link Module}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CloseTimeout {
+
+    /**
+     * Set the timeout of the closing of the {@link Module}, this must be at least {@code 1}. An invalid timeout is
+     * logged and the default timeout of the settings is used instead.
+     *
+     * @return The timeout of the closing in milliseconds.
+     *
+     * @since 1.3.0
+     */
+    long value();
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.condition.ModuleCondition;
+
+import java.lang.annotation.*;
+
+/**
+ * Declare the conditions under which the {@link Module} is active. The conditions are evaluated before the
+ * {@link Module}s are resolved, so an inactive {@link Module} is never constructed and its dependencies are never
+ * retrieved. The {@link Module}s that depend on an inactive {@link Module} are pruned as well.
+ * <p>
+ * The {@link Module} is active if all the {@link ModuleCondition}s are active and all the toggles are enabled in the
+ * settings of the scheduler.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Conditional {
+
+    /**
+     * Set the conditions of the {@link Module}. A condition needs a public constructor without parameters, it is
+     * constructed once and shared by all the {@link Module}s that use it.
+     *
+     * @return The conditions of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    Class<? extends ModuleCondition>[] value() default {};
+
+    /**
+     * Set the names of the toggles that need to be enabled through
+     * {@link nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings#setToggle(String, boolean)}.
+     *
+     * @return The names of the toggles of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    String[] toggles() default {};
+
+}
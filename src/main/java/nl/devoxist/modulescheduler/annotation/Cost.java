@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+import java.lang.annotation.*;
+
+/**
+ * Declare the expected cost of the {@link Module}.
+ * <p>
+ * The weight is relative to the other {@link Module}s, a {@link Module} with weight {@code 4} is expected to take four
+ * times as long as a {@link Module} with weight {@code 1}. A {@link Module} without this annotation has the weight
+ * {@code 1}. The weights are used for the ready queue priority, the balancing of the worker processes and the
+ * predicted makespan, when the module profile has no measured durations of the {@link Module}. After a run, the
+ * weights are compared with the measured durations, so a weight that does not match the reality anymore is reported.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cost {
+
+    /**
+     * Set the relative weight of the {@link Module}, this must be at least {@code 1}.
+     *
+     * @return The relative weight of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    long value();
+
+    /**
+     * Set the expected amount of memory that the {@link Module} uses while it runs, this cannot be negative.
+     *
+     * @return The expected amount of memory in bytes.
+     *
+     * @since 1.3.0
+     */
+    long memoryBytes() default 0;
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the class of the work of the {@link Module}, so the runner executes the {@link Module} on a matching pool. A
+ * {@link Module} without this {@link Annotation} is a {@link ExecutionClass#COMPUTE} {@link Module}.
+ * <p>
+ * The order of the {@link Module}s across the pools follows the dependencies, a {@link Module} is only handed to its
+ * pool when all its dependencies have been executed.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Execution {
+
+    /**
+     * Set the class of the work of the {@link Module}.
+     *
+     * @return The class of the work of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    ExecutionClass value();
+
+    /**
+     * Set the name of the executor of a {@link ExecutionClass#CUSTOM} {@link Module}. The executor is registered in
+     * the settings under this name.
+     *
+     * @return The name of the executor.
+     *
+     * @since 1.3.0
+     */
+    String executor() default "";
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+/**
+ * The class of the work of a {@link Module}, which decides the pool where the {@link Module} is executed.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ * @see Execution
+ */
+public enum ExecutionClass {
+    /**
+     * The {@link Module} is bound by the CPU. It is executed on the work-stealing pool, of which the size is the
+     * parallelism of the settings.
+     *
+     * @since 1.3.0
+     */
+    COMPUTE,
+    /**
+     * The {@link Module} mostly waits for I/O. It is executed on the elastic pool of blocking {@link Module}s, which
+     * uses virtual threads when the runtime supports these.
+     *
+     * @since 1.3.0
+     */
+    BLOCKING,
+    /**
+     * The {@link Module} is executed on a named executor of the settings.
+     *
+     * @since 1.3.0
+     */
+    CUSTOM
+}
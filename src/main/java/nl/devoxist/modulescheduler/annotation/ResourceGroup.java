@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks the {@link Module} to use a shared resource, like a database or a disk.
+ * <p>
+ * The runner never executes more {@link Module}s of the same resource group at the same time than the permits of the
+ * group. A {@link Module} that waits for a permit does not hold a worker, the free workers run the ready
+ * {@link Module}s of the other groups. A {@link Module} can use multiple resource groups.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(ResourceGroups.class)
+public @interface ResourceGroup {
+
+    /**
+     * Set the name of the resource group.
+     *
+     * @return The name of the resource group.
+     *
+     * @since 1.3.0
+     */
+    String value();
+
+    /**
+     * Set the amount of {@link Module}s of the group that can be executed at the same time. When the {@link Module}s
+     * of a group declare different permits, the lowest permits are used. The permits can be overridden in the
+     * settings.
+     *
+     * @return The amount of {@link Module}s of the group that can be executed at the same time.
+     *
+     * @since 1.3.0
+     */
+    int permits() default 1;
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.annotation;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.channel.ModuleChannel;
+import nl.devoxist.modulescheduler.channel.StreamingModule;
+
+import java.lang.annotation.*;
+
+/**
+ * Set the streaming dependencies of the {@link Module}.
+ * <p>
+ * A streaming dependency is a {@link StreamingModule}, of which the {@link Module} consumes the
+ * {@link ModuleChannel}. A streaming dependency is a dependency like those of {@link Dependency}, but the
+ * {@link Module} is started as soon as the streaming dependency has been constructed, instead of after its
+ * {@link Module#onExecute()} has returned. So the items are consumed while the streaming dependency still produces
+ * them.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Streaming {
+
+    /**
+     * Set the streaming dependencies of the class. Every streaming dependency must implement
+     * {@link StreamingModule}.
+     *
+     * @return The streaming dependencies of the class.
+     *
+     * @since 1.3.0
+     */
+    Class<? extends StreamingModule<?>>[] value();
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.cache;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteBufferInputStream} is an {@link InputStream} that reads from a {@link ByteBuffer}, so a memory-mapped file
+ * can be read without copying it first.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+final class ByteBufferInputStream extends InputStream {
+    /**
+     * The buffer that is read.
+     *
+     * @since 1.3.0
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Construct a new {@link ByteBufferInputStream}.
+     *
+     * @param buffer The buffer that is read, from its position up to its limit.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Read the next byte of the buffer.
+     *
+     * @return The next byte, or {@code -1} if the end of the buffer is reached.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    /**
+     * Read up to {@code length} bytes of the buffer into the given array.
+     *
+     * @param bytes  The array where the bytes are written to.
+     * @param offset The offset in the array.
+     * @param length The maximum amount of bytes that are read.
+     *
+     * @return The amount of read bytes, or {@code -1} if the end of the buffer is reached.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public int read(byte @NotNull [] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+
+        int read = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, read);
+        return read;
+    }
+
+    /**
+     * Get the amount of bytes that remain in the buffer.
+     *
+     * @return The amount of remaining bytes.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.cache;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cacheable;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ModuleCache} is a content-addressed store of the state of the {@link Cacheable} {@link Module}s. Every entry
+ * is a file in the directory of the cache, named after its key. The key of a {@link Module} is the SHA-256 hash of the
+ * class name of the {@link Module}, the key of its inputs and the keys of its dependencies. So when the inputs of a
+ * {@link Module} change, the keys of the {@link Module} and of all its dependents change.
+ * <p>
+ * An entry starts with a magic number and the class name of the {@link Module}, followed by the state that is written
+ * by the {@link ModuleCodec}. The entries are read through a memory-mapped buffer and are written to a temporary file
+ * first, which replaces the entry afterwards. So a crash during the write does not leave a partial entry behind.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleCache {
+    /**
+     * The magic number at the start of a cache entry.
+     *
+     * @since 1.3.0
+     */
+    private static final int MAGIC = 0x4D534345;
+    /**
+     * The extension of the files of the cache entries.
+     *
+     * @since 1.3.0
+     */
+    private static final String EXTENSION = ".bin";
+    /**
+     * The constructed codecs, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private static final Map<Class<?>, ModuleCodec<?>> CODECS = new ConcurrentHashMap<>();
+    /**
+     * The directory where the entries are stored.
+     *
+     * @since 1.3.0
+     */
+    private final Path directory;
+
+    /**
+     * Construct a new {@link ModuleCache}.
+     *
+     * @param directory The directory where the entries are stored. This is created when the first entry is stored.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public ModuleCache(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the codec of the given {@link Module}, if the {@link Module} is annotated with {@link Cacheable}.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The codec of the {@link Module}, or {@code null} if the {@link Module} is not cacheable.
+     *
+     * @throws ModuleException If the codec could not be constructed.
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends Module> @Nullable ModuleCodec<M> getCodec(@NotNull Class<M> moduleCls) {
+        Cacheable cacheable = moduleCls.getAnnotation(Cacheable.class);
+        if (cacheable == null) {
+            return null;
+        }
+
+        return (ModuleCodec<M>) CODECS.computeIfAbsent(cacheable.value(), ModuleCache::createCodec);
+    }
+
+    /**
+     * Create the key of the given {@link Module}. The keys of the dependencies are hashed in the order of the class
+     * names of the dependencies, so the key does not depend on the order of the given {@link Map}.
+     *
+     * @param moduleCls      The class of the {@link Module}.
+     * @param dependencyKeys The keys of the dependencies of the {@link Module}, linked with their class. A key of
+     *                       {@code null} marks a dependency that is not cacheable.
+     *
+     * @return The key of the {@link Module}, or {@code null} if the {@link Module} or one of its dependencies is not
+     * cacheable.
+     *
+     * @throws ModuleException If the codec could not be constructed.
+     * @since 1.3.0
+     */
+    public static @Nullable String createKey(
+            @NotNull Class<? extends Module> moduleCls,
+            @NotNull Map<Class<? extends Module>, String> dependencyKeys
+    ) {
+        ModuleCodec<?> moduleCodec = getCodec(moduleCls);
+        if (moduleCodec == null || dependencyKeys.values().stream().anyMatch(Objects::isNull)) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        update(digest, moduleCls.getName());
+        update(digest, moduleCodec.inputKey());
+        dependencyKeys.entrySet()
+                .stream()
+                .sorted(Map.Entry.comparingByKey((first, second) -> first.getName().compareTo(second.getName())))
+                .forEach((entry) -> update(digest, entry.getValue()));
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Restore the {@link Module} that is stored under the given key. An entry that cannot be read is deleted, so it is
+     * replaced after the next execution of the {@link Module}.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param key       The key of the {@link Module}.
+     * @param <M>       The type of the {@link Module}.
+     *
+     * @return The restored {@link Module}, or {@code null} if there is no entry under the given key.
+     *
+     * @throws IOException If the entry could not be read. The entry has been deleted.
+     * @since 1.3.0
+     */
+    public <M extends Module> @Nullable M restore(@NotNull Class<M> moduleCls, @NotNull String key)
+            throws IOException {
+        ModuleCodec<M> moduleCodec = getCodec(moduleCls);
+        Path file = directory.resolve(key + EXTENSION);
+        if (moduleCodec == null || !Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            DataInputStream input = new DataInputStream(new ByteBufferInputStream(buffer));
+
+            if (input.readInt() != MAGIC || !input.readUTF().equals(moduleCls.getName())) {
+                throw new IOException("The file '%s' is not a cache entry of %s.".formatted(file, moduleCls.getName()));
+            }
+
+            M module = moduleCodec.decode(input);
+            if (module == null) {
+                throw new IOException("The codec of %s restored no module.".formatted(moduleCls.getName()));
+            }
+            return module;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e instanceof IOException ioException ? ioException : new IOException(e);
+        }
+    }
+
+    /**
+     * Store the state of the executed {@link Module} under the given key.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param key       The key of the {@link Module}.
+     * @param module    The executed {@link Module}.
+     * @param <M>       The type of the {@link Module}.
+     *
+     * @throws IOException If the entry could not be written.
+     * @since 1.3.0
+     */
+    public <M extends Module> void store(@NotNull Class<M> moduleCls, @NotNull String key, @NotNull M module)
+            throws IOException {
+        ModuleCodec<M> moduleCodec = getCodec(moduleCls);
+        if (moduleCodec == null) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream output =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeUTF(moduleCls.getName());
+                moduleCodec.encode(module, output);
+            }
+            Files.move(
+                    temporaryFile,
+                    directory.resolve(key + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+            );
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Construct the codec of the given class with its constructor without parameters.
+     *
+     * @param codecCls The class of the codec.
+     *
+     * @return The constructed codec.
+     *
+     * @throws ModuleException If the codec could not be constructed.
+     * @since 1.3.0
+     */
+    private static @NotNull ModuleCodec<?> createCodec(@NotNull Class<?> codecCls) {
+        try {
+            return (ModuleCodec<?>) codecCls.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException | NoSuchMethodException | InstantiationException |
+                 IllegalAccessException e) {
+            throw new ModuleException("The codec %s could not be constructed.".formatted(codecCls.getName()), e);
+        }
+    }
+
+    /**
+     * Create the SHA-256 digest of the keys.
+     *
+     * @return The SHA-256 digest.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support SHA-256.", e);
+        }
+    }
+
+    /**
+     * Update the digest with the given value, followed by a separator. So the values {@code "ab", "c"} and
+     * {@code "a", "bc"} give different keys.
+     *
+     * @param digest The digest that is updated.
+     * @param value  The value that is added to the digest.
+     *
+     * @since 1.3.0
+     */
+    private static void update(@NotNull MessageDigest digest, @NotNull String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
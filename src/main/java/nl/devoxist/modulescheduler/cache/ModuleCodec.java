@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.cache;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cacheable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * {@link ModuleCodec} is the contract of a {@link Cacheable} {@link Module} with the module cache. The codec derives
+ * the key of the inputs of the {@link Module}, without constructing the {@link Module}, and stores and restores the
+ * state of the {@link Module}.
+ *
+ * @param <M> The type of the {@link Module}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public interface ModuleCodec<M extends Module> {
+
+    /**
+     * Get the key of the inputs of the {@link Module}, like a hash of the files that it reads and the version of its
+     * logic. The keys of the dependencies are added by the scheduler, so these do not need to be part of this key.
+     *
+     * @return The key of the inputs of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    String inputKey();
+
+    /**
+     * Write the state of the executed {@link Module}.
+     *
+     * @param module The executed {@link Module}.
+     * @param output The output where the state is written to.
+     *
+     * @throws IOException If the state could not be written.
+     * @since 1.3.0
+     */
+    void encode(M module, DataOutput output) throws IOException;
+
+    /**
+     * Restore the {@link Module} from its stored state. The restored {@link Module} is not executed.
+     *
+     * @param input The input of the stored state.
+     *
+     * @return The restored {@link Module}.
+     *
+     * @throws IOException If the state could not be read.
+     * @since 1.3.0
+     */
+    M decode(DataInput input) throws IOException;
+}
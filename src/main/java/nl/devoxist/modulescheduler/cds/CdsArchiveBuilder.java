@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.cds;
+
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link CdsArchiveBuilder} is the launcher that creates a class data sharing (CDS) archive from the class list of a
+ * training run. The class list is written by the scheduler, when a file is set through
+ * {@link ModuleSchedulerSettings#setTrainingClassList(Path)}. The archive is created by a new JVM with
+ * {@code -Xshare:dump}, with the same class path as the production starts.
+ * <p>
+ * The launcher can be used from the command line:
+ * <pre>
+ * java -cp &lt;class path&gt; nl.devoxist.modulescheduler.cds.CdsArchiveBuilder &lt;class list&gt; &lt;archive&gt;
+ * </pre>
+ * The production starts map the archived classes with {@code -XX:SharedArchiveFile=<archive>}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class CdsArchiveBuilder {
+
+    /**
+     * Construct a new {@link CdsArchiveBuilder} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link CdsArchiveBuilder} was try to construct the class. The
+     *                                construction of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private CdsArchiveBuilder() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Create the archive of the class list with the class path of the current JVM.
+     *
+     * @param args The file of the class list and the file of the archive.
+     *
+     * @throws IOException          If the JVM could not be started.
+     * @throws InterruptedException If the launcher was interrupted while waiting for the JVM.
+     * @since 1.3.0
+     */
+    public static void main(String @NotNull [] args) throws IOException, InterruptedException {
+        if (args.length != 2) {
+            System.err.println("Usage: CdsArchiveBuilder <class list> <archive>");
+            System.exit(2);
+        }
+
+        int exitCode = buildArchive(Path.of(args[0]), Path.of(args[1]), System.getProperty("java.class.path"));
+        System.exit(exitCode);
+    }
+
+    /**
+     * Create the archive of the class list. The output of the JVM is written to the output of the current process.
+     *
+     * @param classList The file of the class list.
+     * @param archive   The file of the archive.
+     * @param classPath The class path of the production starts.
+     *
+     * @return The exit code of the JVM, this is {@code 0} if the archive has been created.
+     *
+     * @throws IOException          If the JVM could not be started.
+     * @throws InterruptedException If the launcher was interrupted while waiting for the JVM.
+     * @since 1.3.0
+     */
+    public static int buildArchive(@NotNull Path classList, @NotNull Path archive, @NotNull String classPath)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(createCommand(classList, archive, classPath))
+                .inheritIO()
+                .start();
+        return process.waitFor();
+    }
+
+    /**
+     * Create the command of the JVM that creates the archive.
+     *
+     * @param classList The file of the class list.
+     * @param archive   The file of the archive.
+     * @param classPath The class path of the production starts.
+     *
+     * @return The command of the JVM.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull List<String> createCommand(
+            @NotNull Path classList,
+            @NotNull Path archive,
+            @NotNull String classPath
+    ) {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        return List.of(
+                java.toString(),
+                "-Xshare:dump",
+                "-XX:SharedClassListFile=" + classList.toAbsolutePath(),
+                "-XX:SharedArchiveFile=" + archive.toAbsolutePath(),
+                "-cp",
+                classPath
+        );
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.cds;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link ClassListWriter} writes the class list of a training run, which is used to create a class data sharing (CDS)
+ * archive with {@link CdsArchiveBuilder}. The class list contains the classes that the JVM has loaded up to the end of
+ * the training run, this includes the classes of the scheduler and the classes that the {@link Module}s have loaded
+ * while they were executed. The loaded classes are read from the diagnostic command {@code VM.class_hierarchy} of the
+ * JVM. The classes of the {@link Module}s, the classes of the parameters of their constructors and all their super
+ * classes and interfaces are always in the class list, also when the JVM does not support the diagnostic command.
+ * <p>
+ * The class list uses the format of {@code -XX:SharedClassListFile}, one class per line in the internal form. The
+ * super classes and interfaces are written before the classes that extend them. Arrays, primitives, hidden classes and
+ * classes of custom class loaders cannot be archived from a class list, so these are left out.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ClassListWriter {
+    /**
+     * The name of the MBean of the diagnostic commands of the JVM.
+     *
+     * @since 1.3.0
+     */
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    /**
+     * Construct a new {@link ClassListWriter} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link ClassListWriter} was try to construct the class. The construction
+     *                                of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private ClassListWriter() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Write the class list of the loaded classes and the given {@link Module}s to the given file. The file is first
+     * written to a temporary file, which replaces the given file afterwards.
+     *
+     * @param file    The file of the class list.
+     * @param modules The classes of the {@link Module}s of the training run.
+     * @param extra   The other classes that need to be in the class list, like the class of the scheduler.
+     *
+     * @throws IOException If the file could not be written.
+     * @since 1.3.0
+     */
+    public static void write(
+            @NotNull Path file,
+            @NotNull Collection<Class<? extends Module>> modules,
+            @NotNull Collection<Class<?>> extra
+    ) throws IOException {
+        Set<Class<?>> classes = collect(modules, extra);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write("# Class list of a Module Scheduler training run");
+                writer.newLine();
+                for (Class<?> cls : classes) {
+                    writer.write(cls.getName().replace('.', '/'));
+                    writer.newLine();
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Collect the classes of the class list, these are the loaded classes and the classes of the given
+     * {@link Module}s.
+     *
+     * @param modules The classes of the {@link Module}s of the training run.
+     * @param extra   The other classes that need to be in the class list.
+     *
+     * @return The ordered classes of the class list, the super classes and interfaces come first.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull Set<Class<?>> collect(
+            @NotNull Collection<Class<? extends Module>> modules,
+            @NotNull Collection<Class<?>> extra
+    ) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+
+        for (Class<?> cls : getLoadedClasses()) {
+            addClass(cls, classes);
+        }
+        for (Class<?> cls : extra) {
+            addClass(cls, classes);
+        }
+        for (Class<? extends Module> moduleCls : modules) {
+            addClass(moduleCls, classes);
+            for (Constructor<?> constructor : moduleCls.getDeclaredConstructors()) {
+                for (Class<?> parameterType : constructor.getParameterTypes()) {
+                    addClass(parameterType, classes);
+                }
+            }
+        }
+
+        return classes;
+    }
+
+    /**
+     * Get the classes that the JVM has loaded through the boot, platform and application class loader. The names of
+     * the loaded classes are read from the diagnostic command {@code VM.class_hierarchy}, which prints one class per
+     * line as {@code <name>/<class loader>}. A class that is not visible to the application class loader is left out.
+     *
+     * @return The loaded classes, or an empty list if the JVM does not support the diagnostic command.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull List<Class<?>> getLoadedClasses() {
+        String classHierarchy;
+        try {
+            classHierarchy = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND),
+                    "vmClassHierarchy",
+                    new Object[]{null},
+                    new String[]{String[].class.getName()}
+            );
+        } catch (JMException | RuntimeException e) {
+            return List.of();
+        }
+
+        ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        List<Class<?>> classes = new ArrayList<>();
+        for (String line : classHierarchy.split("\\R")) {
+            String name = line.replaceFirst("^[|\\s-]*", "");
+            int loaderIndex = name.indexOf('/');
+            if (loaderIndex < 1 || name.indexOf('/', loaderIndex + 1) != -1) {
+                // Hidden classes carry a second '/' in their name, these cannot be archived.
+                continue;
+            }
+
+            try {
+                classes.add(Class.forName(name.substring(0, loaderIndex), false, classLoader));
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // The class has been loaded by a custom class loader, it cannot be archived.
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Add the given class to the class list, after its super class, its interfaces and its nest host.
+     *
+     * @param cls     The class that needs to be added.
+     * @param classes The ordered classes of the class list.
+     *
+     * @since 1.3.0
+     */
+    private static void addClass(Class<?> cls, @NotNull Set<Class<?>> classes) {
+        if (cls == null || !isArchivable(cls) || classes.contains(cls)) {
+            return;
+        }
+
+        addClass(cls.getSuperclass(), classes);
+        for (Class<?> interfaceCls : cls.getInterfaces()) {
+            addClass(interfaceCls, classes);
+        }
+        if (cls.getNestHost() != cls) {
+            addClass(cls.getNestHost(), classes);
+        }
+
+        classes.add(cls);
+    }
+
+    /**
+     * Check if the given class can be archived from a class list.
+     *
+     * @param cls The class that needs to be checked.
+     *
+     * @return If {@code true} the class can be archived.
+     *
+     * @since 1.3.0
+     */
+    private static boolean isArchivable(@NotNull Class<?> cls) {
+        if (cls.isPrimitive() || cls.isArray() || cls.isHidden()) {
+            return false;
+        }
+
+        ClassLoader classLoader = cls.getClassLoader();
+        return classLoader == null
+               || classLoader == ClassLoader.getSystemClassLoader()
+               || classLoader == ClassLoader.getPlatformClassLoader();
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.channel;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ModuleChannel} is a typed and bounded channel between a {@link StreamingModule} and the {@link Module}s that
+ * consume its items. The producer blocks when the channel is full, so a slow consumer slows down the producer instead
+ * of filling the memory. Every item is received by exactly one consumer, so multiple consumers share the work of the
+ * channel.
+ * <p>
+ * The end of the stream is signalled by {@link #close()}. The consumers receive the remaining items and then the end
+ * of the stream. The stream is aborted by {@link #fail(Throwable)}, after which both the producer and the consumers
+ * get a {@link ModuleException}.
+ *
+ * @param <T> The type of the items of the channel.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleChannel<T> implements Iterable<T> {
+    /**
+     * The buffer of the items, used as a ring.
+     *
+     * @since 1.3.0
+     */
+    private final Object[] items;
+    /**
+     * The lock of the channel.
+     *
+     * @since 1.3.0
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * The condition that is signalled when an item has been received.
+     *
+     * @since 1.3.0
+     */
+    private final Condition notFull = lock.newCondition();
+    /**
+     * The condition that is signalled when an item has been sent, or when the channel has been closed.
+     *
+     * @since 1.3.0
+     */
+    private final Condition notEmpty = lock.newCondition();
+    /**
+     * The index of the oldest item in the {@link #items}.
+     *
+     * @since 1.3.0
+     */
+    private int head;
+    /**
+     * The amount of items in the channel.
+     *
+     * @since 1.3.0
+     */
+    private int count;
+    /**
+     * The boolean to check if the end of the stream has been signalled.
+     *
+     * @since 1.3.0
+     */
+    private boolean closed;
+    /**
+     * The cause of the abort of the stream, {@code null} if the stream has not been aborted.
+     *
+     * @since 1.3.0
+     */
+    private Throwable failure;
+
+    /**
+     * Construct a new {@link ModuleChannel}.
+     *
+     * @param capacity The maximum amount of items in the channel, this must be at least 1.
+     *
+     * @throws IllegalArgumentException If the capacity is smaller than 1.
+     * @since 1.3.0
+     */
+    public ModuleChannel(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a channel must be at least 1.");
+        }
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Send an item into the channel. If the channel is full, this waits until a consumer has received an item.
+     *
+     * @param item The item that is sent.
+     *
+     * @throws ModuleException If the channel has been closed or aborted, or if the thread was interrupted while
+     *                         waiting.
+     * @since 1.3.0
+     */
+    public void send(@NotNull T item) {
+        Objects.requireNonNull(item, "A channel cannot contain null.");
+        lock.lock();
+        try {
+            while (count == items.length && !closed) {
+                await(notFull);
+            }
+            checkFailure();
+            if (closed) {
+                throw new ModuleException("The item cannot be sent, because the channel has been closed.");
+            }
+
+            items[(head + count) % items.length] = item;
+            ++count;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Receive the oldest item of the channel. If the channel is empty, this waits until an item has been sent or until
+     * the end of the stream.
+     *
+     * @return The oldest item, or {@code null} if the stream has ended and all items have been received.
+     *
+     * @throws ModuleException If the stream has been aborted, or if the thread was interrupted while waiting.
+     * @since 1.3.0
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T receive() {
+        lock.lock();
+        try {
+            while (count == 0 && !closed) {
+                await(notEmpty);
+            }
+            checkFailure();
+            if (count == 0) {
+                return null;
+            }
+
+            T item = (T) items[head];
+            items[head] = null;
+            head = (head + 1) % items.length;
+            --count;
+            notFull.signal();
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signal the end of the stream. The items in the channel can still be received, new items cannot be sent.
+     * Closing a closed channel has no effect.
+     *
+     * @since 1.3.0
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Abort the stream. The items in the channel are dropped, the producer and the consumers get a
+     * {@link ModuleException} with the given cause. Only the first cause is kept.
+     *
+     * @param cause The cause of the abort.
+     *
+     * @since 1.3.0
+     */
+    public void fail(@NotNull Throwable cause) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = cause;
+            }
+            Arrays.fill(items, null);
+            count = 0;
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check if the end of the stream has been signalled, or if the stream has been aborted.
+     *
+     * @return {@code true} if the channel has been closed, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the amount of items in the channel, that have not been received yet.
+     *
+     * @return The amount of items in the channel.
+     *
+     * @since 1.3.0
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the maximum amount of items in the channel.
+     *
+     * @return The capacity of the channel.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int capacity() {
+        return items.length;
+    }
+
+    /**
+     * Get an {@link Iterator} that receives the items of the channel until the end of the stream. The iterator is
+     * meant to be used by a single consumer, multiple consumers use an iterator each.
+     *
+     * @return An {@link Iterator} over the items of the channel.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public @NotNull Iterator<T> iterator() {
+        return new Iterator<>() {
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = receive();
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("The stream of the channel has ended.");
+                }
+                T item = next;
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Wait for the given condition. The lock must be held by the current thread.
+     *
+     * @param condition The condition to wait for.
+     *
+     * @throws ModuleException If the thread was interrupted while waiting.
+     * @since 1.3.0
+     */
+    private void await(@NotNull Condition condition) {
+        try {
+            condition.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModuleException("The thread has been interrupted while waiting for the channel.", e);
+        }
+    }
+
+    /**
+     * Throw the abort of the stream, if the stream has been aborted. The lock must be held by the current thread.
+     *
+     * @throws ModuleException If the stream has been aborted.
+     * @since 1.3.0
+     */
+    private void checkFailure() {
+        if (failure != null) {
+            throw new ModuleException("The stream of the channel has been aborted.", failure);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.channel;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Streaming;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link StreamingModule} is a {@link Module} that produces items into a {@link ModuleChannel} during
+ * {@link Module#onExecute()}. The {@link Module}s that declare this {@link Module} with {@link Streaming} are started
+ * as soon as this {@link Module} has been constructed, and receive the items from the channel while they are
+ * produced.
+ * <p>
+ * The channel is closed when {@link Module#onExecute()} returns, so the consumers receive the end of the stream. When
+ * a {@link Module} of the run fails, the channel fails as well, so neither the producer nor the consumers keep waiting.
+ *
+ * @param <T> The type of the items of the channel.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public interface StreamingModule<T> extends Module {
+
+    /**
+     * Get the channel of the {@link Module}. This must return the same channel during the whole run.
+     *
+     * @return The channel of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @NotNull ModuleChannel<T> getChannel();
+
+}
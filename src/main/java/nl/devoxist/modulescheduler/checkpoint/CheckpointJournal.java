@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.checkpoint;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Checkpoint;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@link CheckpointJournal} is an append-only journal of the completed {@link Checkpoint} {@link Module}s of a run.
+ * The journal of an interrupted run is read by the next run, which skips the execution of the recorded
+ * {@link Module}s. The journal of a completed run is deleted.
+ * <p>
+ * The journal starts with a magic number and a version, followed by the records. A record contains the length of its
+ * payload, the payload with the class name and the version of the {@link Module}, and the CRC-32 checksum of the
+ * payload. A record that is cut off by a crash, or that does not match its checksum, ends the journal. The records are
+ * synced to disk in batches, so a crash of the system loses at most the last unsynced batch. A crash of the process
+ * itself loses nothing.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class CheckpointJournal implements Closeable {
+    /**
+     * The magic number at the start of a journal file.
+     *
+     * @since 1.3.0
+     */
+    private static final int MAGIC = 0x4D534A4C;
+    /**
+     * The version of the binary format of the journal file.
+     *
+     * @since 1.3.0
+     */
+    private static final short VERSION = 1;
+    /**
+     * The size of the header of the journal file.
+     *
+     * @since 1.3.0
+     */
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    /**
+     * The file of the journal.
+     *
+     * @since 1.3.0
+     */
+    private final Path file;
+    /**
+     * The channel where the records are appended to.
+     *
+     * @since 1.3.0
+     */
+    private final FileChannel channel;
+    /**
+     * The class names of the completed {@link Module}s linked with their version, as read from the journal.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, String> completedModules;
+    /**
+     * The amount of records after which the journal is synced to disk.
+     *
+     * @since 1.3.0
+     */
+    private final int syncBatch;
+    /**
+     * The amount of records that are appended since the last sync.
+     *
+     * @since 1.3.0
+     */
+    private int unsyncedRecords;
+
+    /**
+     * Construct a new {@link CheckpointJournal}.
+     *
+     * @param file             The file of the journal.
+     * @param channel          The channel where the records are appended to.
+     * @param completedModules The class names of the completed {@link Module}s linked with their version.
+     * @param syncBatch        The amount of records after which the journal is synced to disk.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    private CheckpointJournal(
+            Path file,
+            FileChannel channel,
+            Map<String, String> completedModules,
+            int syncBatch
+    ) {
+        this.file = file;
+        this.channel = channel;
+        this.completedModules = completedModules;
+        this.syncBatch = syncBatch;
+    }
+
+    /**
+     * Open the journal in the given file. The records of an existing journal are read, a cut off record at the end is
+     * removed. If the file does not exist, a new journal is created.
+     *
+     * @param file      The file of the journal.
+     * @param syncBatch The amount of records after which the journal is synced to disk, this must be at least 1.
+     *
+     * @return The opened journal.
+     *
+     * @throws IOException              If the file could not be read or written, or if the file is not a journal.
+     * @throws IllegalArgumentException If the batch is smaller than 1.
+     * @since 1.3.0
+     */
+    public static @NotNull CheckpointJournal open(@NotNull Path file, int syncBatch) throws IOException {
+        if (syncBatch < 1) {
+            throw new IllegalArgumentException("The sync batch must be at least 1.");
+        }
+
+        Map<String, String> completedModules = new HashMap<>();
+        long validLength = 0;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new IOException("The file '%s' is not a checkpoint journal.".formatted(file));
+            }
+            validLength = readRecords(buffer, completedModules);
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            channel.truncate(validLength);
+            channel.position(validLength);
+            if (validLength == 0) {
+                writeFully(channel, ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip());
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return new CheckpointJournal(file, channel, completedModules, syncBatch);
+    }
+
+    /**
+     * Create a new empty journal in the given file. An existing file is replaced.
+     *
+     * @param file      The file of the journal.
+     * @param syncBatch The amount of records after which the journal is synced to disk, this must be at least 1.
+     *
+     * @return The created journal.
+     *
+     * @throws IOException              If the file could not be written.
+     * @throws IllegalArgumentException If the batch is smaller than 1.
+     * @since 1.3.0
+     */
+    public static @NotNull CheckpointJournal create(@NotNull Path file, int syncBatch) throws IOException {
+        Files.deleteIfExists(file);
+        return open(file, syncBatch);
+    }
+
+    /**
+     * Get the version of the given {@link Checkpoint} {@link Module}.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The version of the {@link Module}, or {@code null} if the {@link Module} is not checkpointable.
+     *
+     * @since 1.3.0
+     */
+    public static String getVersion(@NotNull Class<? extends Module> moduleCls) {
+        Checkpoint checkpoint = moduleCls.getAnnotation(Checkpoint.class);
+        return checkpoint == null ? null : checkpoint.version();
+    }
+
+    /**
+     * Check if the journal contains a completion of the given {@link Module} with its current version.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} is checkpointable and its completion with the current version has been
+     * recorded, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    public boolean isCompleted(@NotNull Class<? extends Module> moduleCls) {
+        String version = getVersion(moduleCls);
+        return version != null && version.equals(completedModules.get(moduleCls.getName()));
+    }
+
+    /**
+     * Record the completion of the given {@link Checkpoint} {@link Module}. The journal is synced to disk when the
+     * batch is full.
+     *
+     * @param moduleCls The class of the completed {@link Module}.
+     *
+     * @throws IOException If the record could not be written.
+     * @since 1.3.0
+     */
+    public synchronized void complete(@NotNull Class<? extends Module> moduleCls) throws IOException {
+        String version = getVersion(moduleCls);
+        if (version == null) {
+            return;
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(payload)) {
+            output.writeUTF(moduleCls.getName());
+            output.writeUTF(version);
+        }
+
+        byte[] payloadBytes = payload.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(payloadBytes);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES * 2 + payloadBytes.length)
+                .putInt(payloadBytes.length)
+                .put(payloadBytes)
+                .putInt((int) checksum.getValue())
+                .flip();
+        writeFully(channel, record);
+
+        if (++unsyncedRecords >= syncBatch) {
+            sync();
+        }
+    }
+
+    /**
+     * Sync the appended records to disk.
+     *
+     * @throws IOException If the journal could not be synced.
+     * @since 1.3.0
+     */
+    public synchronized void sync() throws IOException {
+        if (unsyncedRecords == 0) {
+            return;
+        }
+        channel.force(false);
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Sync the appended records to disk and close the journal. The journal is kept, so the next run can resume from
+     * it.
+     *
+     * @throws IOException If the journal could not be synced or closed.
+     * @since 1.3.0
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Close and delete the journal, because the run has been completed.
+     *
+     * @throws IOException If the journal could not be deleted.
+     * @since 1.3.0
+     */
+    public synchronized void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Read the records from the given buffer, until the end of the buffer or until the first invalid record.
+     *
+     * @param buffer           The buffer of the journal file, positioned after the header.
+     * @param completedModules The {@link Map} where the class names and versions of the records are put in.
+     *
+     * @return The length of the valid part of the journal.
+     *
+     * @since 1.3.0
+     */
+    private static long readRecords(@NotNull ByteBuffer buffer, @NotNull Map<String, String> completedModules) {
+        while (buffer.remaining() >= Integer.BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            if (length < 0 || buffer.remaining() < length + Integer.BYTES) {
+                return start;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 checksum = new CRC32();
+            checksum.update(payload);
+            if (buffer.getInt() != (int) checksum.getValue()) {
+                return start;
+            }
+
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+                completedModules.put(input.readUTF(), input.readUTF());
+            } catch (IOException e) {
+                return start;
+            }
+        }
+
+        return buffer.position();
+    }
+
+    /**
+     * Write the remaining bytes of the buffer to the channel.
+     *
+     * @param channel The channel where the buffer is written to.
+     * @param buffer  The buffer that is written.
+     *
+     * @throws IOException If the buffer could not be written.
+     * @since 1.3.0
+     */
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
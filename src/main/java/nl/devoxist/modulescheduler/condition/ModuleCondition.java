@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.condition;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Conditional;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@link ModuleCondition} decides if a {@link Module} that is annotated with {@link Conditional} is active. The
+ * condition is evaluated before the {@link Module} is resolved and constructed, so it should be cheap and it should
+ * not depend on other {@link Module}s.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@FunctionalInterface
+public interface ModuleCondition {
+
+    /**
+     * Check if the {@link Module} is active.
+     *
+     * @param moduleCls               The class of the {@link Module} of which the condition is evaluated.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     *
+     * @return {@code true} if the {@link Module} is active.
+     *
+     * @since 1.3.0
+     */
+    boolean isActive(
+            @NotNull Class<? extends Module> moduleCls,
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+    );
+}
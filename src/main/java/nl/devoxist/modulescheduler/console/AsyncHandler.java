@@ -0,0 +1,524 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.console;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * {@link AsyncHandler} is an asynchronous {@link Handler} that writes the log records to an {@link OutputStream}. The
+ * logging thread only adds the log record to a bounded lock-free {@link RingBuffer}. A background thread formats the
+ * log records and writes them in batches, with a single flush per batch.
+ * <p>
+ * When the buffer is full, the {@link OverflowPolicy} decides what happens with the log record. The background thread
+ * is started on the first log record and stops when there are no log records for a short while, so an idle handler
+ * does not hold a thread. The background thread is a daemon thread, so it does not keep the process alive. The
+ * buffered log records are written by a shutdown hook when the process exits, or by {@link #flush()} and
+ * {@link #close()}. The shutdown hook is only registered while the background thread runs, so an idle handler is not
+ * held by the process.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class AsyncHandler extends Handler {
+    /**
+     * The default capacity of the buffer.
+     *
+     * @since 1.3.0
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /**
+     * The maximum amount of log records that are written in one batch.
+     *
+     * @since 1.3.0
+     */
+    private static final int BATCH_SIZE = 256;
+    /**
+     * Every how many overflowing log records one is kept, with {@link OverflowPolicy#SAMPLE}.
+     *
+     * @since 1.3.0
+     */
+    private static final int SAMPLE_RATE = 16;
+    /**
+     * The time in nanoseconds that the background thread waits for new log records, before it stops.
+     *
+     * @since 1.3.0
+     */
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    /**
+     * The time in nanoseconds that a waiting thread parks, before it checks the buffer again.
+     *
+     * @since 1.3.0
+     */
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    /**
+     * The state where the background thread is not running.
+     *
+     * @since 1.3.0
+     */
+    private static final int IDLE = 0;
+    /**
+     * The state where the background thread is running.
+     *
+     * @since 1.3.0
+     */
+    private static final int RUNNING = 1;
+    /**
+     * The state where the handler is closed.
+     *
+     * @since 1.3.0
+     */
+    private static final int CLOSED = 2;
+    /**
+     * The amount of background threads that have been created, this is used in their names.
+     *
+     * @since 1.3.0
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    /**
+     * The buffer of the log records that are not yet written.
+     *
+     * @since 1.3.0
+     */
+    private final RingBuffer<LogRecord> buffer;
+    /**
+     * The stream where the log records are written to. This stream is flushed, but never closed by the handler.
+     *
+     * @since 1.3.0
+     */
+    private final OutputStream outputStream;
+    /**
+     * The state of the handler, this is {@link #IDLE}, {@link #RUNNING} or {@link #CLOSED}.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    /**
+     * The amount of log records that have been dropped, because the buffer was full.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong droppedRecords = new AtomicLong();
+    /**
+     * The amount of log records that have been dropped, but not yet reported in the output.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong unreportedDroppedRecords = new AtomicLong();
+    /**
+     * The amount of log records that overflowed, this is used by {@link OverflowPolicy#SAMPLE}.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong overflowedRecords = new AtomicLong();
+    /**
+     * The policy when the buffer is full.
+     *
+     * @since 1.3.0
+     */
+    private volatile OverflowPolicy overflowPolicy;
+    /**
+     * The current background thread.
+     *
+     * @since 1.3.0
+     */
+    private volatile Thread consumer;
+    /**
+     * The boolean to check if the background thread is waiting for new log records.
+     *
+     * @since 1.3.0
+     */
+    private volatile boolean sleeping;
+    /**
+     * The shutdown hook that writes the buffered log records when the process exits. It is registered while the
+     * background thread runs.
+     *
+     * @since 1.3.0
+     */
+    private final Thread shutdownHook = new Thread(this::flush, "ModuleScheduler-log-shutdown");
+    /**
+     * The boolean to check if the {@link #shutdownHook} has been registered.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicBoolean shutdownHookRegistered = new AtomicBoolean();
+    /**
+     * The writer of the background thread, this is created on the first write.
+     *
+     * @since 1.3.0
+     */
+    private Writer writer;
+
+    /**
+     * Construct a new {@link AsyncHandler} that writes to {@link System#err}, with the default capacity and
+     * {@link OverflowPolicy#DROP}.
+     *
+     * @since 1.3.0
+     */
+    public AsyncHandler() {
+        this(System.err, DEFAULT_CAPACITY, OverflowPolicy.DROP);
+    }
+
+    /**
+     * Construct a new {@link AsyncHandler}.
+     *
+     * @param outputStream   The stream where the log records are written to.
+     * @param capacity       The minimum amount of log records that can be buffered, this is rounded up to the next
+     *                       power of two.
+     * @param overflowPolicy The policy when the buffer is full.
+     *
+     * @throws IllegalArgumentException If the capacity is lower than {@code 2}.
+     * @since 1.3.0
+     */
+    public AsyncHandler(@NotNull OutputStream outputStream, int capacity, @NotNull OverflowPolicy overflowPolicy) {
+        this.outputStream = outputStream;
+        this.buffer = new RingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Add the given log record to the buffer. The log record is formatted and written by the background thread.
+     *
+     * @param record The log record that needs to be written.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (state.get() == CLOSED || !isLoggable(record)) {
+            return;
+        }
+
+        if (!buffer.offer(record) && !overflow(record)) {
+            droppedRecords.incrementAndGet();
+            unreportedDroppedRecords.incrementAndGet();
+            return;
+        }
+
+        wakeConsumer();
+    }
+
+    /**
+     * Handle a log record that did not fit in the buffer, by the current {@link OverflowPolicy}.
+     *
+     * @param record The log record that did not fit in the buffer.
+     *
+     * @return If {@code true} the log record has been added to the buffer.
+     *
+     * @since 1.3.0
+     */
+    private boolean overflow(LogRecord record) {
+        return switch (overflowPolicy) {
+            case DROP -> false;
+            case BLOCK -> awaitOffer(record);
+            case SAMPLE -> overflowedRecords.getAndIncrement() % SAMPLE_RATE == 0 && awaitOffer(record);
+        };
+    }
+
+    /**
+     * Wait until the log record fits in the buffer.
+     *
+     * @param record The log record that needs to be added to the buffer.
+     *
+     * @return If {@code false} the handler was closed while waiting.
+     *
+     * @since 1.3.0
+     */
+    private boolean awaitOffer(LogRecord record) {
+        do {
+            if (state.get() == CLOSED || Thread.currentThread() == consumer) {
+                return false;
+            }
+            wakeConsumer();
+            LockSupport.parkNanos(WAIT_NANOS);
+        } while (!buffer.offer(record));
+
+        return true;
+    }
+
+    /**
+     * Wait until all the log records, that have been published before this call, are written and flush the stream.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public void flush() {
+        if (Thread.currentThread() == consumer) {
+            return;
+        }
+
+        long produced = buffer.getProduced();
+        while (buffer.getConsumed() < produced && state.get() != CLOSED) {
+            wakeConsumer();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+
+        synchronized (this) {
+            try {
+                if (writer != null) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                reportError(null, e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Write all the buffered log records and close the handler. After this call, the log records are ignored. The
+     * stream is flushed, but not closed.
+     *
+     * @throws SecurityException If a security manager exists and if the caller does not have
+     *                           {@code LoggingPermission("control")}.
+     * @since 1.3.0
+     */
+    @Override
+    public void close() throws SecurityException {
+        flush();
+        state.set(CLOSED);
+
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+
+        synchronized (this) {
+            writeBatch();
+        }
+
+        if (Thread.currentThread() != shutdownHook) {
+            removeShutdownHook();
+        }
+    }
+
+    /**
+     * Set the policy when the buffer is full.
+     *
+     * @param overflowPolicy The policy when the buffer is full.
+     *
+     * @since 1.3.0
+     */
+    public void setOverflowPolicy(@NotNull OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Get the policy when the buffer is full.
+     *
+     * @return The policy when the buffer is full.
+     *
+     * @since 1.3.0
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Get the capacity of the buffer.
+     *
+     * @return The amount of log records that can be buffered.
+     *
+     * @since 1.3.0
+     */
+    public int getCapacity() {
+        return buffer.getCapacity();
+    }
+
+    /**
+     * Get the amount of log records that have been dropped, because the buffer was full.
+     *
+     * @return The amount of log records that have been dropped.
+     *
+     * @since 1.3.0
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Start the background thread if it is not running, or wake it up if it is waiting for new log records.
+     *
+     * @since 1.3.0
+     */
+    private void wakeConsumer() {
+        if (state.get() == IDLE && state.compareAndSet(IDLE, RUNNING)) {
+            Thread thread = new Thread(this::consume, "ModuleScheduler-log-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            consumer = thread;
+            registerShutdownHook();
+            thread.start();
+            return;
+        }
+
+        if (sleeping) {
+            Thread thread = consumer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    /**
+     * Register the {@link #shutdownHook}, if it has not been registered. The hook is removed again if the handler has
+     * been closed in the meantime.
+     *
+     * @since 1.3.0
+     */
+    private void registerShutdownHook() {
+        if (!shutdownHookRegistered.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // The process is already exiting, the buffered log records are written by the running background thread.
+        }
+
+        if (state.get() == CLOSED) {
+            removeShutdownHook();
+        }
+    }
+
+    /**
+     * Remove the {@link #shutdownHook}, if it has been registered.
+     *
+     * @since 1.3.0
+     */
+    private void removeShutdownHook() {
+        if (!shutdownHookRegistered.compareAndSet(true, false)) {
+            return;
+        }
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException ignored) {
+            // The process is exiting, the shutdown hook cannot be removed anymore.
+        }
+    }
+
+    /**
+     * The process of the background thread. It writes the buffered log records in batches, until there are no new log
+     * records for {@link #KEEP_ALIVE_NANOS}. The {@link #shutdownHook} is removed before the background thread stops,
+     * while the state is still {@link #RUNNING}, so it cannot remove the hook of the next background thread.
+     *
+     * @since 1.3.0
+     */
+    private void consume() {
+        while (state.get() == RUNNING) {
+            boolean written;
+            synchronized (this) {
+                written = writeBatch();
+            }
+
+            if (written) {
+                continue;
+            }
+
+            sleeping = true;
+            if (buffer.isEmpty()) {
+                LockSupport.parkNanos(this, KEEP_ALIVE_NANOS);
+            }
+            sleeping = false;
+
+            if (!buffer.isEmpty()) {
+                continue;
+            }
+
+            removeShutdownHook();
+            if (!state.compareAndSet(RUNNING, IDLE) || buffer.isEmpty() || !state.compareAndSet(IDLE, RUNNING)) {
+                return;
+            }
+            registerShutdownHook();
+        }
+    }
+
+    /**
+     * Format and write a batch of the buffered log records, with a single flush.
+     *
+     * @return If {@code true} there was at least one log record written.
+     *
+     * @since 1.3.0
+     */
+    private boolean writeBatch() {
+        StringBuilder builder = new StringBuilder();
+        int records = 0;
+
+        LogRecord record;
+        while (records < BATCH_SIZE && (record = buffer.poll()) != null) {
+            ++records;
+            try {
+                builder.append(getFormatter().format(record));
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.FORMAT_FAILURE);
+            }
+        }
+
+        long dropped = unreportedDroppedRecords.getAndSet(0);
+        if (dropped > 0) {
+            builder.append("[WARN] ")
+                    .append(dropped)
+                    .append(" log records have been dropped, because the log buffer was full.")
+                    .append(Console.NEWLINE);
+        }
+
+        if (builder.length() == 0) {
+            return false;
+        }
+
+        try {
+            getWriter().write(builder.toString());
+            getWriter().flush();
+        } catch (IOException e) {
+            reportError(null, e, ErrorManager.WRITE_FAILURE);
+        }
+        return records > 0;
+    }
+
+    /**
+     * Get the writer of the {@link #outputStream}, with the encoding of the handler.
+     *
+     * @return The writer of the {@link #outputStream}.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull Writer getWriter() {
+        if (writer == null) {
+            String encoding = getEncoding();
+            Charset charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, charset));
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.console;
+
+/**
+ * {@link OverflowPolicy} decides what the {@link AsyncHandler} does with a log record, when its buffer is full.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public enum OverflowPolicy {
+    /**
+     * Drop the log record. The logging thread never waits.
+     *
+     * @since 1.3.0
+     */
+    DROP,
+    /**
+     * Wait until there is space in the buffer. No log record is lost, but the logging thread waits for the console.
+     *
+     * @since 1.3.0
+     */
+    BLOCK,
+    /**
+     * Keep a sample of the log records. Every sixteenth log record that overflows waits until there is space in the
+     * buffer, the others are dropped.
+     *
+     * @since 1.3.0
+     */
+    SAMPLE
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.console;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link RingBuffer} is a bounded lock-free queue for multiple producers and a single consumer. Every slot has a
+ * sequence number, a producer claims a slot by moving the tail and publishes the element by updating the sequence
+ * number of the slot. So the producers never block each other and the consumer never blocks the producers.
+ *
+ * @param <E> The type of the elements in the buffer.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+final class RingBuffer<E> {
+    /**
+     * The elements in the buffer.
+     *
+     * @since 1.3.0
+     */
+    private final Object[] elements;
+    /**
+     * The sequence numbers of the slots of the buffer.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * The mask to get the index of a slot from a position.
+     *
+     * @since 1.3.0
+     */
+    private final int mask;
+    /**
+     * The position of the next slot that will be claimed by a producer.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * The position of the next slot that will be read by the consumer.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Construct a new {@link RingBuffer}. The capacity is rounded up to the next power of two.
+     *
+     * @param capacity The minimum capacity of the buffer.
+     *
+     * @throws IllegalArgumentException If the capacity is lower than {@code 2}.
+     * @since 1.3.0
+     */
+    RingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity of the buffer must be at least 2.");
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element to the buffer. This can be called by multiple producers at the same time.
+     *
+     * @param element The element that will be added.
+     *
+     * @return If {@code false} the buffer is full and the element has not been added.
+     *
+     * @since 1.3.0
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest element of the buffer. This may only be called by the consumer.
+     *
+     * @return The oldest element of the buffer, or {@code null} if the buffer is empty.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.lazySet(index, position + elements.length);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    /**
+     * Get the capacity of the buffer.
+     *
+     * @return The amount of elements that fit in the buffer.
+     *
+     * @since 1.3.0
+     */
+    int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Get the amount of elements that have been added to the buffer since its construction.
+     *
+     * @return The amount of elements that have been added.
+     *
+     * @since 1.3.0
+     */
+    long getProduced() {
+        return tail.get();
+    }
+
+    /**
+     * Get the amount of elements that have been removed from the buffer since its construction.
+     *
+     * @return The amount of elements that have been removed.
+     *
+     * @since 1.3.0
+     */
+    long getConsumed() {
+        return head.get();
+    }
+
+    /**
+     * Check if the buffer is empty.
+     *
+     * @return If {@code true} the buffer is empty.
+     *
+     * @since 1.3.0
+     */
+    boolean isEmpty() {
+        return getConsumed() >= getProduced();
+    }
+}
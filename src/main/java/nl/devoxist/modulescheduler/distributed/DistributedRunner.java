@@ -0,0 +1,663 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.cache.ModuleCache;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.profile.CostModel;
+import nl.devoxist.modulescheduler.profile.ModuleProfile;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.runner.ResourceLimiter;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * The process of loading the {@link Module}s in a pool of worker processes.
+ * <p>
+ * The {@link Stage}s are compiled into an {@link ExecutionPlan}, which is partitioned over the workers by the
+ * {@link ModulePartitioner}. The coordinator starts the workers with the class path of the current JVM and accepts
+ * their connections on a loopback socket. A {@link Module} is sent to its worker when all its dependencies have been
+ * finished, in any of the workers. So the load order is kept across the processes. Every worker runs one
+ * {@link Module} at a time, and the {@link nl.devoxist.modulescheduler.annotation.ResourceGroup}s are limited across all
+ * workers.
+ * <p>
+ * The {@link Module}s in a worker are constructed with their binding plan, so every {@link Module} must have a single
+ * public constructor with only {@link Module}s as parameters. The state of a {@link Module} with a
+ * {@link nl.devoxist.modulescheduler.annotation.Cacheable} codec is sent back to the coordinator, where the
+ * {@link Module} is restored and published in the output register. The hooks of the {@link ModuleScheduler} around the
+ * execution are not called, because the {@link Module}s are executed in other processes.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class DistributedRunner extends Thread {
+    /**
+     * The time that the coordinator waits for the connection of a worker, in milliseconds.
+     *
+     * @since 1.3.0
+     */
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+    /**
+     * The time that the coordinator waits for a worker to stop, in seconds.
+     *
+     * @since 1.3.0
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    /**
+     * The settings of the current running {@link ModuleScheduler}.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleSchedulerSettings moduleSchedulerSettings;
+    /**
+     * The current running {@link ModuleScheduler}.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleScheduler moduleScheduler;
+    /**
+     * The constructed {@link Module}s linked with their class. The {@link Module}s that are restored from their
+     * state are added to this map.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> constructedModules;
+    /**
+     * The compiled stages.
+     *
+     * @since 1.3.0
+     */
+    private final ExecutionPlan executionPlan;
+    /**
+     * The results of the workers. A {@link WorkerEvent} without result marks a worker that has disconnected.
+     *
+     * @since 1.3.0
+     */
+    private final BlockingQueue<WorkerEvent> workerEvents = new LinkedBlockingQueue<>();
+    /**
+     * The reports of the {@link Module}s that have been finished.
+     *
+     * @since 1.3.0
+     */
+    private final List<ModuleReport> moduleReports = new ArrayList<>();
+    /**
+     * The future of the report of the run.
+     *
+     * @since 1.3.0
+     */
+    private final CompletableFuture<RunReport> runReport = new CompletableFuture<>();
+
+    /**
+     * Construct a process class that is responsible for loading the {@link Module}s in the worker processes.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages that needs to be loaded. This need to be in the correct order.
+     * @param constructedModules      The constructed {@link Module}s, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private DistributedRunner(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        super("ModuleScheduler-coordinator");
+        this.moduleSchedulerSettings = moduleSchedulerSettings;
+        this.moduleScheduler = moduleScheduler;
+        this.constructedModules = constructedModules;
+        this.executionPlan = ExecutionPlan.compile(stages);
+    }
+
+    /**
+     * Run the process of loading the {@link Module}s in the worker processes. The amount of workers is set by
+     * {@link ModuleSchedulerSettings#setWorkerProcesses(int)}. This will not be runned on the main thread.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages that needs to be loaded. This need to be in the correct order.
+     * @param constructedModules      The constructed {@link Module}s, linked with their class. The {@link Module}s
+     *                                that are restored from their state are added to this map.
+     *
+     * @return The future of the report of the run. This future completes exceptionally if a {@link Module} or a
+     * worker failed.
+     *
+     * @since 1.3.0
+     */
+    public static CompletableFuture<RunReport> runStages(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        DistributedRunner distributedRunner =
+                new DistributedRunner(moduleSchedulerSettings, moduleScheduler, stages, constructedModules);
+        distributedRunner.start();
+        return distributedRunner.runReport;
+    }
+
+    /**
+     * Run the process of loading the {@link Module}s in the worker processes. This will not be runned on the main
+     * thread.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public void run() {
+        try {
+            runReport.complete(runPlan());
+        } catch (InterruptedException e) {
+            runReport.completeExceptionally(e);
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            runReport.completeExceptionally(new ModuleException("The worker processes failed.", e));
+        } catch (RuntimeException | Error e) {
+            runReport.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start the workers, run the {@link #executionPlan} in the workers and create the report of the run.
+     *
+     * @return The report of the run.
+     *
+     * @throws IOException          If a worker could not be started or if the connection with a worker failed.
+     * @throws InterruptedException If the coordinator was interrupted while waiting for the workers.
+     * @throws ModuleException      If a {@link Module} cannot run in a worker, or if a {@link Module} failed.
+     * @since 1.3.0
+     */
+    private @NotNull RunReport runPlan() throws IOException, InterruptedException {
+        checkBindingPlans();
+
+        int workers = Math.min(moduleSchedulerSettings.getWorkerProcesses(), executionPlan.size());
+        if (workers == 0) {
+            return new RunReport(moduleReports, -1, 0, -1, List.of());
+        }
+
+        long[] costs = new CostModel(loadProfile()).estimate(executionPlan);
+        long[] priorities = executionPlan.calculatePriorities(costs);
+        int[] assignment = ModulePartitioner.partition(executionPlan, costs, workers);
+
+        long start = System.nanoTime();
+        List<Process> processes = new ArrayList<>(workers);
+        WorkerConnection[] connections = new WorkerConnection[workers];
+        try (ServerSocket serverSocket = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+
+            for (int worker = 0; worker < workers; worker++) {
+                List<String> command = WorkerMain.createCommand(
+                        serverSocket.getInetAddress().getHostAddress(),
+                        serverSocket.getLocalPort(),
+                        worker,
+                        moduleSchedulerSettings.getWorkerJvmOptions(),
+                        System.getProperty("java.class.path")
+                );
+                processes.add(new ProcessBuilder(command).inheritIO().start());
+            }
+
+            for (int i = 0; i < workers; i++) {
+                WorkerConnection connection = WorkerConnection.accept(serverSocket.accept());
+                if (connection.worker < 0 || connection.worker >= workers || connections[connection.worker] != null) {
+                    connection.close();
+                    throw new IOException("A worker introduced itself with the invalid index %d."
+                                                  .formatted(connection.worker));
+                }
+                connections[connection.worker] = connection;
+                startReader(connection);
+            }
+
+            dispatch(assignment, priorities, connections);
+        } finally {
+            stopWorkers(connections, processes);
+        }
+
+        return new RunReport(
+                moduleReports,
+                -1,
+                System.nanoTime() - start,
+                -1,
+                CostModel.validate(executionPlan, moduleReports, moduleSchedulerSettings.getCostTolerance())
+        );
+    }
+
+    /**
+     * Dispatch the {@link Module}s of the {@link #executionPlan} to their workers. A {@link Module} is sent when all
+     * its dependencies have been finished and its worker is idle. The ready {@link Module}s of a worker are sent in the
+     * order of their priority.
+     *
+     * @param assignment  The worker of every {@link Module}, indexed by their id.
+     * @param priorities  The priorities of the {@link Module}s, indexed by their id.
+     * @param connections The connections with the workers, indexed by the worker.
+     *
+     * @throws IOException          If a {@link Module} could not be sent.
+     * @throws InterruptedException If the coordinator was interrupted while waiting for the workers.
+     * @throws ModuleException      If a {@link Module} or a worker failed.
+     * @since 1.3.0
+     */
+    private void dispatch(int[] assignment, long[] priorities, WorkerConnection[] connections)
+            throws IOException, InterruptedException {
+        Map<String, Integer> ids = new HashMap<>(executionPlan.size() * 2);
+        for (int id = 0; id < executionPlan.size(); id++) {
+            ids.put(executionPlan.getModule(id).getModule().getName(), id);
+        }
+
+        List<PriorityQueue<Integer>> readyQueues = new ArrayList<>(connections.length);
+        for (int worker = 0; worker < connections.length; worker++) {
+            readyQueues.add(new PriorityQueue<>(ExecutionPlan.readyQueueOrder(priorities)));
+        }
+
+        int[] remainingDependencies = executionPlan.copyDependencyCounts();
+        for (int id = 0; id < executionPlan.size(); id++) {
+            if (remainingDependencies[id] == 0) {
+                readyQueues.get(assignment[id]).add(id);
+            }
+        }
+
+        ResourceLimiter resourceLimiter =
+                new ResourceLimiter(executionPlan, moduleSchedulerSettings.getResourceGroupPermits());
+        int[] runningModules = new int[connections.length];
+        Arrays.fill(runningModules, -1);
+        int finished = 0;
+        while (finished < executionPlan.size()) {
+            int running = 0;
+            for (int worker = 0; worker < connections.length; worker++) {
+                if (runningModules[worker] == -1) {
+                    runningModules[worker] = pollAcquirable(readyQueues.get(worker), resourceLimiter);
+                    if (runningModules[worker] != -1) {
+                        connections[worker].run(executionPlan.getModule(runningModules[worker]).getModule());
+                    }
+                }
+                if (runningModules[worker] != -1) {
+                    ++running;
+                }
+            }
+
+            if (running == 0) {
+                break;
+            }
+
+            WorkerEvent workerEvent = workerEvents.take();
+            WorkerProtocol.WorkerResult result = workerEvent.result();
+            if (result == null) {
+                throw new ModuleException("The worker process %d exited unexpectedly.".formatted(workerEvent.worker()));
+            }
+
+            Integer id = ids.get(result.moduleName());
+            if (id == null || runningModules[workerEvent.worker()] != id) {
+                throw new ModuleException("The worker process %d finished the unexpected module %s."
+                                                  .formatted(workerEvent.worker(), result.moduleName()));
+            }
+            if (result.failure() != null) {
+                throw new ModuleException(
+                        "The execution of the modules has been stopped, because a module failed.",
+                        new ModuleException("The module %s failed in worker process %d: %s"
+                                                    .formatted(result.moduleName(), workerEvent.worker(),
+                                                               result.failure()))
+                );
+            }
+
+            runningModules[workerEvent.worker()] = -1;
+            resourceLimiter.release(id);
+            ++finished;
+            finishModule(id, result);
+
+            for (int dependent : executionPlan.getDependents(id)) {
+                if (--remainingDependencies[dependent] == 0) {
+                    readyQueues.get(assignment[dependent]).add(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Poll the ready {@link Module} with the highest priority, of which the permits of the resource groups can be
+     * acquired. The {@link Module}s without permits stay in the ready queue.
+     *
+     * @param readyQueue      The ready queue of a worker.
+     * @param resourceLimiter The permits of the resource groups.
+     *
+     * @return The id of the polled {@link Module}, or {@code -1} if no ready {@link Module} can be acquired.
+     *
+     * @since 1.3.0
+     */
+    private static int pollAcquirable(
+            @NotNull PriorityQueue<Integer> readyQueue,
+            @NotNull ResourceLimiter resourceLimiter
+    ) {
+        List<Integer> waitingModules = new ArrayList<>();
+        int acquired = -1;
+        while (!readyQueue.isEmpty()) {
+            int id = readyQueue.poll();
+            if (resourceLimiter.tryAcquire(id)) {
+                acquired = id;
+                break;
+            }
+            waitingModules.add(id);
+        }
+        readyQueue.addAll(waitingModules);
+        return acquired;
+    }
+
+    /**
+     * Report the finished {@link Module} and publish the {@link Module}, if its state has been sent back.
+     *
+     * @param id     The id of the {@link Module} in the {@link #executionPlan}.
+     * @param result The result of the {@link Module}.
+     *
+     * @throws IOException If the state of the {@link Module} could not be decoded.
+     * @since 1.3.0
+     */
+    private void finishModule(int id, WorkerProtocol.@NotNull WorkerResult result) throws IOException {
+        Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+
+        if (result.state() != null) {
+            Module module = decode(moduleCls, result.state());
+            constructedModules.put(moduleCls, module);
+            moduleSchedulerSettings.getModuleRegistry().publish(moduleCls, module);
+        }
+
+        ModuleReport moduleReport = new ModuleReport(
+                moduleCls,
+                executionPlan.getStageNumber(id),
+                result.constructionNanos(),
+                result.executionNanos(),
+                -1,
+                -1,
+                -1,
+                -1,
+                false,
+                false
+        );
+        moduleReports.add(moduleReport);
+        moduleScheduler.onModuleReport(moduleReport);
+    }
+
+    /**
+     * Check that every {@link Module} of the {@link #executionPlan} can be constructed in a worker.
+     *
+     * @throws ModuleException If a {@link Module} has no binding plan, or if a {@link Module} takes part in a
+     *                         stream.
+     * @since 1.3.0
+     */
+    private void checkBindingPlans() {
+        for (int id = 0; id < executionPlan.size(); id++) {
+            Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+            if (!ModuleMetadata.of(moduleCls).hasBindingPlan()) {
+                throw new ModuleException(("The module %s cannot run in a worker process, it needs a single public " +
+                                           "constructor with only modules as parameters.").formatted(moduleCls));
+            }
+            if (executionPlan.isStreaming(id)) {
+                throw new ModuleException(("The module %s cannot run in a worker process, because its stream cannot " +
+                                           "cross the processes.").formatted(moduleCls));
+            }
+        }
+    }
+
+    /**
+     * Start the thread that reads the results of the given worker into the {@link #workerEvents}.
+     *
+     * @param connection The connection with the worker.
+     *
+     * @since 1.3.0
+     */
+    private void startReader(@NotNull WorkerConnection connection) {
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    workerEvents.add(new WorkerEvent(connection.worker, connection.read()));
+                }
+            } catch (IOException e) {
+                workerEvents.add(new WorkerEvent(connection.worker, null));
+            }
+        }, "ModuleScheduler-coordinator-" + connection.worker);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Stop the workers. The workers that do not stop within the timeout are destroyed.
+     *
+     * @param connections The connections with the workers, a connection is {@code null} if the worker did not
+     *                    connect.
+     * @param processes   The processes of the workers.
+     *
+     * @throws InterruptedException If the coordinator was interrupted while waiting for the workers.
+     * @since 1.3.0
+     */
+    private void stopWorkers(WorkerConnection @NotNull [] connections, @NotNull List<Process> processes)
+            throws InterruptedException {
+        for (WorkerConnection connection : connections) {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+
+        for (Process process : processes) {
+            if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Load the profile with the historical durations of the {@link Module}s, to balance the load of the workers. If
+     * the profile cannot be read, a warning is logged and the {@link Module}s get a unit cost.
+     *
+     * @return The loaded profile, or {@code null} if there is no profile file set in the settings.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    private ModuleProfile loadProfile() {
+        Path profileFile = moduleSchedulerSettings.getProfileFile();
+        if (profileFile == null) {
+            return null;
+        }
+
+        try {
+            return ModuleProfile.load(profileFile, moduleSchedulerSettings.getProfileSmoothing());
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The module profile '%s' could not be read: %s".formatted(profileFile, e.getMessage())
+            );
+            return null;
+        }
+    }
+
+    /**
+     * Restore the {@link Module} from the state that has been sent back by its worker.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param state     The encoded state of the {@link Module}.
+     * @param <M>       The type of the {@link Module}.
+     *
+     * @return The restored {@link Module}.
+     *
+     * @throws IOException If the state could not be decoded.
+     * @since 1.3.0
+     */
+    private static <M extends Module> @NotNull Module decode(@NotNull Class<M> moduleCls, byte @NotNull [] state)
+            throws IOException {
+        ModuleCodec<M> moduleCodec = ModuleCache.getCodec(moduleCls);
+        if (moduleCodec == null) {
+            throw new IOException("The module %s has no codec.".formatted(moduleCls.getName()));
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(state))) {
+            M module = moduleCodec.decode(input);
+            if (module == null) {
+                throw new IOException("The codec of %s restored no module.".formatted(moduleCls.getName()));
+            }
+            return module;
+        }
+    }
+
+    /**
+     * The connection with a worker.
+     *
+     * @since 1.3.0
+     */
+    private static final class WorkerConnection {
+        /**
+         * The socket of the connection.
+         *
+         * @since 1.3.0
+         */
+        private final Socket socket;
+        /**
+         * The input from the worker.
+         *
+         * @since 1.3.0
+         */
+        private final DataInputStream input;
+        /**
+         * The output to the worker.
+         *
+         * @since 1.3.0
+         */
+        private final DataOutputStream output;
+        /**
+         * The index of the worker.
+         *
+         * @since 1.3.0
+         */
+        private final int worker;
+
+        /**
+         * Construct a new {@link WorkerConnection}.
+         *
+         * @param socket The socket of the connection.
+         * @param input  The input from the worker.
+         * @param output The output to the worker.
+         * @param worker The index of the worker.
+         *
+         * @since 1.3.0
+         */
+        private WorkerConnection(Socket socket, DataInputStream input, DataOutputStream output, int worker) {
+            this.socket = socket;
+            this.input = input;
+            this.output = output;
+            this.worker = worker;
+        }
+
+        /**
+         * Accept the connection of a worker, and read the index of the worker.
+         *
+         * @param socket The socket of the connection.
+         *
+         * @return The connection with the worker.
+         *
+         * @throws IOException If the index of the worker could not be read.
+         * @since 1.3.0
+         */
+        private static @NotNull WorkerConnection accept(@NotNull Socket socket) throws IOException {
+            try {
+                socket.setTcpNoDelay(true);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                return new WorkerConnection(socket, input, output, WorkerProtocol.readHello(input));
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Send the given {@link Module} to the worker.
+         *
+         * @param moduleCls The class of the {@link Module}.
+         *
+         * @throws IOException If the {@link Module} could not be sent.
+         * @since 1.3.0
+         */
+        private void run(@NotNull Class<? extends Module> moduleCls) throws IOException {
+            WorkerProtocol.writeRun(output, moduleCls);
+        }
+
+        /**
+         * Read the next result of the worker.
+         *
+         * @return The result of the worker.
+         *
+         * @throws IOException If the result could not be read, or if the worker has disconnected.
+         * @since 1.3.0
+         */
+        private @NotNull WorkerProtocol.WorkerResult read() throws IOException {
+            return WorkerProtocol.readResult(input);
+        }
+
+        /**
+         * Stop the worker and close the connection.
+         *
+         * @since 1.3.0
+         */
+        private void close() {
+            try {
+                WorkerProtocol.writeShutdown(output);
+            } catch (IOException ignored) {
+                // The worker has already disconnected.
+            }
+
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // The connection is closed anyway.
+            }
+        }
+    }
+
+    /**
+     * A result of a worker, or the disconnection of a worker.
+     *
+     * @param worker The index of the worker.
+     * @param result The result of the worker, or {@code null} if the worker has disconnected.
+     *
+     * @since 1.3.0
+     */
+    private record WorkerEvent(int worker, WorkerProtocol.WorkerResult result) {
+    }
+}
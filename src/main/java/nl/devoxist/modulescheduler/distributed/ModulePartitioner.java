@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * {@link ModulePartitioner} divides the {@link Module}s of an {@link ExecutionPlan} over the worker processes. A
+ * {@link Module} that is injected into the constructor of another {@link Module} must be in the same process, so these
+ * {@link Module}s are joined into one group. The groups are assigned to the workers from the most expensive group to
+ * the cheapest. A group goes to the worker with which it shares the most dependency edges, as long as the load of that
+ * worker stays within the balance limit. So the partition keeps the cross-process edges low, without putting all
+ * {@link Module}s in one process.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModulePartitioner {
+    /**
+     * The factor of the average load that a worker may exceed, before a group is placed on another worker.
+     *
+     * @since 1.3.0
+     */
+    private static final double BALANCE_LIMIT = 1.25;
+
+    /**
+     * Construct a new {@link ModulePartitioner} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link ModulePartitioner} was try to construct the class. The
+     *                                construction of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private ModulePartitioner() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Partition the {@link Module}s of the given plan over the given amount of workers.
+     *
+     * @param plan    The plan that is partitioned.
+     * @param costs   The estimated costs of the {@link Module}s, indexed by their id.
+     * @param workers The amount of workers, this must be at least 1.
+     *
+     * @return The worker of every {@link Module}, indexed by their id.
+     *
+     * @throws IllegalArgumentException If the amount of workers is smaller than 1.
+     * @since 1.3.0
+     */
+    public static int @NotNull [] partition(@NotNull ExecutionPlan plan, long @NotNull [] costs, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The amount of workers must be at least 1.");
+        }
+
+        int size = plan.size();
+        int[] groups = joinConstructorModules(plan);
+
+        Map<Integer, List<Integer>> groupMembers = new LinkedHashMap<>();
+        long totalCost = 0;
+        for (int id = 0; id < size; id++) {
+            groupMembers.computeIfAbsent(groups[id], (group) -> new ArrayList<>()).add(id);
+            totalCost += costs[id];
+        }
+
+        List<List<Integer>> sortedGroups = new ArrayList<>(groupMembers.values());
+        sortedGroups.sort(Comparator.comparingLong((List<Integer> members) -> groupCost(members, costs)).reversed());
+
+        long loadLimit = (long) Math.ceil((double) totalCost / workers * BALANCE_LIMIT);
+        int[] assignment = new int[size];
+        Arrays.fill(assignment, -1);
+        long[] loads = new long[workers];
+
+        for (List<Integer> members : sortedGroups) {
+            long cost = groupCost(members, costs);
+            int[] sharedEdges = countSharedEdges(plan, members, assignment, workers);
+
+            int bestWorker = -1;
+            for (int worker = 0; worker < workers; worker++) {
+                if (loads[worker] > 0 && loads[worker] + cost > loadLimit) {
+                    continue;
+                }
+                if (bestWorker == -1
+                    || sharedEdges[worker] > sharedEdges[bestWorker]
+                    || sharedEdges[worker] == sharedEdges[bestWorker] && loads[worker] < loads[bestWorker]) {
+                    bestWorker = worker;
+                }
+            }
+
+            if (bestWorker == -1) {
+                bestWorker = leastLoaded(loads);
+            }
+
+            loads[bestWorker] += cost;
+            for (int id : members) {
+                assignment[id] = bestWorker;
+            }
+        }
+
+        return assignment;
+    }
+
+    /**
+     * Count the edges that cross from one worker to another in the given assignment.
+     *
+     * @param plan       The plan that is partitioned.
+     * @param assignment The worker of every {@link Module}, indexed by their id.
+     *
+     * @return The amount of edges between {@link Module}s on different workers.
+     *
+     * @since 1.3.0
+     */
+    public static int countCrossEdges(@NotNull ExecutionPlan plan, int @NotNull [] assignment) {
+        int crossEdges = 0;
+        for (int id = 0; id < plan.size(); id++) {
+            for (int dependent : plan.getDependents(id)) {
+                if (assignment[id] != assignment[dependent]) {
+                    ++crossEdges;
+                }
+            }
+        }
+        return crossEdges;
+    }
+
+    /**
+     * Join the {@link Module}s that are injected into a constructor with the {@link Module} of the constructor, with a
+     * union-find over the ids.
+     *
+     * @param plan The plan that is partitioned.
+     *
+     * @return The group of every {@link Module}, indexed by their id. The group is the id of its root {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private static int @NotNull [] joinConstructorModules(@NotNull ExecutionPlan plan) {
+        int size = plan.size();
+        Map<Class<? extends Module>, Integer> ids = new HashMap<>(size * 2);
+        int[] parents = new int[size];
+        for (int id = 0; id < size; id++) {
+            ids.put(plan.getModule(id).getModule(), id);
+            parents[id] = id;
+        }
+
+        for (int id = 0; id < size; id++) {
+            for (Class<? extends Module> constructorModule :
+                    ModuleMetadata.of(plan.getModule(id).getModule()).getConstructorModules()) {
+                Integer other = ids.get(constructorModule);
+                if (other != null) {
+                    parents[find(parents, id)] = find(parents, other);
+                }
+            }
+        }
+
+        int[] groups = new int[size];
+        for (int id = 0; id < size; id++) {
+            groups[id] = find(parents, id);
+        }
+        return groups;
+    }
+
+    /**
+     * Find the root of the given id, and compress the path to the root.
+     *
+     * @param parents The parents of the ids.
+     * @param id      The id of which the root is found.
+     *
+     * @return The root of the id.
+     *
+     * @since 1.3.0
+     */
+    private static int find(int @NotNull [] parents, int id) {
+        int root = id;
+        while (parents[root] != root) {
+            root = parents[root];
+        }
+        while (parents[id] != root) {
+            int parent = parents[id];
+            parents[id] = root;
+            id = parent;
+        }
+        return root;
+    }
+
+    /**
+     * Count the dependency edges between the given group and the {@link Module}s that are already assigned.
+     *
+     * @param plan       The plan that is partitioned.
+     * @param members    The ids of the {@link Module}s of the group.
+     * @param assignment The worker of every assigned {@link Module}, or {@code -1} if not yet assigned.
+     * @param workers    The amount of workers.
+     *
+     * @return The amount of shared edges, indexed by the worker.
+     *
+     * @since 1.3.0
+     */
+    private static int @NotNull [] countSharedEdges(
+            @NotNull ExecutionPlan plan,
+            @NotNull List<Integer> members,
+            int @NotNull [] assignment,
+            int workers
+    ) {
+        int[] sharedEdges = new int[workers];
+        for (int id : members) {
+            for (int dependency : plan.getDependencies(id)) {
+                if (assignment[dependency] >= 0) {
+                    ++sharedEdges[assignment[dependency]];
+                }
+            }
+            for (int dependent : plan.getDependents(id)) {
+                if (assignment[dependent] >= 0) {
+                    ++sharedEdges[assignment[dependent]];
+                }
+            }
+        }
+        return sharedEdges;
+    }
+
+    /**
+     * Get the total cost of the given group.
+     *
+     * @param members The ids of the {@link Module}s of the group.
+     * @param costs   The estimated costs of the {@link Module}s, indexed by their id.
+     *
+     * @return The total cost of the group.
+     *
+     * @since 1.3.0
+     */
+    private static long groupCost(@NotNull List<Integer> members, long @NotNull [] costs) {
+        long cost = 0;
+        for (int id : members) {
+            cost += costs[id];
+        }
+        return cost;
+    }
+
+    /**
+     * Get the worker with the lowest load.
+     *
+     * @param loads The loads of the workers.
+     *
+     * @return The index of the worker with the lowest load.
+     *
+     * @since 1.3.0
+     */
+    private static int leastLoaded(long @NotNull [] loads) {
+        int leastLoaded = 0;
+        for (int worker = 1; worker < loads.length; worker++) {
+            if (loads[worker] < loads[leastLoaded]) {
+                leastLoaded = worker;
+            }
+        }
+        return leastLoaded;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.cache.ModuleCache;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.lifecycle.PhasedModule;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link WorkerMain} is the entry point of a worker process of the {@link DistributedRunner}. The worker connects to
+ * the coordinator over a loopback socket and runs the {@link Module}s that it receives, one at a time. The
+ * {@link Module}s are constructed with their binding plan from the {@link Module}s that have been run by the same
+ * worker. The state of a {@link Module} with a codec is sent back to the coordinator.
+ * <p>
+ * The worker is started by the coordinator:
+ * <pre>
+ * java -cp &lt;class path&gt; nl.devoxist.modulescheduler.distributed.WorkerMain &lt;host&gt; &lt;port&gt; &lt;index&gt;
+ * </pre>
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class WorkerMain {
+
+    /**
+     * Construct a new {@link WorkerMain} object. This always fails, because the class is a static class. So it only
+     * contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link WorkerMain} was try to construct the class. The construction of
+     *                                this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private WorkerMain() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Connect to the coordinator and run the received {@link Module}s, until the coordinator stops the worker.
+     *
+     * @param args The host and the port of the coordinator, and the index of the worker.
+     *
+     * @throws IOException If the connection with the coordinator failed.
+     * @since 1.3.0
+     */
+    public static void main(String @NotNull [] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: WorkerMain <host> <port> <index>");
+            System.exit(2);
+        }
+
+        try (Socket socket = new Socket(args[0], Integer.parseInt(args[1]))) {
+            socket.setTcpNoDelay(true);
+            serve(socket.getInputStream(), socket.getOutputStream(), Integer.parseInt(args[2]));
+        }
+    }
+
+    /**
+     * Run the {@link Module}s that are received from the given input, until the coordinator stops the worker or
+     * closes the connection.
+     *
+     * @param inputStream  The input from the coordinator.
+     * @param outputStream The output to the coordinator.
+     * @param worker       The index of the worker.
+     *
+     * @throws IOException If the connection with the coordinator failed.
+     * @since 1.3.0
+     */
+    public static void serve(@NotNull InputStream inputStream, @NotNull OutputStream outputStream, int worker)
+            throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        Map<Class<? extends Module>, Module> constructedModules = new HashMap<>();
+
+        WorkerProtocol.writeHello(output, worker);
+        while (true) {
+            byte command;
+            try {
+                command = input.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+
+            if (command == WorkerProtocol.SHUTDOWN) {
+                return;
+            }
+            if (command != WorkerProtocol.RUN) {
+                throw new IOException("Unknown command %d of the coordinator.".formatted(command));
+            }
+
+            runModule(input.readUTF(), constructedModules, output);
+        }
+    }
+
+    /**
+     * Create the command of the JVM of a worker.
+     *
+     * @param host       The host of the coordinator.
+     * @param port       The port of the coordinator.
+     * @param worker     The index of the worker.
+     * @param jvmOptions The options of the JVM, like the size of the heap.
+     * @param classPath  The class path of the worker, this must contain the {@link Module}s.
+     *
+     * @return The command of the JVM.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull List<String> createCommand(
+            @NotNull String host,
+            int port,
+            int worker,
+            @NotNull List<String> jvmOptions,
+            @NotNull String classPath
+    ) {
+        List<String> command = new ArrayList<>(jvmOptions.size() + 7);
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classPath);
+        command.add(WorkerMain.class.getName());
+        command.add(host);
+        command.add(Integer.toString(port));
+        command.add(Integer.toString(worker));
+        return command;
+    }
+
+    /**
+     * Construct and execute the {@link Module} with the given class name, and send the result to the coordinator. The
+     * phases of a {@link PhasedModule} are executed directly after each other, because the coordinator only
+     * dispatches finished {@link Module}s.
+     *
+     * @param moduleName         The class name of the {@link Module}.
+     * @param constructedModules The {@link Module}s that have been run by this worker, linked with their class.
+     * @param output             The output to the coordinator.
+     *
+     * @throws IOException If the result could not be sent.
+     * @since 1.3.0
+     */
+    private static void runModule(
+            @NotNull String moduleName,
+            @NotNull Map<Class<? extends Module>, Module> constructedModules,
+            @NotNull DataOutputStream output
+    ) throws IOException {
+        try {
+            Class<? extends Module> moduleCls = Class.forName(moduleName, true, ClassLoader.getSystemClassLoader())
+                    .asSubclass(Module.class);
+
+            long constructionStart = System.nanoTime();
+            Module module = ModuleMetadata.of(moduleCls).newInstance(constructedModules);
+            if (module == null) {
+                throw new ModuleException(
+                        "The module %s has no binding plan in this worker.".formatted(moduleName)
+                );
+            }
+            if (module instanceof PhasedModule phasedModule) {
+                phasedModule.onInit();
+            }
+            long constructionNanos = System.nanoTime() - constructionStart;
+
+            long executionStart = System.nanoTime();
+            module.onExecute();
+            if (module instanceof PhasedModule phasedModule) {
+                phasedModule.onWarmup();
+            }
+            long executionNanos = System.nanoTime() - executionStart;
+
+            constructedModules.put(moduleCls, module);
+            WorkerProtocol.writeDone(output, moduleName, constructionNanos, executionNanos, encode(moduleCls, module));
+        } catch (Exception | LinkageError e) {
+            WorkerProtocol.writeFailed(output, moduleName, e);
+        }
+    }
+
+    /**
+     * Encode the state of the executed {@link Module} with its codec.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param module    The executed {@link Module}.
+     * @param <M>       The type of the {@link Module}.
+     *
+     * @return The encoded state, or {@code null} if the {@link Module} has no codec.
+     *
+     * @throws IOException If the state could not be encoded.
+     * @since 1.3.0
+     */
+    private static <M extends Module> byte @Nullable [] encode(@NotNull Class<M> moduleCls, @NotNull Module module)
+            throws IOException {
+        ModuleCodec<M> moduleCodec = ModuleCache.getCodec(moduleCls);
+        if (moduleCodec == null) {
+            return null;
+        }
+
+        ByteArrayOutputStream state = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(state)) {
+            moduleCodec.encode(moduleCls.cast(module), output);
+        }
+        return state.toByteArray();
+    }
+}
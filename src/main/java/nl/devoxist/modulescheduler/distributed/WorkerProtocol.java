@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * {@link WorkerProtocol} contains the messages between the coordinator and the worker processes. Every message starts
+ * with its type, followed by the fields of the message. The coordinator sends a {@link Module} to a worker, when all
+ * dependencies of the {@link Module} have been finished. The worker sends back the result of the {@link Module}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+final class WorkerProtocol {
+    /**
+     * The first message of a worker, followed by the index of the worker.
+     *
+     * @since 1.3.0
+     */
+    static final byte HELLO = 1;
+    /**
+     * The command to run a {@link Module}, followed by the class name of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    static final byte RUN = 2;
+    /**
+     * The command to stop the worker.
+     *
+     * @since 1.3.0
+     */
+    static final byte SHUTDOWN = 3;
+    /**
+     * The message of a finished {@link Module}, followed by the class name, the durations and the encoded state of the
+     * {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    static final byte DONE = 4;
+    /**
+     * The message of a failed {@link Module}, followed by the class name of the {@link Module} and the failure.
+     *
+     * @since 1.3.0
+     */
+    static final byte FAILED = 5;
+    /**
+     * The maximum length of a failure that is sent to the coordinator.
+     *
+     * @since 1.3.0
+     */
+    private static final int MAX_FAILURE_LENGTH = 4096;
+
+    /**
+     * Construct a new {@link WorkerProtocol} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link WorkerProtocol} was try to construct the class. The construction
+     *                                of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private WorkerProtocol() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Write the first message of a worker.
+     *
+     * @param output The output of the worker.
+     * @param worker The index of the worker.
+     *
+     * @throws IOException If the message could not be written.
+     * @since 1.3.0
+     */
+    static void writeHello(@NotNull DataOutputStream output, int worker) throws IOException {
+        output.writeByte(HELLO);
+        output.writeInt(worker);
+        output.flush();
+    }
+
+    /**
+     * Read the first message of a worker.
+     *
+     * @param input The input of the coordinator.
+     *
+     * @return The index of the worker.
+     *
+     * @throws IOException If the message could not be read, or if it is not the first message of a worker.
+     * @since 1.3.0
+     */
+    static int readHello(@NotNull DataInputStream input) throws IOException {
+        if (input.readByte() != HELLO) {
+            throw new IOException("The worker did not introduce itself.");
+        }
+        return input.readInt();
+    }
+
+    /**
+     * Write the command to run the given {@link Module}.
+     *
+     * @param output    The output of the coordinator.
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @throws IOException If the command could not be written.
+     * @since 1.3.0
+     */
+    static void writeRun(@NotNull DataOutputStream output, @NotNull Class<? extends Module> moduleCls)
+            throws IOException {
+        output.writeByte(RUN);
+        output.writeUTF(moduleCls.getName());
+        output.flush();
+    }
+
+    /**
+     * Write the command to stop the worker.
+     *
+     * @param output The output of the coordinator.
+     *
+     * @throws IOException If the command could not be written.
+     * @since 1.3.0
+     */
+    static void writeShutdown(@NotNull DataOutputStream output) throws IOException {
+        output.writeByte(SHUTDOWN);
+        output.flush();
+    }
+
+    /**
+     * Write the message of a finished {@link Module}.
+     *
+     * @param output            The output of the worker.
+     * @param moduleName        The class name of the {@link Module}.
+     * @param constructionNanos The duration of the construction of the {@link Module} in nanoseconds.
+     * @param executionNanos    The duration of {@link Module#onExecute()} in nanoseconds.
+     * @param state             The encoded state of the {@link Module}, or {@code null} if the {@link Module} has no
+     *                          codec.
+     *
+     * @throws IOException If the message could not be written.
+     * @since 1.3.0
+     */
+    static void writeDone(
+            @NotNull DataOutputStream output,
+            @NotNull String moduleName,
+            long constructionNanos,
+            long executionNanos,
+            byte @Nullable [] state
+    ) throws IOException {
+        output.writeByte(DONE);
+        output.writeUTF(moduleName);
+        output.writeLong(constructionNanos);
+        output.writeLong(executionNanos);
+        if (state == null) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(state.length);
+            output.write(state);
+        }
+        output.flush();
+    }
+
+    /**
+     * Write the message of a failed {@link Module}.
+     *
+     * @param output     The output of the worker.
+     * @param moduleName The class name of the {@link Module}.
+     * @param failure    The failure of the {@link Module}.
+     *
+     * @throws IOException If the message could not be written.
+     * @since 1.3.0
+     */
+    static void writeFailed(@NotNull DataOutputStream output, @NotNull String moduleName, @NotNull Throwable failure)
+            throws IOException {
+        String message = String.valueOf(failure);
+        output.writeByte(FAILED);
+        output.writeUTF(moduleName);
+        output.writeUTF(message.length() > MAX_FAILURE_LENGTH ? message.substring(0, MAX_FAILURE_LENGTH) : message);
+        output.flush();
+    }
+
+    /**
+     * Read the result of a {@link Module} that has been sent by a worker.
+     *
+     * @param input The input of the coordinator.
+     *
+     * @return The result of the {@link Module}.
+     *
+     * @throws IOException If the result could not be read.
+     * @since 1.3.0
+     */
+    static @NotNull WorkerResult readResult(@NotNull DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        String moduleName = input.readUTF();
+
+        if (type == FAILED) {
+            return new WorkerResult(moduleName, 0, 0, null, input.readUTF());
+        }
+        if (type != DONE) {
+            throw new IOException("Unknown message %d of the worker.".formatted(type));
+        }
+
+        long constructionNanos = input.readLong();
+        long executionNanos = input.readLong();
+        int length = input.readInt();
+        byte[] state = null;
+        if (length >= 0) {
+            state = new byte[length];
+            input.readFully(state);
+        }
+        return new WorkerResult(moduleName, constructionNanos, executionNanos, state, null);
+    }
+
+    /**
+     * The result of a {@link Module} that has been run by a worker.
+     *
+     * @param moduleName        The class name of the {@link Module}.
+     * @param constructionNanos The duration of the construction of the {@link Module} in nanoseconds.
+     * @param executionNanos    The duration of {@link Module#onExecute()} in nanoseconds.
+     * @param state             The encoded state of the {@link Module}, or {@code null} if the {@link Module} has
+     *                          no codec or if it failed.
+     * @param failure           The failure of the {@link Module}, or {@code null} if it has been finished.
+     *
+     * @since 1.3.0
+     */
+    record WorkerResult(
+            String moduleName,
+            long constructionNanos,
+            long executionNanos,
+            byte[] state,
+            String failure
+    ) {
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.index;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * {@link ModuleIndex} is the build-time index of the {@link Module} implementations. The index is written by the
+ * {@link ModuleIndexProcessor} to {@value #LOCATION} and lists every {@link Module} implementation together with its
+ * dependencies, those of the {@link Dependency} annotation and of the constructors.
+ * <p>
+ * The index is a text file in UTF-8. Every line contains the binary name of a {@link Module} class, followed by the
+ * binary names of its dependencies, separated by tabs. Lines that start with {@code #} are comments. Reading the index
+ * does not load any of the listed classes.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleIndex {
+    /**
+     * The location of the index in the class path.
+     *
+     * @since 1.3.0
+     */
+    public static final String LOCATION = "META-INF/module-scheduler/modules.idx";
+    /**
+     * The first line of the index.
+     *
+     * @since 1.3.0
+     */
+    static final String HEADER = "# Module Scheduler index, version 1";
+    /**
+     * The separator of the class names in a line of the index.
+     *
+     * @since 1.3.0
+     */
+    static final char SEPARATOR = '\t';
+    /**
+     * The {@link Map} of the binary names of the {@link Module}s linked with the binary names of their dependencies.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, List<String>> modules;
+
+    /**
+     * Construct a new {@link ModuleIndex}.
+     *
+     * @param modules The {@link Map} of the binary names of the {@link Module}s linked with the binary names of their
+     *                dependencies.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    private ModuleIndex(Map<String, List<String>> modules) {
+        this.modules = modules;
+    }
+
+    /**
+     * Load the indexes that are visible to the given {@link ClassLoader}. Every jar or directory of the class path can
+     * contain an index, these are merged into one {@link ModuleIndex}.
+     *
+     * @param classLoader The {@link ClassLoader} of which the indexes are loaded.
+     *
+     * @return The merged {@link ModuleIndex}, this is empty if there is no index.
+     *
+     * @throws IOException If an index could not be read.
+     * @since 1.3.0
+     */
+    public static @NotNull ModuleIndex load(@NotNull ClassLoader classLoader) throws IOException {
+        Map<String, List<String>> modules = new LinkedHashMap<>();
+
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        while (resources.hasMoreElements()) {
+            try (InputStream inputStream = resources.nextElement().openStream()) {
+                read(new InputStreamReader(inputStream, StandardCharsets.UTF_8), modules);
+            }
+        }
+
+        return new ModuleIndex(modules);
+    }
+
+    /**
+     * Read an index from the given {@link Reader}.
+     *
+     * @param reader The {@link Reader} of the index.
+     *
+     * @return The read {@link ModuleIndex}.
+     *
+     * @throws IOException If the index could not be read.
+     * @since 1.3.0
+     */
+    public static @NotNull ModuleIndex read(@NotNull Reader reader) throws IOException {
+        Map<String, List<String>> modules = new LinkedHashMap<>();
+        read(reader, modules);
+        return new ModuleIndex(modules);
+    }
+
+    /**
+     * Read an index from the given {@link Reader} into the given {@link Map}.
+     *
+     * @param reader  The {@link Reader} of the index.
+     * @param modules The {@link Map} where the read {@link Module}s are added to.
+     *
+     * @throws IOException If the index could not be read.
+     * @since 1.3.0
+     */
+    private static void read(@NotNull Reader reader, @NotNull Map<String, List<String>> modules) throws IOException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+
+            List<String> names = split(line);
+            modules.put(names.get(0), List.copyOf(names.subList(1, names.size())));
+        }
+    }
+
+    /**
+     * Split a line of the index into the class names.
+     *
+     * @param line The line of the index.
+     *
+     * @return The class names of the line.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull List<String> split(@NotNull String line) {
+        List<String> names = new ArrayList<>();
+
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(SEPARATOR, start)) != -1) {
+            names.add(line.substring(start, end).strip());
+            start = end + 1;
+        }
+        names.add(line.substring(start).strip());
+
+        return names;
+    }
+
+    /**
+     * Get the binary names of the indexed {@link Module}s.
+     *
+     * @return An unmodifiable {@link Set} of the binary names of the indexed {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull @UnmodifiableView Set<String> getModules() {
+        return Collections.unmodifiableSet(modules.keySet());
+    }
+
+    /**
+     * Get the binary names of the dependencies of the given indexed {@link Module}.
+     *
+     * @param module The binary name of the {@link Module}.
+     *
+     * @return The binary names of the dependencies, this is empty if the {@link Module} is not indexed.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull List<String> getDependencies(@NotNull String module) {
+        return modules.getOrDefault(module, List.of());
+    }
+
+    /**
+     * Check if the index contains no {@link Module}s.
+     *
+     * @return If {@code true} the index contains no {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public boolean isEmpty() {
+        return modules.isEmpty();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.index;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.SoftDependency;
+import nl.devoxist.modulescheduler.annotation.Streaming;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * {@link ModuleIndexProcessor} is the annotation processor that writes the {@link ModuleIndex}. It collects every
+ * concrete {@link Module} implementation of the compilation, together with the dependencies of the {@link Dependency}
+ * annotation and of the parameters of the constructors. The index is written to {@value ModuleIndex#LOCATION} when
+ * the processing is over.
+ * <p>
+ * The processor is not registered as a service, it needs to be added to the annotation processors of the build.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+@SupportedAnnotationTypes("*")
+public final class ModuleIndexProcessor extends AbstractProcessor {
+    /**
+     * The {@link Map} of the binary names of the found {@link Module}s linked with the binary names of their
+     * dependencies.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, Set<String>> modules = new TreeMap<>();
+    /**
+     * The found {@link Module}s, these are the originating elements of the index.
+     *
+     * @since 1.3.0
+     */
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    /**
+     * Get the latest supported source version, the processor does not depend on the language features.
+     *
+     * @return The latest supported source version.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * Collect the {@link Module}s of the round. When the processing is over, the index is written.
+     *
+     * @param annotations The annotations of the round.
+     * @param roundEnv    The environment of the round.
+     *
+     * @return Always {@code false}, so the annotations can be processed by other processors.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement moduleElement = processingEnv.getElementUtils().getTypeElement(Module.class.getName());
+        if (moduleElement == null) {
+            return false;
+        }
+
+        TypeMirror moduleType = processingEnv.getTypeUtils().erasure(moduleElement.asType());
+        for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collect(typeElement, moduleType);
+        }
+
+        return false;
+    }
+
+    /**
+     * Collect the given type and its nested types, if these are {@link Module}s.
+     *
+     * @param typeElement The type that needs to be collected.
+     * @param moduleType  The erased type of {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private void collect(@NotNull TypeElement typeElement, TypeMirror moduleType) {
+        if (isModule(typeElement, moduleType)) {
+            String name = getBinaryName(typeElement);
+            modules.put(name, getDependencies(typeElement, moduleType));
+            originatingElements.add(typeElement);
+        }
+
+        for (TypeElement nestedElement : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+            collect(nestedElement, moduleType);
+        }
+    }
+
+    /**
+     * Check if the given type is a concrete {@link Module}, which can be constructed by the scheduler.
+     *
+     * @param typeElement The type that needs to be checked.
+     * @param moduleType  The erased type of {@link Module}.
+     *
+     * @return If {@code true} the given type is a concrete {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private boolean isModule(@NotNull TypeElement typeElement, TypeMirror moduleType) {
+        Set<Modifier> modifiers = typeElement.getModifiers();
+        if (typeElement.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (typeElement.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        return isAssignable(typeElement.asType(), moduleType);
+    }
+
+    /**
+     * Get the dependencies of the given {@link Module}, those of the {@link Dependency} annotation, of the
+     * {@link Streaming} annotation and of the parameters of the constructors. The parameters of which the type is
+     * declared in the {@link SoftDependency} annotation are not a dependency.
+     *
+     * @param typeElement The {@link Module} of which the dependencies are retrieved.
+     * @param moduleType  The erased type of {@link Module}.
+     *
+     * @return The binary names of the dependencies.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull Set<String> getDependencies(@NotNull TypeElement typeElement, TypeMirror moduleType) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        Set<String> softDependencies = new LinkedHashSet<>();
+
+        for (AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            Set<String> target;
+            if (annotationElement.getQualifiedName().contentEquals(Dependency.class.getName())
+                || annotationElement.getQualifiedName().contentEquals(Streaming.class.getName())) {
+                target = dependencies;
+            } else if (annotationElement.getQualifiedName().contentEquals(SoftDependency.class.getName())) {
+                target = softDependencies;
+            } else {
+                continue;
+            }
+
+            for (AnnotationValue annotationValue : annotationMirror.getElementValues().values()) {
+                if (!(annotationValue.getValue() instanceof List<?> values)) {
+                    continue;
+                }
+                for (Object value : values) {
+                    if (((AnnotationValue) value).getValue() instanceof DeclaredType declaredType) {
+                        target.add(getBinaryName((TypeElement) declaredType.asElement()));
+                    }
+                }
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            for (VariableElement parameter : constructor.getParameters()) {
+                TypeMirror parameterType = parameter.asType();
+                if (parameterType instanceof DeclaredType declaredType && isAssignable(parameterType, moduleType)) {
+                    String dependency = getBinaryName((TypeElement) declaredType.asElement());
+                    if (!softDependencies.contains(dependency)) {
+                        dependencies.add(dependency);
+                    }
+                }
+            }
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Check if the erasure of the given type is assignable to the given type.
+     *
+     * @param type       The type that needs to be checked.
+     * @param moduleType The erased type of {@link Module}.
+     *
+     * @return If {@code true} the type is assignable.
+     *
+     * @since 1.3.0
+     */
+    private boolean isAssignable(TypeMirror type, TypeMirror moduleType) {
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type), moduleType);
+    }
+
+    /**
+     * Get the binary name of the given type, this is the name that is used to load the class.
+     *
+     * @param typeElement The type of which the binary name is retrieved.
+     *
+     * @return The binary name of the type.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull String getBinaryName(TypeElement typeElement) {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    /**
+     * Write the index to {@value ModuleIndex#LOCATION}. Nothing is written, if there are no {@link Module}s found.
+     *
+     * @since 1.3.0
+     */
+    private void writeIndex() {
+        if (modules.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject fileObject = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT,
+                    "",
+                    ModuleIndex.LOCATION,
+                    originatingElements.toArray(Element[]::new)
+            );
+
+            try (Writer writer = new OutputStreamWriter(fileObject.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(ModuleIndex.HEADER);
+                writer.write('\n');
+
+                for (Map.Entry<String, Set<String>> entry : modules.entrySet()) {
+                    writer.write(entry.getKey());
+                    for (String dependency : entry.getValue()) {
+                        writer.write(ModuleIndex.SEPARATOR);
+                        writer.write(dependency);
+                    }
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "The module index could not be written: " + e.getMessage()
+            );
+        }
+    }
+}
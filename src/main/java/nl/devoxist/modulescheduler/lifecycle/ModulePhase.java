@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.lifecycle;
+
+import nl.devoxist.modulescheduler.Module;
+
+/**
+ * The phases of the lifecycle of a {@link Module}. Every phase has its own dependency semantics, so the phases of
+ * the {@link Module}s are pipelined. The init phase of a {@link Module} overlaps the warmup phases of its
+ * dependencies, instead of waiting behind them.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public enum ModulePhase {
+    /**
+     * The construction of the {@link Module} and {@link PhasedModule#onInit()}. The init phase starts when all the
+     * dependencies of the {@link Module} have been started.
+     *
+     * @since 1.3.0
+     */
+    INIT,
+    /**
+     * The execution of {@link Module#onExecute()}. The start phase starts when the {@link Module} has been initialized
+     * and all its {@link PhasedModule} dependencies have been warmed up. So a {@link Module} is only executed when its
+     * dependencies are ready.
+     *
+     * @since 1.3.0
+     */
+    START,
+    /**
+     * The execution of {@link PhasedModule#onWarmup()}. The warmup phase starts directly after the start phase, while
+     * the dependents of the {@link Module} are initialized. The {@link Module} is ready when it has been warmed up.
+     *
+     * @since 1.3.0
+     */
+    WARMUP
+}
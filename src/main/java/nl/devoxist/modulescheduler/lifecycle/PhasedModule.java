@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.lifecycle;
+
+import nl.devoxist.modulescheduler.Module;
+
+/**
+ * A {@link PhasedModule} is a {@link Module} that splits its work over the phases of the {@link ModulePhase}
+ * lifecycle. The preparing work is done in {@link #onInit()}, the starting work in {@link Module#onExecute()} and the
+ * work that makes the {@link Module} ready in {@link #onWarmup()}.
+ * <p>
+ * The dependents of a {@link PhasedModule} are constructed and initialized while it is warmed up, and they are
+ * executed when it is ready. So the cheap phases of the dependents overlap the expensive phases of this
+ * {@link Module}, instead of waiting behind them.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public interface PhasedModule extends Module {
+
+    /**
+     * The init phase of the {@link Module}. This is executed directly after the {@link Module} has been constructed,
+     * when all its dependencies have been started. The dependencies may still be warming up.
+     *
+     * @since 1.3.0
+     */
+    default void onInit() {
+    }
+
+    /**
+     * The warmup phase of the {@link Module}. This is executed directly after {@link Module#onExecute()}, while the
+     * dependents of the {@link Module} are initialized. The dependents are executed when this method returns.
+     *
+     * @since 1.3.0
+     */
+    default void onWarmup() {
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.path;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link CycleDetector} finds the dependency cycles in a graph, where the nodes are identified by an int id. It finds
+ * the strongly connected components of the graph with an iterative version of the algorithm of Tarjan, so also very
+ * deep graphs do not overflow the stack. Every strongly connected component with a cycle results in one reported
+ * cycle.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class CycleDetector {
+
+    /**
+     * Construct a new {@link CycleDetector} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link CycleDetector} was try to construct the class. The construction of
+     *                                this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private CycleDetector() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Find the cycles in the given graph.
+     *
+     * @param successors The ids of the successors of every node, indexed by the id of the node.
+     *
+     * @return The found cycles. A cycle is an array of ids, that starts and ends with the same id, where every id is
+     * followed by one of its successors. The {@link List} is empty if the graph has no cycles.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull List<int[]> findCycles(int @NotNull [] @NotNull [] successors) {
+        int size = successors.length;
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] edgePosition = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        int[] stack = new int[size];
+        int[] callStack = new int[size];
+        int[] previous = new int[size];
+        Arrays.fill(index, -1);
+        Arrays.fill(component, -1);
+        Arrays.fill(previous, -1);
+
+        List<int[]> cycles = new ArrayList<>();
+        int nextIndex = 0;
+        int componentCount = 0;
+
+        for (int start = 0; start < size; start++) {
+            if (index[start] != -1) {
+                continue;
+            }
+
+            int stackSize = 0;
+            int callStackSize = 0;
+
+            index[start] = lowLink[start] = nextIndex++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+            callStack[callStackSize++] = start;
+
+            while (callStackSize > 0) {
+                int node = callStack[callStackSize - 1];
+
+                if (edgePosition[node] < successors[node].length) {
+                    int successor = successors[node][edgePosition[node]++];
+
+                    if (index[successor] == -1) {
+                        index[successor] = lowLink[successor] = nextIndex++;
+                        stack[stackSize++] = successor;
+                        onStack[successor] = true;
+                        callStack[callStackSize++] = successor;
+                    } else if (onStack[successor]) {
+                        lowLink[node] = Math.min(lowLink[node], index[successor]);
+                    }
+                    continue;
+                }
+
+                --callStackSize;
+                if (callStackSize > 0) {
+                    int parent = callStack[callStackSize - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+
+                if (lowLink[node] != index[node]) {
+                    continue;
+                }
+
+                int member;
+                int componentSize = 0;
+                do {
+                    member = stack[--stackSize];
+                    onStack[member] = false;
+                    component[member] = componentCount;
+                    ++componentSize;
+                } while (member != node);
+
+                int[] cycle = findCycle(successors, component, componentCount, node, componentSize, previous);
+                if (cycle != null) {
+                    cycles.add(cycle);
+                }
+                ++componentCount;
+            }
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Find a cycle through the given node inside its strongly connected component, with a breadth first search. So
+     * the found cycle is one of the shortest cycles through the node.
+     *
+     * @param successors    The ids of the successors of every node, indexed by the id of the node.
+     * @param component     The component of every node, indexed by the id of the node.
+     * @param componentId   The id of the component of the given node.
+     * @param node          The node where the cycle starts and ends.
+     * @param componentSize The amount of nodes in the component.
+     * @param previous      The previous node of every visited node, indexed by the id of the node. This array is
+     *                      shared between the searches, every entry is {@code -1} before and after the search.
+     *
+     * @return The cycle through the given node, or {@code null} if the component has no cycle.
+     *
+     * @since 1.3.0
+     */
+    private static int[] findCycle(
+            int[][] successors,
+            int[] component,
+            int componentId,
+            int node,
+            int componentSize,
+            int[] previous
+    ) {
+        if (componentSize == 1) {
+            for (int successor : successors[node]) {
+                if (successor == node) {
+                    return new int[]{node, node};
+                }
+            }
+            return null;
+        }
+
+        int[] queue = new int[componentSize];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = node;
+        previous[node] = node;
+
+        int[] cycle = null;
+        search:
+        while (head < tail) {
+            int current = queue[head++];
+            for (int successor : successors[current]) {
+                if (component[successor] != componentId) {
+                    continue;
+                }
+                if (successor == node) {
+                    cycle = buildCycle(previous, node, current);
+                    break search;
+                }
+                if (previous[successor] == -1) {
+                    previous[successor] = current;
+                    queue[tail++] = successor;
+                }
+            }
+        }
+
+        for (int i = 0; i < tail; i++) {
+            previous[queue[i]] = -1;
+        }
+        return cycle;
+    }
+
+    /**
+     * Build the cycle from the breadth first search tree.
+     *
+     * @param previous The previous node of every visited node, indexed by the id of the node.
+     * @param node     The node where the cycle starts and ends.
+     * @param last     The last node of the cycle, before it returns to the given node.
+     *
+     * @return The cycle, that starts and ends with the given node.
+     *
+     * @since 1.3.0
+     */
+    private static int @NotNull [] buildCycle(int[] previous, int node, int last) {
+        int length = 2;
+        for (int current = last; current != node; current = previous[current]) {
+            ++length;
+        }
+
+        int[] cycle = new int[length];
+        cycle[0] = node;
+        cycle[length - 1] = node;
+        int position = length - 2;
+        for (int current = last; current != node; current = previous[current]) {
+            cycle[position--] = current;
+        }
+        return cycle;
+    }
+}
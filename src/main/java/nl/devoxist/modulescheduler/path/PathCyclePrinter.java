@@ -25,126 +25,145 @@ package nl.devoxist.modulescheduler.path;
 import nl.devoxist.modulescheduler.ModuleScheduler;
 import nl.devoxist.modulescheduler.console.Console;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * The process of path resolver and printing of the {@link Path}. This is meant to be for to showcase the cycle
- * dependencies.
+ * The renderer and printer of the dependency cycles. This is meant to be for to showcase the cycle dependencies. The
+ * cycles are rendered synchronously from arrays of int ids into a single pre-sized {@link StringBuilder}, so many
+ * cycles can be reported in one pass and in one log record.
  *
  * @author Dev-Bjorn
- * @version 1.2.0
+ * @version 1.3.0
  * @since 1.0.0
  */
-public final class PathCyclePrinter extends Thread {
+public final class PathCyclePrinter {
     /**
-     * The start path of the resolver.
+     * The first line of a reported cycle.
      *
-     * @since 1.0.0
+     * @since 1.3.0
      */
-    private final Path firstPath;
+    private static final String HEADER = "[WARN] Dependency cycle detected: ";
     /**
-     * The information of the current running {@link ModuleScheduler}
+     * The prefix of a step in a reported cycle.
      *
-     * @since 1.1.0
+     * @since 1.3.0
      */
-    private final ModuleSchedulerInformation moduleSchedulerInformation;
+    private static final String STEP = "[WARN]    -> ";
     /**
-     * The current path of the resolver.
+     * The last line of a reported cycle.
      *
-     * @since 1.0.0
+     * @since 1.3.0
      */
-    private Path path;
-    /**
-     * The amount of steps of the path.
-     *
-     * @since 1.0.0
-     */
-    private int steps = 0;
+    private static final String FOOTER = "[WARN]    -> Cycle ends";
+
     /**
-     * The future of the output of the cycle printer.
+     * Construct a new {@link PathCyclePrinter} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
      *
-     * @since 1.0.0
+     * @throws IllegalAccessException If the {@link PathCyclePrinter} was try to construct the class. The construction
+     *                                of this class is not possible, because this is a static class.
+     * @since 1.3.0
      */
-    private final CompletableFuture<String> completableFuture;
+    @Contract(value = " -> fail",
+              pure = true)
+    private PathCyclePrinter() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
 
     /**
-     * Construct a {@link PathCyclePrinter} object that is responsible for the printing of a path cycle.
+     * Print the given cycles as a single warning to the {@link Logger} of the current running
+     * {@link ModuleScheduler}. Nothing is printed if there are no cycles.
      *
-     * @param moduleSchedulerInformation The information of the current running {@link ModuleScheduler}
-     * @param path                       The path that needs to be printed.
+     * @param moduleSchedulerInformation The information of the current running {@link ModuleScheduler}.
+     * @param names                      The names of the nodes, indexed by their id.
+     * @param cycles                     The cycles that need to be printed, as found by
+     *                                   {@link CycleDetector#findCycles(int[][])}.
      *
-     * @since 1.0.0
+     * @since 1.3.0
      */
-    PathCyclePrinter(ModuleSchedulerInformation moduleSchedulerInformation, Path path) {
-        this.moduleSchedulerInformation = moduleSchedulerInformation;
-        this.path = path;
-        this.firstPath = path;
+    public static void printCycles(
+            @NotNull ModuleSchedulerInformation moduleSchedulerInformation,
+            String @NotNull [] names,
+            @NotNull List<int[]> cycles
+    ) {
+        if (cycles.isEmpty()) {
+            return;
+        }
 
-        completableFuture = new CompletableFuture<>();
+        Logger logger = moduleSchedulerInformation.getModuleSchedulerSettings().getLogger();
+        logger.log(Level.WARNING, render(names, cycles));
     }
 
     /**
-     * Construct and print the cycle of {@link Path}.
+     * Construct and print the cycle of {@link Path}. The path is walked back from the given {@link Path}, until the
+     * {@link Class} of the given {@link Path} is found again.
      *
      * @param moduleSchedulerInformation The information of the current running {@link ModuleScheduler}
      * @param path                       The path that needs to be printed.
      *
      * @since 1.0.0
      */
-    public static void printPath(ModuleSchedulerInformation moduleSchedulerInformation, Path path) {
-        PathCyclePrinter builder = new PathCyclePrinter(moduleSchedulerInformation, path);
-        builder.start();
-        builder.print();
+    public static void printPath(@NotNull ModuleSchedulerInformation moduleSchedulerInformation, @NotNull Path path) {
+        Class<?> firstCls = path.getCls();
+        List<String> names = new ArrayList<>();
+        names.add(firstCls.getName());
+
+        Path current = path.getPreviousPath();
+        while (current != null && current.getCls() != firstCls) {
+            names.add(current.getCls().getName());
+            current = current.getPreviousPath();
+        }
+
+        int[] cycle = new int[current == null ? names.size() : names.size() + 1];
+        for (int i = 0; i < names.size(); i++) {
+            cycle[i] = i;
+        }
+
+        printCycles(moduleSchedulerInformation, names.toArray(String[]::new), List.of(cycle));
     }
 
     /**
-     * The process of path resolver and printing of the {@link Path}. This is meant to be for to showcase the cycle
-     * dependencies.
+     * Render the given cycles into a single message. The {@link StringBuilder} is sized up front to the exact length
+     * of the message.
      *
-     * @since 1.0.0
+     * @param names  The names of the nodes, indexed by their id.
+     * @param cycles The cycles that need to be rendered.
+     *
+     * @return The rendered message of the cycles.
+     *
+     * @since 1.3.0
      */
-    @Override
-    public void run() {
-        StringBuilder builder = new StringBuilder();
-
-        builder.append("[WARN] Dependency cycle detected: ");
-
-        while (path.hasPreviousPath()) {
-            builder.append(Console.NEWLINE).append("[WARN]    -> %s".formatted(path.getCls().getName()));
-
-            if (steps != 0 && firstPath.hashCode() == path.hashCode()) {
-                builder.append(Console.NEWLINE).append("[WARN]    -> Cycle ends");
-                break;
+    public static @NotNull String render(String @NotNull [] names, @NotNull List<int[]> cycles) {
+        String newline = Console.NEWLINE.toString();
+        String reset = Console.RESET.toString();
+
+        int capacity = 0;
+        for (int[] cycle : cycles) {
+            capacity += HEADER.length() + newline.length() + FOOTER.length() + reset.length() + newline.length();
+            for (int id : cycle) {
+                capacity += newline.length() + STEP.length() + names[id].length();
             }
-
-            path = path.getPreviousPath();
-            ++steps;
         }
 
-        builder.append(Console.RESET);
-
-        this.completableFuture.complete(builder.toString());
-    }
+        StringBuilder builder = new StringBuilder(capacity);
+        for (int i = 0; i < cycles.size(); i++) {
+            if (i != 0) {
+                builder.append(newline);
+            }
 
-    /**
-     * Print the message to {@link System#out}, this can only be done after {@link #run()} is runned.
-     *
-     * @since 1.0.0
-     */
-    public void print() {
-        String value;
-        try {
-            value = this.completableFuture.get();
-        } catch (InterruptedException | ExecutionException ignored) {
-            return;
+            builder.append(HEADER);
+            for (int id : cycles.get(i)) {
+                builder.append(newline).append(STEP).append(names[id]);
+            }
+            builder.append(newline).append(FOOTER).append(reset);
         }
 
-        Logger logger = this.moduleSchedulerInformation.getModuleSchedulerSettings().getLogger();
-        this.completableFuture.thenRun(() -> logger.log(Level.WARNING, value));
+        return builder.toString();
     }
-
 }
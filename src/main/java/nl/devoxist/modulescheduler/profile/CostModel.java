@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.profile;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cost;
+import nl.devoxist.modulescheduler.runner.CostDeviation;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * {@link CostModel} estimates the costs of the {@link Module}s in an {@link ExecutionPlan}. The costs are taken from
+ * the historical durations in the {@link ModuleProfile}. A {@link Module} without history gets a cost from its declared
+ * {@link Cost} weight. The weight is converted to nanoseconds with the {@link Module}s that have both a weight and
+ * history. A {@link Module} without history and without weight has the weight {@code 1}. When there is no history at
+ * all, the weight itself is the cost.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class CostModel {
+    /**
+     * The cost of a {@link Module} when there is no history at all.
+     *
+     * @since 1.3.0
+     */
+    private static final long UNIT_COST = 1;
+    /**
+     * The minimum amount of weighted {@link Module}s, that is needed to compare the weights with the measured
+     * durations. A single weight has nothing to be relative to.
+     *
+     * @since 1.3.0
+     */
+    private static final int MIN_VALIDATED_MODULES = 2;
+    /**
+     * The profile with the historical durations of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleProfile moduleProfile;
+
+    /**
+     * Construct a new {@link CostModel}.
+     *
+     * @param moduleProfile The profile with the historical durations of the {@link Module}s. If {@code null} every
+     *                      {@link Module} gets the cost of its declared weight.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public CostModel(@Nullable ModuleProfile moduleProfile) {
+        this.moduleProfile = moduleProfile;
+    }
+
+    /**
+     * Estimate the costs of the {@link Module}s in the given {@link ExecutionPlan}.
+     *
+     * @param plan The plan of which the costs are estimated.
+     *
+     * @return The estimated costs in nanoseconds, indexed by the ids of the {@link Module}s. When there is no history
+     * at all, the costs are the declared weights.
+     *
+     * @since 1.3.0
+     */
+    public long @NotNull [] estimate(@NotNull ExecutionPlan plan) {
+        long[] costs = new long[plan.size()];
+
+        long knownTotal = 0;
+        int knownModules = 0;
+        long weightedTotal = 0;
+        long weightTotal = 0;
+        for (int id = 0; id < costs.length; id++) {
+            costs[id] = moduleProfile == null ? -1 : moduleProfile.getDurationNanos(plan.getModule(id).getModule());
+            if (costs[id] < 0) {
+                continue;
+            }
+
+            knownTotal += costs[id];
+            ++knownModules;
+            long weight = plan.getModule(id).getCostWeight();
+            if (weight > 0) {
+                weightedTotal += costs[id];
+                weightTotal += weight;
+            }
+        }
+
+        long defaultCost = knownModules == 0 ? UNIT_COST : Math.max(UNIT_COST, knownTotal / knownModules);
+        long costPerWeight = weightTotal == 0 ? defaultCost : Math.max(UNIT_COST, weightedTotal / weightTotal);
+        for (int id = 0; id < costs.length; id++) {
+            if (costs[id] >= 0) {
+                continue;
+            }
+
+            long weight = plan.getModule(id).getCostWeight();
+            costs[id] = weight > 0 ? weight * costPerWeight : defaultCost;
+        }
+
+        return costs;
+    }
+
+    /**
+     * Get the declared expected memory of the {@link Module}s in the given {@link ExecutionPlan}.
+     *
+     * @param plan The plan of which the memory is retrieved.
+     *
+     * @return The expected memory in bytes, indexed by the ids of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public static long @NotNull [] estimateMemory(@NotNull ExecutionPlan plan) {
+        long[] memory = new long[plan.size()];
+        for (int id = 0; id < memory.length; id++) {
+            memory[id] = plan.getModule(id).getMemoryBytes();
+        }
+        return memory;
+    }
+
+    /**
+     * Compare the declared {@link Cost} weights with the measured durations of a run. The weights are relative, so
+     * the share of every weight in the total weight is compared with the share of its measured duration in the total
+     * measured duration. The {@link Module}s that have been restored from the cache or resumed from the checkpoint
+     * journal have not been executed, so they are not compared.
+     *
+     * @param plan          The plan that has been run.
+     * @param moduleReports The reports of the {@link Module}s of the run.
+     * @param tolerance     The factor that the measured share may differ from the declared share, before the weight
+     *                      is reported.
+     *
+     * @return The {@link Module}s of which the weight differs more than the tolerance, the largest deviation first.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull List<CostDeviation> validate(
+            @NotNull ExecutionPlan plan,
+            @NotNull Collection<ModuleReport> moduleReports,
+            double tolerance
+    ) {
+        Map<Class<? extends Module>, Long> weights = new HashMap<>();
+        for (int id = 0; id < plan.size(); id++) {
+            ModuleInformation<?> moduleInformation = plan.getModule(id);
+            if (moduleInformation.getCostWeight() > 0) {
+                weights.put(moduleInformation.getModule(), moduleInformation.getCostWeight());
+            }
+        }
+
+        List<ModuleReport> measuredReports = moduleReports.stream()
+                .filter((report) -> !report.cached() && !report.resumed())
+                .filter((report) -> weights.containsKey(report.module()))
+                .toList();
+        long measuredTotal = measuredReports.stream()
+                .mapToLong((report) -> report.constructionNanos() + report.executionNanos())
+                .sum();
+        if (measuredReports.size() < MIN_VALIDATED_MODULES || measuredTotal <= 0) {
+            return List.of();
+        }
+        long weightTotal = measuredReports.stream().mapToLong((report) -> weights.get(report.module())).sum();
+
+        List<CostDeviation> deviations = new ArrayList<>();
+        for (ModuleReport report : measuredReports) {
+            long weight = weights.get(report.module());
+            long measuredNanos = report.constructionNanos() + report.executionNanos();
+            double expectedNanos = (double) measuredTotal * weight / weightTotal;
+            double deviationRatio = measuredNanos / expectedNanos;
+
+            if (deviationRatio > tolerance || deviationRatio * tolerance < 1) {
+                deviations.add(new CostDeviation(
+                        report.module(),
+                        weight,
+                        Math.round(expectedNanos),
+                        measuredNanos,
+                        deviationRatio
+                ));
+            }
+        }
+
+        deviations.sort(Comparator.comparingDouble(
+                (CostDeviation deviation) -> Math.abs(Math.log(deviation.deviationRatio()))
+        ).reversed());
+        return deviations;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.profile;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ModuleProfile} is a persisted store of the historical durations of the {@link Module}s. The durations are
+ * keyed by the name of the class of the {@link Module} and are smoothed with an exponential moving average, so the
+ * profile follows the behaviour of the recent runs.
+ * <p>
+ * The profile is stored in a compact binary format. The file starts with a magic number and a version, followed by
+ * the amount of entries and the entries themselves. An entry contains the class name, the smoothed construction
+ * duration, the smoothed execution duration and the amount of samples.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleProfile {
+    /**
+     * The magic number at the start of a profile file.
+     *
+     * @since 1.3.0
+     */
+    private static final int MAGIC = 0x4D535046;
+    /**
+     * The version of the binary format of the profile file.
+     *
+     * @since 1.3.0
+     */
+    private static final short VERSION = 1;
+    /**
+     * The {@link Map} of the class names of the {@link Module}s linked with their smoothed durations.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+    /**
+     * The smoothing factor of the exponential moving average. This is the weight of a new sample.
+     *
+     * @since 1.3.0
+     */
+    private final double smoothingFactor;
+
+    /**
+     * Construct a new empty {@link ModuleProfile}.
+     *
+     * @param smoothingFactor The smoothing factor of the exponential moving average, this must be in the range
+     *                        {@code (0, 1]}.
+     *
+     * @throws IllegalArgumentException If the smoothing factor is not in the range {@code (0, 1]}.
+     * @since 1.3.0
+     */
+    public ModuleProfile(double smoothingFactor) {
+        if (!(smoothingFactor > 0 && smoothingFactor <= 1)) {
+            throw new IllegalArgumentException("The smoothing factor must be in the range (0, 1].");
+        }
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    /**
+     * Load the {@link ModuleProfile} from the given file. If the file does not exist, an empty profile is returned.
+     *
+     * @param file            The file where the profile is stored.
+     * @param smoothingFactor The smoothing factor of the exponential moving average, this must be in the range
+     *                        {@code (0, 1]}.
+     *
+     * @return The loaded {@link ModuleProfile}.
+     *
+     * @throws IOException If the file could not be read or if the file is not a profile file.
+     * @since 1.3.0
+     */
+    public static @NotNull ModuleProfile load(@NotNull Path file, double smoothingFactor) throws IOException {
+        ModuleProfile profile = new ModuleProfile(smoothingFactor);
+
+        if (!Files.exists(file)) {
+            return profile;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new IOException("The file '%s' is not a module profile.".formatted(file));
+            }
+
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                String moduleName = input.readUTF();
+                long constructionNanos = input.readLong();
+                long executionNanos = input.readLong();
+                int samples = input.readInt();
+                profile.entries.put(moduleName, new Entry(constructionNanos, executionNanos, samples));
+            }
+        }
+
+        return profile;
+    }
+
+    /**
+     * Save the {@link ModuleProfile} to the given file. The profile is first written to a temporary file, which
+     * replaces the given file afterwards. So a crash during the write does not corrupt the previous profile.
+     *
+     * @param file The file where the profile will be stored.
+     *
+     * @throws IOException If the file could not be written.
+     * @since 1.3.0
+     */
+    public synchronized void save(@NotNull Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(VERSION);
+                output.writeInt(entries.size());
+
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(entry.getValue().constructionNanos());
+                    output.writeLong(entry.getValue().executionNanos());
+                    output.writeInt(entry.getValue().samples());
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Record the measured durations of a {@link Module}. The durations are smoothed into the current durations of the
+     * {@link Module} with the exponential moving average.
+     *
+     * @param moduleCls         The class of the {@link Module} that has been measured.
+     * @param constructionNanos The duration of the construction of the {@link Module} in nanoseconds.
+     * @param executionNanos    The duration of {@link Module#onExecute()} in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    public synchronized void record(
+            @NotNull Class<? extends Module> moduleCls,
+            long constructionNanos,
+            long executionNanos
+    ) {
+        entries.merge(
+                moduleCls.getName(),
+                new Entry(constructionNanos, executionNanos, 1),
+                (previous, sample) -> new Entry(
+                        smooth(previous.constructionNanos(), sample.constructionNanos()),
+                        smooth(previous.executionNanos(), sample.executionNanos()),
+                        previous.samples() + 1
+                )
+        );
+    }
+
+    /**
+     * Get the smoothed duration of a full run of the {@link Module}, the construction and the execution.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The smoothed duration of the {@link Module} in nanoseconds. If the {@link Module} has never been
+     * recorded, it returns {@code -1}.
+     *
+     * @since 1.3.0
+     */
+    public synchronized long getDurationNanos(@NotNull Class<? extends Module> moduleCls) {
+        Entry entry = entries.get(moduleCls.getName());
+        if (entry == null) {
+            return -1;
+        }
+        return entry.constructionNanos() + entry.executionNanos();
+    }
+
+    /**
+     * Get the amount of samples that are smoothed into the durations of the {@link Module}.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The amount of samples of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    public synchronized int getSamples(@NotNull Class<? extends Module> moduleCls) {
+        Entry entry = entries.get(moduleCls.getName());
+        return entry == null ? 0 : entry.samples();
+    }
+
+    /**
+     * Smooth a new sample into the previous value with the exponential moving average.
+     *
+     * @param previous The previous smoothed value.
+     * @param sample   The new sample.
+     *
+     * @return The new smoothed value.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    private long smooth(long previous, long sample) {
+        return Math.round(smoothingFactor * sample + (1 - smoothingFactor) * previous);
+    }
+
+    /**
+     * The smoothed durations of a {@link Module}.
+     *
+     * @param constructionNanos The smoothed duration of the construction in nanoseconds.
+     * @param executionNanos    The smoothed duration of the execution in nanoseconds.
+     * @param samples           The amount of samples that are smoothed into the durations.
+     *
+     * @since 1.3.0
+     */
+    private record Entry(long constructionNanos, long executionNanos, int samples) {
+    }
+}
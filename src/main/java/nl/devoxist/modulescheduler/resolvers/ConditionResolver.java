@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.resolvers;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Conditional;
+import nl.devoxist.modulescheduler.condition.ModuleCondition;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+
+/**
+ * The {@link ConditionResolver} evaluates the {@link Conditional} annotations of the {@link Module}s, before these are
+ * resolved. An inactive {@link Module} is pruned, together with every {@link Module} that depends on it. The
+ * dependencies of an inactive {@link Module} are never retrieved, so their classes are not loaded for it.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ConditionResolver {
+    /**
+     * The process-wide cache of the constructed {@link ModuleCondition}s.
+     *
+     * @since 1.3.0
+     */
+    private static final ClassValue<ModuleCondition> CONDITIONS = new ClassValue<>() {
+        @Override
+        protected ModuleCondition computeValue(Class<?> type) {
+            try {
+                return (ModuleCondition) type.getConstructor().newInstance();
+            } catch (NoSuchMethodException | InstantiationException | IllegalAccessException |
+                     InvocationTargetException e) {
+                throw new ModuleException("The module condition %s cannot be constructed.".formatted(type.getName()),
+                                          e);
+            }
+        }
+    };
+
+    /**
+     * Construct a new {@link ConditionResolver} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link ConditionResolver} was try to construct the class. The
+     *                                construction of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private ConditionResolver() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Check if the conditions of the given {@link Module} are active. Only the {@link Conditional} annotation of the
+     * {@link Module} itself is evaluated, not the conditions of its dependencies.
+     *
+     * @param moduleCls               The class of the {@link Module}.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     *
+     * @return {@code true} if the {@link Module} has no {@link Conditional} annotation or if all its conditions are
+     * active.
+     *
+     * @throws ModuleException If a condition cannot be constructed.
+     * @since 1.3.0
+     */
+    public static boolean isActive(
+            @NotNull Class<? extends Module> moduleCls,
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+    ) {
+        Conditional conditional = moduleCls.getAnnotation(Conditional.class);
+        if (conditional == null) {
+            return true;
+        }
+
+        for (String toggle : conditional.toggles()) {
+            if (!moduleSchedulerSettings.isToggleEnabled(toggle)) {
+                return false;
+            }
+        }
+
+        for (Class<? extends ModuleCondition> conditionCls : conditional.value()) {
+            if (!CONDITIONS.get(conditionCls).isActive(moduleCls, moduleSchedulerSettings)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the {@link Module}s that need to be pruned from the given {@link Module}s. A {@link Module} is pruned if it
+     * is inactive or if it depends on a pruned {@link Module}. The condition of a {@link Module} is evaluated before
+     * its dependencies are retrieved.
+     *
+     * @param modules                 The {@link Module}s that are about to be resolved.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     *
+     * @return The pruned {@link Module}s, these include the pruned dependencies that are not in the given
+     * {@link Module}s.
+     *
+     * @throws ModuleException If a condition cannot be constructed.
+     * @since 1.3.0
+     */
+    public static @NotNull Set<Class<? extends Module>> findPrunedModules(
+            @NotNull Collection<Class<? extends Module>> modules,
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+    ) {
+        Map<Class<? extends Module>, Boolean> pruned = new HashMap<>();
+        for (Class<? extends Module> moduleCls : modules) {
+            isPruned(moduleCls, moduleSchedulerSettings, pruned);
+        }
+
+        Set<Class<? extends Module>> prunedModules = new LinkedHashSet<>();
+        for (Map.Entry<Class<? extends Module>, Boolean> entry : pruned.entrySet()) {
+            if (entry.getValue()) {
+                prunedModules.add(entry.getKey());
+            }
+        }
+        return prunedModules;
+    }
+
+    /**
+     * Remove the pruned {@link Module}s from the given {@link Module}s.
+     *
+     * @param modules                 The {@link Module}s that are about to be resolved.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     *
+     * @return The active {@link Module}s, in the order of the given {@link Module}s.
+     *
+     * @throws ModuleException If a condition cannot be constructed.
+     * @see #findPrunedModules(Collection, ModuleSchedulerSettings)
+     * @since 1.3.0
+     */
+    public static @NotNull Set<Class<? extends Module>> pruneModules(
+            @NotNull Collection<Class<? extends Module>> modules,
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+    ) {
+        Set<Class<? extends Module>> activeModules = new LinkedHashSet<>(modules);
+        activeModules.removeAll(findPrunedModules(modules, moduleSchedulerSettings));
+        return activeModules;
+    }
+
+    /**
+     * Check if the given {@link Module} needs to be pruned. The result is stored in the given map. A {@link Module}
+     * that is part of a dependency cycle is not pruned because of the cycle, the cycle is reported when the
+     * {@link Module}s are staged.
+     *
+     * @param moduleCls               The class of the {@link Module}.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param pruned                  The {@link Module}s that have been checked, linked with the result. A
+     *                                {@link Module} that is being checked is linked with {@code false}.
+     *
+     * @return {@code true} if the {@link Module} needs to be pruned.
+     *
+     * @since 1.3.0
+     */
+    private static boolean isPruned(
+            @NotNull Class<? extends Module> moduleCls,
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull Map<Class<? extends Module>, Boolean> pruned
+    ) {
+        Boolean result = pruned.get(moduleCls);
+        if (result != null) {
+            return result;
+        }
+
+        if (!isActive(moduleCls, moduleSchedulerSettings)) {
+            pruned.put(moduleCls, true);
+            return true;
+        }
+
+        pruned.put(moduleCls, false);
+        for (Class<? extends Module> dependency : ModuleMetadata.of(moduleCls).getDependencies()) {
+            if (dependency != moduleCls && isPruned(dependency, moduleSchedulerSettings, pruned)) {
+                pruned.put(moduleCls, true);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -24,20 +24,23 @@ package nl.devoxist.modulescheduler.resolvers;
 
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.exception.ModuleException;
 import nl.devoxist.modulescheduler.settings.ModuleInformation;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Comparator;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
- * The {@link DependencyResolver} will be used to resolve the dependencies of the {@link Module}s.
+ * The {@link DependencyResolver} will be used to resolve the dependencies of the {@link Module}s. The soft
+ * dependencies are resolved after all the {@link Module}s, so only the soft dependencies that are part of the graph
+ * become an edge.
  *
  * @author Dev-Bjorn
- * @version 1.0.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class DependencyResolver {
@@ -76,7 +79,109 @@ public final class DependencyResolver {
             moduleInformationMap.put(module, information);
         }
 
+        resolveSoftDependencies(modules, moduleInformationMap);
         return moduleInformationMap;
     }
 
+    /**
+     * Resolve the dependencies of the given {@link Module}s and return the information of these modules. When the
+     * parallelism is higher than {@code 1}, the dependencies of all the given {@link Module}s are retrieved at the
+     * same time on a {@link ForkJoinPool}. The retrieved dependencies are merged afterwards in a single pass in the
+     * order of the class names, so the resolved information does not depend on the parallelism.
+     *
+     * @param modules     The collection of modules of which the dependencies need to be resolved.
+     * @param parallelism The amount of {@link Module}s of which the dependencies can be retrieved at the same time.
+     *
+     * @return The map with the class of the {@link Module} and information of that particular {@link Module}.
+     *
+     * @throws ModuleException If the retrieving of the dependencies has been interrupted or failed.
+     * @since 1.3.0
+     */
+    public static @NotNull Map<Class<? extends Module>, ModuleInformation<?>> resolveDependencies(
+            @NotNull Set<Class<? extends Module>> modules,
+            int parallelism
+    ) {
+        if (parallelism <= 1 || modules.size() <= 1) {
+            return resolveDependencies(modules);
+        }
+
+        List<Class<? extends Module>> moduleList = new ArrayList<>(modules);
+        moduleList.sort(Comparator.comparing(Class::getName));
+
+        Class<? extends Module>[][] dependencies = retrieveDependencies(moduleList, parallelism);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        for (int i = 0; i < dependencies.length; i++) {
+            Class<? extends Module> module = moduleList.get(i);
+            ModuleInformation<?> information =
+                    ModuleInformationResolver.resolveInformation(module, dependencies[i], moduleInformationMap);
+            moduleInformationMap.put(module, information);
+        }
+
+        resolveSoftDependencies(modules, moduleInformationMap);
+        return moduleInformationMap;
+    }
+
+    /**
+     * Resolve the soft dependencies of the given {@link Module}s, after all the {@link Module}s of the graph have been
+     * resolved. A soft dependency that is not part of the graph is left out.
+     *
+     * @param modules              The {@link Module}s of which the soft dependencies need to be resolved.
+     * @param moduleInformationMap The map with the class of the {@link Module} and information of that particular
+     *                             {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private static void resolveSoftDependencies(
+            @NotNull Collection<Class<? extends Module>> modules,
+            @NotNull Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap
+    ) {
+        for (Class<? extends Module> module : modules) {
+            ModuleInformationResolver.resolveSoftDependencies(moduleInformationMap.get(module), moduleInformationMap);
+        }
+    }
+
+    /**
+     * Retrieve the dependencies of the given {@link Module}s on a {@link ForkJoinPool}.
+     *
+     * @param modules     The list of modules of which the dependencies need to be retrieved.
+     * @param parallelism The amount of {@link Module}s of which the dependencies can be retrieved at the same time.
+     *
+     * @return The dependencies of the {@link Module}s, indexed by the position of the {@link Module} in the list.
+     *
+     * @throws ModuleException If the retrieving of the dependencies has been interrupted or failed.
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Module>[] @NotNull [] retrieveDependencies(
+            @NotNull List<Class<? extends Module>> modules,
+            int parallelism
+    ) {
+        Class<? extends Module>[][] dependencies = (Class<? extends Module>[][]) new Class<?>[modules.size()][];
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, modules.size())
+                    .parallel()
+                    .forEach(i -> dependencies[i] = ModuleMetadata.of(modules.get(i)).getDependencies())
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModuleException("The retrieving of the dependencies has been interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new ModuleException("The retrieving of the dependencies has failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        return dependencies;
+    }
 }
@@ -24,17 +24,25 @@ package nl.devoxist.modulescheduler.resolvers;
 
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.SoftDependency;
+import nl.devoxist.modulescheduler.annotation.Streaming;
 import nl.devoxist.modulescheduler.collection.Arrays;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
  * {@link DependencyRetriever} is an object that is responsible for retrieving the dependencies of the {@link Module}s
  *
  * @author Dev-Bjorn
- * @version 1.2.0
+ * @version 1.3.0
  * @since 1.2.0
  */
 public final class DependencyRetriever {
@@ -54,7 +62,7 @@ public final class DependencyRetriever {
 
     /**
      * Get the dependencies of a {@link Module} class. These dependencies can be retrieved by the {@link Dependency}
-     * annotation or the constructors of the given class.
+     * annotation, the {@link Streaming} annotation or the constructors of the given class.
      *
      * @param moduleCls The class of which the dependencies are retrieved from.
      *
@@ -65,16 +73,100 @@ public final class DependencyRetriever {
      */
     public static Class<? extends Module>[] getDependencies(
             @NotNull Class<? extends Module> moduleCls
+    ) {
+        return ModuleMetadata.of(moduleCls).getDependencies().clone();
+    }
+
+    /**
+     * Retrieve the dependencies of a {@link Module} class through reflection. This is only done once per class, the
+     * result is cached in the {@link ModuleMetadata} of the class.
+     *
+     * @param moduleCls The class of which the dependencies are retrieved from.
+     *
+     * @return The dependencies of the given {@link Module} class.
+     *
+     * @since 1.3.0
+     */
+    static Class<? extends Module>[] retrieveDependencies(
+            @NotNull Class<? extends Module> moduleCls
     ) {
         return Arrays.concatArrays(
-                getDependenciesByAnnotation(moduleCls),
+                Arrays.concatArrays(getDependenciesByAnnotation(moduleCls), getStreamingDependencies(moduleCls)),
                 getDependenciesByConstructor(moduleCls)
         );
     }
 
+    /**
+     * Get the streaming dependencies of a {@link Module} class by the annotation {@link Streaming}. If the
+     * {@link Streaming} is not present on the class it will return an empty array of {@link Module} classes.
+     *
+     * @param moduleCls The class of which the streaming dependencies are retrieved from.
+     *
+     * @return The streaming dependencies of the given {@link Module} class.
+     *
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends Module>[] getStreamingDependencies(@NotNull Class<? extends Module> moduleCls) {
+        Streaming streaming = moduleCls.getAnnotation(Streaming.class);
+        if (streaming == null) {
+            return (Class<? extends Module>[]) new Class<?>[0];
+        }
+        return streaming.value();
+    }
+
 
     /**
-     * Get the dependencies of a {@link Module} class by the parameters of the constructors of the given class.
+     * Get the soft dependencies of a {@link Module} class. These dependencies can be retrieved by the
+     * {@link SoftDependency} annotation or the parameters of the constructors with the type {@link Optional} of a
+     * {@link Module}.
+     *
+     * @param moduleCls The class of which the soft dependencies are retrieved from.
+     *
+     * @return The soft dependencies of the given {@link Module} class.
+     *
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    public static Class<? extends Module> @NotNull [] getSoftDependencies(@NotNull Class<? extends Module> moduleCls) {
+        SoftDependency softDependency = moduleCls.getAnnotation(SoftDependency.class);
+        Stream<Class<?>> annotated = softDependency == null ? Stream.empty() : Stream.of(softDependency.value());
+
+        return (Class<? extends Module>[]) Stream.concat(
+                        annotated,
+                        Stream.of(moduleCls.getDeclaredConstructors())
+                                .flatMap((declaredConstructor) ->
+                                                 Stream.of(declaredConstructor.getGenericParameterTypes()))
+                                .map(DependencyRetriever::getOptionalModule)
+                                .filter((optionalModule) -> optionalModule != null)
+                )
+                .distinct()
+                .toArray(Class<?>[]::new);
+    }
+
+    /**
+     * Get the {@link Module} class of a parameter with the type {@link Optional} of a {@link Module}.
+     *
+     * @param parameterType The generic type of the parameter.
+     *
+     * @return The {@link Module} class in the {@link Optional}, or {@code null} if the type is not an
+     * {@link Optional} of a {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    static @Nullable Class<? extends Module> getOptionalModule(@NotNull Type parameterType) {
+        if (!(parameterType instanceof ParameterizedType parameterizedType)
+            || parameterizedType.getRawType() != Optional.class
+            || !(parameterizedType.getActualTypeArguments()[0] instanceof Class<?> argument)
+            || !Module.class.isAssignableFrom(argument)) {
+            return null;
+        }
+        return argument.asSubclass(Module.class);
+    }
+
+    /**
+     * Get the dependencies of a {@link Module} class by the parameters of the constructors of the given class. The
+     * parameters of which the type is declared in the {@link SoftDependency} annotation are not a dependency.
      *
      * @param moduleCls The class of which the dependencies are retrieved from.
      *
@@ -85,9 +177,13 @@ public final class DependencyRetriever {
      */
     @SuppressWarnings("unchecked")
     private static Class<? extends Module> @NotNull [] getDependenciesByConstructor(@NotNull Class<? extends Module> moduleCls) {
+        SoftDependency softDependency = moduleCls.getAnnotation(SoftDependency.class);
+        Set<Class<?>> softDependencies = softDependency == null ? Set.of() : Set.copyOf(List.of(softDependency.value()));
+
         return (Class<? extends Module>[]) Stream.of(moduleCls.getDeclaredConstructors())
                 .flatMap((declaredConstructor) -> Stream.of(declaredConstructor.getParameterTypes()))
                 .filter(Module.class::isAssignableFrom)
+                .filter((parameterType) -> !softDependencies.contains(parameterType))
                 .distinct()
                 .toArray(Class<?>[]::new);
     }
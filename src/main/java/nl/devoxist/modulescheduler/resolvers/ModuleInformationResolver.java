@@ -23,6 +23,9 @@
 package nl.devoxist.modulescheduler.resolvers;
 
 import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cost;
+import nl.devoxist.modulescheduler.channel.StreamingModule;
+import nl.devoxist.modulescheduler.exception.ModuleException;
 import nl.devoxist.modulescheduler.settings.ModuleInformation;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -34,7 +37,7 @@ import java.util.Map;
  * ({@link ModuleInformation}).
  *
  * @author Dev-Bjorn
- * @version 1.2.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class ModuleInformationResolver {
@@ -68,9 +71,33 @@ public final class ModuleInformationResolver {
             Class<? extends Module> moduleCls,
             Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap
     ) {
-        ModuleInformation<?> moduleInformation = getModuleInformation(moduleCls, moduleInformationMap);
+        return resolveInformation(moduleCls, ModuleMetadata.of(moduleCls).getDependencies(), moduleInformationMap);
+    }
 
-        Class<? extends Module>[] dependencies = DependencyRetriever.getDependencies(moduleCls);
+    /**
+     * Resolve the information of the given {@link Module} with the already retrieved dependencies of the
+     * {@link Module}. The map is needed for the resolving of the dependent on information. It may be so that the
+     * module is already in the map, then the information will be updated.
+     *
+     * @param moduleCls            The {@link Module} {@link Class} of which the information needs to be resolved.
+     * @param dependencies         The dependencies of the {@link Module}, retrieved by
+     *                             {@link ModuleMetadata#getDependencies()}.
+     * @param moduleInformationMap The {@link Map} of all the already loaded information of the {@link Module}s.
+     *
+     * @return The information of the given module ({@link ModuleInformation}).
+     *
+     * @throws ModuleException If the declared {@link Cost} of the {@link Module} is invalid, or if a streaming
+     *                         dependency is not a {@link StreamingModule}.
+     * @since 1.3.0
+     */
+    public static @NotNull ModuleInformation<?> resolveInformation(
+            Class<? extends Module> moduleCls,
+            Class<? extends Module> @NotNull [] dependencies,
+            Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap
+    ) {
+        ModuleInformation<?> moduleInformation = getModuleInformation(moduleCls, moduleInformationMap);
+        resolveCost(moduleInformation);
+        resolveStreamingDependencies(moduleInformation);
 
         for (Class<? extends Module> dependency : dependencies) {
             addDependsOnInformation(moduleInformation, dependency, moduleInformationMap);
@@ -80,6 +107,73 @@ public final class ModuleInformationResolver {
         return moduleInformation;
     }
 
+    /**
+     * Resolve the soft dependencies of the given {@link Module}. Only the soft dependencies that are present in the map
+     * become a soft dependency of the {@link Module}, the absent soft dependencies are left out and are not added to
+     * the map. This needs to be called after all the {@link Module}s of the graph are in the map.
+     *
+     * @param moduleInformation    The information of the {@link Module} of which the soft dependencies are resolved.
+     * @param moduleInformationMap The {@link Map} of all the already loaded information of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public static void resolveSoftDependencies(
+            @NotNull ModuleInformation<?> moduleInformation,
+            @NotNull Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap
+    ) {
+        Class<? extends Module> moduleCls = moduleInformation.getModule();
+        for (Class<? extends Module> softDependency : ModuleMetadata.of(moduleCls).getSoftDependencies()) {
+            if (softDependency == moduleCls || !moduleInformationMap.containsKey(softDependency)) {
+                continue;
+            }
+
+            addDependsOnInformation(moduleInformation, softDependency, moduleInformationMap);
+            moduleInformation.addSoftDependency(softDependency);
+        }
+    }
+
+    /**
+     * Resolve the declared {@link Cost} of the {@link Module} into its {@link ModuleInformation}.
+     *
+     * @param moduleInformation The information of the {@link Module}.
+     *
+     * @throws ModuleException If the weight is smaller than {@code 1}, or if the memory is negative.
+     * @since 1.3.0
+     */
+    private static void resolveCost(@NotNull ModuleInformation<?> moduleInformation) {
+        Cost cost = moduleInformation.getModule().getAnnotation(Cost.class);
+        if (cost == null) {
+            return;
+        }
+
+        if (cost.value() < 1 || cost.memoryBytes() < 0) {
+            throw new ModuleException(("The module %s declares an invalid cost, the weight must be at least 1 and " +
+                                       "the memory cannot be negative.")
+                                              .formatted(moduleInformation.getModule().getName()));
+        }
+        moduleInformation.setCost(cost.value(), cost.memoryBytes());
+    }
+
+    /**
+     * Resolve the streaming dependencies of the {@link Module} into its {@link ModuleInformation}.
+     *
+     * @param moduleInformation The information of the {@link Module}.
+     *
+     * @throws ModuleException If a streaming dependency is not a {@link StreamingModule}.
+     * @since 1.3.0
+     */
+    private static void resolveStreamingDependencies(@NotNull ModuleInformation<?> moduleInformation) {
+        for (Class<? extends Module> dependency :
+                DependencyRetriever.getStreamingDependencies(moduleInformation.getModule())) {
+            if (!StreamingModule.class.isAssignableFrom(dependency)) {
+                throw new ModuleException("The module %s streams from %s, which is not a streaming module."
+                                                  .formatted(moduleInformation.getModule().getName(),
+                                                             dependency.getName()));
+            }
+            moduleInformation.addStreamingDependency(dependency);
+        }
+    }
+
     /**
      * Get the information of a {@link Module}. If the {@link Class} of the {@link Module} is present in the
      * {@link Map}, then it will return the object that is present in the {@link Map}. When the object is not present,
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.resolvers;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link ModuleLoader} will be used to load {@link Module} classes by their class path in bulk. The classes are
+ * loaded, checked to extend {@link Module} and their {@link ModuleMetadata} is retrieved at the same time on a
+ * {@link ForkJoinPool}, so the class loading overlaps across the cores. The classes are not initialized, their static
+ * initializers run when the {@link Module}s are constructed. Every failure is gathered into one report.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleLoader {
+
+    /**
+     * Construct a new {@link ModuleLoader} object. This always fails, because the class is a static class. So it only
+     * contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link ModuleLoader} was try to construct the class. The construction of
+     *                                this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private ModuleLoader() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Load the {@link Module} classes of the given class paths. The classes are loaded at the same time, when the
+     * given {@link ClassLoader} is registered as parallel capable. Otherwise, the classes are loaded one by one,
+     * because the {@link ClassLoader} would serialize the loading anyway.
+     *
+     * @param modulePaths The class paths of the modules. The paths must lead to classes that have been implemented
+     *                    with {@link Module}.
+     * @param classLoader The {@link ClassLoader} that loads the classes.
+     * @param parallelism The amount of classes that can be loaded at the same time.
+     *
+     * @return The loaded {@link Module} classes, in the order of the given class paths.
+     *
+     * @throws ModuleException If one or more classes could not be loaded or are not extended with {@link Module}. The
+     *                         message contains every failure, the failures are added as suppressed exceptions.
+     * @since 1.3.0
+     */
+    public static @NotNull List<Class<? extends Module>> loadModules(
+            @NotNull Collection<String> modulePaths,
+            @NotNull ClassLoader classLoader,
+            int parallelism
+    ) {
+        List<String> paths = List.copyOf(modulePaths);
+        Object[] results = new Object[paths.size()];
+
+        if (parallelism <= 1 || paths.size() <= 1 || !classLoader.isRegisteredAsParallelCapable()) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = loadModule(paths.get(i), classLoader);
+            }
+        } else {
+            loadParallel(paths, classLoader, parallelism, results);
+        }
+
+        return collectModules(paths, results);
+    }
+
+    /**
+     * Load the {@link Module} classes of the given class paths on a {@link ForkJoinPool}.
+     *
+     * @param paths       The class paths of the modules.
+     * @param classLoader The {@link ClassLoader} that loads the classes.
+     * @param parallelism The amount of classes that can be loaded at the same time.
+     * @param results     The results of the loading, indexed by the position of the class path in the list.
+     *
+     * @throws ModuleException If the loading has been interrupted.
+     * @since 1.3.0
+     */
+    private static void loadParallel(
+            @NotNull List<String> paths,
+            @NotNull ClassLoader classLoader,
+            int parallelism,
+            Object @NotNull [] results
+    ) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, paths.size())
+                    .parallel()
+                    .forEach(i -> results[i] = loadModule(paths.get(i), classLoader))
+            ).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModuleException("The loading of the modules has been interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new ModuleException("The loading of the modules has failed.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Load the {@link Module} class of the given class path, without initializing it, and check that it extends
+     * {@link Module}. The {@link ModuleMetadata} of the class is retrieved as well, so the reflection is done while
+     * the class is loaded.
+     *
+     * @param modulePath  The class path of the module.
+     * @param classLoader The {@link ClassLoader} that loads the class.
+     *
+     * @return The loaded {@link Module} class, or the {@link Throwable} why the class could not be loaded.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull Object loadModule(@NotNull String modulePath, @NotNull ClassLoader classLoader) {
+        try {
+            Class<?> cls = Class.forName(modulePath, false, classLoader);
+
+            if (!Module.class.isAssignableFrom(cls)) {
+                return new ModuleException("The '%s' is not extended by Module.class.".formatted(cls.getName()));
+            }
+
+            Class<? extends Module> moduleCls = cls.asSubclass(Module.class);
+            ModuleMetadata.of(moduleCls);
+            return moduleCls;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return e;
+        }
+    }
+
+    /**
+     * Collect the loaded {@link Module} classes from the results of the loading.
+     *
+     * @param paths   The class paths of the modules.
+     * @param results The results of the loading, indexed by the position of the class path in the list.
+     *
+     * @return The loaded {@link Module} classes, in the order of the given class paths.
+     *
+     * @throws ModuleException If one or more classes could not be loaded.
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    private static @NotNull List<Class<? extends Module>> collectModules(
+            @NotNull List<String> paths,
+            Object @NotNull [] results
+    ) {
+        List<Class<? extends Module>> modules = new ArrayList<>(results.length);
+        List<Integer> failures = new ArrayList<>();
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] instanceof Throwable) {
+                failures.add(i);
+                continue;
+            }
+            modules.add((Class<? extends Module>) results[i]);
+        }
+
+        if (failures.isEmpty()) {
+            return modules;
+        }
+
+        StringBuilder message = new StringBuilder("%d of %d modules could not be loaded:".formatted(
+                failures.size(),
+                results.length
+        ));
+        for (int failure : failures) {
+            Throwable throwable = (Throwable) results[failure];
+            message.append(System.lineSeparator())
+                    .append("    - ")
+                    .append(paths.get(failure))
+                    .append(": ")
+                    .append(throwable);
+        }
+
+        ModuleException moduleException = new ModuleException(message.toString());
+        for (int failure : failures) {
+            moduleException.addSuppressed((Throwable) results[failure]);
+        }
+        throw moduleException;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.resolvers;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link ModuleMetadata} is the reflective information of a {@link Module} class, that does not change during the
+ * lifetime of the class. The metadata is cached process-wide in a {@link ClassValue}, so it is retrieved only once
+ * per class and is shared between all the schedulers. The cache is populated lazily and does not prevent the
+ * unloading of the class, because the metadata is stored with the class itself.
+ * <p>
+ * The metadata contains the dependencies of the {@link Module} and, if the {@link Module} can be constructed without
+ * the registers, the binding plan of the constructor. The binding plan is only available if the {@link Module} has a
+ * single public constructor, of which all the parameters are {@link Module}s or {@link Optional}s of {@link Module}s.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleMetadata {
+    /**
+     * The process-wide cache of the metadata of the {@link Module} classes.
+     *
+     * @since 1.3.0
+     */
+    private static final ClassValue<ModuleMetadata> CACHE = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected ModuleMetadata computeValue(Class<?> type) {
+            return new ModuleMetadata((Class<? extends Module>) type);
+        }
+    };
+    /**
+     * The dependencies of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private final Class<? extends Module>[] dependencies;
+    /**
+     * The soft dependencies of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private final Class<? extends Module>[] softDependencies;
+    /**
+     * The constructor of the binding plan. If {@code null}, the {@link Module} has no binding plan.
+     *
+     * @since 1.3.0
+     */
+    private final Constructor<?> constructor;
+    /**
+     * The {@link Module} classes that are bound to the parameters of the {@link #constructor}, in the order of the
+     * parameters.
+     *
+     * @since 1.3.0
+     */
+    private final Class<? extends Module>[] parameterModules;
+    /**
+     * If {@code true}, the parameter of the {@link #constructor} at the same position is a soft dependency, which is
+     * injected with {@code null} when the {@link Module} is absent.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] softParameters;
+    /**
+     * If {@code true}, the parameter of the {@link #constructor} at the same position is an {@link Optional} of the
+     * {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] optionalParameters;
+
+    /**
+     * Construct the {@link ModuleMetadata} of the given {@link Module} class.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private ModuleMetadata(@NotNull Class<? extends Module> moduleCls) {
+        this.dependencies = DependencyRetriever.retrieveDependencies(moduleCls);
+        this.softDependencies = DependencyRetriever.getSoftDependencies(moduleCls);
+        this.constructor = findBindableConstructor(moduleCls);
+
+        if (constructor == null) {
+            this.parameterModules = null;
+            this.softParameters = null;
+            this.optionalParameters = null;
+            return;
+        }
+
+        Class<?>[] parameterTypes = constructor.getParameterTypes().clone();
+        Type[] genericParameterTypes = constructor.getGenericParameterTypes();
+        Set<Class<? extends Module>> softModules = Set.copyOf(List.of(softDependencies));
+        this.softParameters = new boolean[parameterTypes.length];
+        this.optionalParameters = new boolean[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == Optional.class) {
+                parameterTypes[i] = DependencyRetriever.getOptionalModule(genericParameterTypes[i]);
+                optionalParameters[i] = true;
+            }
+            softParameters[i] = softModules.contains(parameterTypes[i]);
+        }
+        this.parameterModules = asModules(parameterTypes);
+    }
+
+    /**
+     * Get the metadata of the given {@link Module} class. The metadata is retrieved on the first call and cached for
+     * the following calls.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The metadata of the {@link Module} class.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull ModuleMetadata of(@NotNull Class<? extends Module> moduleCls) {
+        return CACHE.get(moduleCls);
+    }
+
+    /**
+     * Get the dependencies of the {@link Module}. The returned array is shared and must not be modified.
+     *
+     * @return The dependencies of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public Class<? extends Module> @NotNull [] getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Get the soft dependencies of the {@link Module}. These only order the load process when the {@link Module} is
+     * part of the graph. The returned array is shared and must not be modified.
+     *
+     * @return The soft dependencies of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public Class<? extends Module> @NotNull [] getSoftDependencies() {
+        return softDependencies;
+    }
+
+    /**
+     * Get the {@link Module}s that are injected into the constructor of the binding plan. The returned array is shared
+     * and must not be modified.
+     *
+     * @return The {@link Module}s of the parameters of the constructor, or an empty array if the {@link Module} has no
+     * binding plan.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public Class<? extends Module> @NotNull [] getConstructorModules() {
+        return parameterModules == null ? asModules(new Class<?>[0]) : parameterModules;
+    }
+
+    /**
+     * Check if the {@link Module} has a binding plan, so it can be constructed with {@link #newInstance(Map)}.
+     *
+     * @return If {@code true} the {@link Module} has a binding plan.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public boolean hasBindingPlan() {
+        return constructor != null;
+    }
+
+    /**
+     * Construct the {@link Module} with the binding plan. The parameters of the constructor are bound to the given
+     * constructed {@link Module}s. An absent soft dependency is bound to {@code null} or to an empty
+     * {@link Optional}.
+     *
+     * @param modules The constructed {@link Module}s, linked with their class.
+     *
+     * @return The constructed {@link Module}, or {@code null} if there is no binding plan or if a parameter of the
+     * constructor, that is not a soft dependency, is not yet constructed.
+     *
+     * @throws InvocationTargetException If the constructor has thrown an exception.
+     * @throws InstantiationException    If the class of the {@link Module} is abstract.
+     * @throws IllegalAccessException    If the constructor is not accessible.
+     * @since 1.3.0
+     */
+    public @Nullable Module newInstance(@NotNull Map<Class<? extends Module>, Module> modules)
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (constructor == null) {
+            return null;
+        }
+
+        Object[] arguments = new Object[parameterModules.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Module module = modules.get(parameterModules[i]);
+            if (optionalParameters[i]) {
+                arguments[i] = Optional.ofNullable(module);
+            } else if (module == null && !softParameters[i]) {
+                return null;
+            } else {
+                arguments[i] = module;
+            }
+        }
+
+        return (Module) constructor.newInstance(arguments);
+    }
+
+    /**
+     * Find the constructor of the binding plan. This is the single public constructor of a public, concrete
+     * {@link Module} class, of which all the parameters are {@link Module}s or {@link Optional}s of
+     * {@link Module}s.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The constructor of the binding plan, or {@code null} if the {@link Module} has no binding plan.
+     *
+     * @since 1.3.0
+     */
+    private static @Nullable Constructor<?> findBindableConstructor(@NotNull Class<? extends Module> moduleCls) {
+        int modifiers = moduleCls.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || moduleCls.isInterface()) {
+            return null;
+        }
+
+        Constructor<?>[] constructors = moduleCls.getDeclaredConstructors();
+        if (constructors.length != 1 || !Modifier.isPublic(constructors[0].getModifiers())) {
+            return null;
+        }
+
+        Class<?>[] parameterTypes = constructors[0].getParameterTypes();
+        Type[] genericParameterTypes = constructors[0].getGenericParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Module.class.isAssignableFrom(parameterTypes[i])) {
+                continue;
+            }
+            if (parameterTypes[i] != Optional.class
+                || genericParameterTypes.length != parameterTypes.length
+                || DependencyRetriever.getOptionalModule(genericParameterTypes[i]) == null) {
+                return null;
+            }
+        }
+
+        return constructors[0];
+    }
+
+    /**
+     * Cast the given parameter types to {@link Module} classes.
+     *
+     * @param parameterTypes The parameter types, which are all {@link Module} classes.
+     *
+     * @return The parameter types as {@link Module} classes.
+     *
+     * @since 1.3.0
+     */
+    @SuppressWarnings("unchecked")
+    @Contract(pure = true)
+    private static Class<? extends Module> @NotNull [] asModules(Class<?> @NotNull [] parameterTypes) {
+        return (Class<? extends Module>[]) parameterTypes;
+    }
+}
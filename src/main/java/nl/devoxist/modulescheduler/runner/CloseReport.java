@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link CloseReport} contains the result of the closing of an {@link AutoCloseable} {@link Module} on shutdown.
+ *
+ * @param module     The class of the {@link Module}.
+ * @param closeNanos The duration of the closing in nanoseconds. For a timed out {@link Module} this is the timeout.
+ * @param status     The result of the closing.
+ * @param failure    The exception that has been thrown by the closing, or {@code null} if the closing did not fail.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public record CloseReport(
+        Class<? extends Module> module,
+        long closeNanos,
+        CloseStatus status,
+        @Nullable Throwable failure
+) {
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cost;
+
+/**
+ * {@link CostDeviation} describes a {@link Module} of which the declared {@link Cost} weight does not match its
+ * measured duration. The expected duration is the share of the measured durations of all weighted {@link Module}s,
+ * that the weight of the {@link Module} claims.
+ *
+ * @param module         The class of the {@link Module}.
+ * @param weight         The declared weight of the {@link Module}.
+ * @param expectedNanos  The duration that the weight expects in nanoseconds.
+ * @param measuredNanos  The measured duration of the construction and the execution in nanoseconds.
+ * @param deviationRatio The measured duration divided by the expected duration. A ratio above {@code 1} means that
+ *                       the weight is too low, a ratio below {@code 1} means that the weight is too high.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public record CostDeviation(
+        Class<? extends Module> module,
+        long weight,
+        long expectedNanos,
+        long measuredNanos,
+        double deviationRatio
+) {
+}
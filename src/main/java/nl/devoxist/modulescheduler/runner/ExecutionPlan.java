@@ -0,0 +1,554 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.lifecycle.PhasedModule;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * {@link ExecutionPlan} is the compiled form of the staged {@link Module}s. Every {@link Module} gets an id, which is
+ * its position in the load order of the {@link Stage}s. The dependencies between the {@link Module}s are stored as
+ * arrays of ids, so the plan can be walked without any lookups.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ExecutionPlan {
+    /**
+     * The information of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleInformation<?>[] modules;
+    /**
+     * The stage numbers of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[] stageNumbers;
+    /**
+     * The ids of the dependent {@link Module}s of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[][] dependents;
+    /**
+     * The ids of the dependencies inside the plan of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[][] dependencies;
+    /**
+     * The amount of dependencies inside the plan of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[] dependencyCounts;
+    /**
+     * The ids of the streaming dependents of every {@link Module}, indexed by their id. These are a subset of the
+     * {@link #dependents}.
+     *
+     * @since 1.3.0
+     */
+    private final int[][] streamingDependents;
+    /**
+     * If the {@link Module}s produce or consume a stream inside the plan, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] streamingModules;
+    /**
+     * If the {@link Module}s are {@link PhasedModule}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] phasedModules;
+    /**
+     * The amount of {@link PhasedModule} dependencies, that are not streamed, of every {@link Module}, indexed by their
+     * id. A {@link Module} with such dependencies is initialized before they are ready, and is started when they are
+     * ready.
+     *
+     * @since 1.3.0
+     */
+    private final int[] phasedDependencyCounts;
+
+    /**
+     * Construct a new {@link ExecutionPlan}.
+     *
+     * @param modules          The information of the {@link Module}s, indexed by their id.
+     * @param stageNumbers     The stage numbers of the {@link Module}s, indexed by their id.
+     * @param dependents       The ids of the dependent {@link Module}s of every {@link Module}.
+     * @param dependencies     The ids of the dependencies inside the plan of every {@link Module}.
+     * @param dependencyCounts    The amount of dependencies inside the plan of every {@link Module}.
+     * @param streamingDependents The ids of the streaming dependents of every {@link Module}.
+     * @param streamingModules    If the {@link Module}s produce or consume a stream inside the plan.
+     * @param phasedModules       If the {@link Module}s are {@link PhasedModule}s.
+     * @param phasedDependencyCounts The amount of {@link PhasedModule} dependencies, that are not streamed, of every
+     *                               {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    private ExecutionPlan(
+            ModuleInformation<?>[] modules,
+            int[] stageNumbers,
+            int[][] dependents,
+            int[][] dependencies,
+            int[] dependencyCounts,
+            int[][] streamingDependents,
+            boolean[] streamingModules,
+            boolean[] phasedModules,
+            int[] phasedDependencyCounts
+    ) {
+        this.modules = modules;
+        this.stageNumbers = stageNumbers;
+        this.dependents = dependents;
+        this.dependencies = dependencies;
+        this.dependencyCounts = dependencyCounts;
+        this.streamingDependents = streamingDependents;
+        this.streamingModules = streamingModules;
+        this.phasedModules = phasedModules;
+        this.phasedDependencyCounts = phasedDependencyCounts;
+    }
+
+    /**
+     * Compile the given {@link Stage}s into an {@link ExecutionPlan}. Dependencies on {@link Module}s that are not
+     * staged are ignored.
+     *
+     * @param stages The stages that need to be compiled. This need to be in the correct order.
+     *
+     * @return The compiled {@link ExecutionPlan}.
+     *
+     * @since 1.3.0
+     */
+    public static @NotNull ExecutionPlan compile(@NotNull Set<Stage> stages) {
+        int size = stages.size();
+        ModuleInformation<?>[] modules = new ModuleInformation<?>[size];
+        int[] stageNumbers = new int[size];
+        Map<Class<? extends Module>, Integer> ids = new HashMap<>(size * 2);
+
+        int id = 0;
+        for (Stage stage : stages) {
+            modules[id] = stage.moduleInformation();
+            stageNumbers[id] = stage.stage();
+            ids.put(stage.moduleInformation().getModule(), id);
+            ++id;
+        }
+
+        int[][] dependents = new int[size][];
+        int[][] dependencies = new int[size][];
+        int[] dependencyCounts = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            dependencies[i] = modules[i].getDependencies()
+                    .stream()
+                    .filter(ids::containsKey)
+                    .mapToInt(ids::get)
+                    .sorted()
+                    .toArray();
+            dependencyCounts[i] = dependencies[i].length;
+
+            dependents[i] = modules[i].getDependsOn()
+                    .stream()
+                    .map(ModuleInformation::getModule)
+                    .filter(ids::containsKey)
+                    .mapToInt(ids::get)
+                    .sorted()
+                    .toArray();
+        }
+
+        List<List<Integer>> streamingDependentLists = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            streamingDependentLists.add(new ArrayList<>());
+        }
+        boolean[] streamingModules = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            for (Class<? extends Module> producer : modules[i].getStreamingDependencies()) {
+                Integer producerId = ids.get(producer);
+                if (producerId == null) {
+                    continue;
+                }
+                streamingDependentLists.get(producerId).add(i);
+                streamingModules[producerId] = true;
+                streamingModules[i] = true;
+            }
+        }
+
+        int[][] streamingDependents = new int[size][];
+        for (int i = 0; i < size; i++) {
+            streamingDependents[i] = streamingDependentLists.get(i)
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .sorted()
+                    .toArray();
+        }
+
+        boolean[] phasedModules = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            phasedModules[i] = PhasedModule.class.isAssignableFrom(modules[i].getModule());
+        }
+
+        int[] phasedDependencyCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int dependency : dependencies[i]) {
+                if (phasedModules[dependency] &&
+                    Arrays.binarySearch(streamingDependents[dependency], i) < 0) {
+                    ++phasedDependencyCounts[i];
+                }
+            }
+        }
+
+        return new ExecutionPlan(
+                modules,
+                stageNumbers,
+                dependents,
+                dependencies,
+                dependencyCounts,
+                streamingDependents,
+                streamingModules,
+                phasedModules,
+                phasedDependencyCounts
+        );
+    }
+
+    /**
+     * Get the amount of {@link Module}s in the plan.
+     *
+     * @return The amount of {@link Module}s in the plan.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int size() {
+        return modules.length;
+    }
+
+    /**
+     * Get the information of the {@link Module} with the given id.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The information of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public ModuleInformation<?> getModule(int id) {
+        return modules[id];
+    }
+
+    /**
+     * Get the stage number of the {@link Module} with the given id.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The stage number of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int getStageNumber(int id) {
+        return stageNumbers[id];
+    }
+
+    /**
+     * Get the ids of the dependent {@link Module}s of the {@link Module} with the given id. The returned array must
+     * not be modified.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The ids of the dependent {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int[] getDependents(int id) {
+        return dependents[id];
+    }
+
+    /**
+     * Get the ids of the dependencies inside the plan of the {@link Module} with the given id. The returned array must
+     * not be modified.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The ids of the dependencies inside the plan.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int[] getDependencies(int id) {
+        return dependencies[id];
+    }
+
+    /**
+     * Get the ids of the streaming dependents of the {@link Module} with the given id. These dependents can be started
+     * as soon as the {@link Module} has been constructed. The returned array must not be modified.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The ids of the streaming dependents, sorted ascending.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int[] getStreamingDependents(int id) {
+        return streamingDependents[id];
+    }
+
+    /**
+     * Check if the {@link Module} with the given id is a streaming dependent of the {@link Module} with the other id.
+     *
+     * @param id        The id of the producing {@link Module}.
+     * @param dependent The id of the dependent {@link Module}.
+     *
+     * @return {@code true} if the dependent consumes the stream of the {@link Module}, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public boolean isStreamingDependent(int id, int dependent) {
+        return Arrays.binarySearch(streamingDependents[id], dependent) >= 0;
+    }
+
+    /**
+     * Check if the {@link Module} with the given id consumes the stream of a {@link Module} inside the plan.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} is a streaming dependent of one of its dependencies, otherwise
+     * {@code false}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public boolean isStreamingConsumer(int id) {
+        for (int dependency : dependencies[id]) {
+            if (isStreamingDependent(dependency, id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the {@link Module} with the given id produces or consumes a stream inside the plan.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} takes part in a stream, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public boolean isStreaming(int id) {
+        return streamingModules[id];
+    }
+
+    /**
+     * Check if the {@link Module} with the given id is a {@link PhasedModule}.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} is a {@link PhasedModule}, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public boolean isPhased(int id) {
+        return phasedModules[id];
+    }
+
+    /**
+     * Get the amount of {@link PhasedModule} dependencies of the {@link Module} with the given id, that are not
+     * streamed. The {@link Module} is started when these dependencies have been warmed up.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return The amount of {@link PhasedModule} dependencies of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public int getPhasedDependencyCount(int id) {
+        return phasedDependencyCounts[id];
+    }
+
+    /**
+     * Get a copy of the amount of dependencies inside the plan of every {@link Module}. The copy can be counted down
+     * during a run of the plan.
+     *
+     * @return A copy of the amount of dependencies of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    public int @NotNull [] copyDependencyCounts() {
+        return dependencyCounts.clone();
+    }
+
+    /**
+     * Calculate the priorities of the {@link Module}s. The priority of a {@link Module} is the length of the most
+     * expensive chain of {@link Module}s, that starts at the {@link Module}. So the {@link Module}s on the critical
+     * path of the plan get the highest priority.
+     *
+     * @param costs The estimated costs of the {@link Module}s, indexed by their id.
+     *
+     * @return The priorities of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    public long @NotNull [] calculatePriorities(long @NotNull [] costs) {
+        long[] priorities = new long[modules.length];
+
+        for (int id = modules.length - 1; id >= 0; id--) {
+            long highestDependent = 0;
+            for (int dependent : dependents[id]) {
+                highestDependent = Math.max(highestDependent, priorities[dependent]);
+            }
+            priorities[id] = costs[id] + highestDependent;
+        }
+
+        return priorities;
+    }
+
+    /**
+     * Create the comparator of the ready queue. The {@link Module} with the highest priority comes first, when the
+     * priorities are equal the {@link Module} that is first in the load order comes first.
+     *
+     * @param priorities The priorities of the {@link Module}s, indexed by their id.
+     *
+     * @return The comparator of the ready queue.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public static @NotNull Comparator<Integer> readyQueueOrder(long @NotNull [] priorities) {
+        return (first, second) -> {
+            int compare = Long.compare(priorities[second], priorities[first]);
+            return compare != 0 ? compare : Integer.compare(first, second);
+        };
+    }
+
+    /**
+     * Predict the makespan of the plan, the duration of a full run. The prediction simulates the ready queue of the
+     * {@link StageRunner} with the given amount of workers.
+     *
+     * @param costs      The estimated costs of the {@link Module}s, indexed by their id.
+     * @param priorities The priorities of the {@link Module}s, indexed by their id.
+     * @param workers    The amount of {@link Module}s that can run at the same time.
+     *
+     * @return The predicted makespan, in the same unit as the costs.
+     *
+     * @since 1.3.0
+     */
+    public long predictMakespan(long @NotNull [] costs, long @NotNull [] priorities, int workers) {
+        return simulate(costs, priorities, workers, new long[modules.length])[0];
+    }
+
+    /**
+     * Predict the peak memory of the plan, the highest sum of the expected memory of the {@link Module}s that run at
+     * the same time. The prediction simulates the ready queue of the {@link StageRunner} with the given amount of
+     * workers.
+     *
+     * @param costs      The estimated costs of the {@link Module}s, indexed by their id.
+     * @param priorities The priorities of the {@link Module}s, indexed by their id.
+     * @param memory     The expected memory of the {@link Module}s in bytes, indexed by their id.
+     * @param workers    The amount of {@link Module}s that can run at the same time.
+     *
+     * @return The predicted peak memory in bytes.
+     *
+     * @since 1.3.0
+     */
+    public long predictPeakMemory(
+            long @NotNull [] costs,
+            long @NotNull [] priorities,
+            long @NotNull [] memory,
+            int workers
+    ) {
+        return simulate(costs, priorities, workers, memory)[1];
+    }
+
+    /**
+     * Simulate the ready queue of the {@link StageRunner} with the given amount of workers.
+     *
+     * @param costs      The estimated costs of the {@link Module}s, indexed by their id.
+     * @param priorities The priorities of the {@link Module}s, indexed by their id.
+     * @param workers    The amount of {@link Module}s that can run at the same time.
+     * @param memory     The expected memory of the {@link Module}s in bytes, indexed by their id.
+     *
+     * @return The makespan, in the same unit as the costs, followed by the peak memory in bytes.
+     *
+     * @since 1.3.0
+     */
+    private long @NotNull [] simulate(
+            long @NotNull [] costs,
+            long @NotNull [] priorities,
+            int workers,
+            long @NotNull [] memory
+    ) {
+        int[] remainingDependencies = copyDependencyCounts();
+        PriorityQueue<Integer> readyQueue = new PriorityQueue<>(readyQueueOrder(priorities));
+        PriorityQueue<long[]> running = new PriorityQueue<>(Comparator.comparingLong((long[] event) -> event[0]));
+
+        for (int id = 0; id < modules.length; id++) {
+            if (remainingDependencies[id] == 0) {
+                readyQueue.add(id);
+            }
+        }
+
+        long time = 0;
+        long usedMemory = 0;
+        long peakMemory = 0;
+        int freeWorkers = workers;
+        while (true) {
+            while (freeWorkers > 0 && !readyQueue.isEmpty()) {
+                int id = readyQueue.poll();
+                running.add(new long[]{time + costs[id], id});
+                usedMemory += memory[id];
+                --freeWorkers;
+            }
+            peakMemory = Math.max(peakMemory, usedMemory);
+
+            long[] finished = running.poll();
+            if (finished == null) {
+                return new long[]{time, peakMemory};
+            }
+
+            time = finished[0];
+            usedMemory -= memory[(int) finished[1]];
+            ++freeWorkers;
+            for (int dependent : dependents[(int) finished[1]]) {
+                if (--remainingDependencies[dependent] == 0) {
+                    readyQueue.add(dependent);
+                }
+            }
+        }
+    }
+}
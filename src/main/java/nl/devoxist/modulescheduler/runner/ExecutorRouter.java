@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Execution;
+import nl.devoxist.modulescheduler.annotation.ExecutionClass;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ExecutorRouter} routes the {@link Module}s of an {@link ExecutionPlan} to the pool of their
+ * {@link ExecutionClass}. Every pool has its own limit of running {@link Module}s, so the blocking {@link Module}s do
+ * not take the places of the compute {@link Module}s. The limits are only checked by the dispatcher, a {@link Module}
+ * that exceeds the limit of its pool stays in the ready queue.
+ * <p>
+ * The compute pool is a work-stealing pool with the size of the parallelism. When the parallelism is {@code 1}, the
+ * compute {@link Module}s are executed on the thread of the runner. The blocking pool uses a virtual thread per
+ * {@link Module} when the runtime supports these, otherwise an elastic pool of threads. The pools are only created when
+ * a {@link Module} is routed to them.
+ * <p>
+ * A {@link Module} that produces or consumes a stream waits on its channel, so a compute {@link Module} of a stream
+ * is routed to the blocking pool. Otherwise, a producer that waits for a full channel could hold the only place of
+ * the compute pool, while its consumer stays in the ready queue. For the same reason, a consumer of a stream is
+ * started outside the limit of its pool: its producer holds a place of a pool until the consumer drained the channel.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+final class ExecutorRouter {
+    /**
+     * The route of the compute {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private static final int COMPUTE_ROUTE = 0;
+    /**
+     * The route of the blocking {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private static final int BLOCKING_ROUTE = 1;
+    /**
+     * The route of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[] routes;
+    /**
+     * If the {@link Module}s are started outside the limit of their pool, indexed by their id. These are the consumers
+     * of a stream.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] unlimited;
+    /**
+     * The maximum amount of running {@link Module}s of every route.
+     *
+     * @since 1.3.0
+     */
+    private final int[] capacities;
+    /**
+     * The amount of running {@link Module}s of every route.
+     *
+     * @since 1.3.0
+     */
+    private final int[] running;
+    /**
+     * The executor of every route. An executor of {@code null} executes on the thread of the runner.
+     *
+     * @since 1.3.0
+     */
+    private final Executor[] executors;
+    /**
+     * The pools that are created by the router, these are shut down when the router is closed.
+     *
+     * @since 1.3.0
+     */
+    private final List<ExecutorService> ownedPools = new ArrayList<>(2);
+
+    /**
+     * Construct a new {@link ExecutorRouter} for the given plan.
+     *
+     * @param plan                    The plan of which the {@link Module}s are routed.
+     * @param moduleSchedulerSettings The settings with the parallelism and the named executors.
+     *
+     * @throws ModuleException If a {@link Module} uses an executor that is not registered in the settings.
+     * @since 1.3.0
+     */
+    ExecutorRouter(@NotNull ExecutionPlan plan, @NotNull ModuleSchedulerSettings moduleSchedulerSettings) {
+        Map<String, Executor> namedExecutors = moduleSchedulerSettings.getExecutors();
+        Map<String, Integer> namedRoutes = new LinkedHashMap<>();
+        this.routes = new int[plan.size()];
+        this.unlimited = new boolean[plan.size()];
+
+        for (int id = 0; id < plan.size(); id++) {
+            routes[id] = route(plan.getModule(id).getModule(), plan.isStreaming(id), namedExecutors, namedRoutes);
+            unlimited[id] = plan.isStreamingConsumer(id);
+        }
+
+        int routeCount = BLOCKING_ROUTE + 1 + namedRoutes.size();
+        this.capacities = new int[routeCount];
+        this.running = new int[routeCount];
+        this.executors = new Executor[routeCount];
+
+        int parallelism = moduleSchedulerSettings.getParallelism();
+        capacities[COMPUTE_ROUTE] = parallelism;
+        capacities[BLOCKING_ROUTE] = moduleSchedulerSettings.getBlockingParallelism();
+        if (parallelism > 1 && contains(COMPUTE_ROUTE)) {
+            executors[COMPUTE_ROUTE] = own(createComputePool(parallelism));
+        }
+        if (contains(BLOCKING_ROUTE)) {
+            executors[BLOCKING_ROUTE] = own(createBlockingPool());
+        }
+
+        for (Map.Entry<String, Integer> entry : namedRoutes.entrySet()) {
+            capacities[entry.getValue()] = Integer.MAX_VALUE;
+            executors[entry.getValue()] = namedExecutors.get(entry.getKey());
+        }
+    }
+
+    /**
+     * Reserve a place for the {@link Module} with the given id in the pool of its route. A consumer of a stream does
+     * not need a place.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return {@code true} if the place has been reserved, {@code false} if the pool has reached its limit.
+     *
+     * @since 1.3.0
+     */
+    boolean tryStart(int id) {
+        if (unlimited[id]) {
+            return true;
+        }
+
+        int route = routes[id];
+        if (running[route] >= capacities[route]) {
+            return false;
+        }
+        ++running[route];
+        return true;
+    }
+
+    /**
+     * Release the place of the finished {@link Module} with the given id.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    void finish(int id) {
+        if (!unlimited[id]) {
+            --running[routes[id]];
+        }
+    }
+
+    /**
+     * Execute the task of the {@link Module} with the given id on the pool of its route.
+     *
+     * @param id   The id of the {@link Module}.
+     * @param task The task that runs the {@link Module}.
+     *
+     * @throws RejectedExecutionException If the executor of the route rejected the task.
+     * @since 1.3.0
+     */
+    void execute(int id, @NotNull Runnable task) {
+        Executor executor = executors[routes[id]];
+        if (executor == null) {
+            task.run();
+        } else {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * Shut down the pools that are created by the router. The named executors of the settings are not shut down.
+     *
+     * @since 1.3.0
+     */
+    void shutdown() {
+        for (ExecutorService pool : ownedPools) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Get the route of the given {@link Module}.
+     *
+     * @param moduleCls      The class of the {@link Module}.
+     * @param streaming      If the {@link Module} produces or consumes a stream inside the plan.
+     * @param namedExecutors The named executors of the settings.
+     * @param namedRoutes    The routes of the named executors that are used, linked with their name.
+     *
+     * @return The route of the {@link Module}.
+     *
+     * @throws ModuleException If the {@link Module} uses an executor that is not registered in the settings.
+     * @since 1.3.0
+     */
+    private static int route(
+            @NotNull Class<? extends Module> moduleCls,
+            boolean streaming,
+            @NotNull Map<String, Executor> namedExecutors,
+            @NotNull Map<String, Integer> namedRoutes
+    ) {
+        int computeRoute = streaming ? BLOCKING_ROUTE : COMPUTE_ROUTE;
+        Execution execution = moduleCls.getAnnotation(Execution.class);
+        if (execution == null) {
+            return computeRoute;
+        }
+
+        return switch (execution.value()) {
+            case COMPUTE -> computeRoute;
+            case BLOCKING -> BLOCKING_ROUTE;
+            case CUSTOM -> {
+                if (!namedExecutors.containsKey(execution.executor())) {
+                    throw new ModuleException("The module %s uses the unknown executor '%s'."
+                                                      .formatted(moduleCls.getName(), execution.executor()));
+                }
+                yield namedRoutes.computeIfAbsent(
+                        execution.executor(),
+                        (name) -> BLOCKING_ROUTE + 1 + namedRoutes.size()
+                );
+            }
+        };
+    }
+
+    /**
+     * Check if a {@link Module} is routed to the given route.
+     *
+     * @param route The route.
+     *
+     * @return {@code true} if a {@link Module} is routed to the route, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    private boolean contains(int route) {
+        for (int moduleRoute : routes) {
+            if (moduleRoute == route) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Register the given pool as a pool of the router, so it is shut down with the router.
+     *
+     * @param pool The pool that is created by the router.
+     *
+     * @return The given pool.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull ExecutorService own(@NotNull ExecutorService pool) {
+        ownedPools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Create the work-stealing pool of the compute {@link Module}s.
+     *
+     * @param parallelism The amount of threads of the pool.
+     *
+     * @return The work-stealing pool.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull ExecutorService createComputePool(int parallelism) {
+        AtomicInteger workerNumber = new AtomicInteger();
+        return new ForkJoinPool(
+                parallelism,
+                (pool) -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("ModuleScheduler-worker-" + workerNumber.incrementAndGet());
+                    return thread;
+                },
+                null,
+                true
+        );
+    }
+
+    /**
+     * Create the pool of the blocking {@link Module}s. The pool uses a virtual thread per task when the runtime
+     * supports these, otherwise it is an elastic pool of threads.
+     *
+     * @return The pool of the blocking {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull ExecutorService createBlockingPool() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            AtomicInteger workerNumber = new AtomicInteger();
+            return Executors.newCachedThreadPool(
+                    (runnable) -> new Thread(runnable, "ModuleScheduler-blocking-" + workerNumber.incrementAndGet())
+            );
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Lazy;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleRegistry;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * {@link LazyModuleLoader} constructs the {@link Lazy} {@link Module}s on demand. The lazy {@link Module}s, that no
+ * eager {@link Module} depends on, are deferred: these are left out of the eager run. The first lookup of a deferred
+ * {@link Module} in the {@link ModuleRegistry} runs its stage and the stages of its deferred dependencies that are not
+ * constructed yet, in the correct load order with a {@link StageRunner}.
+ * <p>
+ * Every deferred {@link Module} has its own load, which is shared by all its lookups, so a deferred {@link Module} is
+ * constructed exactly once. The load waits on the loads of its deferred dependencies without holding a lock, so
+ * unrelated lazy {@link Module}s are loaded in parallel and a lazy {@link Module} can look up another deferred
+ * {@link Module} while it is constructed or executed.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class LazyModuleLoader implements Function<Class<? extends Module>, Module> {
+    /**
+     * The settings of the current running scheduler.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleSchedulerSettings moduleSchedulerSettings;
+    /**
+     * The scheduler of the process.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleScheduler moduleScheduler;
+    /**
+     * The constructed {@link Module}s of all the runs, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> constructedModules;
+    /**
+     * The stages of the deferred {@link Module}s, linked with the class of their {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Stage> deferredStages = new ConcurrentHashMap<>();
+    /**
+     * The futures of the loads of the deferred {@link Module}s, linked with the class of their {@link Module}. A failed
+     * load is removed, so the next lookup tries again.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, CompletableFuture<Module>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a new {@link LazyModuleLoader}.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param constructedModules      The constructed {@link Module}s of all the runs, linked with their class. The
+     *                                lazily constructed {@link Module}s are added to this map.
+     *
+     * @since 1.3.0
+     */
+    public LazyModuleLoader(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull ModuleScheduler moduleScheduler,
+            @NotNull Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        this.moduleSchedulerSettings = moduleSchedulerSettings;
+        this.moduleScheduler = moduleScheduler;
+        this.constructedModules = constructedModules;
+    }
+
+    /**
+     * Defer the {@link Lazy} {@link Module}s of the given stages, that no eager {@link Module} depends on. The stages
+     * are visited from the last to the first, so the dependents of a {@link Module} are known to be deferred or eager
+     * before the {@link Module} itself.
+     *
+     * @param stages The stages that are about to be run.
+     *
+     * @return The stages that need to be run eagerly.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull Set<Stage> defer(@NotNull Set<Stage> stages) {
+        NavigableSet<Stage> sortedStages = new TreeSet<>(stages);
+
+        for (Stage stage : sortedStages.descendingSet()) {
+            ModuleInformation<?> moduleInformation = stage.moduleInformation();
+            if (!moduleInformation.getModule().isAnnotationPresent(Lazy.class)) {
+                continue;
+            }
+
+            boolean deferrable = true;
+            for (ModuleInformation<?> dependent : moduleInformation.getDependsOn()) {
+                if (!deferredStages.containsKey(dependent.getModule())) {
+                    deferrable = false;
+                    break;
+                }
+            }
+            if (deferrable) {
+                deferredStages.put(moduleInformation.getModule(), stage);
+            }
+        }
+
+        return removeUnloaded(sortedStages);
+    }
+
+    /**
+     * Remove the stages of the deferred {@link Module}s, that have not been constructed yet, from the given stages.
+     *
+     * @param stages The stages that are about to be run.
+     *
+     * @return The stages without the deferred {@link Module}s that have not been constructed yet.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull Set<Stage> removeUnloaded(@NotNull Set<Stage> stages) {
+        Set<Stage> eagerStages = new TreeSet<>();
+        for (Stage stage : stages) {
+            Class<? extends Module> moduleCls = stage.moduleInformation().getModule();
+            if (!deferredStages.containsKey(moduleCls) || constructedModules.containsKey(moduleCls)) {
+                eagerStages.add(stage);
+            }
+        }
+        return eagerStages;
+    }
+
+    /**
+     * Forget the given deferred {@link Module}s, these are not constructed on demand anymore.
+     *
+     * @param modules The {@link Module}s that have been removed from the graph.
+     *
+     * @since 1.3.0
+     */
+    public void forget(@NotNull Collection<Class<? extends Module>> modules) {
+        deferredStages.keySet().removeAll(modules);
+        loads.keySet().removeAll(modules);
+    }
+
+    /**
+     * Check if the given {@link Module} is deferred.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} is deferred, also after it has been constructed on demand.
+     *
+     * @since 1.3.0
+     */
+    public boolean isDeferred(@NotNull Class<? extends Module> moduleCls) {
+        return deferredStages.containsKey(moduleCls);
+    }
+
+    /**
+     * Construct the given deferred {@link Module} on demand, together with its deferred dependencies that have not
+     * been constructed yet.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The constructed {@link Module}, or {@code null} if the {@link Module} is not deferred.
+     *
+     * @throws ModuleException If the lazy run has been interrupted or if a {@link Module} of the lazy run failed.
+     * @since 1.3.0
+     */
+    @Override
+    public @Nullable Module apply(@NotNull Class<? extends Module> moduleCls) {
+        if (!deferredStages.containsKey(moduleCls)) {
+            return null;
+        }
+
+        Module module = constructedModules.get(moduleCls);
+        if (module != null) {
+            return module;
+        }
+
+        CompletableFuture<Module> load = load(moduleCls);
+        try {
+            return load == null ? null : load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModuleException("The construction of the lazy module %s has been interrupted."
+                                              .formatted(moduleCls.getName()), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            throw new ModuleException("The lazy module %s could not be constructed.".formatted(moduleCls.getName()),
+                                      cause);
+        }
+    }
+
+    /**
+     * Get the load of the given deferred {@link Module}, or start it if it has not been started. The load runs the
+     * stage of the {@link Module} with a {@link StageRunner}, after the loads of its deferred dependencies that have not
+     * been constructed yet have completed.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The future of the constructed {@link Module}, or {@code null} if the {@link Module} is not deferred.
+     *
+     * @since 1.3.0
+     */
+    private @Nullable CompletableFuture<Module> load(@NotNull Class<? extends Module> moduleCls) {
+        Stage stage = deferredStages.get(moduleCls);
+        if (stage == null) {
+            return null;
+        }
+
+        CompletableFuture<Module> load = new CompletableFuture<>();
+        CompletableFuture<Module> present = loads.putIfAbsent(moduleCls, load);
+        if (present != null) {
+            return present;
+        }
+
+        List<CompletableFuture<Module>> dependencyLoads = new ArrayList<>();
+        for (Class<? extends Module> dependency : stage.moduleInformation().getDependencies()) {
+            if (!constructedModules.containsKey(dependency)) {
+                CompletableFuture<Module> dependencyLoad = load(dependency);
+                if (dependencyLoad != null) {
+                    dependencyLoads.add(dependencyLoad);
+                }
+            }
+        }
+
+        CompletableFuture.allOf(dependencyLoads.toArray(CompletableFuture[]::new))
+                .thenCompose(ignored -> StageRunner.runStages(
+                        moduleSchedulerSettings,
+                        moduleScheduler,
+                        Set.of(stage),
+                        constructedModules
+                ))
+                .whenComplete((report, throwable) -> {
+                    if (throwable != null) {
+                        loads.remove(moduleCls, load);
+                        load.completeExceptionally(throwable);
+                        return;
+                    }
+                    load.complete(constructedModules.get(moduleCls));
+                });
+        return load;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.lifecycle.PhasedModule;
+
+/**
+ * {@link ModuleReport} contains the measurements of a single {@link Module} during a run of the {@link StageRunner}.
+ * The CPU time and the allocated bytes are only measured when the resource accounting is enabled in the settings.
+ * A {@link Module} that has been restored from the module cache, has not been executed, so its execution is not
+ * measured. The init phase of a {@link PhasedModule} is measured as part of the construction, and its warmup phase as
+ * part of the execution.
+ *
+ * @param module                     The class of the {@link Module} that has been measured.
+ * @param stage                      The stage in which the {@link Module} has been loaded.
+ * @param constructionNanos          The duration of the construction of the {@link Module} in nanoseconds.
+ * @param executionNanos             The duration of {@link Module#onExecute()} in nanoseconds.
+ * @param constructionCpuNanos       The CPU time used by the construction of the {@link Module} in nanoseconds, or
+ *                                   {@code -1} if not measured.
+ * @param constructionAllocatedBytes The bytes allocated by the construction of the {@link Module}, or {@code -1} if
+ *                                   not measured.
+ * @param executionCpuNanos          The CPU time used by {@link Module#onExecute()} in nanoseconds, or {@code -1} if
+ *                                   not measured.
+ * @param executionAllocatedBytes    The bytes allocated by {@link Module#onExecute()}, or {@code -1} if not measured.
+ * @param cached                     If the {@link Module} has been restored from the module cache, instead of being
+ *                                   constructed and executed. The durations are then the duration of the restore.
+ * @param resumed                    If the execution of the {@link Module} has been skipped, because its completion has
+ *                                   been recorded in the checkpoint journal of an interrupted run.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public record ModuleReport(
+        Class<? extends Module> module,
+        int stage,
+        long constructionNanos,
+        long executionNanos,
+        long constructionCpuNanos,
+        long constructionAllocatedBytes,
+        long executionCpuNanos,
+        long executionAllocatedBytes,
+        boolean cached,
+        boolean resumed
+) {
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.profile.CostModel;
+import nl.devoxist.modulescheduler.profile.ModuleProfile;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * {@link PreparedPlan} contains everything of an {@link ExecutionPlan} that can be prepared before a run: the profile
+ * with the historical durations, the priorities and predictions, the pools of the execution classes and the permits of
+ * the resource groups. A single run prepares the plan and releases it afterwards, a {@link RecurringRunner} prepares
+ * the plan once and reuses it for every tick.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+final class PreparedPlan {
+    /**
+     * The settings of the current running scheduler.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleSchedulerSettings moduleSchedulerSettings;
+    /**
+     * The prepared plan.
+     *
+     * @since 1.3.0
+     */
+    private final ExecutionPlan executionPlan;
+    /**
+     * The profile with the historical durations of the {@link Module}s. If {@code null}, the durations are not
+     * recorded.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleProfile moduleProfile;
+    /**
+     * The priorities of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final long[] priorities;
+    /**
+     * The predicted makespan of a run in nanoseconds, or {@code -1} if there is no module profile.
+     *
+     * @since 1.3.0
+     */
+    private final long predictedMakespanNanos;
+    /**
+     * The predicted peak memory of a run in bytes.
+     *
+     * @since 1.3.0
+     */
+    private final long predictedPeakMemoryBytes;
+    /**
+     * The router of the {@link Module}s to the pools of their execution class.
+     *
+     * @since 1.3.0
+     */
+    private final ExecutorRouter executorRouter;
+    /**
+     * The permits of the resource groups of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private final ResourceLimiter resourceLimiter;
+
+    /**
+     * Prepare the given {@link ExecutionPlan}.
+     *
+     * @param executionPlan           The plan that is prepared.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     *
+     * @throws ModuleException If a {@link Module} uses an unknown executor, or if a resource group has no permits.
+     * @since 1.3.0
+     */
+    PreparedPlan(@NotNull ExecutionPlan executionPlan, @NotNull ModuleSchedulerSettings moduleSchedulerSettings) {
+        this.moduleSchedulerSettings = moduleSchedulerSettings;
+        this.executionPlan = executionPlan;
+        this.moduleProfile = loadProfile();
+
+        long[] costs = new CostModel(moduleProfile).estimate(executionPlan);
+        int parallelism = moduleSchedulerSettings.getParallelism();
+        this.priorities = executionPlan.calculatePriorities(costs);
+        this.predictedMakespanNanos =
+                moduleProfile == null ? -1 : executionPlan.predictMakespan(costs, priorities, parallelism);
+        this.predictedPeakMemoryBytes = executionPlan.predictPeakMemory(
+                costs,
+                priorities,
+                CostModel.estimateMemory(executionPlan),
+                parallelism
+        );
+
+        this.resourceLimiter =
+                new ResourceLimiter(executionPlan, moduleSchedulerSettings.getResourceGroupPermits());
+        this.executorRouter = new ExecutorRouter(executionPlan, moduleSchedulerSettings);
+    }
+
+    /**
+     * Get the prepared plan.
+     *
+     * @return The prepared plan.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * Get the profile with the historical durations of the {@link Module}s.
+     *
+     * @return The profile, or {@code null} if there is no profile file set in the settings.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    ModuleProfile getModuleProfile() {
+        return moduleProfile;
+    }
+
+    /**
+     * Get the priorities of the {@link Module}s.
+     *
+     * @return The priorities of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    long[] getPriorities() {
+        return priorities;
+    }
+
+    /**
+     * Get the predicted makespan of a run.
+     *
+     * @return The predicted makespan in nanoseconds, or {@code -1} if there is no module profile.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    long getPredictedMakespanNanos() {
+        return predictedMakespanNanos;
+    }
+
+    /**
+     * Get the predicted peak memory of a run.
+     *
+     * @return The predicted peak memory in bytes.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    long getPredictedPeakMemoryBytes() {
+        return predictedPeakMemoryBytes;
+    }
+
+    /**
+     * Get the router of the {@link Module}s to the pools of their execution class. The router keeps the amount of
+     * running {@link Module}s, so it can only be used by one run at the same time.
+     *
+     * @return The router of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    ExecutorRouter getExecutorRouter() {
+        return executorRouter;
+    }
+
+    /**
+     * Get the permits of the resource groups. The limiter keeps the available permits, so it can only be used by one
+     * run at the same time.
+     *
+     * @return The permits of the resource groups.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    ResourceLimiter getResourceLimiter() {
+        return resourceLimiter;
+    }
+
+    /**
+     * Release the plan, this shuts down the pools that have been created for the execution classes.
+     *
+     * @since 1.3.0
+     */
+    void release() {
+        executorRouter.shutdown();
+    }
+
+    /**
+     * Load the profile with the historical durations of the {@link Module}s. If the profile cannot be read, a warning
+     * is logged and an empty profile is used, which replaces the unreadable profile after the run.
+     *
+     * @return The loaded profile, or {@code null} if there is no profile file set in the settings.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    private ModuleProfile loadProfile() {
+        Path profileFile = moduleSchedulerSettings.getProfileFile();
+        if (profileFile == null) {
+            return null;
+        }
+
+        try {
+            return ModuleProfile.load(profileFile, moduleSchedulerSettings.getProfileSmoothing());
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The module profile '%s' could not be read: %s".formatted(profileFile, e.getMessage())
+            );
+            return new ModuleProfile(moduleSchedulerSettings.getProfileSmoothing());
+        }
+    }
+
+    /**
+     * Save the profile with the historical durations of the {@link Module}s. If the profile cannot be written, a
+     * warning is logged.
+     *
+     * @since 1.3.0
+     */
+    void saveProfile() {
+        if (moduleProfile == null) {
+            return;
+        }
+
+        Path profileFile = moduleSchedulerSettings.getProfileFile();
+        try {
+            moduleProfile.save(profileFile);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The module profile '%s' could not be written: %s".formatted(profileFile, e.getMessage())
+            );
+        }
+    }
+}
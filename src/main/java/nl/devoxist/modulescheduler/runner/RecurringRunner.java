@@ -0,0 +1,496 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.schedule.OverlapPolicy;
+import nl.devoxist.modulescheduler.schedule.TickSchedule;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * {@link RecurringRunner} runs a graph of {@link Module}s again and again on the ticks of a {@link TickSchedule}. The
+ * graph is compiled and prepared once: the {@link ExecutionPlan}, the priorities, the pools of the execution classes,
+ * the permits of the resource groups and the metadata of the {@link Module}s are shared by every tick. So a tick only
+ * pays for the construction and the execution of the {@link Module}s themselves.
+ * <p>
+ * The ticks are run one after another on a single tick thread. The {@link OverlapPolicy} determines what happens with
+ * a tick that is due while the previous tick is still running. A failed tick is logged and does not stop the
+ * following ticks. The next tick is computed from the previous scheduled tick, so a slow tick does not shift the
+ * schedule.
+ * <p>
+ * The {@link AutoCloseable} instances of the previous tick are closed in the reverse load order, when the tick has
+ * replaced them. The durations of the ticks are recorded in the module profile in memory, the profile is saved when
+ * the runner is closed. The ticks do not use the checkpoint journal.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class RecurringRunner implements AutoCloseable {
+    /**
+     * The settings of the current running scheduler.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleSchedulerSettings moduleSchedulerSettings;
+    /**
+     * The scheduler of the process.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleScheduler moduleScheduler;
+    /**
+     * The stages that are run on every tick.
+     *
+     * @since 1.3.0
+     */
+    private final Set<Stage> stages;
+    /**
+     * The already constructed {@link Module}s, linked with their class. The {@link Module}s of every tick replace
+     * their previous instances in this map.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> constructedModules;
+    /**
+     * The plan that is prepared once and shared by every tick.
+     *
+     * @since 1.3.0
+     */
+    private final PreparedPlan preparedPlan;
+    /**
+     * The schedule of the ticks.
+     *
+     * @since 1.3.0
+     */
+    private final TickSchedule tickSchedule;
+    /**
+     * The policy for a tick that is due while the previous tick is still running.
+     *
+     * @since 1.3.0
+     */
+    private final OverlapPolicy overlapPolicy;
+    /**
+     * The executor that triggers the ticks when these are due.
+     *
+     * @since 1.3.0
+     */
+    private final ScheduledExecutorService triggerExecutor;
+    /**
+     * The executor that runs the ticks one after another.
+     *
+     * @since 1.3.0
+     */
+    private final ExecutorService tickExecutor;
+    /**
+     * The lock that guards the state of the running tick and the pending ticks.
+     *
+     * @since 1.3.0
+     */
+    private final Lock lock = new ReentrantLock();
+    /**
+     * The amount of ticks that have completed.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong completedTicks = new AtomicLong();
+    /**
+     * The amount of ticks that have failed.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong failedTicks = new AtomicLong();
+    /**
+     * The amount of ticks that have been skipped or coalesced, because the previous tick was still running.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicLong skippedTicks = new AtomicLong();
+    /**
+     * If {@code true}, a tick is running or is about to run.
+     *
+     * @since 1.3.0
+     */
+    private boolean running;
+    /**
+     * The amount of ticks that need to run after the running tick.
+     *
+     * @since 1.3.0
+     */
+    private int pendingTicks;
+    /**
+     * If {@code true}, the runner has been closed.
+     *
+     * @since 1.3.0
+     */
+    private boolean closed;
+    /**
+     * The report of the last completed tick, {@code null} if no tick has completed.
+     *
+     * @since 1.3.0
+     */
+    private volatile RunReport lastReport;
+
+    /**
+     * Construct a new {@link RecurringRunner}.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages that are run on every tick.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class.
+     * @param tickSchedule            The schedule of the ticks.
+     * @param overlapPolicy           The policy for a tick that is due while the previous tick is still running.
+     *
+     * @since 1.3.0
+     */
+    private RecurringRunner(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            Map<Class<? extends Module>, Module> constructedModules,
+            TickSchedule tickSchedule,
+            OverlapPolicy overlapPolicy
+    ) {
+        this.moduleSchedulerSettings = moduleSchedulerSettings;
+        this.moduleScheduler = moduleScheduler;
+        this.stages = stages;
+        this.constructedModules = constructedModules;
+        this.preparedPlan = new PreparedPlan(ExecutionPlan.compile(stages), moduleSchedulerSettings);
+        this.tickSchedule = tickSchedule;
+        this.overlapPolicy = overlapPolicy;
+        this.triggerExecutor = Executors.newSingleThreadScheduledExecutor(
+                (runnable) -> new Thread(runnable, "ModuleScheduler-recurring-trigger")
+        );
+        this.tickExecutor = Executors.newSingleThreadExecutor(
+                (runnable) -> new Thread(runnable, "ModuleScheduler-recurring-tick")
+        );
+    }
+
+    /**
+     * Start running the given stages on the ticks of the given schedule. The stages are compiled and prepared before
+     * this method returns, the first tick is due at the first tick of the schedule after now.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages that are run on every tick.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class. The
+     *                                {@link Module}s of every tick replace their previous instances in this map.
+     * @param tickSchedule            The schedule of the ticks.
+     * @param overlapPolicy           The policy for a tick that is due while the previous tick is still running.
+     *
+     * @return The started {@link RecurringRunner}, which needs to be closed to stop the ticks.
+     *
+     * @throws ModuleException If the stages contain a dependency cycle.
+     * @since 1.3.0
+     */
+    @Contract("_, _, _, _, _, _ -> new")
+    public static @NotNull RecurringRunner start(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull ModuleScheduler moduleScheduler,
+            @NotNull Set<Stage> stages,
+            @NotNull Map<Class<? extends Module>, Module> constructedModules,
+            @NotNull TickSchedule tickSchedule,
+            @NotNull OverlapPolicy overlapPolicy
+    ) {
+        RecurringRunner recurringRunner = new RecurringRunner(
+                moduleSchedulerSettings,
+                moduleScheduler,
+                stages,
+                constructedModules,
+                tickSchedule,
+                overlapPolicy
+        );
+        recurringRunner.scheduleNextTick(Instant.now());
+        return recurringRunner;
+    }
+
+    /**
+     * Schedule the first tick of the schedule after the given tick.
+     *
+     * @param previousTick The previous scheduled tick, or the start of the recurring run.
+     *
+     * @since 1.3.0
+     */
+    private void scheduleNextTick(@NotNull Instant previousTick) {
+        Instant nextTick;
+        try {
+            nextTick = tickSchedule.nextTick(previousTick);
+        } catch (IllegalStateException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The recurring run has no tick after %s, so it stops scheduling ticks.".formatted(previousTick),
+                    e
+            );
+            return;
+        }
+
+        long delayNanos = Math.max(0, Duration.between(Instant.now(), nextTick).toNanos());
+        lock.lock();
+        try {
+            if (!closed) {
+                triggerExecutor.schedule(() -> trigger(nextTick), delayNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Trigger a due tick. The tick is run if no tick is running, otherwise it is handled by the
+     * {@link OverlapPolicy}.
+     *
+     * @param scheduledTick The instant at which the tick was scheduled.
+     *
+     * @since 1.3.0
+     */
+    private void trigger(@NotNull Instant scheduledTick) {
+        scheduleNextTick(scheduledTick);
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            if (!running) {
+                running = true;
+                tickExecutor.execute(this::runTicks);
+                return;
+            }
+
+            switch (overlapPolicy) {
+                case SKIP -> skippedTicks.incrementAndGet();
+                case QUEUE -> ++pendingTicks;
+                case COALESCE -> {
+                    if (pendingTicks > 0) {
+                        skippedTicks.incrementAndGet();
+                    }
+                    pendingTicks = 1;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run the triggered tick and the pending ticks, one after another.
+     *
+     * @since 1.3.0
+     */
+    private void runTicks() {
+        while (true) {
+            boolean interrupted = !runTick();
+
+            lock.lock();
+            try {
+                if (interrupted || closed || pendingTicks == 0) {
+                    running = false;
+                    return;
+                }
+                --pendingTicks;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Run a single tick with the shared prepared plan. A failed tick is logged.
+     *
+     * @return {@code false} if the tick was interrupted.
+     *
+     * @since 1.3.0
+     */
+    private boolean runTick() {
+        Map<Class<? extends Module>, Module> previousModules = new HashMap<>();
+        for (Stage stage : stages) {
+            Class<? extends Module> moduleCls = stage.moduleInformation().getModule();
+            Module module = constructedModules.get(moduleCls);
+            if (module != null) {
+                previousModules.put(moduleCls, module);
+            }
+        }
+
+        try {
+            RunReport runReport =
+                    new StageRunner(moduleSchedulerSettings, moduleScheduler, stages, preparedPlan, constructedModules)
+                            .runTick();
+            this.lastReport = runReport;
+            completedTicks.incrementAndGet();
+            moduleScheduler.onTickReport(runReport);
+            return true;
+        } catch (InterruptedException e) {
+            failedTicks.incrementAndGet();
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (RuntimeException e) {
+            failedTicks.incrementAndGet();
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "A tick of the recurring run failed, the next tick is still scheduled.",
+                    e
+            );
+            return true;
+        } finally {
+            closeReplacedModules(previousModules);
+        }
+    }
+
+    /**
+     * Close the instances of the {@link Module}s of the previous tick, that have been replaced by the tick. A closing
+     * that failed or timed out is logged by the {@link ShutdownRunner}.
+     *
+     * @param previousModules The instances of the {@link Module}s before the tick, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private void closeReplacedModules(@NotNull Map<Class<? extends Module>, Module> previousModules) {
+        try {
+            ShutdownRunner.closeReplacedModules(moduleSchedulerSettings, stages, previousModules, constructedModules);
+        } catch (ModuleException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The replaced modules of a tick of the recurring run could not be closed.",
+                    e
+            );
+        }
+    }
+
+    /**
+     * Get the amount of ticks that have completed.
+     *
+     * @return The amount of ticks that have completed.
+     *
+     * @since 1.3.0
+     */
+    public long getCompletedTicks() {
+        return completedTicks.get();
+    }
+
+    /**
+     * Get the amount of ticks that have failed.
+     *
+     * @return The amount of ticks that have failed.
+     *
+     * @since 1.3.0
+     */
+    public long getFailedTicks() {
+        return failedTicks.get();
+    }
+
+    /**
+     * Get the amount of ticks that have been skipped or coalesced into another tick, because the previous tick was
+     * still running.
+     *
+     * @return The amount of ticks that have been skipped.
+     *
+     * @since 1.3.0
+     */
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+    /**
+     * Get the report of the last completed tick.
+     *
+     * @return The report of the last completed tick, or {@code null} if no tick has completed.
+     *
+     * @since 1.3.0
+     */
+    public @Nullable RunReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Get the policy for a tick that is due while the previous tick is still running.
+     *
+     * @return The policy for an overlapping tick.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    /**
+     * Stop the ticks of the recurring run. No new ticks are triggered and the pending ticks are dropped. The running
+     * tick is awaited, after which the prepared plan is released and the module profile is saved.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingTicks = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        triggerExecutor.shutdownNow();
+        tickExecutor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (tickExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        preparedPlan.release();
+        preparedPlan.saveProfile();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
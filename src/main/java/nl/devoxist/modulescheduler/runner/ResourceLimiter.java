@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.ResourceGroup;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ResourceLimiter} keeps the permits of the {@link ResourceGroup}s of an {@link ExecutionPlan}. The permits are
+ * only acquired and released by the dispatcher, so a {@link Module} that has no permit stays in the ready queue and
+ * does not hold a worker. A {@link Module} acquires the permits of all its groups at once, or none of them. So the
+ * limiter cannot deadlock. A group that is declared more than once on a {@link Module} takes a single permit.
+ * <p>
+ * A consumer of a stream does not acquire permits. Its producer holds its permits until the consumer drained the
+ * channel, so a consumer that waits for a permit of the same group would never be started.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ResourceLimiter {
+    /**
+     * The indices of the resource groups of every {@link Module}, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final int[][] groups;
+    /**
+     * The available permits of every resource group, indexed by the index of the group.
+     *
+     * @since 1.3.0
+     */
+    private final int[] availablePermits;
+
+    /**
+     * Construct a new {@link ResourceLimiter} for the given plan.
+     *
+     * @param plan             The plan of which the resource groups are limited.
+     * @param permitsOverrides The permits of the resource groups that override the permits of the annotations.
+     *
+     * @throws ModuleException If the permits of a resource group are smaller than 1.
+     * @since 1.3.0
+     */
+    public ResourceLimiter(@NotNull ExecutionPlan plan, @NotNull Map<String, Integer> permitsOverrides) {
+        Map<String, Integer> groupIndices = new LinkedHashMap<>();
+        Map<String, Integer> permits = new HashMap<>();
+        this.groups = new int[plan.size()][];
+
+        for (int id = 0; id < plan.size(); id++) {
+            Class<? extends Module> moduleCls = plan.getModule(id).getModule();
+            ResourceGroup[] resourceGroups = plan.isStreamingConsumer(id)
+                    ? new ResourceGroup[0]
+                    : moduleCls.getAnnotationsByType(ResourceGroup.class);
+
+            Set<Integer> moduleGroups = new LinkedHashSet<>();
+            for (ResourceGroup resourceGroup : resourceGroups) {
+                String group = resourceGroup.value();
+                moduleGroups.add(groupIndices.computeIfAbsent(group, (name) -> groupIndices.size()));
+                permits.merge(group, resourceGroup.permits(), Math::min);
+            }
+            groups[id] = moduleGroups.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        this.availablePermits = new int[groupIndices.size()];
+        for (Map.Entry<String, Integer> entry : groupIndices.entrySet()) {
+            int groupPermits = permitsOverrides.getOrDefault(entry.getKey(), permits.get(entry.getKey()));
+            if (groupPermits < 1) {
+                throw new ModuleException(
+                        "The resource group '%s' needs at least 1 permit.".formatted(entry.getKey())
+                );
+            }
+            availablePermits[entry.getValue()] = groupPermits;
+        }
+    }
+
+    /**
+     * Acquire the permits of all resource groups of the {@link Module} with the given id. If a group has no available
+     * permit, no permit is acquired.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @return {@code true} if the permits have been acquired, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    public boolean tryAcquire(int id) {
+        for (int group : groups[id]) {
+            if (availablePermits[group] <= 0) {
+                return false;
+            }
+        }
+
+        for (int group : groups[id]) {
+            --availablePermits[group];
+        }
+        return true;
+    }
+
+    /**
+     * Release the permits of all resource groups of the {@link Module} with the given id.
+     *
+     * @param id The id of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    public void release(int id) {
+        for (int group : groups[id]) {
+            ++availablePermits[group];
+        }
+    }
+}
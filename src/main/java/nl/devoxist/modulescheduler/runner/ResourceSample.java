@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * {@link ResourceSample} is a sample of the CPU time and the allocated bytes of the current thread. Two samples taken
+ * on the same thread around the construction or the execution of a {@link Module} give the resources used by that
+ * {@link Module}. Because both samples are taken on the thread that runs the {@link Module}, the accounting stays
+ * correct when the {@link Module}s run on a pool of workers.
+ * <p>
+ * If the JVM does not support the measurement on the current thread, for example on a virtual thread, the values are
+ * {@code -1}.
+ * <p>
+ * The measurement is a setting of the whole JVM. It is enabled when the first run with resource accounting starts and
+ * it is set back to its previous state when the last of these runs ends.
+ *
+ * @param cpuNanos       The CPU time of the current thread in nanoseconds, or {@code -1} if not supported.
+ * @param allocatedBytes The allocated bytes of the current thread, or {@code -1} if not supported.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+record ResourceSample(long cpuNanos, long allocatedBytes) {
+    /**
+     * The sample of which the values are not available.
+     *
+     * @since 1.3.0
+     */
+    static final ResourceSample UNAVAILABLE = new ResourceSample(-1, -1);
+    /**
+     * The management interface of the threads of the JVM.
+     *
+     * @since 1.3.0
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    /**
+     * The amount of runs with resource accounting that have not ended yet.
+     *
+     * @since 1.3.0
+     */
+    private static int enabledRuns;
+    /**
+     * The boolean to check if the measurement of the CPU time was enabled before the first run enabled it.
+     *
+     * @since 1.3.0
+     */
+    private static boolean previousCpuTimeEnabled;
+    /**
+     * The boolean to check if the measurement of the allocated bytes was enabled before the first run enabled it.
+     *
+     * @since 1.3.0
+     */
+    private static boolean previousAllocatedMemoryEnabled;
+
+    /**
+     * Enable the measurement of the CPU time and the allocated bytes of the threads, if the JVM supports it. The
+     * previous state of the measurement is saved by the first run, every call needs to be followed by
+     * {@link #disable()} when the run ends.
+     *
+     * @since 1.3.0
+     */
+    static synchronized void enable() {
+        if (enabledRuns++ > 0) {
+            return;
+        }
+
+        if (THREAD_MX_BEAN.isThreadCpuTimeSupported()) {
+            previousCpuTimeEnabled = THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+            THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+        }
+
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean threadMXBean &&
+            threadMXBean.isThreadAllocatedMemorySupported()) {
+            previousAllocatedMemoryEnabled = threadMXBean.isThreadAllocatedMemoryEnabled();
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * End the measurement of a run. When the last run with resource accounting ends, the measurement of the CPU time
+     * and the allocated bytes is set back to the state before the first run.
+     *
+     * @since 1.3.0
+     */
+    static synchronized void disable() {
+        if (enabledRuns == 0 || --enabledRuns > 0) {
+            return;
+        }
+
+        if (THREAD_MX_BEAN.isThreadCpuTimeSupported()) {
+            THREAD_MX_BEAN.setThreadCpuTimeEnabled(previousCpuTimeEnabled);
+        }
+
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean threadMXBean &&
+            threadMXBean.isThreadAllocatedMemorySupported()) {
+            threadMXBean.setThreadAllocatedMemoryEnabled(previousAllocatedMemoryEnabled);
+        }
+    }
+
+    /**
+     * Take a sample of the CPU time and the allocated bytes of the current thread.
+     *
+     * @return The sample of the current thread.
+     *
+     * @since 1.3.0
+     */
+    static @NotNull ResourceSample sample() {
+        long cpuNanos = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()
+                ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+                : -1;
+        long allocatedBytes = -1;
+
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean threadMXBean &&
+            threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return new ResourceSample(cpuNanos, allocatedBytes);
+    }
+
+    /**
+     * Get the resources that are used since the given sample. The given sample must be taken on the same thread.
+     *
+     * @param start The sample that was taken at the start of the measurement.
+     *
+     * @return The used resources since the given sample. A value is {@code -1} if it is not available in one of the
+     * samples.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    @NotNull ResourceSample since(@NotNull ResourceSample start) {
+        return new ResourceSample(
+                cpuNanos < 0 || start.cpuNanos < 0 ? -1 : cpuNanos - start.cpuNanos,
+                allocatedBytes < 0 || start.allocatedBytes < 0 ? -1 : allocatedBytes - start.allocatedBytes
+        );
+    }
+
+    /**
+     * Add the resources of the given measurement to the resources of this measurement.
+     *
+     * @param other The other measurement.
+     *
+     * @return The resources of both measurements. A value is {@code -1} if it is not available in one of the
+     * measurements.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    @NotNull ResourceSample plus(@NotNull ResourceSample other) {
+        return new ResourceSample(
+                cpuNanos < 0 || other.cpuNanos < 0 ? -1 : cpuNanos + other.cpuNanos,
+                allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes
+        );
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link RunReport} contains the measurements of a complete run of the {@link StageRunner}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class RunReport {
+    /**
+     * The reports of the {@link Module}s, in the order that the {@link Module}s have been finished.
+     *
+     * @since 1.3.0
+     */
+    private final List<ModuleReport> moduleReports;
+    /**
+     * The predicted makespan of the run in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    private final long predictedMakespanNanos;
+    /**
+     * The measured makespan of the run in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    private final long makespanNanos;
+    /**
+     * The predicted peak memory of the run in bytes.
+     *
+     * @since 1.3.0
+     */
+    private final long predictedPeakMemoryBytes;
+    /**
+     * The {@link Module}s of which the declared cost weight does not match the measured duration.
+     *
+     * @since 1.3.0
+     */
+    private final List<CostDeviation> costDeviations;
+
+    /**
+     * Construct a new {@link RunReport}.
+     *
+     * @param moduleReports            The reports of the {@link Module}s, in the order that the {@link Module}s have
+     *                                 been finished.
+     * @param predictedMakespanNanos   The predicted makespan of the run in nanoseconds, or {@code -1} if there was no
+     *                                 prediction.
+     * @param makespanNanos            The measured makespan of the run in nanoseconds.
+     * @param predictedPeakMemoryBytes The predicted peak memory of the run in bytes, or {@code -1} if there was no
+     *                                 prediction.
+     * @param costDeviations           The {@link Module}s of which the declared cost weight does not match the measured
+     *                                 duration.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public RunReport(
+            List<ModuleReport> moduleReports,
+            long predictedMakespanNanos,
+            long makespanNanos,
+            long predictedPeakMemoryBytes,
+            List<CostDeviation> costDeviations
+    ) {
+        this.moduleReports = moduleReports;
+        this.predictedMakespanNanos = predictedMakespanNanos;
+        this.makespanNanos = makespanNanos;
+        this.predictedPeakMemoryBytes = predictedPeakMemoryBytes;
+        this.costDeviations = costDeviations;
+    }
+
+    /**
+     * Get the reports of the {@link Module}s, in the order that the {@link Module}s have been finished.
+     *
+     * @return An unmodifiable {@link List} of the reports of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @UnmodifiableView List<ModuleReport> getModuleReports() {
+        return Collections.unmodifiableList(moduleReports);
+    }
+
+    /**
+     * Get the predicted makespan of the run. The prediction is made from the historical durations in the module
+     * profile, before the run has been started.
+     *
+     * @return The predicted makespan of the run in nanoseconds, or {@code -1} if there was no module profile.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getPredictedMakespanNanos() {
+        return predictedMakespanNanos;
+    }
+
+    /**
+     * Get the measured makespan of the run, the duration from the start until the last {@link Module} has finished.
+     *
+     * @return The measured makespan of the run in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getMakespanNanos() {
+        return makespanNanos;
+    }
+
+    /**
+     * Get the predicted peak memory of the run. This is the highest sum of the declared memory of the {@link Module}s
+     * that are expected to run at the same time.
+     *
+     * @return The predicted peak memory of the run in bytes, or {@code -1} if there was no prediction.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getPredictedPeakMemoryBytes() {
+        return predictedPeakMemoryBytes;
+    }
+
+    /**
+     * Get the {@link Module}s of which the declared cost weight does not match the measured duration of this run. A
+     * weight that is reported here is stale and should be updated.
+     *
+     * @return An unmodifiable {@link List} of the deviations, the largest deviation first.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @UnmodifiableView List<CostDeviation> getCostDeviations() {
+        return Collections.unmodifiableList(costDeviations);
+    }
+
+    /**
+     * Returns a string representation of the object.
+     *
+     * @return a string representation of the object.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public String toString() {
+        return "RunReport{" +
+               "modules=" + moduleReports.size() +
+               ", predictedMakespanNanos=" + predictedMakespanNanos +
+               ", makespanNanos=" + makespanNanos +
+               ", predictedPeakMemoryBytes=" + predictedPeakMemoryBytes +
+               ", costDeviations=" + costDeviations.size() +
+               '}';
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ShutdownReport} contains the results of the closing of the {@link AutoCloseable} {@link Module}s by the
+ * {@link ShutdownRunner}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ShutdownReport {
+    /**
+     * The reports of the closed {@link Module}s, in the order that the closing has been finished.
+     *
+     * @since 1.3.0
+     */
+    private final List<CloseReport> closeReports;
+    /**
+     * The duration of the complete shutdown in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    private final long shutdownNanos;
+
+    /**
+     * Construct a new {@link ShutdownReport}.
+     *
+     * @param closeReports  The reports of the closed {@link Module}s, in the order that the closing has been
+     *                      finished.
+     * @param shutdownNanos The duration of the complete shutdown in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public ShutdownReport(List<CloseReport> closeReports, long shutdownNanos) {
+        this.closeReports = closeReports;
+        this.shutdownNanos = shutdownNanos;
+    }
+
+    /**
+     * Get the reports of the closed {@link Module}s, in the order that the closing has been finished.
+     *
+     * @return An unmodifiable {@link List} of the reports of the closed {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @UnmodifiableView List<CloseReport> getCloseReports() {
+        return Collections.unmodifiableList(closeReports);
+    }
+
+    /**
+     * Get the duration of the complete shutdown, from the start until the last {@link Module} has been closed or has
+     * timed out.
+     *
+     * @return The duration of the shutdown in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getShutdownNanos() {
+        return shutdownNanos;
+    }
+
+    /**
+     * Check if all the {@link Module}s have been closed, without a failure or a timeout.
+     *
+     * @return {@code true} if all the {@link Module}s have been closed.
+     *
+     * @since 1.3.0
+     */
+    public boolean isClean() {
+        return closeReports.stream().allMatch((closeReport) -> closeReport.status() == CloseStatus.CLOSED);
+    }
+
+    /**
+     * Returns a string representation of the object.
+     *
+     * @return a string representation of the object.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public String toString() {
+        return "ShutdownReport{" +
+               "closeReports=" + closeReports.size() +
+               ", shutdownNanos=" + shutdownNanos +
+               '}';
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.runner;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.CloseTimeout;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * The {@link ShutdownRunner} closes the {@link AutoCloseable} {@link Module}s in the reverse load order. A
+ * {@link Module} is closed after all the {@link Module}s that depend on it have been closed, the {@link Module}s that do
+ * not depend on each other are closed in parallel.
+ * <p>
+ * Every closing has a timeout, from the {@link CloseTimeout} annotation or from the settings. A {@link Module} that
+ * does not close within its timeout is reported as timed out and its dependencies are closed anyway, so a single
+ * stuck {@link Module} cannot hold up the shutdown. The closing threads are daemon threads, so a stuck closing does
+ * not keep the process alive.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ShutdownRunner {
+
+    /**
+     * Construct a new {@link ShutdownRunner} object. This always fails, because the class is a static class. So it
+     * only contains static objects. Thus, it throws an {@link IllegalAccessException}.
+     *
+     * @throws IllegalAccessException If the {@link ShutdownRunner} was try to construct the class. The construction
+     *                                of this class is not possible, because this is a static class.
+     * @since 1.3.0
+     */
+    @Contract(value = " -> fail",
+              pure = true)
+    private ShutdownRunner() throws IllegalAccessException {
+        throw new IllegalAccessException("This class is a static class, so the construction is not accessible.");
+    }
+
+    /**
+     * Close the constructed {@link AutoCloseable} {@link Module}s of the given stages in the reverse load order. A
+     * failed or timed out closing is logged as a warning.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param stages                  The stages of the {@link Module}s that need to be closed.
+     * @param constructedModules      The constructed {@link Module}s, linked with their class. The {@link Module}s
+     *                                that are not constructed are skipped.
+     *
+     * @return The report of the shutdown.
+     *
+     * @throws ModuleException If the shutdown has been interrupted.
+     * @since 1.3.0
+     */
+    public static @NotNull ShutdownReport closeModules(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull Set<Stage> stages,
+            @NotNull Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        Set<Stage> constructedStages = new TreeSet<>();
+        for (Stage stage : stages) {
+            if (constructedModules.containsKey(stage.moduleInformation().getModule())) {
+                constructedStages.add(stage);
+            }
+        }
+
+        ExecutionPlan executionPlan = ExecutionPlan.compile(constructedStages);
+        int size = executionPlan.size();
+        int[] remainingDependents = new int[size];
+        Deque<Integer> readyModules = new ArrayDeque<>();
+        for (int id = 0; id < size; id++) {
+            remainingDependents[id] = executionPlan.getDependents(id).length;
+            if (remainingDependents[id] == 0) {
+                readyModules.add(id);
+            }
+        }
+
+        long[] closeNanos = new long[size];
+        Throwable[] failures = new Throwable[size];
+        long[] timeouts = new long[size];
+        long[] deadlines = new long[size];
+        Set<Integer> closingModules = new HashSet<>();
+        BlockingQueue<Integer> finishedModules = new LinkedBlockingQueue<>();
+        List<CloseReport> closeReports = new ArrayList<>();
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        ExecutorService closePool = Executors.newCachedThreadPool((runnable) -> {
+            Thread thread = new Thread(runnable, "ModuleScheduler-close-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        int finished = 0;
+        try {
+            while (finished < size) {
+                while (!readyModules.isEmpty()) {
+                    int id = readyModules.poll();
+                    Module module = constructedModules.get(executionPlan.getModule(id).getModule());
+                    if (!(module instanceof AutoCloseable closeable)) {
+                        finished += finishModule(executionPlan, id, remainingDependents, readyModules);
+                        continue;
+                    }
+
+                    closingModules.add(id);
+                    timeouts[id] = getCloseTimeoutNanos(moduleSchedulerSettings, module);
+                    deadlines[id] = System.nanoTime() + timeouts[id];
+                    closePool.execute(() -> {
+                        long closeStart = System.nanoTime();
+                        try {
+                            closeable.close();
+                        } catch (Throwable throwable) {
+                            failures[id] = throwable;
+                        }
+                        closeNanos[id] = System.nanoTime() - closeStart;
+                        finishedModules.add(id);
+                    });
+                }
+
+                if (closingModules.isEmpty()) {
+                    break;
+                }
+
+                long now = System.nanoTime();
+                long nextDeadline = Long.MAX_VALUE;
+                for (int id : closingModules) {
+                    nextDeadline = Math.min(nextDeadline, deadlines[id]);
+                }
+
+                Integer closed = finishedModules.poll(Math.max(0, nextDeadline - now), TimeUnit.NANOSECONDS);
+                if (closed != null) {
+                    if (closingModules.remove(closed)) {
+                        closeReports.add(reportClosed(moduleSchedulerSettings, executionPlan, closed, closeNanos,
+                                                      failures));
+                        finished += finishModule(executionPlan, closed, remainingDependents, readyModules);
+                    }
+                    continue;
+                }
+
+                now = System.nanoTime();
+                for (Iterator<Integer> iterator = closingModules.iterator(); iterator.hasNext(); ) {
+                    int id = iterator.next();
+                    if (deadlines[id] > now) {
+                        continue;
+                    }
+
+                    iterator.remove();
+                    closeReports.add(reportTimedOut(moduleSchedulerSettings, executionPlan, id, timeouts[id]));
+                    finished += finishModule(executionPlan, id, remainingDependents, readyModules);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModuleException("The shutdown of the modules has been interrupted.", e);
+        } finally {
+            closePool.shutdown();
+        }
+
+        return new ShutdownReport(closeReports, System.nanoTime() - start);
+    }
+
+    /**
+     * Close the previous instances of the {@link Module}s of the given stages, that have been replaced by a new
+     * instance, in the reverse load order. This is used after a run that constructs fresh instances of
+     * {@link Module}s that were already constructed. A previous instance that has not been replaced is not closed. The
+     * replaced instances that are not {@link AutoCloseable} are part of the plan as well, so the order is kept through
+     * them.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param stages                  The stages of the {@link Module}s that have been run.
+     * @param previousModules         The instances of the {@link Module}s before the run, linked with their class.
+     * @param constructedModules      The constructed {@link Module}s after the run, linked with their class.
+     *
+     * @return The report of the closing of the replaced {@link Module}s.
+     *
+     * @throws ModuleException If the closing has been interrupted.
+     * @since 1.3.0
+     */
+    public static @NotNull ShutdownReport closeReplacedModules(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull Set<Stage> stages,
+            @NotNull Map<Class<? extends Module>, Module> previousModules,
+            @NotNull Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        Map<Class<? extends Module>, Module> replacedModules = new HashMap<>();
+        boolean closeable = false;
+        for (Map.Entry<Class<? extends Module>, Module> entry : previousModules.entrySet()) {
+            Module module = constructedModules.get(entry.getKey());
+            if (module != null && module != entry.getValue()) {
+                replacedModules.put(entry.getKey(), entry.getValue());
+                closeable |= entry.getValue() instanceof AutoCloseable;
+            }
+        }
+
+        if (!closeable) {
+            return new ShutdownReport(List.of(), 0);
+        }
+        return closeModules(moduleSchedulerSettings, stages, replacedModules);
+    }
+
+    /**
+     * Finish the {@link Module} with the given id. The dependencies of which all the dependents are finished become
+     * ready to be closed.
+     *
+     * @param executionPlan       The plan of the {@link Module}s that are closed.
+     * @param id                  The id of the finished {@link Module}.
+     * @param remainingDependents The amount of dependents of the {@link Module}s that are not finished yet.
+     * @param readyModules        The {@link Module}s that are ready to be closed.
+     *
+     * @return The amount of finished {@link Module}s, this is always {@code 1}.
+     *
+     * @since 1.3.0
+     */
+    private static int finishModule(
+            @NotNull ExecutionPlan executionPlan,
+            int id,
+            int @NotNull [] remainingDependents,
+            @NotNull Deque<Integer> readyModules
+    ) {
+        for (int dependency : executionPlan.getDependencies(id)) {
+            if (--remainingDependents[dependency] == 0) {
+                readyModules.add(dependency);
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Get the timeout of the closing of the given {@link Module}. An invalid {@link CloseTimeout} is logged and the
+     * default timeout of the settings is used instead, so the shutdown is not stopped halfway.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param module                  The {@link Module} that is closed.
+     *
+     * @return The timeout of the closing in nanoseconds.
+     *
+     * @since 1.3.0
+     */
+    private static long getCloseTimeoutNanos(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull Module module
+    ) {
+        long defaultTimeout = TimeUnit.MILLISECONDS.toNanos(moduleSchedulerSettings.getCloseTimeoutMillis());
+        CloseTimeout closeTimeout = module.getClass().getAnnotation(CloseTimeout.class);
+        if (closeTimeout == null) {
+            return defaultTimeout;
+        }
+
+        if (closeTimeout.value() < 1) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The module %s declares an invalid close timeout of %d ms, the default timeout is used instead."
+                            .formatted(module.getClass().getName(), closeTimeout.value())
+            );
+            return defaultTimeout;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(closeTimeout.value());
+    }
+
+    /**
+     * Create the report of a {@link Module} of which the closing has returned. A failed closing is logged.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param executionPlan           The plan of the {@link Module}s that are closed.
+     * @param id                      The id of the {@link Module}.
+     * @param closeNanos              The durations of the closing, indexed by the ids of the {@link Module}s.
+     * @param failures                The exceptions of the closing, indexed by the ids of the {@link Module}s.
+     *
+     * @return The report of the closing.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull CloseReport reportClosed(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull ExecutionPlan executionPlan,
+            int id,
+            long @NotNull [] closeNanos,
+            Throwable @NotNull [] failures
+    ) {
+        Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+        if (failures[id] == null) {
+            return new CloseReport(moduleCls, closeNanos[id], CloseStatus.CLOSED, null);
+        }
+
+        moduleSchedulerSettings.getLogger().log(
+                Level.WARNING,
+                "The module %s could not be closed.".formatted(moduleCls.getName()),
+                failures[id]
+        );
+        return new CloseReport(moduleCls, closeNanos[id], CloseStatus.FAILED, failures[id]);
+    }
+
+    /**
+     * Create the report of a {@link Module} of which the closing did not return within its timeout. The timeout is
+     * logged.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param executionPlan           The plan of the {@link Module}s that are closed.
+     * @param id                      The id of the {@link Module}.
+     * @param timeoutNanos            The timeout of the closing in nanoseconds.
+     *
+     * @return The report of the closing.
+     *
+     * @since 1.3.0
+     */
+    private static @NotNull CloseReport reportTimedOut(
+            @NotNull ModuleSchedulerSettings moduleSchedulerSettings,
+            @NotNull ExecutionPlan executionPlan,
+            int id,
+            long timeoutNanos
+    ) {
+        Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+        moduleSchedulerSettings.getLogger().log(
+                Level.WARNING,
+                "The module %s has not been closed within %d ms, the shutdown continues without it."
+                        .formatted(moduleCls.getName(), TimeUnit.NANOSECONDS.toMillis(timeoutNanos))
+        );
+        return new CloseReport(moduleCls, timeoutNanos, CloseStatus.TIMED_OUT, null);
+    }
+}
@@ -24,23 +24,59 @@ package nl.devoxist.modulescheduler.runner;
 
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.cache.ModuleCache;
+import nl.devoxist.modulescheduler.cds.ClassListWriter;
+import nl.devoxist.modulescheduler.channel.ModuleChannel;
+import nl.devoxist.modulescheduler.channel.StreamingModule;
+import nl.devoxist.modulescheduler.checkpoint.CheckpointJournal;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.lifecycle.ModulePhase;
+import nl.devoxist.modulescheduler.lifecycle.PhasedModule;
+import nl.devoxist.modulescheduler.profile.CostModel;
+import nl.devoxist.modulescheduler.profile.ModuleProfile;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleRegistry;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
 import nl.devoxist.modulescheduler.stage.Stage;
 import nl.devoxist.typeresolver.constructor.ConstructorResolver;
 import nl.devoxist.typeresolver.register.Register;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Set;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
 
 /**
  * The process of loading the {@link Module}s.
+ * <p>
+ * The {@link Stage}s are compiled into an {@link ExecutionPlan}. A {@link Module} is placed in the ready queue when
+ * all its dependencies have been executed. The ready queue is ordered by the priority of the {@link Module}s, which is
+ * derived from the historical durations in the {@link ModuleProfile}. So the {@link Module}s on the critical path are
+ * started first.
+ * <p>
+ * The phases of the {@link PhasedModule}s are pipelined with the {@link ModulePhase} semantics. A {@link Module} is
+ * constructed and initialized when its dependencies have been started, and it is executed when its
+ * {@link PhasedModule} dependencies have been warmed up as well.
  *
  * @author Dev-Bjorn
- * @version 1.2.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class StageRunner extends Thread {
+    /**
+     * The phases of the lifecycle of a {@link Module}, indexed by their ordinal.
+     *
+     * @since 1.3.0
+     */
+    private static final ModulePhase[] PHASES = ModulePhase.values();
     /**
      * The settings of the current running {@link ModuleScheduler}.
      *
@@ -66,13 +102,132 @@ public final class StageRunner extends Thread {
      * @since 1.0.0
      */
     private final Register temporaryRegister = new Register();
+    /**
+     * The constructed {@link Module}s linked with their class, these are bound to the constructors of the
+     * {@link Module}s that have a binding plan.
+     *
+     * @see ModuleMetadata
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> constructedModules;
     /**
      * The stages that need to be constructed, loaded and runned.
      *
      * @since 1.0.0
      */
     private final Set<Stage> stages;
-
+    /**
+     * The compiled {@link #stages}.
+     *
+     * @since 1.3.0
+     */
+    private final ExecutionPlan executionPlan;
+    /**
+     * The lock of the registers. The construction of the {@link Module}s reads the registers, the publication of the
+     * {@link Module}s writes into the registers.
+     *
+     * @since 1.3.0
+     */
+    private final ReadWriteLock registerLock = new ReentrantReadWriteLock();
+    /**
+     * The ids of the {@link Module}s of which a task has been finished, but are not yet processed by the dispatcher. A
+     * {@link StreamingModule} that has been published, so its streaming dependents can be started, is added as the
+     * complement ({@code ~id}) of its id. A finished phase of a {@link Module} is added as
+     * {@code (phase.ordinal() + 1) * size + id}, see {@link #finishPhase(int, ModulePhase)}.
+     *
+     * @since 1.3.0
+     */
+    private final BlockingQueue<Integer> finishedModules = new LinkedBlockingQueue<>();
+    /**
+     * The channels of the {@link StreamingModule}s that have been published. These are aborted when a {@link Module}
+     * fails, so no producer or consumer keeps waiting.
+     *
+     * @since 1.3.0
+     */
+    private final Queue<ModuleChannel<?>> channels = new ConcurrentLinkedQueue<>();
+    /**
+     * The reports of the {@link Module}s that have been finished.
+     *
+     * @since 1.3.0
+     */
+    private final Queue<ModuleReport> moduleReports = new ConcurrentLinkedQueue<>();
+    /**
+     * The first failure of a {@link Module}. If a {@link Module} fails, no new {@link Module}s are started.
+     *
+     * @since 1.3.0
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /**
+     * The boolean to check if the CPU time and the allocated bytes of the {@link Module}s are measured.
+     *
+     * @since 1.3.0
+     */
+    private final boolean resourceAccounting;
+    /**
+     * The future of the report of the run.
+     *
+     * @since 1.3.0
+     */
+    private final CompletableFuture<RunReport> runReport = new CompletableFuture<>();
+    /**
+     * The profile with the historical durations of the {@link Module}s. If {@code null}, the durations are not
+     * recorded.
+     *
+     * @since 1.3.0
+     */
+    private ModuleProfile moduleProfile;
+    /**
+     * The cache of the cacheable {@link Module}s, {@code null} if the cache is disabled.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleCache moduleCache;
+    /**
+     * The cache keys of the {@link Module}s, indexed by their id. The key of a {@link Module} is set before its
+     * dependents are started, a key of {@code null} marks a {@link Module} that is not cacheable.
+     *
+     * @since 1.3.0
+     */
+    private final String[] cacheKeys;
+    /**
+     * If the {@link Module}s have been reused instead of executed, indexed by their id. A reused {@link Module} has
+     * been restored from the {@link #moduleCache} or resumed from the {@link #checkpointJournal}.
+     *
+     * @since 1.3.0
+     */
+    private final boolean[] reusedModules;
+    /**
+     * The constructed and initialized {@link Module}s that have not been started yet, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final Module[] initializedModules;
+    /**
+     * The durations of the construction and the init phase of the {@link Module}s in nanoseconds, indexed by their
+     * id.
+     *
+     * @since 1.3.0
+     */
+    private final long[] constructionNanos;
+    /**
+     * The resources used by the construction and the init phase of the {@link Module}s, indexed by their id.
+     *
+     * @since 1.3.0
+     */
+    private final ResourceSample[] constructionResources;
+    /**
+     * The checkpoint journal of the run, {@code null} if the journal is disabled.
+     *
+     * @since 1.3.0
+     */
+    private CheckpointJournal checkpointJournal;
+    /**
+     * The prepared plan that is shared by the ticks of a {@link RecurringRunner}, {@code null} if the runner prepares
+     * its own plan.
+     *
+     * @since 1.3.0
+     */
+    private final PreparedPlan sharedPlan;
 
     /**
      * Construct a process class that is responsible for the constructing, loading and running of the {@link Module}s.
@@ -81,18 +236,90 @@ public final class StageRunner extends Thread {
      * @param stages                  The stages that needs to be loaded. This need to be in the correct order.
      * @param moduleScheduler         The scheduler of the process.
      * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class. The
+     *                                {@link Module}s that are constructed during the run are added to this map.
      *
      * @since 1.0.0
      */
     private StageRunner(
             ModuleSchedulerSettings moduleSchedulerSettings,
             ModuleScheduler moduleScheduler,
-            Set<Stage> stages
+            Set<Stage> stages,
+            Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        this(moduleSchedulerSettings, moduleScheduler, stages, ExecutionPlan.compile(stages), null, constructedModules);
+    }
+
+    /**
+     * Construct a runner of a single tick of a {@link RecurringRunner}. The tick runs the shared prepared plan, so
+     * nothing is compiled or resolved again.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages of the prepared plan.
+     * @param sharedPlan              The prepared plan that is shared by the ticks.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class. The
+     *                                {@link Module}s that are constructed during the tick replace their previous
+     *                                instances in this map.
+     *
+     * @since 1.3.0
+     */
+    StageRunner(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            @NotNull PreparedPlan sharedPlan,
+            Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        this(
+                moduleSchedulerSettings,
+                moduleScheduler,
+                stages,
+                sharedPlan.getExecutionPlan(),
+                sharedPlan,
+                constructedModules
+        );
+    }
+
+    /**
+     * Construct a process class that is responsible for the constructing, loading and running of the {@link Module}s.
+     *
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param stages                  The stages that needs to be loaded. This need to be in the correct order.
+     * @param executionPlan           The compiled stages.
+     * @param sharedPlan              The prepared plan that is shared by the ticks of a {@link RecurringRunner}, or
+     *                                {@code null} if the runner prepares its own plan.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private StageRunner(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            ExecutionPlan executionPlan,
+            @Nullable PreparedPlan sharedPlan,
+            Map<Class<? extends Module>, Module> constructedModules
     ) {
         this.moduleSchedulerSettings = moduleSchedulerSettings;
         this.inputRegistries = new Register(moduleSchedulerSettings.getRegistries());
+        this.constructedModules = constructedModules;
+        for (Map.Entry<Class<? extends Module>, Module> entry : constructedModules.entrySet()) {
+            temporaryRegister.register(entry.getKey(), entry.getValue());
+        }
         this.moduleScheduler = moduleScheduler;
         this.stages = stages;
+        this.executionPlan = executionPlan;
+        this.sharedPlan = sharedPlan;
+        this.resourceAccounting = moduleSchedulerSettings.isResourceAccounting();
+        Path cacheDirectory = moduleSchedulerSettings.getCacheDirectory();
+        this.moduleCache = cacheDirectory == null ? null : new ModuleCache(cacheDirectory);
+        this.cacheKeys = new String[executionPlan.size()];
+        this.reusedModules = new boolean[executionPlan.size()];
+        this.initializedModules = new Module[executionPlan.size()];
+        this.constructionNanos = new long[executionPlan.size()];
+        this.constructionResources = new ResourceSample[executionPlan.size()];
     }
 
 
@@ -104,15 +331,43 @@ public final class StageRunner extends Thread {
      * @param moduleScheduler         The scheduler of the process.
      * @param moduleSchedulerSettings The settings of the current running scheduler.
      *
+     * @return The future of the report of the run. This future completes exceptionally if a {@link Module} failed.
+     *
      * @since 1.0.0
      */
-    public static void runStages(
+    public static CompletableFuture<RunReport> runStages(
             ModuleSchedulerSettings moduleSchedulerSettings,
             ModuleScheduler moduleScheduler,
             Set<Stage> stages
     ) {
-        StageRunner stageRunner = new StageRunner(moduleSchedulerSettings, moduleScheduler, stages);
+        return runStages(moduleSchedulerSettings, moduleScheduler, stages, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Run the process of constructing, loading and running the {@link Module}s, on top of the already constructed
+     * {@link Module}s of a previous run. The already constructed {@link Module}s can be used to construct the
+     * {@link Module}s of the given stages. This will not be runned on the main thread.
+     *
+     * @param stages                  The stages that needs to be loaded. This need to be in the correct order.
+     * @param moduleScheduler         The scheduler of the process.
+     * @param moduleSchedulerSettings The settings of the current running scheduler.
+     * @param constructedModules      The already constructed {@link Module}s, linked with their class. The
+     *                                {@link Module}s that are constructed during the run are added to this map, so
+     *                                it must be safe for concurrent use.
+     *
+     * @return The future of the report of the run. This future completes exceptionally if a {@link Module} failed.
+     *
+     * @since 1.3.0
+     */
+    public static CompletableFuture<RunReport> runStages(
+            ModuleSchedulerSettings moduleSchedulerSettings,
+            ModuleScheduler moduleScheduler,
+            Set<Stage> stages,
+            Map<Class<? extends Module>, Module> constructedModules
+    ) {
+        StageRunner stageRunner = new StageRunner(moduleSchedulerSettings, moduleScheduler, stages, constructedModules);
         stageRunner.start();
+        return stageRunner.runReport;
     }
 
     /**
@@ -123,26 +378,653 @@ public final class StageRunner extends Thread {
      */
     @Override
     public void run() {
-        for (Stage stage : stages) {
-            Class<? extends Module> moduleCls = stage.moduleInformation().getModule();
+        try {
+            runReport.complete(runPlan());
+        } catch (InterruptedException e) {
+            runReport.completeExceptionally(e);
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            runReport.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Run the {@link #executionPlan} and create the report of the run.
+     *
+     * @return The report of the run.
+     *
+     * @throws InterruptedException If the runner was interrupted while waiting for the {@link Module}s.
+     * @throws ModuleException      If a {@link Module} failed to execute.
+     * @since 1.3.0
+     */
+    private @NotNull RunReport runPlan() throws InterruptedException {
+        PreparedPlan preparedPlan =
+                sharedPlan == null ? new PreparedPlan(executionPlan, moduleSchedulerSettings) : sharedPlan;
+        this.moduleProfile = preparedPlan.getModuleProfile();
+
+        if (resourceAccounting) {
+            ResourceSample.enable();
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            this.checkpointJournal = sharedPlan == null ? openJournal() : null;
+            dispatch(preparedPlan);
+            completed = true;
+        } finally {
+            if (resourceAccounting) {
+                ResourceSample.disable();
+            }
+            if (sharedPlan == null) {
+                preparedPlan.release();
+            }
+            closeJournal(completed);
+        }
+        long makespan = System.nanoTime() - start;
+
+        if (sharedPlan == null) {
+            preparedPlan.saveProfile();
+            writeClassList();
+        }
+
+        List<ModuleReport> reports = new ArrayList<>(moduleReports);
+        return new RunReport(
+                reports,
+                preparedPlan.getPredictedMakespanNanos(),
+                makespan,
+                preparedPlan.getPredictedPeakMemoryBytes(),
+                validateCosts(reports)
+        );
+    }
+
+    /**
+     * Run a single tick of a {@link RecurringRunner} on the current thread. The tick uses the shared prepared plan,
+     * it does not use the checkpoint journal and it does not save the module profile.
+     *
+     * @return The report of the tick.
+     *
+     * @throws InterruptedException If the tick was interrupted while waiting for the {@link Module}s.
+     * @throws ModuleException      If a {@link Module} failed to execute.
+     * @since 1.3.0
+     */
+    @NotNull RunReport runTick() throws InterruptedException {
+        return runPlan();
+    }
+
+    /**
+     * Compare the declared cost weights of the {@link Module}s with their measured durations. Every weight that
+     * differs more than the cost tolerance of the settings is logged as a warning.
+     *
+     * @param reports The reports of the {@link Module}s of the run.
+     *
+     * @return The {@link Module}s of which the declared cost weight does not match the measured duration.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull List<CostDeviation> validateCosts(@NotNull List<ModuleReport> reports) {
+        List<CostDeviation> costDeviations =
+                CostModel.validate(executionPlan, reports, moduleSchedulerSettings.getCostTolerance());
+
+        for (CostDeviation costDeviation : costDeviations) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The cost weight %d of %s is stale, the module took %.2f times its expected duration."
+                            .formatted(
+                                    costDeviation.weight(),
+                                    costDeviation.module().getName(),
+                                    costDeviation.deviationRatio()
+                            )
+            );
+        }
+        return costDeviations;
+    }
 
+    /**
+     * Dispatch the {@link Module}s of the {@link #executionPlan}. The ready {@link Module}s are started in the order of
+     * their priority, on the pool of their execution class, until every pool has reached its limit. A ready
+     * {@link Module} of which the pool is full, or of which a resource group has no free permit, is skipped and stays
+     * in the ready queue until a {@link Module} has been finished.
+     * <p>
+     * A {@link Module} with {@link PhasedModule} dependencies is dispatched twice. It is initialized when its
+     * dependencies have been started, and it is started when they have been warmed up. The start of an initialized
+     * {@link Module} is added to the ready queue as {@code size + id}, and is dispatched before the other
+     * {@link Module}s, because its instance has already been constructed.
+     *
+     * @param preparedPlan The prepared plan with the priorities, the pools and the permits of the resource groups.
+     *
+     * @throws InterruptedException If the runner was interrupted while waiting for the {@link Module}s.
+     * @throws ModuleException      If a {@link Module} failed to execute.
+     * @since 1.3.0
+     */
+    private void dispatch(@NotNull PreparedPlan preparedPlan) throws InterruptedException {
+        int size = executionPlan.size();
+        int[] remainingDependencies = executionPlan.copyDependencyCounts();
+        int[] remainingPhases = new int[size];
+        Comparator<Integer> priorityOrder = ExecutionPlan.readyQueueOrder(preparedPlan.getPriorities());
+        PriorityQueue<Integer> readyQueue = new PriorityQueue<>((first, second) -> {
+            int compare = Boolean.compare(second >= size, first >= size);
+            return compare != 0 ? compare : priorityOrder.compare(first % size, second % size);
+        });
+        ExecutorRouter executorRouter = preparedPlan.getExecutorRouter();
+        ResourceLimiter resourceLimiter = preparedPlan.getResourceLimiter();
+        List<Integer> waitingModules = new ArrayList<>();
+
+        for (int id = 0; id < size; id++) {
+            if (executionPlan.getPhasedDependencyCount(id) > 0) {
+                remainingPhases[id] = executionPlan.getPhasedDependencyCount(id) + 1;
+            }
+            if (remainingDependencies[id] == 0) {
+                readyQueue.add(id);
+            }
+        }
+
+        boolean[] publishedModules = new boolean[size];
+        int running = 0;
+        int finished = 0;
+        while (true) {
+            while (!readyQueue.isEmpty() && failure.get() == null) {
+                int node = readyQueue.poll();
+                int id = node % size;
+                if (!executorRouter.tryStart(id)) {
+                    waitingModules.add(node);
+                    continue;
+                }
+                if (!resourceLimiter.tryAcquire(id)) {
+                    executorRouter.finish(id);
+                    waitingModules.add(node);
+                    continue;
+                }
+                ++running;
+
+                try {
+                    executorRouter.execute(id, node < size ? () -> runModule(id) : () -> runStart(id));
+                } catch (RejectedExecutionException e) {
+                    failure.compareAndSet(null, e);
+                    finishedModules.add(id);
+                }
+            }
+            readyQueue.addAll(waitingModules);
+            waitingModules.clear();
+
+            if (running == 0) {
+                break;
+            }
+
+            int event = finishedModules.take();
+            if (event < 0) {
+                publishedModules[~event] = true;
+                for (int dependent : executionPlan.getStreamingDependents(~event)) {
+                    if (--remainingDependencies[dependent] == 0) {
+                        readyQueue.add(dependent);
+                    }
+                }
+                continue;
+            }
+
+            if (event < size) {
+                executorRouter.finish(event);
+                resourceLimiter.release(event);
+                --running;
+                continue;
+            }
+
+            int id = event % size;
+            switch (PHASES[event / size - 1]) {
+                case INIT -> {
+                    if (--remainingPhases[id] == 0) {
+                        readyQueue.add(size + id);
+                    }
+                }
+                case START -> {
+                    for (int dependent : executionPlan.getDependents(id)) {
+                        if (publishedModules[id] && executionPlan.isStreamingDependent(id, dependent)) {
+                            continue;
+                        }
+                        if (--remainingDependencies[dependent] == 0) {
+                            readyQueue.add(dependent);
+                        }
+                    }
+                }
+                case WARMUP -> {
+                    ++finished;
+                    if (!executionPlan.isPhased(id)) {
+                        continue;
+                    }
+
+                    for (int dependent : executionPlan.getDependents(id)) {
+                        if (executionPlan.isStreamingDependent(id, dependent)) {
+                            continue;
+                        }
+                        if (--remainingPhases[dependent] == 0) {
+                            readyQueue.add(size + dependent);
+                        }
+                    }
+                }
+            }
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new ModuleException("The execution of the modules has been stopped, because a module failed.", cause);
+        }
+        if (finished < size) {
+            throw new ModuleException("The execution of the modules has been stopped, before all modules finished.");
+        }
+    }
+
+    /**
+     * Construct, publish and initialize the {@link Module} with the given id. A {@link Module} without
+     * {@link PhasedModule} dependencies is started directly after, otherwise it is started by {@link #runStart(int)}
+     * when the dependencies have been warmed up. A cacheable {@link Module} of which the key is found in the
+     * {@link #moduleCache} is restored and published, but not constructed and not executed. Every channel is aborted
+     * when a {@link Module} fails. When finished, the id is added to the {@link #finishedModules}.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @since 1.3.0
+     */
+    private void runModule(int id) {
+        try {
+            Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+            String cacheKey = createCacheKey(id);
+
+            if (cacheKey != null && restoreModule(id, moduleCls, cacheKey)) {
+                reusedModules[id] = true;
+                finishPhase(id, ModulePhase.START);
+                finishPhase(id, ModulePhase.WARMUP);
+                return;
+            }
+
+            boolean resumed = isResumable(id);
+            loadLazyDependencies(id);
+
+            ResourceSample constructionSample = sampleResources();
+            long constructionStart = System.nanoTime();
             Module module = getModule(moduleCls);
 
             if (module == null) {
-                continue;
+                finishPhase(id, ModulePhase.START);
+                finishPhase(id, ModulePhase.WARMUP);
+                return;
             }
 
-            temporaryRegister.register(moduleCls, module);
-            moduleSchedulerSettings.getOutputRegister().register(moduleCls, module);
+            publish(moduleCls, module);
+            openChannel(id, module);
+            if (module instanceof PhasedModule phasedModule) {
+                phasedModule.onInit();
+            }
+            constructionNanos[id] = System.nanoTime() - constructionStart;
+            constructionResources[id] = sampleResources().since(constructionSample);
+
+            reusedModules[id] = resumed;
+            initializedModules[id] = module;
+            if (executionPlan.getPhasedDependencyCount(id) > 0) {
+                finishPhase(id, ModulePhase.INIT);
+                return;
+            }
 
+            startModule(id);
+        } catch (Throwable throwable) {
+            fail(throwable);
+        } finally {
+            finishedModules.add(id);
+        }
+    }
+
+    /**
+     * Start the initialized {@link Module} with the given id, of which the {@link PhasedModule} dependencies have
+     * been warmed up. When finished, the id is added to the {@link #finishedModules}.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @since 1.3.0
+     */
+    private void runStart(int id) {
+        try {
+            startModule(id);
+        } catch (Throwable throwable) {
+            fail(throwable);
+        } finally {
+            finishedModules.add(id);
+        }
+    }
+
+    /**
+     * Execute and warm up the initialized {@link Module} with the given id. A {@link Module} that is resumed from the
+     * {@link #checkpointJournal} is warmed up, but not executed. The channel of a {@link StreamingModule} is closed
+     * when its execution returns. The dependents of the {@link Module} are released to the dispatcher when the
+     * execution returns, so they are initialized while the {@link Module} is warmed up.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @throws Exception If the execution or the warmup of the {@link Module} failed.
+     * @since 1.3.0
+     */
+    private void startModule(int id) throws Exception {
+        Class<? extends Module> moduleCls = executionPlan.getModule(id).getModule();
+        Module module = initializedModules[id];
+        initializedModules[id] = null;
+        boolean resumed = reusedModules[id];
+
+        long executionNanos = 0;
+        ResourceSample executionResources = ResourceSample.UNAVAILABLE;
+        if (!resumed) {
             moduleScheduler.beforeModuleExecute(module);
+            ResourceSample executionSample = sampleResources();
+            long executionStart = System.nanoTime();
             module.onExecute();
+            if (module instanceof StreamingModule<?> streamingModule) {
+                streamingModule.getChannel().close();
+            }
+            executionNanos = System.nanoTime() - executionStart;
+            executionResources = sampleResources().since(executionSample);
             moduleScheduler.afterModuleExecute(module);
+            journalModule(moduleCls);
+        }
+        finishPhase(id, ModulePhase.START);
+
+        if (module instanceof PhasedModule phasedModule) {
+            ResourceSample warmupSample = sampleResources();
+            long warmupStart = System.nanoTime();
+            phasedModule.onWarmup();
+            executionNanos += System.nanoTime() - warmupStart;
+            ResourceSample warmupResources = sampleResources().since(warmupSample);
+            executionResources = resumed ? warmupResources : executionResources.plus(warmupResources);
+        }
+
+        ModuleReport moduleReport = new ModuleReport(
+                moduleCls,
+                executionPlan.getStageNumber(id),
+                constructionNanos[id],
+                executionNanos,
+                constructionResources[id].cpuNanos(),
+                constructionResources[id].allocatedBytes(),
+                executionResources.cpuNanos(),
+                executionResources.allocatedBytes(),
+                false,
+                resumed
+        );
+        moduleReports.add(moduleReport);
+        moduleScheduler.onModuleReport(moduleReport);
+        finishPhase(id, ModulePhase.WARMUP);
+
+        if (resumed) {
+            return;
+        }
+
+        if (moduleProfile != null) {
+            moduleProfile.record(moduleCls, constructionNanos[id], executionNanos);
+        }
+
+        String cacheKey = cacheKeys[id];
+        if (cacheKey != null) {
+            storeModule(moduleCls, cacheKey, module);
+        }
+    }
+
+    /**
+     * Add the finished phase of the {@link Module} with the given id to the {@link #finishedModules}.
+     *
+     * @param id    The id of the {@link Module} in the {@link #executionPlan}.
+     * @param phase The phase that has been finished.
+     *
+     * @since 1.3.0
+     */
+    private void finishPhase(int id, @NotNull ModulePhase phase) {
+        finishedModules.add((phase.ordinal() + 1) * executionPlan.size() + id);
+    }
+
+    /**
+     * Record the failure of a {@link Module}, and abort every channel. Only the first failure of the run is kept.
+     *
+     * @param throwable The failure of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private void fail(@NotNull Throwable throwable) {
+        failure.compareAndSet(null, throwable);
+        for (ModuleChannel<?> channel : channels) {
+            channel.fail(throwable);
         }
     }
 
     /**
-     * Get the constructed given {@link Module} by its {@link Class}.
+     * Open the channel of the published {@link Module}, if it is a {@link StreamingModule}. The streaming dependents
+     * of the {@link Module} are released to the dispatcher, so they consume the channel while it is filled.
+     *
+     * @param id     The id of the {@link Module} in the {@link #executionPlan}.
+     * @param module The published {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private void openChannel(int id, Module module) {
+        if (!(module instanceof StreamingModule<?> streamingModule)) {
+            return;
+        }
+
+        ModuleChannel<?> channel = streamingModule.getChannel();
+        channels.add(channel);
+        Throwable cause = failure.get();
+        if (cause != null) {
+            channel.fail(cause);
+        }
+
+        if (executionPlan.getStreamingDependents(id).length > 0) {
+            finishedModules.add(~id);
+        }
+    }
+
+    /**
+     * Create the cache key of the {@link Module} with the given id. The keys of the dependencies have been created
+     * before, because the dependencies have been finished before the {@link Module} is started.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @return The cache key of the {@link Module}, or {@code null} if the cache is disabled, if the {@link Module}
+     * takes part in a stream or if the {@link Module} or one of its dependencies is not cacheable.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    private String createCacheKey(int id) {
+        if (moduleCache == null || executionPlan.isStreaming(id)) {
+            return null;
+        }
+
+        ModuleInformation<?> moduleInformation = executionPlan.getModule(id);
+        int[] dependencies = executionPlan.getDependencies(id);
+        if (dependencies.length != moduleInformation.getDependencies().size()) {
+            // A dependency outside the plan has been constructed by an earlier run, its key is unknown.
+            return null;
+        }
+
+        Map<Class<? extends Module>, String> dependencyKeys = new HashMap<>(dependencies.length * 2);
+        for (int dependency : dependencies) {
+            dependencyKeys.put(executionPlan.getModule(dependency).getModule(), cacheKeys[dependency]);
+        }
+
+        String cacheKey = ModuleCache.createKey(moduleInformation.getModule(), dependencyKeys);
+        cacheKeys[id] = cacheKey;
+        return cacheKey;
+    }
+
+    /**
+     * Restore the {@link Module} with the given id from the {@link #moduleCache} and publish it. If the entry cannot
+     * be read, a warning is logged and the {@link Module} is executed as usual.
+     *
+     * @param id        The id of the {@link Module} in the {@link #executionPlan}.
+     * @param moduleCls The class of the {@link Module}.
+     * @param cacheKey  The cache key of the {@link Module}.
+     *
+     * @return {@code true} if the {@link Module} has been restored, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    private boolean restoreModule(int id, Class<? extends Module> moduleCls, String cacheKey) {
+        long restoreStart = System.nanoTime();
+        Module module;
+        try {
+            module = moduleCache.restore(moduleCls, cacheKey);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The cache entry of %s could not be read: %s".formatted(moduleCls.getName(), e.getMessage())
+            );
+            return false;
+        }
+
+        if (module == null) {
+            return false;
+        }
+
+        publish(moduleCls, module);
+        long restoreNanos = System.nanoTime() - restoreStart;
+
+        ModuleReport moduleReport = new ModuleReport(
+                moduleCls,
+                executionPlan.getStageNumber(id),
+                restoreNanos,
+                0,
+                -1,
+                -1,
+                -1,
+                -1,
+                true,
+                false
+        );
+        moduleReports.add(moduleReport);
+        moduleScheduler.onModuleReport(moduleReport);
+        return true;
+    }
+
+    /**
+     * Store the executed {@link Module} in the {@link #moduleCache}. If the entry cannot be written, a warning is
+     * logged.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param cacheKey  The cache key of the {@link Module}.
+     * @param module    The executed {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void storeModule(Class<? extends Module> moduleCls, String cacheKey, Module module) {
+        try {
+            moduleCache.store((Class) moduleCls, cacheKey, module);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The cache entry of %s could not be written: %s".formatted(moduleCls.getName(), e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Check if the execution of the {@link Module} with the given id can be skipped. The completion of the
+     * {@link Module} must be recorded in the {@link #checkpointJournal} and all its dependencies inside the plan must
+     * have been reused. So a dependency that has been executed again, executes the {@link Module} again. A
+     * {@link Module} that takes part in a stream is always executed, because its producer or consumers are.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @return {@code true} if the execution of the {@link Module} can be skipped, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    private boolean isResumable(int id) {
+        if (checkpointJournal == null || executionPlan.isStreaming(id)) {
+            return false;
+        }
+        if (!checkpointJournal.isCompleted(executionPlan.getModule(id).getModule())) {
+            return false;
+        }
+
+        for (int dependency : executionPlan.getDependencies(id)) {
+            if (!reusedModules[dependency]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the completion of the executed {@link Module} in the {@link #checkpointJournal}. If the record cannot be
+     * written, a warning is logged.
+     *
+     * @param moduleCls The class of the executed {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private void journalModule(Class<? extends Module> moduleCls) {
+        if (checkpointJournal == null) {
+            return;
+        }
+
+        try {
+            checkpointJournal.complete(moduleCls);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The completion of %s could not be journaled: %s".formatted(moduleCls.getName(), e.getMessage())
+            );
+        }
+    }
+
+    /**
+     * Take a sample of the resources of the current thread, if the resource accounting is enabled.
+     *
+     * @return The sample of the current thread, or {@link ResourceSample#UNAVAILABLE} if the resource accounting is
+     * disabled.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull ResourceSample sampleResources() {
+        return resourceAccounting ? ResourceSample.sample() : ResourceSample.UNAVAILABLE;
+    }
+
+    /**
+     * Publish the constructed {@link Module} in the registers, so it can be used to construct the dependent
+     * {@link Module}s. The {@link ModuleRegistry} of the settings is concurrent, so it is published outside the lock.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param module    The constructed {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private void publish(Class<? extends Module> moduleCls, Module module) {
+        registerLock.writeLock().lock();
+        try {
+            temporaryRegister.register(moduleCls, module);
+            constructedModules.put(moduleCls, module);
+        } finally {
+            registerLock.writeLock().unlock();
+        }
+        moduleSchedulerSettings.getModuleRegistry().publish(moduleCls, module);
+    }
+
+    /**
+     * Load the dependencies of the {@link Module} with the given id that are not constructed. A lazy dependency that
+     * has been left out of the eager run is constructed on demand through the {@link ModuleRegistry}, before the
+     * {@link Module} that injects it is constructed.
+     *
+     * @param id The id of the {@link Module} in the {@link #executionPlan}.
+     *
+     * @since 1.3.0
+     */
+    private void loadLazyDependencies(int id) {
+        for (Class<? extends Module> dependency : executionPlan.getModule(id).getDependencies()) {
+            if (!constructedModules.containsKey(dependency)) {
+                moduleSchedulerSettings.getModuleRegistry().get(dependency);
+            }
+        }
+    }
+
+    /**
+     * Get the constructed given {@link Module} by its {@link Class}. If the {@link Module} has a binding plan in its
+     * cached {@link ModuleMetadata}, it is constructed directly with the constructed {@link Module}s. Otherwise, the
+     * constructor is resolved from the registers.
      *
      * @param moduleCls The {@link Module} class that needs to be constructed.
      *
@@ -152,7 +1034,16 @@ public final class StageRunner extends Thread {
      */
     @Nullable
     private Module getModule(Class<? extends Module> moduleCls) {
+        registerLock.readLock().lock();
         try {
+            ModuleMetadata moduleMetadata = ModuleMetadata.of(moduleCls);
+            if (moduleMetadata.hasBindingPlan()) {
+                Module module = moduleMetadata.newInstance(constructedModules);
+                if (module != null) {
+                    return module;
+                }
+            }
+
             return ConstructorResolver.initClass(
                     moduleCls,
                     false,
@@ -163,6 +1054,102 @@ public final class StageRunner extends Thread {
                  IllegalAccessException e) {
             e.printStackTrace();
             return null;
+        } finally {
+            registerLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Open the checkpoint journal. If the journal cannot be read, a warning is logged and a new journal replaces it. If
+     * the new journal cannot be created either, a warning is logged and the run continues without a journal.
+     *
+     * @return The opened journal, or {@code null} if there is no journal file set in the settings or if the journal
+     * could not be created.
+     *
+     * @since 1.3.0
+     */
+    @Nullable
+    private CheckpointJournal openJournal() {
+        Path journalFile = moduleSchedulerSettings.getCheckpointJournal();
+        if (journalFile == null) {
+            return null;
+        }
+
+        int syncBatch = moduleSchedulerSettings.getCheckpointSyncBatch();
+        try {
+            return CheckpointJournal.open(journalFile, syncBatch);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The checkpoint journal '%s' could not be read: %s".formatted(journalFile, e.getMessage())
+            );
+        }
+
+        try {
+            return CheckpointJournal.create(journalFile, syncBatch);
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The checkpoint journal '%s' could not be created: %s".formatted(journalFile, e.getMessage())
+            );
+            return null;
+        }
+    }
+
+    /**
+     * Close the checkpoint journal. The journal of a completed run is deleted, the journal of an interrupted run is
+     * kept, so the next run can resume from it. If the journal cannot be closed, a warning is logged.
+     *
+     * @param completed If all {@link Module}s have been finished.
+     *
+     * @since 1.3.0
+     */
+    private void closeJournal(boolean completed) {
+        if (checkpointJournal == null) {
+            return;
+        }
+
+        try {
+            if (completed) {
+                checkpointJournal.delete();
+            } else {
+                checkpointJournal.close();
+            }
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The checkpoint journal '%s' could not be closed: %s".formatted(
+                            moduleSchedulerSettings.getCheckpointJournal(),
+                            e.getMessage()
+                    )
+            );
+        }
+    }
+
+    /**
+     * Write the class list of the training run, if a file of the class list is set in the settings. If the class list
+     * cannot be written, a warning is logged.
+     *
+     * @since 1.3.0
+     */
+    private void writeClassList() {
+        Path classListFile = moduleSchedulerSettings.getTrainingClassList();
+        if (classListFile == null) {
+            return;
+        }
+
+        List<Class<? extends Module>> modules = new ArrayList<>(executionPlan.size());
+        for (int id = 0; id < executionPlan.size(); id++) {
+            modules.add(executionPlan.getModule(id).getModule());
+        }
+
+        try {
+            ClassListWriter.write(classListFile, modules, List.of(moduleScheduler.getClass()));
+        } catch (IOException e) {
+            moduleSchedulerSettings.getLogger().log(
+                    Level.WARNING,
+                    "The class list '%s' could not be written: %s".formatted(classListFile, e.getMessage())
+            );
         }
     }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.schedule;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * {@link CronSchedule} is a {@link TickSchedule} that ticks on the minutes of a cron expression. The expression has
+ * the five fields of the classic crontab, separated by whitespace:
+ * <pre>
+ * minute         0-59
+ * hour           0-23
+ * day of month   1-31
+ * month          1-12
+ * day of week    0-7 (0 and 7 are Sunday)
+ * </pre>
+ * A field is {@code *}, a value, a range {@code a-b} or a comma separated list of these. A field may be followed by a
+ * step {@code /n}. When both the day of the month and the day of the week are restricted, a day matches if either of
+ * them matches, like the classic crontab.
+ * <p>
+ * The fields are parsed once into bit sets, so the next tick is found by jumping over the months, days and hours that
+ * do not match.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class CronSchedule implements TickSchedule {
+    /**
+     * The amount of years that are searched for the next tick, before the expression is seen as never matching.
+     *
+     * @since 1.3.0
+     */
+    private static final int SEARCH_YEARS = 5;
+    /**
+     * The original cron expression.
+     *
+     * @since 1.3.0
+     */
+    private final String expression;
+    /**
+     * The time zone in which the expression is evaluated.
+     *
+     * @since 1.3.0
+     */
+    private final ZoneId zoneId;
+    /**
+     * The matching minutes.
+     *
+     * @since 1.3.0
+     */
+    private final BitSet minutes;
+    /**
+     * The matching hours.
+     *
+     * @since 1.3.0
+     */
+    private final BitSet hours;
+    /**
+     * The matching days of the month.
+     *
+     * @since 1.3.0
+     */
+    private final BitSet daysOfMonth;
+    /**
+     * The matching months.
+     *
+     * @since 1.3.0
+     */
+    private final BitSet months;
+    /**
+     * The matching days of the week, where {@code 0} is Sunday.
+     *
+     * @since 1.3.0
+     */
+    private final BitSet daysOfWeek;
+    /**
+     * If {@code true}, the day of the month field is restricted.
+     *
+     * @since 1.3.0
+     */
+    private final boolean daysOfMonthRestricted;
+    /**
+     * If {@code true}, the day of the week field is restricted.
+     *
+     * @since 1.3.0
+     */
+    private final boolean daysOfWeekRestricted;
+
+    /**
+     * Construct a new {@link CronSchedule}.
+     *
+     * @param expression The cron expression with the five fields: minute, hour, day of the month, month and day of
+     *                   the week.
+     * @param zoneId     The time zone in which the cron expression is evaluated.
+     *
+     * @throws IllegalArgumentException If the cron expression is invalid.
+     * @since 1.3.0
+     */
+    public CronSchedule(@NotNull String expression, @NotNull ZoneId zoneId) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException(
+                    "The cron expression '%s' must have 5 fields, but has %d.".formatted(expression, fields.length)
+            );
+        }
+
+        this.expression = expression;
+        this.zoneId = zoneId;
+        this.minutes = parseField(expression, fields[0], 0, 59);
+        this.hours = parseField(expression, fields[1], 0, 23);
+        this.daysOfMonth = parseField(expression, fields[2], 1, 31);
+        this.months = parseField(expression, fields[3], 1, 12);
+        this.daysOfWeek = parseField(expression, fields[4], 0, 7);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+            daysOfWeek.clear(7);
+        }
+        this.daysOfMonthRestricted = !fields[2].startsWith("*");
+        this.daysOfWeekRestricted = !fields[4].startsWith("*");
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The next tick is at the start of the first matching minute after the given instant.
+     *
+     * @throws IllegalStateException If the expression does not match any minute in the next five years.
+     * @since 1.3.0
+     */
+    @Override
+    public @NotNull Instant nextTick(@NotNull Instant after) {
+        ZonedDateTime time = after.atZone(zoneId).truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        ZonedDateTime limit = time.plusYears(SEARCH_YEARS);
+
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+                continue;
+            }
+            if (!isMatchingDay(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+                continue;
+            }
+            if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                continue;
+            }
+            if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+                continue;
+            }
+            return time.toInstant();
+        }
+
+        throw new IllegalStateException(
+                "The cron expression '%s' does not match any minute in the next %d years.".formatted(
+                        expression,
+                        SEARCH_YEARS
+                )
+        );
+    }
+
+    /**
+     * Check if the day of the given time matches the day of the month and the day of the week fields.
+     *
+     * @param time The time of which the day is checked.
+     *
+     * @return {@code true} if the day matches.
+     *
+     * @since 1.3.0
+     */
+    private boolean isMatchingDay(@NotNull ZonedDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+
+        if (daysOfMonthRestricted && daysOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+
+    /**
+     * Parse a field of the cron expression into the set of matching values.
+     *
+     * @param expression The full cron expression, which is used in the error message.
+     * @param field      The field that is parsed.
+     * @param min        The minimum value of the field.
+     * @param max        The maximum value of the field.
+     *
+     * @return The set of matching values.
+     *
+     * @throws IllegalArgumentException If the field is invalid.
+     * @since 1.3.0
+     */
+    private static @NotNull BitSet parseField(@NotNull String expression, @NotNull String field, int min, int max) {
+        BitSet values = new BitSet(max + 1);
+
+        for (String part : field.split(",", -1)) {
+            String range = part;
+            int step = 1;
+
+            int stepIndex = part.indexOf('/');
+            if (stepIndex >= 0) {
+                range = part.substring(0, stepIndex);
+                step = parseValue(expression, part.substring(stepIndex + 1), 1, max - min + 1);
+            }
+
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else if (range.indexOf('-') > 0) {
+                int rangeIndex = range.indexOf('-');
+                from = parseValue(expression, range.substring(0, rangeIndex), min, max);
+                to = parseValue(expression, range.substring(rangeIndex + 1), min, max);
+            } else {
+                from = parseValue(expression, range, min, max);
+                to = stepIndex >= 0 ? max : from;
+            }
+
+            if (from > to) {
+                throw new IllegalArgumentException(
+                        "The range '%s' of the cron expression '%s' is reversed.".formatted(part, expression)
+                );
+            }
+
+            for (int value = from; value <= to; value += step) {
+                values.set(value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Parse a single value of a field of the cron expression.
+     *
+     * @param expression The full cron expression, which is used in the error message.
+     * @param value      The value that is parsed.
+     * @param min        The minimum value.
+     * @param max        The maximum value.
+     *
+     * @return The parsed value.
+     *
+     * @throws IllegalArgumentException If the value is not a number or is out of range.
+     * @since 1.3.0
+     */
+    private static int parseValue(@NotNull String expression, @NotNull String value, int min, int max) {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "The value '%s' of the cron expression '%s' is not a number.".formatted(value, expression),
+                    e
+            );
+        }
+
+        if (parsed < min || parsed > max) {
+            throw new IllegalArgumentException(
+                    "The value '%s' of the cron expression '%s' must be in the range [%d, %d].".formatted(
+                            value,
+                            expression,
+                            min,
+                            max
+                    )
+            );
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the original cron expression.
+     *
+     * @return The original cron expression.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Get the time zone in which the expression is evaluated.
+     *
+     * @return The time zone in which the expression is evaluated.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull ZoneId getZoneId() {
+        return zoneId;
+    }
+
+    @Override
+    public String toString() {
+        return "CronSchedule{expression='%s', zoneId=%s}".formatted(expression, zoneId);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.schedule;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link FixedRateSchedule} is a {@link TickSchedule} that ticks with a fixed period. The next tick is the period
+ * after the previous scheduled tick.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class FixedRateSchedule implements TickSchedule {
+    /**
+     * The period between two ticks.
+     *
+     * @since 1.3.0
+     */
+    private final Duration period;
+
+    /**
+     * Construct a new {@link FixedRateSchedule}.
+     *
+     * @param period The period between two ticks, this must be positive.
+     *
+     * @throws IllegalArgumentException If the period is not positive.
+     * @since 1.3.0
+     */
+    public FixedRateSchedule(@NotNull Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("The period of a fixed rate schedule must be positive.");
+        }
+        this.period = period;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public @NotNull Instant nextTick(@NotNull Instant after) {
+        return after.plus(period);
+    }
+
+    /**
+     * Get the period between two ticks.
+     *
+     * @return The period between two ticks.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull Duration getPeriod() {
+        return period;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedRateSchedule{period=%s}".formatted(period);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.schedule;
+
+import nl.devoxist.modulescheduler.Module;
+
+/**
+ * {@link OverlapPolicy} determines what a recurring run of the {@link Module}s does with a tick that is due while the
+ * previous tick is still running.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public enum OverlapPolicy {
+    /**
+     * The tick is skipped, the running tick is not followed by another tick until the next tick is due.
+     *
+     * @since 1.3.0
+     */
+    SKIP,
+    /**
+     * The tick is queued, every queued tick is run after the running tick, one after another.
+     *
+     * @since 1.3.0
+     */
+    QUEUE,
+    /**
+     * The tick is coalesced, all the ticks that are due during the running tick are merged into a single tick that
+     * runs after the running tick.
+     *
+     * @since 1.3.0
+     */
+    COALESCE
+}
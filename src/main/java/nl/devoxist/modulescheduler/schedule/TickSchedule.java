@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.schedule;
+
+import nl.devoxist.modulescheduler.Module;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * {@link TickSchedule} determines when the ticks of a recurring run of the {@link Module}s are due. A schedule is
+ * asked for the next tick after the previous scheduled tick, so the ticks do not drift when a tick takes longer than
+ * expected.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public interface TickSchedule {
+
+    /**
+     * Get the first tick that is due strictly after the given instant.
+     *
+     * @param after The instant after which the next tick is due, this is the previous scheduled tick or the start
+     *              of the recurring run.
+     *
+     * @return The instant of the next tick.
+     *
+     * @throws IllegalStateException If the schedule has no tick after the given instant.
+     * @since 1.3.0
+     */
+    @NotNull Instant nextTick(@NotNull Instant after);
+
+    /**
+     * Create a schedule that ticks with a fixed rate.
+     *
+     * @param period The period between two ticks, this must be positive.
+     *
+     * @return The schedule with a fixed rate.
+     *
+     * @throws IllegalArgumentException If the period is not positive.
+     * @since 1.3.0
+     */
+    @Contract("_ -> new")
+    static @NotNull TickSchedule fixedRate(@NotNull Duration period) {
+        return new FixedRateSchedule(period);
+    }
+
+    /**
+     * Create a schedule that ticks on the minutes of the given cron expression, in the default time zone of the
+     * system.
+     *
+     * @param expression The cron expression with the five fields: minute, hour, day of the month, month and day of
+     *                   the week.
+     *
+     * @return The schedule of the cron expression.
+     *
+     * @throws IllegalArgumentException If the cron expression is invalid.
+     * @see CronSchedule
+     * @since 1.3.0
+     */
+    @Contract("_ -> new")
+    static @NotNull TickSchedule cron(@NotNull String expression) {
+        return new CronSchedule(expression, ZoneId.systemDefault());
+    }
+
+    /**
+     * Create a schedule that ticks on the minutes of the given cron expression, in the given time zone.
+     *
+     * @param expression The cron expression with the five fields: minute, hour, day of the month, month and day of
+     *                   the week.
+     * @param zoneId     The time zone in which the cron expression is evaluated.
+     *
+     * @return The schedule of the cron expression.
+     *
+     * @throws IllegalArgumentException If the cron expression is invalid.
+     * @see CronSchedule
+     * @since 1.3.0
+     */
+    @Contract("_, _ -> new")
+    static @NotNull TickSchedule cron(@NotNull String expression, @NotNull ZoneId zoneId) {
+        return new CronSchedule(expression, zoneId);
+    }
+}
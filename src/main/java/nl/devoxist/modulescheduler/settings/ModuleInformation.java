@@ -38,7 +38,7 @@ import java.util.Set;
  * @param <T> The type of the {@link Module}.
  *
  * @author Dev-Bjorn
- * @version 1.0.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class ModuleInformation<T extends Module> implements Comparable<ModuleInformation<?>> {
@@ -60,6 +60,31 @@ public final class ModuleInformation<T extends Module> implements Comparable<Mod
      * @since 1.0.0
      */
     private final Set<ModuleInformation<?>> dependsOn = new HashSet<>();
+    /**
+     * The streaming dependencies of the {@link #module}, a subset of the {@link #dependencies}.
+     *
+     * @since 1.3.0
+     */
+    private final Set<Class<? extends Module>> streamingDependencies = new HashSet<>();
+    /**
+     * The soft dependencies of the {@link #module} that are present in the graph, a subset of the
+     * {@link #dependencies}.
+     *
+     * @since 1.3.0
+     */
+    private final Set<Class<? extends Module>> softDependencies = new HashSet<>();
+    /**
+     * The declared relative cost weight of the {@link #module}, or {@code -1} if no weight has been declared.
+     *
+     * @since 1.3.0
+     */
+    private long costWeight = -1;
+    /**
+     * The declared expected memory of the {@link #module} in bytes.
+     *
+     * @since 1.3.0
+     */
+    private long memoryBytes;
 
     /**
      * Constructs a new {@link ModuleInformation} object, which has a {@link Module} class linked to the information.
@@ -108,6 +133,20 @@ public final class ModuleInformation<T extends Module> implements Comparable<Mod
         return dependsOn.add(moduleInformation);
     }
 
+    /**
+     * Remove a dependent {@link Module} of this {@link Module} with its {@link ModuleInformation}. This is used when
+     * the dependent {@link Module} is removed from the graph.
+     *
+     * @param moduleInformation The information of the {@link Module} that has a dependency on this {@link Module}.
+     *
+     * @return If {@code true} the dependent {@link Module} has been removed.
+     *
+     * @since 1.3.0
+     */
+    public boolean removeDependsOn(@NotNull ModuleInformation<?> moduleInformation) {
+        return dependsOn.remove(moduleInformation);
+    }
+
     /**
      * Get the dependencies of {@link #module}.
      *
@@ -132,6 +171,123 @@ public final class ModuleInformation<T extends Module> implements Comparable<Mod
         return Collections.unmodifiableSet(dependsOn);
     }
 
+    /**
+     * Add a streaming dependency by the class. A streaming dependency is also a dependency, but the current module is
+     * started as soon as the streaming dependency has been constructed.
+     *
+     * @param moduleCls The class of the streaming dependency.
+     *
+     * @return If {@code false} the streaming dependency cannot be added. The streaming dependency cannot be added if
+     * it is already a streaming dependency of the current module, or if it is the current module.
+     *
+     * @since 1.3.0
+     */
+    public boolean addStreamingDependency(Class<? extends Module> moduleCls) {
+        if (moduleCls == this.module) {
+            return false;
+        }
+        dependencies.add(moduleCls);
+        return streamingDependencies.add(moduleCls);
+    }
+
+    /**
+     * Get the streaming dependencies of {@link #module}.
+     *
+     * @return A set of classes of the streaming dependencies of {@link #module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @UnmodifiableView Set<Class<? extends Module>> getStreamingDependencies() {
+        return Collections.unmodifiableSet(streamingDependencies);
+    }
+
+    /**
+     * Add a soft dependency by the class. A soft dependency is also a dependency, but it only orders the
+     * {@link #module} after the soft dependency. When the soft dependency is removed from the graph, only the edge is
+     * removed and the {@link #module} stays in the graph.
+     *
+     * @param moduleCls The class of the soft dependency.
+     *
+     * @return If {@code false} the soft dependency cannot be added. The soft dependency cannot be added if it is
+     * already a dependency of the current module, or if it is the current module.
+     *
+     * @since 1.3.0
+     */
+    public boolean addSoftDependency(Class<? extends Module> moduleCls) {
+        if (moduleCls == this.module || !dependencies.add(moduleCls)) {
+            return false;
+        }
+        return softDependencies.add(moduleCls);
+    }
+
+    /**
+     * Remove a soft dependency by the class. This is used when the soft dependency is removed from the graph.
+     *
+     * @param moduleCls The class of the soft dependency.
+     *
+     * @return If {@code true} the soft dependency has been removed. A dependency that is not a soft dependency is
+     * never removed.
+     *
+     * @since 1.3.0
+     */
+    public boolean removeSoftDependency(Class<? extends Module> moduleCls) {
+        if (!softDependencies.remove(moduleCls)) {
+            return false;
+        }
+        return dependencies.remove(moduleCls);
+    }
+
+    /**
+     * Get the soft dependencies of {@link #module} that are present in the graph.
+     *
+     * @return A set of classes of the present soft dependencies of {@link #module}.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @UnmodifiableView Set<Class<? extends Module>> getSoftDependencies() {
+        return Collections.unmodifiableSet(softDependencies);
+    }
+
+    /**
+     * Set the declared cost of the {@link #module}.
+     *
+     * @param costWeight  The relative cost weight of the {@link #module}, or {@code -1} if no weight has been
+     *                    declared.
+     * @param memoryBytes The expected memory of the {@link #module} in bytes.
+     *
+     * @since 1.3.0
+     */
+    public void setCost(long costWeight, long memoryBytes) {
+        this.costWeight = costWeight;
+        this.memoryBytes = memoryBytes;
+    }
+
+    /**
+     * Get the declared relative cost weight of the {@link #module}.
+     *
+     * @return The relative cost weight of the {@link #module}, or {@code -1} if no weight has been declared.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getCostWeight() {
+        return costWeight;
+    }
+
+    /**
+     * Get the declared expected memory of the {@link #module}.
+     *
+     * @return The expected memory of the {@link #module} in bytes, or {@code 0} if no memory has been declared.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
     /**
      * Get the {@link Class} of the {@link Module}, where this information is about.
      *
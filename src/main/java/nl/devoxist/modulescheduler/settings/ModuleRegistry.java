@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.settings;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.typeresolver.register.Register;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * {@link ModuleRegistry} is the concurrent registry of the {@link Module}s that have been constructed by the runs of
+ * the scheduler. A {@link Module} is published once, in constant time, as soon as it has been constructed. The
+ * registry can be read while a parallel run is going, and it hands out an immutable snapshot of the published
+ * {@link Module}s.
+ * <p>
+ * Every published {@link Module} is also registered in the output {@link Register} of the
+ * {@link ModuleSchedulerSettings}. A lazy {@link Module} is only in the output {@link Register} after it has been
+ * constructed, it is constructed on demand when it is looked up through {@link #get(Class)}.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleRegistry {
+    /**
+     * The published {@link Module}s, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Module> modules = new ConcurrentHashMap<>();
+    /**
+     * The loader of the lazy {@link Module}s, that constructs a lazy {@link Module} on its first lookup. If
+     * {@code null}, there are no lazy {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private volatile Function<Class<? extends Module>, Module> lazyLoader;
+    /**
+     * The output {@link Register} where the published {@link Module}s are registered in.
+     *
+     * @since 1.3.0
+     */
+    private volatile Register outputRegister = new Register();
+
+    /**
+     * Publish the constructed {@link Module}. A previously published instance of the same class is replaced.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param module    The constructed {@link Module}.
+     *
+     * @throws IllegalArgumentException If the {@link Module} is not an instance of the class.
+     * @since 1.3.0
+     */
+    public void publish(@NotNull Class<? extends Module> moduleCls, @NotNull Module module) {
+        if (!moduleCls.isInstance(module)) {
+            throw new IllegalArgumentException("The module is not an instance of %s.".formatted(moduleCls.getName()));
+        }
+        modules.put(moduleCls, module);
+        outputRegister.register(moduleCls, module);
+    }
+
+    /**
+     * Remove the published {@link Module} of the given class. A {@link Register} has no removal, so the
+     * {@link Module} stays in the output {@link Register} until a new instance of the class is published.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return {@code true} if a {@link Module} of the class was published, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    public boolean remove(@NotNull Class<? extends Module> moduleCls) {
+        return modules.remove(moduleCls) != null;
+    }
+
+    /**
+     * Get the published {@link Module} of the given class. A lazy {@link Module} that has not been published yet is
+     * constructed, together with its lazy dependencies, before it is returned.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     * @param <T>       The type of the {@link Module}.
+     *
+     * @return The published {@link Module}, or {@code null} if no {@link Module} of the class has been published and
+     * the {@link Module} is not lazy.
+     *
+     * @throws nl.devoxist.modulescheduler.exception.ModuleException If the lazy {@link Module} could not be
+     *                                                               constructed.
+     * @since 1.3.0
+     */
+    @Nullable
+    public <T extends Module> T get(@NotNull Class<T> moduleCls) {
+        Module module = modules.get(moduleCls);
+
+        Function<Class<? extends Module>, Module> loader = this.lazyLoader;
+        if (module == null && loader != null) {
+            module = loader.apply(moduleCls);
+        }
+        return moduleCls.cast(module);
+    }
+
+    /**
+     * Set the loader of the lazy {@link Module}s. The loader is called when a {@link Module} that has not been
+     * published is looked up, it returns the constructed {@link Module} or {@code null} if the {@link Module} is not
+     * lazy. This is set by the scheduler.
+     *
+     * @param lazyLoader The loader of the lazy {@link Module}s, or {@code null} to remove the loader.
+     *
+     * @since 1.3.0
+     */
+    public void setLazyLoader(@Nullable Function<Class<? extends Module>, Module> lazyLoader) {
+        this.lazyLoader = lazyLoader;
+    }
+
+    /**
+     * Check if a {@link Module} of the given class has been published. A lazy {@link Module} is not constructed by
+     * this check.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return {@code true} if a {@link Module} of the class has been published, otherwise {@code false}.
+     *
+     * @since 1.3.0
+     */
+    public boolean contains(@NotNull Class<? extends Module> moduleCls) {
+        return modules.containsKey(moduleCls);
+    }
+
+    /**
+     * Get the amount of published {@link Module}s.
+     *
+     * @return The amount of published {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public int size() {
+        return modules.size();
+    }
+
+    /**
+     * Create an immutable snapshot of the published {@link Module}s. The snapshot does not change when
+     * {@link Module}s are published afterwards.
+     *
+     * @return An immutable {@link Map} of the published {@link Module}s, linked with their class.
+     *
+     * @since 1.3.0
+     */
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable Map<Class<? extends Module>, Module> snapshot() {
+        return Map.copyOf(modules);
+    }
+
+    /**
+     * Get the output {@link Register} where the published {@link Module}s are registered in.
+     *
+     * @return The output {@link Register}.
+     *
+     * @since 1.3.0
+     */
+    @NotNull
+    Register getOutputRegister() {
+        return outputRegister;
+    }
+
+    /**
+     * Set the output {@link Register} where the published {@link Module}s are registered in. The {@link Module}s that
+     * have already been published are registered in the given {@link Register}.
+     *
+     * @param outputRegister The {@link Register} where the {@link Module}s are registered in.
+     *
+     * @since 1.3.0
+     */
+    void setOutputRegister(@NotNull Register outputRegister) {
+        this.outputRegister = outputRegister;
+        for (Map.Entry<Class<? extends Module>, Module> entry : modules.entrySet()) {
+            outputRegister.register(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns a string representation of the object.
+     *
+     * @return a string representation of the object.
+     *
+     * @since 1.3.0
+     */
+    @Override
+    public String toString() {
+        return "ModuleRegistry{" +
+               "modules=" + modules.size() +
+               '}';
+    }
+}
@@ -24,19 +24,27 @@ package nl.devoxist.modulescheduler.settings;
 
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.console.AsyncHandler;
 import nl.devoxist.modulescheduler.console.Formatter;
+import nl.devoxist.modulescheduler.console.OverflowPolicy;
 import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.index.ModuleIndex;
+import nl.devoxist.modulescheduler.resolvers.ModuleLoader;
 import nl.devoxist.typeresolver.register.Register;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.logging.ConsoleHandler;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 /**
  * This object gives the options to manipulate the process.
  *
  * @author Dev-Bjorn
- * @version 1.2.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class ModuleSchedulerSettings implements Cloneable {
@@ -53,12 +61,12 @@ public final class ModuleSchedulerSettings implements Cloneable {
      */
     private final Set<Register> registers = new TreeSet<>();
     /**
-     * The output {@link Register} of the {@link Module}. All the loaded modules will be registered in this
-     * {@link Register}.
+     * The concurrent registry of the {@link Module}s that have been constructed by the runs. The {@link Module}s are
+     * published in this registry, and registered in the output {@link Register} when they are published.
      *
-     * @since 1.0.0
+     * @since 1.3.0
      */
-    private Register outputRegister = new Register();
+    private final ModuleRegistry moduleRegistry = new ModuleRegistry();
     /**
      * The {@link Logger} of the current running {@link ModuleScheduler}.
      *
@@ -66,16 +74,143 @@ public final class ModuleSchedulerSettings implements Cloneable {
      * @since 1.1.0
      */
     private Logger logger;
+    /**
+     * The {@link AsyncHandler} of the default {@link Logger}. This is {@code null} when the default {@link Logger} has
+     * been replaced.
+     *
+     * @since 1.3.0
+     */
+    private AsyncHandler logHandler;
+    /**
+     * The minimum amount of log records that can be buffered by the default {@link Logger}.
+     *
+     * @since 1.3.0
+     */
+    private int logCapacity = AsyncHandler.DEFAULT_CAPACITY;
+    /**
+     * The policy of the default {@link Logger} when its buffer is full.
+     *
+     * @since 1.3.0
+     */
+    private OverflowPolicy logOverflowPolicy = OverflowPolicy.DROP;
+    /**
+     * The amount of {@link Module}s that can be executed at the same time.
+     *
+     * @since 1.3.0
+     */
+    private int parallelism = 1;
+    /**
+     * The file of the profile with the historical durations of the {@link Module}s. If {@code null}, the durations
+     * are not recorded.
+     *
+     * @since 1.3.0
+     */
+    private Path profileFile;
+    /**
+     * The smoothing factor of the exponential moving average of the historical durations of the {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private double profileSmoothing = 0.3;
+    /**
+     * The factor that the measured duration of a {@link Module} may differ from its declared cost weight, before the
+     * weight is reported as stale.
+     *
+     * @since 1.3.0
+     */
+    private double costTolerance = 2.0;
+    /**
+     * The boolean to check if the CPU time and the allocated bytes of the {@link Module}s are measured.
+     *
+     * @since 1.3.0
+     */
+    private boolean resourceAccounting = false;
+    /**
+     * The amount of {@link Module} classes of which the dependencies can be retrieved at the same time.
+     *
+     * @since 1.3.0
+     */
+    private int resolverParallelism = 1;
+    /**
+     * The file where the class list of a training run is written to. If {@code null}, the run is not a training run.
+     *
+     * @since 1.3.0
+     */
+    private Path trainingClassList;
+    /**
+     * The directory of the cache of the {@link nl.devoxist.modulescheduler.annotation.Cacheable} {@link Module}s. If
+     * {@code null}, the cache is disabled.
+     *
+     * @since 1.3.0
+     */
+    private Path cacheDirectory;
+    /**
+     * The file of the checkpoint journal. If {@code null}, the journal is disabled.
+     *
+     * @since 1.3.0
+     */
+    private Path checkpointJournal;
+    /**
+     * The amount of records after which the checkpoint journal is synced to disk.
+     *
+     * @since 1.3.0
+     */
+    private int checkpointSyncBatch = 16;
+    /**
+     * The amount of worker processes of the first run. If {@code 0}, the {@link Module}s run in the current process.
+     *
+     * @since 1.3.0
+     */
+    private int workerProcesses;
+    /**
+     * The options of the JVMs of the worker processes.
+     *
+     * @since 1.3.0
+     */
+    private List<String> workerJvmOptions = List.of();
+    /**
+     * The permits of the resource groups, that override the permits of the
+     * {@link nl.devoxist.modulescheduler.annotation.ResourceGroup} annotations.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, Integer> resourceGroupPermits = new HashMap<>();
+    /**
+     * The amount of blocking {@link Module}s that can be executed at the same time.
+     *
+     * @since 1.3.0
+     */
+    private int blockingParallelism = 64;
+    /**
+     * The named executors of the {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#CUSTOM}
+     * {@link Module}s, linked with their name.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, Executor> executors = new HashMap<>();
+    /**
+     * The toggles of the {@link nl.devoxist.modulescheduler.annotation.Conditional} {@link Module}s, linked with their
+     * name.
+     *
+     * @since 1.3.0
+     */
+    private final Map<String, Boolean> toggles = new HashMap<>();
+    /**
+     * The default timeout of the closing of an {@link AutoCloseable} {@link Module} in milliseconds.
+     *
+     * @since 1.3.0
+     */
+    private long closeTimeoutMillis = 10_000;
 
     {
         logger = Logger.getAnonymousLogger();
 
         logger.setUseParentHandlers(false);
 
-        ConsoleHandler consoleHandler = new ConsoleHandler();
-        consoleHandler.setFormatter(new Formatter());
+        logHandler = new AsyncHandler();
+        logHandler.setFormatter(new Formatter());
 
-        logger.addHandler(consoleHandler);
+        logger.addHandler(logHandler);
 
     }
 
@@ -114,6 +249,71 @@ public final class ModuleSchedulerSettings implements Cloneable {
         this.modules.add(moduleCls);
     }
 
+    /**
+     * Add {@link Module}s by their paths to the load process. The classes are loaded with the {@link ClassLoader} of
+     * the settings, see {@link #addModules(Collection, ClassLoader)}.
+     *
+     * @param modulePaths The class paths of the modules, which need to be added to the load process. The paths must
+     *                    lead to classes and where these classes have been implemented with {@link Module}.
+     *
+     * @throws ModuleException If one or more classes were not found or are not extended with {@link Module}.
+     * @since 1.3.0
+     */
+    public void addModules(@NotNull Collection<String> modulePaths) {
+        addModules(modulePaths, this.getClass().getClassLoader());
+    }
+
+    /**
+     * Add {@link Module}s by their paths to the load process. The classes are loaded and checked at the same time,
+     * with the amount of threads of {@link #getResolverParallelism()}, when the given {@link ClassLoader} is
+     * registered as parallel capable. Every failure is gathered into one {@link ModuleException}, in that case none
+     * of the {@link Module}s are added to the load process.
+     *
+     * @param modulePaths The class paths of the modules, which need to be added to the load process. The paths must
+     *                    lead to classes and where these classes have been implemented with {@link Module}.
+     * @param classLoader The {@link ClassLoader} that loads the classes.
+     *
+     * @throws ModuleException If one or more classes were not found or are not extended with {@link Module}.
+     * @since 1.3.0
+     */
+    public void addModules(@NotNull Collection<String> modulePaths, @NotNull ClassLoader classLoader) {
+        this.modules.addAll(ModuleLoader.loadModules(modulePaths, classLoader, this.resolverParallelism));
+    }
+
+    /**
+     * Add the {@link Module}s of the {@link ModuleIndex} to the load process. The index is read from the class path of
+     * the {@link ClassLoader} of the settings, see {@link #addIndexedModules(ClassLoader)}.
+     *
+     * @throws ModuleException If the index could not be read or if one or more indexed classes were not found or are
+     *                         not extended with {@link Module}.
+     * @since 1.3.0
+     */
+    public void addIndexedModules() {
+        addIndexedModules(this.getClass().getClassLoader());
+    }
+
+    /**
+     * Add the {@link Module}s of the {@link ModuleIndex} to the load process. The index is written during the build
+     * by the {@link nl.devoxist.modulescheduler.index.ModuleIndexProcessor}, so the class path does not need to be
+     * scanned. The indexed classes are loaded as in {@link #addModules(Collection, ClassLoader)}.
+     *
+     * @param classLoader The {@link ClassLoader} of which the index is read and that loads the classes.
+     *
+     * @throws ModuleException If the index could not be read or if one or more indexed classes were not found or are
+     *                         not extended with {@link Module}.
+     * @since 1.3.0
+     */
+    public void addIndexedModules(@NotNull ClassLoader classLoader) {
+        ModuleIndex moduleIndex;
+        try {
+            moduleIndex = ModuleIndex.load(classLoader);
+        } catch (IOException e) {
+            throw new ModuleException("The module index could not be read.", e);
+        }
+
+        addModules(moduleIndex.getModules(), classLoader);
+    }
+
     /**
      * Get the {@link Module}s that needs to in the load process.
      *
@@ -151,32 +351,47 @@ public final class ModuleSchedulerSettings implements Cloneable {
 
     /**
      * Set the output registry of the module dependency sorter. This gives all the loaded modules in a register. If not
-     * given there is a new register created while processing the build process of the modules.
+     * given there is a new register created while processing the build process of the modules. The modules that have
+     * already been loaded are registered in the given register, the modules that are loaded afterwards are registered
+     * as soon as they have been constructed.
      *
      * @param outputRegister The output registry of the modules that are getting loaded.
      *
      * @see Register
      * @since 1.0.0
      */
-    public void setOutputRegister(Register outputRegister) {
-        this.outputRegister = outputRegister;
+    public void setOutputRegister(@NotNull Register outputRegister) {
+        moduleRegistry.setOutputRegister(outputRegister);
     }
 
     /**
      * Get the output registery of the module scheduler. This will contain all the loaded modules after the
      * modules are loaded.
      *
-     * @return The cloned output registery of the module scheduler.
+     * @return The output registery of the module scheduler.
      *
      * @see Register
      * @since 1.0.0
      */
     public Register getOutputRegister() {
-        return this.outputRegister.clone();
+        return moduleRegistry.getOutputRegister();
     }
 
     /**
-     * Set the {@link Logger} of the current running {@link ModuleScheduler}.
+     * Get the concurrent registry of the modules that have been constructed by the runs. The modules are published in
+     * this registry as soon as they have been constructed, so it can be read while a run is going.
+     *
+     * @return The registry of the constructed modules.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull ModuleRegistry getModuleRegistry() {
+        return moduleRegistry;
+    }
+
+    /**
+     * Set the {@link Logger} of the current running {@link ModuleScheduler}. When the default {@link Logger} is
+     * replaced, its buffered log records are written and its handler is closed.
      *
      * @param logger The {@link Logger} of the current running {@link ModuleScheduler}
      *
@@ -184,6 +399,11 @@ public final class ModuleSchedulerSettings implements Cloneable {
      * @since 1.1.0
      */
     public void setLogger(Logger logger) {
+        if (logger != this.logger && logHandler != null) {
+            this.logger.removeHandler(logHandler);
+            logHandler.close();
+            logHandler = null;
+        }
         this.logger = logger;
     }
 
@@ -199,6 +419,538 @@ public final class ModuleSchedulerSettings implements Cloneable {
         return logger;
     }
 
+    /**
+     * Set the minimum amount of log records that can be buffered by the default {@link Logger}, this is rounded up to
+     * the next power of two. The default is {@link AsyncHandler#DEFAULT_CAPACITY}. The buffered log records are written
+     * before the buffer is replaced. This has no effect when the default {@link Logger} has been replaced.
+     *
+     * @param logCapacity The minimum amount of log records that can be buffered.
+     *
+     * @throws IllegalArgumentException If the capacity is lower than {@code 2}.
+     * @since 1.3.0
+     */
+    public void setLogCapacity(int logCapacity) {
+        if (logCapacity < 2) {
+            throw new IllegalArgumentException("The log capacity must be at least 2.");
+        }
+        this.logCapacity = logCapacity;
+
+        if (logHandler == null) {
+            return;
+        }
+
+        AsyncHandler asyncHandler = new AsyncHandler(System.err, logCapacity, logOverflowPolicy);
+        asyncHandler.setFormatter(logHandler.getFormatter());
+        asyncHandler.setLevel(logHandler.getLevel());
+
+        logger.removeHandler(logHandler);
+        logHandler.close();
+        logger.addHandler(asyncHandler);
+        logHandler = asyncHandler;
+    }
+
+    /**
+     * Get the minimum amount of log records that can be buffered by the default {@link Logger}.
+     *
+     * @return The minimum amount of log records that can be buffered.
+     *
+     * @since 1.3.0
+     */
+    public int getLogCapacity() {
+        return logCapacity;
+    }
+
+    /**
+     * Set the policy of the default {@link Logger} when its buffer is full. The default is {@link OverflowPolicy#DROP}.
+     * This has no effect when the default {@link Logger} has been replaced.
+     *
+     * @param logOverflowPolicy The policy when the buffer is full.
+     *
+     * @see OverflowPolicy
+     * @since 1.3.0
+     */
+    public void setLogOverflowPolicy(@NotNull OverflowPolicy logOverflowPolicy) {
+        this.logOverflowPolicy = logOverflowPolicy;
+
+        if (logHandler != null) {
+            logHandler.setOverflowPolicy(logOverflowPolicy);
+        }
+    }
+
+    /**
+     * Get the policy of the default {@link Logger} when its buffer is full.
+     *
+     * @return The policy when the buffer is full.
+     *
+     * @see OverflowPolicy
+     * @since 1.3.0
+     */
+    public @NotNull OverflowPolicy getLogOverflowPolicy() {
+        return logOverflowPolicy;
+    }
+
+    /**
+     * Set the amount of {@link Module}s that can be executed at the same time. The default is {@code 1}, then the
+     * {@link Module}s are executed one by one on the thread of the runner. When higher, the ready {@link Module}s are
+     * executed on a work-stealing pool of workers and {@link ModuleScheduler#beforeModuleExecute(Module)} and
+     * {@link ModuleScheduler#afterModuleExecute(Module)} can be called from multiple threads at the same time.
+     * The {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#BLOCKING} and
+     * {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#CUSTOM} {@link Module}s do not count towards the
+     * parallelism, these run on their own pools.
+     *
+     * @param parallelism The amount of {@link Module}s that can be executed at the same time.
+     *
+     * @throws IllegalArgumentException If the parallelism is lower than {@code 1}.
+     * @since 1.3.0
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Get the amount of {@link Module}s that can be executed at the same time.
+     *
+     * @return The amount of {@link Module}s that can be executed at the same time.
+     *
+     * @since 1.3.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the file of the profile with the historical durations of the {@link Module}s. When set, the durations of the
+     * construction and the execution of every {@link Module} are recorded in this file after a run. The next runs use
+     * these durations to prioritize the ready {@link Module}s and to predict the makespan of the run.
+     *
+     * @param profileFile The file of the profile, or {@code null} to disable the profile.
+     *
+     * @since 1.3.0
+     */
+    public void setProfileFile(Path profileFile) {
+        this.profileFile = profileFile;
+    }
+
+    /**
+     * Get the file of the profile with the historical durations of the {@link Module}s.
+     *
+     * @return The file of the profile, or {@code null} if the profile is disabled.
+     *
+     * @since 1.3.0
+     */
+    public Path getProfileFile() {
+        return profileFile;
+    }
+
+    /**
+     * Set the smoothing factor of the exponential moving average of the historical durations. This is the weight of
+     * the durations of the latest run. The default is {@code 0.3}.
+     *
+     * @param profileSmoothing The smoothing factor, this must be in the range {@code (0, 1]}.
+     *
+     * @throws IllegalArgumentException If the smoothing factor is not in the range {@code (0, 1]}.
+     * @since 1.3.0
+     */
+    public void setProfileSmoothing(double profileSmoothing) {
+        if (!(profileSmoothing > 0 && profileSmoothing <= 1)) {
+            throw new IllegalArgumentException("The smoothing factor must be in the range (0, 1].");
+        }
+        this.profileSmoothing = profileSmoothing;
+    }
+
+    /**
+     * Get the smoothing factor of the exponential moving average of the historical durations.
+     *
+     * @return The smoothing factor of the exponential moving average.
+     *
+     * @since 1.3.0
+     */
+    public double getProfileSmoothing() {
+        return profileSmoothing;
+    }
+
+    /**
+     * Set the factor that the measured duration of a {@link Module} may differ from its declared cost weight. After a
+     * run, the share of every weight in the total weight is compared with the share of the measured duration. When the
+     * shares differ more than this factor, in either direction, the weight is reported as stale in the run report.
+     * The default is {@code 2.0}.
+     *
+     * @param costTolerance The tolerance factor, this must be greater than {@code 1}.
+     *
+     * @throws IllegalArgumentException If the tolerance factor is not greater than {@code 1}.
+     * @since 1.3.0
+     */
+    public void setCostTolerance(double costTolerance) {
+        if (!(costTolerance > 1)) {
+            throw new IllegalArgumentException("The cost tolerance must be greater than 1.");
+        }
+        this.costTolerance = costTolerance;
+    }
+
+    /**
+     * Get the factor that the measured duration of a {@link Module} may differ from its declared cost weight.
+     *
+     * @return The tolerance factor of the declared cost weights.
+     *
+     * @since 1.3.0
+     */
+    public double getCostTolerance() {
+        return costTolerance;
+    }
+
+    /**
+     * Set if the CPU time and the allocated bytes of the construction and the execution of the {@link Module}s are
+     * measured. The measurements are added to the run report and are given to
+     * {@link ModuleScheduler#onModuleReport(nl.devoxist.modulescheduler.runner.ModuleReport)}. The default is
+     * {@code false}.
+     * <p>
+     * The measurement of the CPU time and the allocated bytes of the threads is a setting of the whole JVM, see
+     * {@link java.lang.management.ThreadMXBean#setThreadCpuTimeEnabled(boolean)}. It is enabled while a run with
+     * resource accounting is going and set back to its previous state when the last of these runs has ended.
+     *
+     * @param resourceAccounting If {@code true} the CPU time and the allocated bytes are measured.
+     *
+     * @since 1.3.0
+     */
+    public void setResourceAccounting(boolean resourceAccounting) {
+        this.resourceAccounting = resourceAccounting;
+    }
+
+    /**
+     * Check if the CPU time and the allocated bytes of the {@link Module}s are measured.
+     *
+     * @return If {@code true} the CPU time and the allocated bytes are measured.
+     *
+     * @since 1.3.0
+     */
+    public boolean isResourceAccounting() {
+        return resourceAccounting;
+    }
+
+    /**
+     * Set the amount of {@link Module} classes of which the dependencies can be retrieved at the same time. The
+     * default is {@code 1}, then the dependencies are retrieved one by one. When higher, the dependencies of all the
+     * {@link Module} classes are retrieved on a {@link java.util.concurrent.ForkJoinPool}, which speeds up the cold
+     * class loading of large sets of {@link Module}s. The resolved information is the same in both modes. The same
+     * parallelism is used to load the classes of {@link #addModules(Collection, ClassLoader)}.
+     *
+     * @param resolverParallelism The amount of {@link Module} classes of which the dependencies can be retrieved at
+     *                            the same time.
+     *
+     * @throws IllegalArgumentException If the parallelism is lower than {@code 1}.
+     * @since 1.3.0
+     */
+    public void setResolverParallelism(int resolverParallelism) {
+        if (resolverParallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        this.resolverParallelism = resolverParallelism;
+    }
+
+    /**
+     * Get the amount of {@link Module} classes of which the dependencies can be retrieved at the same time.
+     *
+     * @return The amount of {@link Module} classes of which the dependencies can be retrieved at the same time.
+     *
+     * @since 1.3.0
+     */
+    public int getResolverParallelism() {
+        return resolverParallelism;
+    }
+
+    /**
+     * Set the file where the class list of a training run is written to. When set, the run is a training run: after a
+     * successful run the classes that have been loaded, including the classes of the {@link Module}s and of the
+     * scheduler, are written to this file. The class list can be turned into a class data sharing archive with
+     * {@link nl.devoxist.modulescheduler.cds.CdsArchiveBuilder}.
+     *
+     * @param trainingClassList The file of the class list, or {@code null} to disable the training run.
+     *
+     * @since 1.3.0
+     */
+    public void setTrainingClassList(Path trainingClassList) {
+        this.trainingClassList = trainingClassList;
+    }
+
+    /**
+     * Get the file where the class list of a training run is written to.
+     *
+     * @return The file of the class list, or {@code null} if the run is not a training run.
+     *
+     * @since 1.3.0
+     */
+    public Path getTrainingClassList() {
+        return trainingClassList;
+    }
+
+    /**
+     * Set the directory of the cache of the {@link nl.devoxist.modulescheduler.annotation.Cacheable} {@link Module}s.
+     * When set, a cacheable {@link Module} of which the key is found in the cache is restored from the cache, instead
+     * of being constructed and executed. The executed cacheable {@link Module}s are stored in the cache.
+     *
+     * @param cacheDirectory The directory of the cache, or {@code null} to disable the cache.
+     *
+     * @since 1.3.0
+     */
+    public void setCacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Get the directory of the cache of the {@link nl.devoxist.modulescheduler.annotation.Cacheable} {@link Module}s.
+     *
+     * @return The directory of the cache, or {@code null} if the cache is disabled.
+     *
+     * @since 1.3.0
+     */
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Set the file of the checkpoint journal. When set, the completions of the
+     * {@link nl.devoxist.modulescheduler.annotation.Checkpoint} {@link Module}s are recorded in the journal. When the
+     * run is interrupted, the next run skips the execution of the recorded {@link Module}s. The journal is deleted
+     * after a completed run.
+     *
+     * @param checkpointJournal The file of the journal, or {@code null} to disable the journal.
+     *
+     * @since 1.3.0
+     */
+    public void setCheckpointJournal(Path checkpointJournal) {
+        this.checkpointJournal = checkpointJournal;
+    }
+
+    /**
+     * Get the file of the checkpoint journal.
+     *
+     * @return The file of the journal, or {@code null} if the journal is disabled.
+     *
+     * @since 1.3.0
+     */
+    public Path getCheckpointJournal() {
+        return checkpointJournal;
+    }
+
+    /**
+     * Set the amount of records after which the checkpoint journal is synced to disk. A larger batch syncs less
+     * often, but a crash of the system loses more records. The default is {@code 16}.
+     *
+     * @param checkpointSyncBatch The amount of records, this must be at least 1.
+     *
+     * @throws IllegalArgumentException If the amount is smaller than 1.
+     * @since 1.3.0
+     */
+    public void setCheckpointSyncBatch(int checkpointSyncBatch) {
+        if (checkpointSyncBatch < 1) {
+            throw new IllegalArgumentException("The sync batch must be at least 1.");
+        }
+        this.checkpointSyncBatch = checkpointSyncBatch;
+    }
+
+    /**
+     * Get the amount of records after which the checkpoint journal is synced to disk.
+     *
+     * @return The amount of records after which the journal is synced to disk.
+     *
+     * @since 1.3.0
+     */
+    public int getCheckpointSyncBatch() {
+        return checkpointSyncBatch;
+    }
+
+    /**
+     * Set the amount of worker processes of the first run. When set, the {@link Module}s are partitioned over a pool
+     * of worker JVMs by the {@link nl.devoxist.modulescheduler.distributed.DistributedRunner}, instead of running in
+     * the current process. The {@link Module}s that are added or rerun later, run in the current process. The default
+     * is {@code 0}.
+     *
+     * @param workerProcesses The amount of worker processes, or {@code 0} to run in the current process.
+     *
+     * @throws IllegalArgumentException If the amount is negative.
+     * @since 1.3.0
+     */
+    public void setWorkerProcesses(int workerProcesses) {
+        if (workerProcesses < 0) {
+            throw new IllegalArgumentException("The amount of worker processes cannot be negative.");
+        }
+        this.workerProcesses = workerProcesses;
+    }
+
+    /**
+     * Get the amount of worker processes of the first run.
+     *
+     * @return The amount of worker processes, or {@code 0} if the {@link Module}s run in the current process.
+     *
+     * @since 1.3.0
+     */
+    public int getWorkerProcesses() {
+        return workerProcesses;
+    }
+
+    /**
+     * Set the options of the JVMs of the worker processes, like the size of the heap.
+     *
+     * @param workerJvmOptions The options of the JVMs.
+     *
+     * @since 1.3.0
+     */
+    public void setWorkerJvmOptions(@NotNull List<String> workerJvmOptions) {
+        this.workerJvmOptions = List.copyOf(workerJvmOptions);
+    }
+
+    /**
+     * Get the options of the JVMs of the worker processes.
+     *
+     * @return The options of the JVMs.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull List<String> getWorkerJvmOptions() {
+        return workerJvmOptions;
+    }
+
+    /**
+     * Set the permits of a resource group. This overrides the permits of the
+     * {@link nl.devoxist.modulescheduler.annotation.ResourceGroup} annotations, so the permits can be tuned for the
+     * machine that runs the {@link Module}s.
+     *
+     * @param resourceGroup The name of the resource group.
+     * @param permits       The amount of {@link Module}s of the group that can be executed at the same time, this
+     *                      must be at least 1.
+     *
+     * @throws IllegalArgumentException If the permits are smaller than 1.
+     * @since 1.3.0
+     */
+    public void setResourceGroupPermits(@NotNull String resourceGroup, int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("A resource group needs at least 1 permit.");
+        }
+        this.resourceGroupPermits.put(resourceGroup, permits);
+    }
+
+    /**
+     * Get the permits of the resource groups, that override the permits of the annotations.
+     *
+     * @return The permits of the resource groups, linked with the name of the group.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull @UnmodifiableView Map<String, Integer> getResourceGroupPermits() {
+        return Collections.unmodifiableMap(resourceGroupPermits);
+    }
+
+    /**
+     * Set the amount of {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#BLOCKING} {@link Module}s that can
+     * be executed at the same time. The blocking {@link Module}s do not count towards the parallelism, so these do not
+     * take the places of the compute {@link Module}s. The default is {@code 64}.
+     *
+     * @param blockingParallelism The amount of blocking {@link Module}s that can be executed at the same time.
+     *
+     * @throws IllegalArgumentException If the parallelism is lower than {@code 1}.
+     * @since 1.3.0
+     */
+    public void setBlockingParallelism(int blockingParallelism) {
+        if (blockingParallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        this.blockingParallelism = blockingParallelism;
+    }
+
+    /**
+     * Get the amount of blocking {@link Module}s that can be executed at the same time.
+     *
+     * @return The amount of blocking {@link Module}s that can be executed at the same time.
+     *
+     * @since 1.3.0
+     */
+    public int getBlockingParallelism() {
+        return blockingParallelism;
+    }
+
+    /**
+     * Register a named executor for the {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#CUSTOM}
+     * {@link Module}s. The executor is not shut down by the scheduler.
+     *
+     * @param name     The name of the executor, as used in {@link nl.devoxist.modulescheduler.annotation.Execution}.
+     * @param executor The executor.
+     *
+     * @since 1.3.0
+     */
+    public void setExecutor(@NotNull String name, @NotNull Executor executor) {
+        this.executors.put(name, executor);
+    }
+
+    /**
+     * Get the named executors of the {@link nl.devoxist.modulescheduler.annotation.ExecutionClass#CUSTOM}
+     * {@link Module}s.
+     *
+     * @return The named executors, linked with their name.
+     *
+     * @since 1.3.0
+     */
+    public @NotNull @UnmodifiableView Map<String, Executor> getExecutors() {
+        return Collections.unmodifiableMap(executors);
+    }
+
+    /**
+     * Enable or disable a toggle of the {@link nl.devoxist.modulescheduler.annotation.Conditional} {@link Module}s. A
+     * {@link Module} that requires a disabled toggle is pruned before it is resolved, together with the
+     * {@link Module}s that depend on it.
+     *
+     * @param name    The name of the toggle.
+     * @param enabled If {@code true}, the toggle is enabled.
+     *
+     * @since 1.3.0
+     */
+    public void setToggle(@NotNull String name, boolean enabled) {
+        this.toggles.put(name, enabled);
+    }
+
+    /**
+     * Check if a toggle of the {@link nl.devoxist.modulescheduler.annotation.Conditional} {@link Module}s is enabled.
+     *
+     * @param name The name of the toggle.
+     *
+     * @return {@code true} if the toggle is enabled, a toggle that has never been set is disabled.
+     *
+     * @since 1.3.0
+     */
+    public boolean isToggleEnabled(@NotNull String name) {
+        return this.toggles.getOrDefault(name, false);
+    }
+
+    /**
+     * Set the default timeout of the closing of an {@link AutoCloseable} {@link Module} on shutdown. A {@link Module}
+     * can override the timeout with the {@link nl.devoxist.modulescheduler.annotation.CloseTimeout} annotation. When
+     * the timeout has passed, the shutdown continues with the dependencies of the {@link Module}.
+     *
+     * @param closeTimeoutMillis The timeout of the closing of a {@link Module} in milliseconds.
+     *
+     * @throws IllegalArgumentException If the timeout is lower than {@code 1}.
+     * @since 1.3.0
+     */
+    public void setCloseTimeoutMillis(long closeTimeoutMillis) {
+        if (closeTimeoutMillis < 1) {
+            throw new IllegalArgumentException("The close timeout must be at least 1 millisecond.");
+        }
+        this.closeTimeoutMillis = closeTimeoutMillis;
+    }
+
+    /**
+     * Get the default timeout of the closing of an {@link AutoCloseable} {@link Module} on shutdown.
+     *
+     * @return The timeout of the closing of a {@link Module} in milliseconds.
+     *
+     * @since 1.3.0
+     */
+    public long getCloseTimeoutMillis() {
+        return closeTimeoutMillis;
+    }
+
     /**
      * Creates and returns a copy of this object.  The precise meaning
      * of "copy" may depend on the class of the object. The general
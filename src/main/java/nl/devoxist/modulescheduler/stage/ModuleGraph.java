@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package nl.devoxist.modulescheduler.stage;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.path.CycleDetector;
+import nl.devoxist.modulescheduler.path.PathCyclePrinter;
+import nl.devoxist.modulescheduler.resolvers.ModuleInformationResolver;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * {@link ModuleGraph} is the live, resolved and staged graph of the {@link Module}s of a {@link ModuleScheduler}.
+ * {@link Module}s can be added to and removed from the graph, without resolving and staging the whole graph again. Only
+ * the changed part of the graph is resolved and staged, so the cost of a change scales with the size of the change.
+ * <p>
+ * The stage of a {@link Module} is the same as the stage that {@link Staging} would give it. A {@link Module} without
+ * any link is in the zeroth stage, a {@link Module} without dependencies is in the first stage and any other
+ * {@link Module} is one stage higher than its highest dependency.
+ *
+ * @author Dev-Bjorn
+ * @version 1.3.0
+ * @since 1.3.0
+ */
+public final class ModuleGraph {
+    /**
+     * The information of the {@link ModuleScheduler} of the graph.
+     *
+     * @since 1.3.0
+     */
+    private final ModuleSchedulerInformation moduleSchedulerInformation;
+    /**
+     * The {@link Map} of the {@link Module}s in the graph linked with their information.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap;
+    /**
+     * The {@link Map} of the {@link Module}s in the graph linked with their stage number.
+     *
+     * @since 1.3.0
+     */
+    private final Map<Class<? extends Module>, Integer> stageNumbers = new HashMap<>();
+
+    /**
+     * Construct a new {@link ModuleGraph} from the staged {@link Module}s.
+     *
+     * @param moduleSchedulerInformation The information of the {@link ModuleScheduler}.
+     * @param moduleInformationMap       The modifiable {@link Map} of the resolved {@link Module}s linked with their
+     *                                   information. This map is updated by the changes of the graph.
+     * @param stages                     The stages of the resolved {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public ModuleGraph(
+            @NotNull ModuleSchedulerInformation moduleSchedulerInformation,
+            @NotNull Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap,
+            @NotNull Set<Stage> stages
+    ) {
+        this.moduleSchedulerInformation = moduleSchedulerInformation;
+        this.moduleInformationMap = moduleInformationMap;
+
+        for (Stage stage : stages) {
+            stageNumbers.put(stage.moduleInformation().getModule(), stage.stage());
+        }
+    }
+
+    /**
+     * Add the given {@link Module}s to the graph. Only the given {@link Module}s are resolved, their dependencies that
+     * are not yet in the graph are added as well. {@link Module}s that are already in the graph are ignored. A soft
+     * dependency of an added {@link Module} is only an edge if it is in the graph, the {@link Module}s that are already
+     * constructed do not get the added {@link Module}s injected as their soft dependency.
+     *
+     * @param modules The {@link Module}s that need to be added.
+     *
+     * @return The stages of the added {@link Module}s in the correct load order. These are the {@link Module}s that
+     * need to be scheduled.
+     *
+     * @throws ModuleException If the added {@link Module}s form a dependency cycle. The graph is left unchanged.
+     * @since 1.3.0
+     */
+    public synchronized @NotNull Set<Stage> addModules(@NotNull Collection<Class<? extends Module>> modules) {
+        List<ModuleInformation<?>> added = new ArrayList<>();
+        Set<Class<? extends Module>> resolving = new LinkedHashSet<>();
+
+        for (Class<? extends Module> moduleCls : modules) {
+            if (!moduleInformationMap.containsKey(moduleCls)) {
+                resolving.add(moduleCls);
+            }
+        }
+
+        for (Class<? extends Module> moduleCls : resolving) {
+            boolean isNew = !moduleInformationMap.containsKey(moduleCls);
+
+            Class<? extends Module>[] dependencies = ModuleMetadata.of(moduleCls).getDependencies();
+            for (Class<? extends Module> dependency : dependencies) {
+                if (dependency != moduleCls && !moduleInformationMap.containsKey(dependency)) {
+                    ModuleInformation<?> dependencyInformation = new ModuleInformation<>(dependency);
+                    moduleInformationMap.put(dependency, dependencyInformation);
+                    added.add(dependencyInformation);
+                }
+            }
+
+            ModuleInformation<?> moduleInformation =
+                    ModuleInformationResolver.resolveInformation(moduleCls, dependencies, moduleInformationMap);
+            if (isNew) {
+                added.add(moduleInformation);
+            }
+        }
+
+        for (Class<? extends Module> moduleCls : resolving) {
+            ModuleInformationResolver.resolveSoftDependencies(moduleInformationMap.get(moduleCls), moduleInformationMap);
+        }
+
+        detectCycles(added);
+
+        return stageAdded(added);
+    }
+
+    /**
+     * Remove the given {@link Module}s from the graph. The {@link Module}s that depend on a removed {@link Module} cannot
+     * be executed without it, so these are removed as well. A {@link Module} that only softly depends on a removed
+     * {@link Module} stays in the graph, only its edge to the removed {@link Module} is removed and it is staged
+     * again together with its dependents.
+     *
+     * @param modules The {@link Module}s that need to be removed.
+     *
+     * @return The classes of all the removed {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    public synchronized @NotNull Set<Class<? extends Module>> removeModules(
+            @NotNull Collection<Class<? extends Module>> modules
+    ) {
+        Set<ModuleInformation<?>> removed = new LinkedHashSet<>();
+        Deque<ModuleInformation<?>> queue = new ArrayDeque<>();
+
+        for (Class<? extends Module> moduleCls : modules) {
+            ModuleInformation<?> moduleInformation = moduleInformationMap.get(moduleCls);
+            if (moduleInformation != null && removed.add(moduleInformation)) {
+                queue.add(moduleInformation);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            ModuleInformation<?> moduleInformation = queue.poll();
+            for (ModuleInformation<?> dependent : moduleInformation.getDependsOn()) {
+                if (dependent.getSoftDependencies().contains(moduleInformation.getModule())) {
+                    continue;
+                }
+                if (removed.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        Set<ModuleInformation<?>> softDependents = new HashSet<>();
+        for (ModuleInformation<?> moduleInformation : removed) {
+            for (ModuleInformation<?> dependent : moduleInformation.getDependsOn()) {
+                if (!removed.contains(dependent)) {
+                    dependent.removeSoftDependency(moduleInformation.getModule());
+                    softDependents.add(dependent);
+                }
+            }
+
+            for (Class<? extends Module> dependency : moduleInformation.getDependencies()) {
+                ModuleInformation<?> dependencyInformation = moduleInformationMap.get(dependency);
+                if (dependencyInformation == null || removed.contains(dependencyInformation)) {
+                    continue;
+                }
+
+                dependencyInformation.removeDependsOn(moduleInformation);
+                if (dependencyInformation.getDependencies().isEmpty()
+                    && dependencyInformation.getDependsOn().isEmpty()) {
+                    stageNumbers.put(dependency, 0);
+                }
+            }
+        }
+
+        Set<Class<? extends Module>> removedModules = new LinkedHashSet<>();
+        for (ModuleInformation<?> moduleInformation : removed) {
+            moduleInformationMap.remove(moduleInformation.getModule());
+            stageNumbers.remove(moduleInformation.getModule());
+            removedModules.add(moduleInformation.getModule());
+        }
+
+        restageDependents(softDependents);
+
+        return removedModules;
+    }
+
+    /**
+     * Get the stages of the given {@link Module}s and of all their transitive dependents. These are the
+     * {@link Module}s that are affected when the given {@link Module}s are executed again. {@link Module}s that are not
+     * in the graph are ignored.
+     *
+     * @param modules The {@link Module}s of which the affected {@link Module}s are collected.
+     *
+     * @return The stages of the affected {@link Module}s in the correct load order.
+     *
+     * @since 1.3.0
+     */
+    public synchronized @NotNull Set<Stage> getAffectedStages(@NotNull Collection<Class<? extends Module>> modules) {
+        Set<ModuleInformation<?>> affected = new HashSet<>();
+        Deque<ModuleInformation<?>> queue = new ArrayDeque<>();
+
+        for (Class<? extends Module> moduleCls : modules) {
+            ModuleInformation<?> moduleInformation = moduleInformationMap.get(moduleCls);
+            if (moduleInformation != null && affected.add(moduleInformation)) {
+                queue.add(moduleInformation);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            for (ModuleInformation<?> dependent : queue.poll().getDependsOn()) {
+                if (affected.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        for (ModuleInformation<?> moduleInformation : affected) {
+            stages.add(new Stage(stageNumbers.get(moduleInformation.getModule()), moduleInformation));
+        }
+        return stages;
+    }
+
+    /**
+     * Get the stages of all the {@link Module}s in the graph.
+     *
+     * @return The stages of all the {@link Module}s in the correct load order.
+     *
+     * @since 1.3.0
+     */
+    public synchronized @NotNull Set<Stage> getStages() {
+        TreeSet<Stage> stages = new TreeSet<>();
+        for (Map.Entry<Class<? extends Module>, Integer> entry : stageNumbers.entrySet()) {
+            stages.add(new Stage(entry.getValue(), moduleInformationMap.get(entry.getKey())));
+        }
+        return stages;
+    }
+
+    /**
+     * Get the stage number of the given {@link Module}.
+     *
+     * @param moduleCls The class of the {@link Module}.
+     *
+     * @return The stage number of the {@link Module}, or {@code -1} if the {@link Module} is not in the graph.
+     *
+     * @since 1.3.0
+     */
+    public synchronized int getStageNumber(@NotNull Class<? extends Module> moduleCls) {
+        return stageNumbers.getOrDefault(moduleCls, -1);
+    }
+
+    /**
+     * Detect the dependency cycles between the added {@link Module}s. A new cycle always contains an added
+     * {@link Module}, because the graph had no cycles before. If there are cycles, the added {@link Module}s are
+     * removed again and the cycles are printed.
+     *
+     * @param added The information of the added {@link Module}s.
+     *
+     * @throws ModuleException If there is a dependency cycle detected.
+     * @since 1.3.0
+     */
+    private void detectCycles(@NotNull List<ModuleInformation<?>> added) {
+        Map<Class<? extends Module>, Integer> ids = new HashMap<>(added.size() * 2);
+        String[] names = new String[added.size()];
+        for (int id = 0; id < added.size(); id++) {
+            ids.put(added.get(id).getModule(), id);
+            names[id] = added.get(id).getModule().getName();
+        }
+
+        int[][] successors = new int[added.size()][];
+        for (int id = 0; id < added.size(); id++) {
+            successors[id] = added.get(id).getDependencies()
+                    .stream()
+                    .map(ids::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        List<int[]> cycles = CycleDetector.findCycles(successors);
+        if (cycles.isEmpty()) {
+            return;
+        }
+
+        for (ModuleInformation<?> moduleInformation : added) {
+            for (Class<? extends Module> dependency : moduleInformation.getDependencies()) {
+                ModuleInformation<?> dependencyInformation = moduleInformationMap.get(dependency);
+                if (dependencyInformation != null) {
+                    dependencyInformation.removeDependsOn(moduleInformation);
+                }
+            }
+        }
+        for (ModuleInformation<?> moduleInformation : added) {
+            moduleInformationMap.remove(moduleInformation.getModule());
+        }
+
+        PathCyclePrinter.printCycles(moduleSchedulerInformation, names, cycles);
+        throw new ModuleException("The added modules contain a dependency cycle.");
+    }
+
+    /**
+     * Stage the added {@link Module}s. Dependencies in the graph that were in the zeroth stage, move to the first
+     * stage.
+     *
+     * @param added The information of the added {@link Module}s.
+     *
+     * @return The stages of the added {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull Set<Stage> stageAdded(@NotNull List<ModuleInformation<?>> added) {
+        Set<ModuleInformation<?>> addedSet = new HashSet<>(added);
+        for (ModuleInformation<?> moduleInformation : added) {
+            for (Class<? extends Module> dependency : moduleInformation.getDependencies()) {
+                if (!addedSet.contains(moduleInformationMap.get(dependency))
+                    && stageNumbers.getOrDefault(dependency, 0) == 0) {
+                    stageNumbers.put(dependency, 1);
+                }
+            }
+        }
+
+        return stageInOrder(addedSet);
+    }
+
+    /**
+     * Stage the given {@link Module}s and all their transitive dependents again, after an edge of the given
+     * {@link Module}s has been removed.
+     *
+     * @param changed The information of the {@link Module}s of which an edge has been removed.
+     *
+     * @since 1.3.0
+     */
+    private void restageDependents(@NotNull Set<ModuleInformation<?>> changed) {
+        Set<ModuleInformation<?>> affected = new HashSet<>();
+        Deque<ModuleInformation<?>> queue = new ArrayDeque<>();
+        for (ModuleInformation<?> moduleInformation : changed) {
+            if (affected.add(moduleInformation)) {
+                queue.add(moduleInformation);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            for (ModuleInformation<?> dependent : queue.poll().getDependsOn()) {
+                if (affected.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        stageInOrder(affected);
+    }
+
+    /**
+     * Stage the given {@link Module}s. The {@link Module}s are visited in topological order, so the stage of every
+     * dependency is known when a {@link Module} is staged. The stages of the other {@link Module}s in the graph must
+     * be known.
+     *
+     * @param staging The information of the {@link Module}s that are staged.
+     *
+     * @return The stages of the given {@link Module}s.
+     *
+     * @since 1.3.0
+     */
+    private @NotNull Set<Stage> stageInOrder(@NotNull Set<ModuleInformation<?>> staging) {
+        Map<ModuleInformation<?>, Integer> remainingDependencies = new HashMap<>(staging.size() * 2);
+        Deque<ModuleInformation<?>> queue = new ArrayDeque<>();
+
+        for (ModuleInformation<?> moduleInformation : staging) {
+            int count = 0;
+            for (Class<? extends Module> dependency : moduleInformation.getDependencies()) {
+                if (staging.contains(moduleInformationMap.get(dependency))) {
+                    ++count;
+                }
+            }
+
+            remainingDependencies.put(moduleInformation, count);
+            if (count == 0) {
+                queue.add(moduleInformation);
+            }
+        }
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        while (!queue.isEmpty()) {
+            ModuleInformation<?> moduleInformation = queue.poll();
+            int stageNumber = calculateStage(moduleInformation);
+            stageNumbers.put(moduleInformation.getModule(), stageNumber);
+            stages.add(new Stage(stageNumber, moduleInformation));
+
+            for (ModuleInformation<?> dependent : moduleInformation.getDependsOn()) {
+                Integer remaining = remainingDependencies.get(dependent);
+                if (remaining != null) {
+                    remainingDependencies.put(dependent, remaining - 1);
+                    if (remaining == 1) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+        }
+
+        return stages;
+    }
+
+    /**
+     * Calculate the stage of the given {@link Module}, of which the stages of the dependencies are known.
+     *
+     * @param moduleInformation The information of the {@link Module}.
+     *
+     * @return The stage of the {@link Module}.
+     *
+     * @since 1.3.0
+     */
+    private int calculateStage(@NotNull ModuleInformation<?> moduleInformation) {
+        if (moduleInformation.getDependencies().isEmpty()) {
+            return moduleInformation.getDependsOn().isEmpty() ? 0 : 1;
+        }
+
+        int highestDependency = 1;
+        for (Class<? extends Module> dependency : moduleInformation.getDependencies()) {
+            highestDependency = Math.max(highestDependency, stageNumbers.getOrDefault(dependency, 1));
+        }
+        return highestDependency + 1;
+    }
+}
@@ -25,6 +25,7 @@ package nl.devoxist.modulescheduler.stage;
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.ModuleScheduler;
 import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.path.CycleDetector;
 import nl.devoxist.modulescheduler.path.Path;
 import nl.devoxist.modulescheduler.path.PathCyclePrinter;
 import nl.devoxist.modulescheduler.settings.ModuleInformation;
@@ -38,7 +39,7 @@ import java.util.*;
  * The process of placing the {@link Module}s in the correct load order.
  *
  * @author Dev-Bjorn
- * @version 1.0.0
+ * @version 1.3.0
  * @since 1.0.0
  */
 public final class Staging {
@@ -109,6 +110,7 @@ public final class Staging {
             throw new ModuleException("There is no module to be ordered.");
         }
 
+        detectCycles(moduleInformationMap);
         createStages(moduleInformationMap);
 
         if (!zeroOrFirstStageOccupied) {
@@ -118,6 +120,49 @@ public final class Staging {
         return stages;
     }
 
+    /**
+     * Detect all the dependency cycles between the {@link Module}s before the staging starts. Every found cycle is
+     * printed in a single warning, so a broken graph is reported completely in one pass.
+     *
+     * @param moduleInformationMap The map of {@link Module}s with their information.
+     *
+     * @throws InterruptedException If there is a dependency cycle detected.
+     * @since 1.3.0
+     */
+    private void detectCycles(@NotNull Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap)
+            throws InterruptedException {
+        int size = moduleInformationMap.size();
+        Map<Class<? extends Module>, Integer> ids = new HashMap<>(size * 2);
+        ModuleInformation<?>[] modules = new ModuleInformation<?>[size];
+        String[] names = new String[size];
+
+        int id = 0;
+        for (ModuleInformation<?> moduleInformation : moduleInformationMap.values()) {
+            ids.put(moduleInformation.getModule(), id);
+            modules[id] = moduleInformation;
+            names[id] = moduleInformation.getModule().getName();
+            ++id;
+        }
+
+        int[][] successors = new int[size][];
+        for (int i = 0; i < size; i++) {
+            successors[i] = modules[i].getDependencies()
+                    .stream()
+                    .map(ids::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        List<int[]> cycles = CycleDetector.findCycles(successors);
+        if (cycles.isEmpty()) {
+            return;
+        }
+
+        PathCyclePrinter.printCycles(moduleSchedulerInformation, names, cycles);
+        throw new InterruptedException();
+    }
+
     /**
      * Update the {@link #stages} to create the load order of the {@link Module}s.
      *
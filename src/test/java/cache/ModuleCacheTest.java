@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cache;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cacheable;
+import nl.devoxist.modulescheduler.cache.ModuleCache;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+@TestOnly
+public class ModuleCacheTest {
+
+    @Test
+    public void createKeyTest() {
+        String key = ModuleCache.createKey(CachedModule.class, Map.of());
+
+        Assertions.assertNotNull(key);
+        Assertions.assertEquals(64, key.length());
+        Assertions.assertEquals(key, ModuleCache.createKey(CachedModule.class, Map.of()));
+        Assertions.assertNull(ModuleCache.createKey(UncachedModule.class, Map.of()));
+    }
+
+    @Test
+    public void createKeyDependenciesTest() {
+        String key = ModuleCache.createKey(CachedModule.class, Map.of(UncachedModule.class, "a"));
+
+        Assertions.assertNotEquals(key, ModuleCache.createKey(CachedModule.class, Map.of(UncachedModule.class, "b")));
+        Assertions.assertNotEquals(key, ModuleCache.createKey(CachedModule.class, Map.of()));
+
+        Map<Class<? extends Module>, String> dependencyKeys = new HashMap<>();
+        dependencyKeys.put(UncachedModule.class, null);
+        Assertions.assertNull(ModuleCache.createKey(CachedModule.class, dependencyKeys));
+    }
+
+    @Test
+    public void storeRestoreTest(@TempDir Path directory) throws IOException {
+        ModuleCache moduleCache = new ModuleCache(directory);
+        String key = ModuleCache.createKey(CachedModule.class, Map.of());
+
+        Assertions.assertNull(moduleCache.restore(CachedModule.class, key));
+
+        moduleCache.store(CachedModule.class, key, new CachedModule("state"));
+        CachedModule restoredModule = moduleCache.restore(CachedModule.class, key);
+
+        Assertions.assertNotNull(restoredModule);
+        Assertions.assertEquals("state", restoredModule.state);
+    }
+
+    @Test
+    public void restoreCorruptEntryTest(@TempDir Path directory) throws IOException {
+        ModuleCache moduleCache = new ModuleCache(directory);
+        String key = ModuleCache.createKey(CachedModule.class, Map.of());
+        Path file = directory.resolve(key + ".bin");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        Assertions.assertThrows(IOException.class, () -> moduleCache.restore(CachedModule.class, key));
+        Assertions.assertFalse(Files.exists(file));
+        Assertions.assertNull(moduleCache.restore(CachedModule.class, key));
+    }
+
+    @Cacheable(CachedModule.Codec.class)
+    public static class CachedModule implements Module {
+        private final String state;
+
+        public CachedModule(String state) {
+            this.state = state;
+        }
+
+        @Override
+        public void onExecute() {
+        }
+
+        public static class Codec implements ModuleCodec<CachedModule> {
+            @Override
+            public String inputKey() {
+                return "v1";
+            }
+
+            @Override
+            public void encode(CachedModule module, DataOutput output) throws IOException {
+                output.writeUTF(module.state);
+            }
+
+            @Override
+            public CachedModule decode(DataInput input) throws IOException {
+                return new CachedModule(input.readUTF());
+            }
+        }
+    }
+
+    public static class UncachedModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cds;
+
+import nl.devoxist.modulescheduler.cds.CdsArchiveBuilder;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@TestOnly
+public class CdsArchiveBuilderTest {
+
+    @Test
+    public void createCommandTest() {
+        Path classList = Path.of("modules.classlist");
+        Path archive = Path.of("modules.jsa");
+
+        List<String> command = CdsArchiveBuilder.createCommand(classList, archive, "app.jar");
+
+        Assertions.assertTrue(command.contains("-Xshare:dump"));
+        Assertions.assertTrue(command.contains("-XX:SharedClassListFile=" + classList.toAbsolutePath()));
+        Assertions.assertTrue(command.contains("-XX:SharedArchiveFile=" + archive.toAbsolutePath()));
+        Assertions.assertEquals("app.jar", command.get(command.size() - 1));
+    }
+}
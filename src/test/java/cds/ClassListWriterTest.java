@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package cds;
+
+import modules.ModuleB;
+import modules.ModuleSchedulerProcess;
+import nl.devoxist.modulescheduler.cds.ClassListWriter;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@TestOnly
+public class ClassListWriterTest {
+
+    @Test
+    public void writeTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("modules.classlist");
+
+        ClassListWriter.write(file, List.of(ModuleB.class), List.of(ModuleSchedulerProcess.class));
+
+        List<String> lines = Files.readAllLines(file);
+        Assertions.assertTrue(lines.get(0).startsWith("#"));
+        Assertions.assertTrue(lines.contains("modules/ModuleB"));
+        Assertions.assertTrue(lines.contains("modules/ModuleA"));
+        Assertions.assertTrue(lines.contains("modules/ModuleSchedulerProcess"));
+        Assertions.assertTrue(lines.contains("nl/devoxist/modulescheduler/cds/ClassListWriter"));
+        Assertions.assertTrue(
+                lines.indexOf("nl/devoxist/modulescheduler/Module") < lines.indexOf("modules/ModuleA")
+        );
+        Assertions.assertEquals(lines.size(), lines.stream().distinct().count());
+    }
+
+    @Test
+    public void loadedClassesTest() {
+        List<Class<?>> loadedClasses = ClassListWriter.getLoadedClasses();
+
+        Assertions.assertTrue(loadedClasses.contains(ClassListWriterTest.class));
+        Assertions.assertTrue(loadedClasses.contains(ClassListWriter.class));
+        Assertions.assertTrue(loadedClasses.stream().noneMatch(Class::isHidden));
+    }
+
+    @Test
+    public void collectTest() {
+        Assertions.assertTrue(
+                ClassListWriter.collect(List.of(ModuleB.class), List.of(int.class, String[].class))
+                        .stream()
+                        .noneMatch(cls -> cls.isPrimitive() || cls.isArray())
+        );
+    }
+}
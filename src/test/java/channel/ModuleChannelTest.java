@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package channel;
+
+import nl.devoxist.modulescheduler.channel.ModuleChannel;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@TestOnly
+public class ModuleChannelTest {
+
+    @Test
+    public void sendReceiveTest() {
+        ModuleChannel<String> channel = new ModuleChannel<>(2);
+        channel.send("a");
+        channel.send("b");
+
+        Assertions.assertEquals(2, channel.size());
+        Assertions.assertEquals("a", channel.receive());
+        Assertions.assertEquals("b", channel.receive());
+        Assertions.assertEquals(0, channel.size());
+    }
+
+    @Test
+    public void closeTest() {
+        ModuleChannel<String> channel = new ModuleChannel<>(2);
+        channel.send("a");
+        channel.close();
+
+        Assertions.assertTrue(channel.isClosed());
+        Assertions.assertEquals("a", channel.receive());
+        Assertions.assertNull(channel.receive());
+        Assertions.assertThrows(ModuleException.class, () -> channel.send("b"));
+    }
+
+    @Test
+    public void backpressureTest() throws InterruptedException {
+        ModuleChannel<Integer> channel = new ModuleChannel<>(1);
+        List<Integer> received = new ArrayList<>();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                channel.send(i);
+            }
+            channel.close();
+        });
+        producer.start();
+
+        for (int item : channel) {
+            Assertions.assertTrue(channel.size() <= channel.capacity());
+            received.add(item);
+        }
+        producer.join();
+
+        Assertions.assertEquals(100, received.size());
+        Assertions.assertEquals(99, (int) received.get(99));
+    }
+
+    @Test
+    public void failTest() throws InterruptedException {
+        ModuleChannel<Integer> channel = new ModuleChannel<>(1);
+        channel.send(1);
+
+        Thread producer = new Thread(() -> Assertions.assertThrows(ModuleException.class, () -> channel.send(2)));
+        producer.start();
+        channel.fail(new IllegalStateException("The consumer failed."));
+        producer.join();
+
+        ModuleException exception = Assertions.assertThrows(ModuleException.class, channel::receive);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    public void capacityFailed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ModuleChannel<>(0));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package checkpoint;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Checkpoint;
+import nl.devoxist.modulescheduler.checkpoint.CheckpointJournal;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@TestOnly
+public class CheckpointJournalTest {
+
+    @Test
+    public void completeReopenTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("run.journal");
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 2)) {
+            Assertions.assertFalse(checkpointJournal.isCompleted(CheckpointModuleA.class));
+            checkpointJournal.complete(CheckpointModuleA.class);
+            checkpointJournal.complete(PlainModule.class);
+        }
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 2)) {
+            Assertions.assertTrue(checkpointJournal.isCompleted(CheckpointModuleA.class));
+            Assertions.assertFalse(checkpointJournal.isCompleted(CheckpointModuleB.class));
+            Assertions.assertFalse(checkpointJournal.isCompleted(PlainModule.class));
+        }
+    }
+
+    @Test
+    public void cutOffRecordTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("run.journal");
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 1)) {
+            checkpointJournal.complete(CheckpointModuleA.class);
+        }
+        long validLength = Files.size(file);
+        Files.write(file, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 1)) {
+            Assertions.assertTrue(checkpointJournal.isCompleted(CheckpointModuleA.class));
+            Assertions.assertEquals(validLength, Files.size(file));
+            checkpointJournal.complete(CheckpointModuleB.class);
+        }
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 1)) {
+            Assertions.assertTrue(checkpointJournal.isCompleted(CheckpointModuleA.class));
+            Assertions.assertTrue(checkpointJournal.isCompleted(CheckpointModuleB.class));
+        }
+    }
+
+    @Test
+    public void invalidJournalTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("run.journal");
+        Files.writeString(file, "not a journal");
+
+        Assertions.assertThrows(IOException.class, () -> CheckpointJournal.open(file, 1));
+
+        try (CheckpointJournal checkpointJournal = CheckpointJournal.create(file, 1)) {
+            Assertions.assertFalse(checkpointJournal.isCompleted(CheckpointModuleA.class));
+        }
+    }
+
+    @Test
+    public void deleteTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("run.journal");
+
+        CheckpointJournal checkpointJournal = CheckpointJournal.open(file, 1);
+        checkpointJournal.complete(CheckpointModuleA.class);
+        checkpointJournal.delete();
+
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    @Checkpoint(version = "1")
+    public static class CheckpointModuleA implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Checkpoint
+    public static class CheckpointModuleB implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    public static class PlainModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+}
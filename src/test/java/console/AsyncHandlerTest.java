@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package console;
+
+import nl.devoxist.modulescheduler.console.AsyncHandler;
+import nl.devoxist.modulescheduler.console.Formatter;
+import nl.devoxist.modulescheduler.console.OverflowPolicy;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+@TestOnly
+public class AsyncHandlerTest {
+
+    @Test
+    public void publishTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AsyncHandler asyncHandler = new AsyncHandler(outputStream, 16, OverflowPolicy.BLOCK);
+        asyncHandler.setFormatter(new Formatter());
+
+        for (int i = 0; i < 100; i++) {
+            asyncHandler.publish(new LogRecord(Level.INFO, "message " + i));
+        }
+        asyncHandler.flush();
+
+        String output = outputStream.toString();
+        Assertions.assertTrue(output.startsWith("message 0"));
+        Assertions.assertTrue(output.contains("message 99"));
+        Assertions.assertEquals(100, output.lines().count());
+        Assertions.assertEquals(0, asyncHandler.getDroppedRecords());
+
+        asyncHandler.close();
+    }
+
+    @Test
+    public void dropTest() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        OutputStream blockingStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.write(b, off, len);
+            }
+        };
+
+        AsyncHandler asyncHandler = new AsyncHandler(blockingStream, 4, OverflowPolicy.DROP);
+        asyncHandler.setFormatter(new Formatter());
+
+        asyncHandler.publish(new LogRecord(Level.INFO, "first"));
+        writing.await();
+
+        for (int i = 0; i < 10; i++) {
+            asyncHandler.publish(new LogRecord(Level.INFO, "message " + i));
+        }
+
+        Assertions.assertEquals(6, asyncHandler.getDroppedRecords());
+
+        release.countDown();
+        asyncHandler.close();
+
+        Assertions.assertTrue(written.toString().contains("6 log records have been dropped"));
+    }
+
+    @Test
+    public void daemonTest() {
+        AtomicBoolean daemon = new AtomicBoolean();
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) {
+                daemon.set(Thread.currentThread().isDaemon());
+            }
+        };
+
+        AsyncHandler asyncHandler = new AsyncHandler(outputStream, 16, OverflowPolicy.DROP);
+        asyncHandler.setFormatter(new Formatter());
+
+        asyncHandler.publish(new LogRecord(Level.INFO, "message"));
+        asyncHandler.flush();
+
+        Assertions.assertTrue(daemon.get());
+        asyncHandler.close();
+    }
+
+    @Test
+    public void levelTest() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        AsyncHandler asyncHandler = new AsyncHandler(outputStream, 16, OverflowPolicy.DROP);
+        asyncHandler.setFormatter(new Formatter());
+        asyncHandler.setLevel(Level.WARNING);
+
+        asyncHandler.publish(new LogRecord(Level.INFO, "info"));
+        asyncHandler.publish(new LogRecord(Level.WARNING, "warning"));
+        asyncHandler.close();
+
+        Assertions.assertFalse(outputStream.toString().contains("info"));
+        Assertions.assertTrue(outputStream.toString().contains("warning"));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Cacheable;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+import nl.devoxist.modulescheduler.distributed.DistributedRunner;
+import nl.devoxist.modulescheduler.distributed.WorkerMain;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.resolvers.ModuleInformationResolver;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+public class DistributedRunnerTest {
+
+    private static final String DIRECTORY_PROPERTY = "distributed.directory";
+
+    private static ModuleScheduler emptyScheduler() {
+        return new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        };
+    }
+
+    private static Set<Stage> stage(List<Class<? extends Module>> modules) {
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        for (int i = 0; i < modules.size(); i++) {
+            stages.add(new Stage(i, ModuleInformationResolver.resolveInformation(modules.get(i), moduleInformationMap)));
+        }
+        return stages;
+    }
+
+    @Test
+    public void createCommandTest() {
+        List<String> command = WorkerMain.createCommand("127.0.0.1", 4000, 2, List.of("-Xmx64m"), "app.jar");
+
+        Assertions.assertTrue(command.get(0).endsWith("java"));
+        Assertions.assertEquals(
+                List.of("-Xmx64m", "-cp", "app.jar", WorkerMain.class.getName(), "127.0.0.1", "4000", "2"),
+                command.subList(1, command.size())
+        );
+    }
+
+    @Test
+    public void distributedRunTest(@TempDir Path directory) throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setWorkerProcesses(2);
+        schedulerSettings.setWorkerJvmOptions(List.of("-D" + DIRECTORY_PROPERTY + "=" + directory));
+
+        Map<Class<? extends Module>, Module> constructedModules = new ConcurrentHashMap<>();
+        RunReport runReport = DistributedRunner.runStages(
+                schedulerSettings,
+                emptyScheduler(),
+                stage(List.of(SourceModule.class, ResultModule.class, SinkModule.class)),
+                constructedModules
+        ).get();
+
+        Assertions.assertEquals(3, runReport.getModuleReports().size());
+        Assertions.assertTrue(Files.exists(directory.resolve("sink")));
+
+        ResultModule resultModule = (ResultModule) constructedModules.get(ResultModule.class);
+        Assertions.assertNotNull(resultModule);
+        Assertions.assertNotEquals(ProcessHandle.current().pid(), resultModule.processId);
+        Assertions.assertFalse(constructedModules.containsKey(SourceModule.class));
+    }
+
+    @Test
+    public void distributedFailureTest() {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setWorkerProcesses(1);
+
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> DistributedRunner.runStages(
+                        schedulerSettings,
+                        emptyScheduler(),
+                        stage(List.of(FailingModule.class)),
+                        new ConcurrentHashMap<>()
+                ).get()
+        );
+
+        Assertions.assertInstanceOf(ModuleException.class, exception.getCause());
+    }
+
+    public static class SourceModule implements Module {
+        @Override
+        public void onExecute() {
+            try {
+                Files.createFile(Path.of(System.getProperty(DIRECTORY_PROPERTY), "source"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Dependency({SourceModule.class})
+    public static class SinkModule implements Module {
+        @Override
+        public void onExecute() {
+            Path directory = Path.of(System.getProperty(DIRECTORY_PROPERTY));
+            if (!Files.exists(directory.resolve("source"))) {
+                throw new IllegalStateException("The source module has not been executed.");
+            }
+
+            try {
+                Files.createFile(directory.resolve("sink"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Dependency({SourceModule.class})
+    @Cacheable(ResultModule.Codec.class)
+    public static class ResultModule implements Module {
+        private long processId;
+
+        public ResultModule(SourceModule sourceModule) {
+        }
+
+        @Override
+        public void onExecute() {
+            processId = ProcessHandle.current().pid();
+        }
+
+        public static class Codec implements ModuleCodec<ResultModule> {
+            @Override
+            public String inputKey() {
+                return "";
+            }
+
+            @Override
+            public void encode(ResultModule module, DataOutput output) throws IOException {
+                output.writeLong(module.processId);
+            }
+
+            @Override
+            public ResultModule decode(DataInput input) throws IOException {
+                ResultModule module = new ResultModule(null);
+                module.processId = input.readLong();
+                return module;
+            }
+        }
+    }
+
+    public static class FailingModule implements Module {
+        @Override
+        public void onExecute() {
+            throw new IllegalStateException("Failing module.");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package distributed;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.distributed.ModulePartitioner;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.jetbrains.annotations.Contract;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+public class ModulePartitionerTest {
+
+    private static ExecutionPlan compile(Set<Class<? extends Module>> modules) throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation =
+                new ModuleSchedulerInformation(new ModuleSchedulerSettings());
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+
+        Set<Stage> stages = Staging.stageModules(schedulerInformation);
+        return ExecutionPlan.compile(stages);
+    }
+
+    private static int idOf(ExecutionPlan plan, Class<? extends Module> moduleCls) {
+        for (int id = 0; id < plan.size(); id++) {
+            if (plan.getModule(id).getModule() == moduleCls) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void constructorModulesTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, InjectedModule.class, ModuleB.class, ModuleC.class));
+        long[] costs = new long[plan.size()];
+        Arrays.fill(costs, 1);
+
+        int[] assignment = ModulePartitioner.partition(plan, costs, 4);
+
+        Assertions.assertEquals(assignment[idOf(plan, ModuleA.class)], assignment[idOf(plan, InjectedModule.class)]);
+    }
+
+    @Test
+    public void chainTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, ModuleB.class, ModuleC.class, ModuleD.class));
+        long[] costs = new long[plan.size()];
+        Arrays.fill(costs, 1);
+
+        int[] assignment = ModulePartitioner.partition(plan, costs, 2);
+
+        Assertions.assertEquals(1, ModulePartitioner.countCrossEdges(plan, assignment));
+        Assertions.assertEquals(2, Arrays.stream(assignment).distinct().count());
+    }
+
+    @Test
+    public void balanceTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, ModuleB.class, ModuleC.class, ModuleD.class));
+        long[] costs = new long[plan.size()];
+        Arrays.fill(costs, 1);
+        costs[idOf(plan, ModuleA.class)] = 10;
+
+        int[] assignment = ModulePartitioner.partition(plan, costs, 2);
+
+        int a = assignment[idOf(plan, ModuleA.class)];
+        Assertions.assertNotEquals(a, assignment[idOf(plan, ModuleB.class)]);
+        Assertions.assertNotEquals(a, assignment[idOf(plan, ModuleD.class)]);
+    }
+
+    @Test
+    public void invalidWorkersTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class));
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> ModulePartitioner.partition(plan, new long[]{1}, 0)
+        );
+    }
+
+    public static class ModuleA implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({ModuleA.class})
+    public static class ModuleB implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({ModuleB.class})
+    public static class ModuleC implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({ModuleC.class})
+    public static class ModuleD implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({ModuleA.class})
+    public static class InjectedModule implements Module {
+
+        @Contract(pure = true)
+        public InjectedModule(ModuleA moduleA) {
+        }
+
+        @Override
+        public void onExecute() {
+        }
+    }
+}
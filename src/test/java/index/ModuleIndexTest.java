@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package index;
+
+import nl.devoxist.modulescheduler.index.ModuleIndex;
+import nl.devoxist.modulescheduler.index.ModuleIndexProcessor;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+@TestOnly
+public class ModuleIndexTest {
+
+    @Test
+    public void readTest() throws IOException {
+        ModuleIndex moduleIndex = ModuleIndex.read(new StringReader("""
+                # Module Scheduler index, version 1
+                modules.ModuleA
+                modules.ModuleB\tmodules.ModuleA
+                modules.ModuleC\tmodules.ModuleB\tmodules.ModuleA
+                """));
+
+        Assertions.assertEquals(
+                Set.of("modules.ModuleA", "modules.ModuleB", "modules.ModuleC"),
+                moduleIndex.getModules()
+        );
+        Assertions.assertEquals(List.of(), moduleIndex.getDependencies("modules.ModuleA"));
+        Assertions.assertEquals(
+                List.of("modules.ModuleB", "modules.ModuleA"),
+                moduleIndex.getDependencies("modules.ModuleC")
+        );
+    }
+
+    @Test
+    public void processorTest(@TempDir Path directory) throws IOException {
+        Path source = directory.resolve("indexed").resolve("IndexedModules.java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                package indexed;
+
+                import nl.devoxist.modulescheduler.Module;
+                import nl.devoxist.modulescheduler.annotation.Dependency;
+
+                public class IndexedModules {
+                    public static class First implements Module {
+                        public void onExecute() {
+                        }
+                    }
+
+                    @Dependency(First.class)
+                    public static class Second implements Module {
+                        public Second(Third third) {
+                        }
+
+                        public void onExecute() {
+                        }
+                    }
+
+                    public static class Third implements Module {
+                        public void onExecute() {
+                        }
+                    }
+
+                    public abstract static class Abstract implements Module {
+                    }
+                }
+                """);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(
+                null,
+                null,
+                null,
+                "-proc:only",
+                "-processor", ModuleIndexProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", directory.toString(),
+                source.toString()
+        );
+        Assertions.assertEquals(0, result);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, null)) {
+            ModuleIndex moduleIndex = ModuleIndex.load(classLoader);
+
+            Assertions.assertEquals(
+                    Set.of(
+                            "indexed.IndexedModules$First",
+                            "indexed.IndexedModules$Second",
+                            "indexed.IndexedModules$Third"
+                    ),
+                    moduleIndex.getModules()
+            );
+            Assertions.assertEquals(
+                    List.of("indexed.IndexedModules$First", "indexed.IndexedModules$Third"),
+                    moduleIndex.getDependencies("indexed.IndexedModules$Second")
+            );
+        }
+    }
+}
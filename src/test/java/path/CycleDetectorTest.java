@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package path;
+
+import nl.devoxist.modulescheduler.path.CycleDetector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CycleDetectorTest {
+
+    @Test
+    public void acyclicTest() {
+        int[][] successors = {{1, 2}, {2}, {}};
+
+        Assertions.assertTrue(CycleDetector.findCycles(successors).isEmpty());
+    }
+
+    @Test
+    public void selfLoopTest() {
+        int[][] successors = {{0}, {}};
+
+        List<int[]> cycles = CycleDetector.findCycles(successors);
+
+        Assertions.assertEquals(1, cycles.size());
+        Assertions.assertArrayEquals(new int[]{0, 0}, cycles.get(0));
+    }
+
+    @Test
+    public void multipleCyclesTest() {
+        int[][] successors = {{1}, {2}, {0}, {4}, {3}, {0}};
+
+        List<int[]> cycles = CycleDetector.findCycles(successors);
+
+        Assertions.assertEquals(2, cycles.size());
+        for (int[] cycle : cycles) {
+            Assertions.assertEquals(cycle[0], cycle[cycle.length - 1]);
+            for (int i = 0; i < cycle.length - 1; i++) {
+                int next = cycle[i + 1];
+                Assertions.assertTrue(
+                        Arrays.stream(successors[cycle[i]]).anyMatch(successor -> successor == next)
+                );
+            }
+        }
+        Assertions.assertArrayEquals(
+                new int[]{3, 4},
+                cycles.stream().mapToInt(cycle -> cycle.length).sorted().toArray()
+        );
+    }
+
+    @Test
+    public void deepChainTest() {
+        int size = 100_000;
+        int[][] successors = new int[size][];
+        for (int i = 0; i < size; i++) {
+            successors[i] = new int[]{(i + 1) % size};
+        }
+
+        List<int[]> cycles = CycleDetector.findCycles(successors);
+
+        Assertions.assertEquals(1, cycles.size());
+        Assertions.assertEquals(size + 1, cycles.get(0).length);
+    }
+}
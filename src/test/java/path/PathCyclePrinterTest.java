@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package path;
+
+import nl.devoxist.modulescheduler.console.Console;
+import nl.devoxist.modulescheduler.path.PathCyclePrinter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PathCyclePrinterTest {
+
+    @Test
+    public void renderTest() {
+        String[] names = {"ModuleA", "ModuleB"};
+
+        String message = PathCyclePrinter.render(names, List.of(new int[]{0, 1, 0}));
+
+        Assertions.assertEquals(
+                "[WARN] Dependency cycle detected: " + Console.NEWLINE +
+                "[WARN]    -> ModuleA" + Console.NEWLINE +
+                "[WARN]    -> ModuleB" + Console.NEWLINE +
+                "[WARN]    -> ModuleA" + Console.NEWLINE +
+                "[WARN]    -> Cycle ends" + Console.RESET,
+                message
+        );
+    }
+
+    @Test
+    public void renderMultipleTest() {
+        String[] names = {"ModuleA", "ModuleB", "ModuleC"};
+
+        String message = PathCyclePrinter.render(names, List.of(new int[]{0, 1, 0}, new int[]{2, 2}));
+
+        Assertions.assertEquals(2, message.split("Dependency cycle detected").length - 1);
+        Assertions.assertTrue(message.endsWith("[WARN]    -> ModuleC" + Console.NEWLINE +
+                                               "[WARN]    -> Cycle ends" + Console.RESET));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package profile;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Cost;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.profile.CostModel;
+import nl.devoxist.modulescheduler.profile.ModuleProfile;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.CostDeviation;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@TestOnly
+public class CostModelTest {
+
+    private static ExecutionPlan compile(Set<Class<? extends Module>> modules) throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation =
+                new ModuleSchedulerInformation(new ModuleSchedulerSettings());
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+
+        Set<Stage> stages = Staging.stageModules(schedulerInformation);
+        return ExecutionPlan.compile(stages);
+    }
+
+    private static int idOf(ExecutionPlan plan, Class<? extends Module> moduleCls) {
+        for (int id = 0; id < plan.size(); id++) {
+            if (plan.getModule(id).getModule() == moduleCls) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    private static ModuleReport report(Class<? extends Module> moduleCls, long nanos, boolean cached) {
+        return new ModuleReport(moduleCls, 0, 0, nanos, -1, -1, -1, -1, cached, false);
+    }
+
+    @Test
+    public void firstBootWeightsTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(HeavyModule.class, LightModule.class));
+
+        long[] costs = new CostModel(null).estimate(plan);
+
+        Assertions.assertEquals(4, costs[idOf(plan, HeavyModule.class)]);
+        Assertions.assertEquals(1, costs[idOf(plan, LightModule.class)]);
+        Assertions.assertEquals(4, plan.getModule(idOf(plan, HeavyModule.class)).getCostWeight());
+        Assertions.assertEquals(-1, plan.getModule(idOf(plan, LightModule.class)).getCostWeight());
+    }
+
+    @Test
+    public void profileScalesWeightsTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(HeavyModule.class, MediumModule.class, LightModule.class));
+        ModuleProfile moduleProfile = new ModuleProfile(1);
+        moduleProfile.record(HeavyModule.class, 100, 300);
+
+        long[] costs = new CostModel(moduleProfile).estimate(plan);
+
+        Assertions.assertEquals(400, costs[idOf(plan, HeavyModule.class)]);
+        Assertions.assertEquals(200, costs[idOf(plan, MediumModule.class)]);
+        Assertions.assertEquals(400, costs[idOf(plan, LightModule.class)]);
+    }
+
+    @Test
+    public void peakMemoryTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(HeavyModule.class, MediumModule.class, LightModule.class));
+        long[] costs = new CostModel(null).estimate(plan);
+        long[] priorities = plan.calculatePriorities(costs);
+        long[] memory = CostModel.estimateMemory(plan);
+
+        Assertions.assertEquals(1536, plan.predictPeakMemory(costs, priorities, memory, 3));
+        Assertions.assertEquals(1024, plan.predictPeakMemory(costs, priorities, memory, 1));
+        Assertions.assertEquals(4, plan.predictMakespan(costs, priorities, 3));
+    }
+
+    @Test
+    public void validateTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(HeavyModule.class, MediumModule.class, LightModule.class));
+        List<ModuleReport> reports = List.of(
+                report(HeavyModule.class, 100, false),
+                report(MediumModule.class, 900, false),
+                report(LightModule.class, 5000, false)
+        );
+
+        List<CostDeviation> deviations = CostModel.validate(plan, reports, 2);
+
+        Assertions.assertEquals(2, deviations.size());
+        Assertions.assertEquals(HeavyModule.class, deviations.get(0).module());
+        Assertions.assertEquals(667, deviations.get(0).expectedNanos());
+        Assertions.assertTrue(deviations.get(0).deviationRatio() < 1);
+        Assertions.assertEquals(MediumModule.class, deviations.get(1).module());
+        Assertions.assertTrue(deviations.get(1).deviationRatio() > 1);
+
+        Assertions.assertTrue(CostModel.validate(plan, reports, 10).isEmpty());
+    }
+
+    @Test
+    public void validateCachedTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(HeavyModule.class, MediumModule.class));
+        List<ModuleReport> reports = List.of(
+                report(HeavyModule.class, 1, true),
+                report(MediumModule.class, 900, false)
+        );
+
+        Assertions.assertTrue(CostModel.validate(plan, reports, 2).isEmpty());
+    }
+
+    @Test
+    public void invalidCostTest() {
+        Assertions.assertThrows(ModuleException.class, () -> compile(Set.of(InvalidCostModule.class)));
+    }
+
+    @Cost(value = 4,
+          memoryBytes = 1024)
+    public static class HeavyModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Cost(value = 2,
+          memoryBytes = 512)
+    public static class MediumModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({MediumModule.class})
+    public static class LightModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Cost(0)
+    public static class InvalidCostModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+}
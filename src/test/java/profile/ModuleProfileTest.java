@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package profile;
+
+import modules.ModuleA;
+import modules.ModuleB;
+import nl.devoxist.modulescheduler.profile.ModuleProfile;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@TestOnly
+public class ModuleProfileTest {
+
+    @Test
+    public void recordTest() {
+        ModuleProfile moduleProfile = new ModuleProfile(0.5);
+
+        Assertions.assertEquals(-1, moduleProfile.getDurationNanos(ModuleA.class));
+
+        moduleProfile.record(ModuleA.class, 100, 300);
+
+        Assertions.assertEquals(400, moduleProfile.getDurationNanos(ModuleA.class));
+        Assertions.assertEquals(1, moduleProfile.getSamples(ModuleA.class));
+
+        moduleProfile.record(ModuleA.class, 300, 500);
+
+        Assertions.assertEquals(600, moduleProfile.getDurationNanos(ModuleA.class));
+        Assertions.assertEquals(2, moduleProfile.getSamples(ModuleA.class));
+    }
+
+    @Test
+    public void saveLoadTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("profile.bin");
+
+        ModuleProfile moduleProfile = new ModuleProfile(0.3);
+        moduleProfile.record(ModuleA.class, 100, 300);
+        moduleProfile.record(ModuleB.class, 50, 50);
+        moduleProfile.save(file);
+
+        ModuleProfile loadedProfile = ModuleProfile.load(file, 0.3);
+
+        Assertions.assertEquals(400, loadedProfile.getDurationNanos(ModuleA.class));
+        Assertions.assertEquals(100, loadedProfile.getDurationNanos(ModuleB.class));
+        Assertions.assertEquals(1, loadedProfile.getSamples(ModuleB.class));
+    }
+
+    @Test
+    public void loadMissingFileTest(@TempDir Path directory) throws IOException {
+        ModuleProfile moduleProfile = ModuleProfile.load(directory.resolve("missing.bin"), 0.3);
+
+        Assertions.assertEquals(-1, moduleProfile.getDurationNanos(ModuleA.class));
+    }
+
+    @Test
+    public void loadCorruptFileTest(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("profile.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6});
+
+        Assertions.assertThrows(IOException.class, () -> ModuleProfile.load(file, 0.3));
+    }
+
+    @Test
+    public void smoothingFactorFailed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ModuleProfile(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ModuleProfile(1.5));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package resolvers;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Conditional;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.condition.ModuleCondition;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.resolvers.ConditionResolver;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+public class ConditionResolverTest {
+
+    @Test
+    public void toggleTest() {
+        ModuleSchedulerSettings settings = new ModuleSchedulerSettings();
+
+        Assertions.assertFalse(settings.isToggleEnabled("metrics"));
+        Assertions.assertFalse(ConditionResolver.isActive(MetricsModule.class, settings));
+        Assertions.assertTrue(ConditionResolver.isActive(BaseModule.class, settings));
+
+        settings.setToggle("metrics", true);
+        Assertions.assertTrue(ConditionResolver.isActive(MetricsModule.class, settings));
+    }
+
+    @Test
+    public void pruneDependentsTest() {
+        ModuleSchedulerSettings settings = new ModuleSchedulerSettings();
+
+        Set<Class<? extends Module>> pruned = ConditionResolver.findPrunedModules(
+                List.of(BaseModule.class, MetricsModule.class, ReporterModule.class, DashboardModule.class),
+                settings
+        );
+        Assertions.assertEquals(Set.of(MetricsModule.class, ReporterModule.class, DashboardModule.class), pruned);
+
+        Set<Class<? extends Module>> active = ConditionResolver.pruneModules(
+                List.of(BaseModule.class, DashboardModule.class),
+                settings
+        );
+        Assertions.assertEquals(Set.of(BaseModule.class), active);
+
+        settings.setToggle("metrics", true);
+        Assertions.assertTrue(ConditionResolver.findPrunedModules(
+                List.of(BaseModule.class, MetricsModule.class, ReporterModule.class, DashboardModule.class),
+                settings
+        ).isEmpty());
+    }
+
+    @Test
+    public void conditionTest() {
+        ModuleSchedulerSettings settings = new ModuleSchedulerSettings();
+
+        Assertions.assertFalse(ConditionResolver.isActive(ParallelModule.class, settings));
+
+        settings.setParallelism(4);
+        Assertions.assertTrue(ConditionResolver.isActive(ParallelModule.class, settings));
+        Assertions.assertThrows(
+                ModuleException.class,
+                () -> ConditionResolver.isActive(BrokenConditionModule.class, settings)
+        );
+    }
+
+    public static class MultiCoreCondition implements ModuleCondition {
+        @Override
+        public boolean isActive(
+                @NotNull Class<? extends Module> moduleCls,
+                @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+        ) {
+            return moduleSchedulerSettings.getParallelism() > 1;
+        }
+    }
+
+    public static class BrokenCondition implements ModuleCondition {
+        public BrokenCondition(String name) {
+        }
+
+        @Override
+        public boolean isActive(
+                @NotNull Class<? extends Module> moduleCls,
+                @NotNull ModuleSchedulerSettings moduleSchedulerSettings
+        ) {
+            return true;
+        }
+    }
+
+    public static class BaseModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Conditional(toggles = "metrics")
+    @Dependency(BaseModule.class)
+    public static class MetricsModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(MetricsModule.class)
+    public static class ReporterModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(ReporterModule.class)
+    public static class DashboardModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Conditional(MultiCoreCondition.class)
+    public static class ParallelModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Conditional(BrokenCondition.class)
+    public static class BrokenConditionModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+}
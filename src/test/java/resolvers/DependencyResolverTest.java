@@ -99,5 +99,50 @@ public class DependencyResolverTest {
         Assertions.assertTrue(moduleInformationB.getDependsOn().contains(moduleInformationC));
     }
 
+    @Test
+    public void resolveInformationParallelTest() {
+        Set<Class<? extends Module>> modulesClassesSet = new HashSet<>();
+        modulesClassesSet.add(ModuleA.class);
+        modulesClassesSet.add(ModuleB.class);
+        modulesClassesSet.add(ModuleC.class);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> sequentialMap =
+                DependencyResolver.resolveDependencies(modulesClassesSet);
+        Map<Class<? extends Module>, ModuleInformation<?>> parallelMap =
+                DependencyResolver.resolveDependencies(modulesClassesSet, 4);
 
+        Assertions.assertEquals(sequentialMap.keySet(), parallelMap.keySet());
+        for (Class<? extends Module> moduleCls : sequentialMap.keySet()) {
+            ModuleInformation<?> sequentialInformation = sequentialMap.get(moduleCls);
+            ModuleInformation<?> parallelInformation = parallelMap.get(moduleCls);
+            Assertions.assertEquals(sequentialInformation.getDependencies(), parallelInformation.getDependencies());
+            Assertions.assertEquals(
+                    sequentialInformation.getDependsOn().size(),
+                    parallelInformation.getDependsOn().size()
+            );
+        }
+        Assertions.assertTrue(parallelMap.get(ModuleA.class).getDependsOn().contains(parallelMap.get(ModuleB.class)));
+        Assertions.assertTrue(parallelMap.get(ModuleB.class).getDependsOn().contains(parallelMap.get(ModuleC.class)));
+    }
+
+    @Test
+    public void resolveSoftDependenciesTest() {
+        Map<Class<? extends Module>, ModuleInformation<?>> absentMap =
+                DependencyResolver.resolveDependencies(Set.of(ModuleMetadataTest.SoftModule.class));
+
+        Assertions.assertEquals(Set.of(ModuleMetadataTest.SoftModule.class), absentMap.keySet());
+        Assertions.assertTrue(absentMap.get(ModuleMetadataTest.SoftModule.class).getDependencies().isEmpty());
+
+        Map<Class<? extends Module>, ModuleInformation<?>> presentMap =
+                DependencyResolver.resolveDependencies(Set.of(ModuleMetadataTest.SoftModule.class, ModuleA.class), 4);
+
+        Assertions.assertEquals(Set.of(ModuleMetadataTest.SoftModule.class, ModuleA.class), presentMap.keySet());
+        Assertions.assertEquals(
+                Set.of(ModuleA.class),
+                presentMap.get(ModuleMetadataTest.SoftModule.class).getDependencies()
+        );
+        Assertions.assertTrue(presentMap.get(ModuleA.class)
+                                      .getDependsOn()
+                                      .contains(presentMap.get(ModuleMetadataTest.SoftModule.class)));
+    }
 }
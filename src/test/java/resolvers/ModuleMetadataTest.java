@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package resolvers;
+
+import modules.ModuleA;
+import modules.ModuleB;
+import modules.ModuleC;
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.SoftDependency;
+import nl.devoxist.modulescheduler.resolvers.DependencyRetriever;
+import nl.devoxist.modulescheduler.resolvers.ModuleMetadata;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@TestOnly
+public class ModuleMetadataTest {
+
+    @Test
+    public void cacheTest() {
+        Assertions.assertSame(ModuleMetadata.of(ModuleC.class), ModuleMetadata.of(ModuleC.class));
+        Assertions.assertArrayEquals(
+                DependencyRetriever.getDependencies(ModuleC.class),
+                ModuleMetadata.of(ModuleC.class).getDependencies()
+        );
+    }
+
+    @Test
+    public void bindingPlanTest()
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        ModuleMetadata moduleMetadata = ModuleMetadata.of(ModuleB.class);
+        Map<Class<? extends Module>, Module> modules = new HashMap<>();
+
+        Assertions.assertTrue(moduleMetadata.hasBindingPlan());
+        Assertions.assertNull(moduleMetadata.newInstance(modules));
+
+        modules.put(ModuleA.class, new ModuleA());
+
+        Assertions.assertInstanceOf(ModuleB.class, moduleMetadata.newInstance(modules));
+    }
+
+    @Test
+    public void noBindingPlanTest() {
+        Assertions.assertFalse(ModuleMetadata.of(ModuleWithInput.class).hasBindingPlan());
+    }
+
+    @Test
+    public void softBindingPlanTest()
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        ModuleMetadata moduleMetadata = ModuleMetadata.of(SoftModule.class);
+        Map<Class<? extends Module>, Module> modules = new HashMap<>();
+
+        Assertions.assertEquals(0, moduleMetadata.getDependencies().length);
+        Assertions.assertEquals(List.of(ModuleA.class, ModuleC.class), List.of(moduleMetadata.getSoftDependencies()));
+        Assertions.assertTrue(moduleMetadata.hasBindingPlan());
+
+        SoftModule absent = (SoftModule) moduleMetadata.newInstance(modules);
+        Assertions.assertNotNull(absent);
+        Assertions.assertNull(absent.moduleA);
+        Assertions.assertTrue(absent.moduleC.isEmpty());
+
+        ModuleA moduleA = new ModuleA();
+        modules.put(ModuleA.class, moduleA);
+        modules.put(ModuleC.class, new ModuleC(moduleA, new ModuleB(moduleA)));
+
+        SoftModule present = (SoftModule) moduleMetadata.newInstance(modules);
+        Assertions.assertNotNull(present);
+        Assertions.assertSame(moduleA, present.moduleA);
+        Assertions.assertSame(modules.get(ModuleC.class), present.moduleC.orElseThrow());
+    }
+
+    @SoftDependency(ModuleA.class)
+    public static class SoftModule implements Module {
+        private final ModuleA moduleA;
+        private final Optional<ModuleC> moduleC;
+
+        public SoftModule(ModuleA moduleA, Optional<ModuleC> moduleC) {
+            this.moduleA = moduleA;
+            this.moduleC = moduleC;
+        }
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    public static class ModuleWithInput implements Module {
+
+        public ModuleWithInput(String input) {
+        }
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+}
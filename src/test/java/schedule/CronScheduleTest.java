@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package schedule;
+
+import nl.devoxist.modulescheduler.schedule.CronSchedule;
+import nl.devoxist.modulescheduler.schedule.TickSchedule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+public class CronScheduleTest {
+
+    private static Instant next(String expression, String after) {
+        return new CronSchedule(expression, ZoneOffset.UTC).nextTick(Instant.parse(after));
+    }
+
+    @Test
+    public void everyMinuteTest() {
+        Assertions.assertEquals(
+                Instant.parse("2023-05-01T10:16:00Z"),
+                next("* * * * *", "2023-05-01T10:15:00Z")
+        );
+        Assertions.assertEquals(
+                Instant.parse("2023-05-01T10:16:00Z"),
+                next("* * * * *", "2023-05-01T10:15:42Z")
+        );
+    }
+
+    @Test
+    public void stepAndRangeTest() {
+        Assertions.assertEquals(
+                Instant.parse("2023-05-01T10:30:00Z"),
+                next("*/15 * * * *", "2023-05-01T10:15:00Z")
+        );
+        Assertions.assertEquals(
+                Instant.parse("2023-05-02T09:00:00Z"),
+                next("0 9-17 * * *", "2023-05-01T17:00:00Z")
+        );
+        Assertions.assertEquals(
+                Instant.parse("2023-05-01T10:20:00Z"),
+                next("5,20,40 10 * * *", "2023-05-01T10:05:00Z")
+        );
+    }
+
+    @Test
+    public void monthAndDayTest() {
+        Assertions.assertEquals(
+                Instant.parse("2024-01-01T00:00:00Z"),
+                next("0 0 1 1 *", "2023-05-01T10:15:00Z")
+        );
+        Assertions.assertEquals(
+                Instant.parse("2024-02-29T12:00:00Z"),
+                next("0 12 29 2 *", "2023-03-01T00:00:00Z")
+        );
+        // 2023-05-01 is a Monday, so the next Sunday is 2023-05-07, 7 is Sunday as well.
+        Assertions.assertEquals(
+                Instant.parse("2023-05-07T08:00:00Z"),
+                next("0 8 * * 0", "2023-05-01T10:15:00Z")
+        );
+        Assertions.assertEquals(
+                Instant.parse("2023-05-07T08:00:00Z"),
+                next("0 8 * * 7", "2023-05-01T10:15:00Z")
+        );
+        // Both day fields are restricted, so either the 15th or a Friday matches.
+        Assertions.assertEquals(
+                Instant.parse("2023-05-05T00:00:00Z"),
+                next("0 0 15 * 5", "2023-05-01T10:15:00Z")
+        );
+    }
+
+    @Test
+    public void invalidExpressionTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("* * * *"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("60 * * * *"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("* * 0 * *"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("10-5 * * * *"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("*/0 * * * *"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.cron("a * * * *"));
+        Assertions.assertThrows(IllegalStateException.class, () -> next("0 0 31 2 *", "2023-05-01T10:15:00Z"));
+    }
+
+    @Test
+    public void fixedRateTest() {
+        TickSchedule schedule = TickSchedule.fixedRate(Duration.ofMillis(250));
+
+        Assertions.assertEquals(
+                Instant.parse("2023-05-01T10:15:00.250Z"),
+                schedule.nextTick(Instant.parse("2023-05-01T10:15:00Z"))
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TickSchedule.fixedRate(Duration.ZERO));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package settings;
+
+import modules.ModuleA;
+import modules.ModuleB;
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.settings.ModuleRegistry;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.typeresolver.register.Register;
+import org.jetbrains.annotations.TestOnly;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@TestOnly
+public class ModuleRegistryTest {
+
+    @Test
+    public void publishTest() {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        ModuleA moduleA = new ModuleA();
+
+        Assertions.assertNull(moduleRegistry.get(ModuleA.class));
+
+        moduleRegistry.publish(ModuleA.class, moduleA);
+
+        Assertions.assertSame(moduleA, moduleRegistry.get(ModuleA.class));
+        Assertions.assertTrue(moduleRegistry.contains(ModuleA.class));
+        Assertions.assertEquals(1, moduleRegistry.size());
+        Assertions.assertTrue(moduleRegistry.remove(ModuleA.class));
+        Assertions.assertFalse(moduleRegistry.contains(ModuleA.class));
+    }
+
+    @Test
+    public void publishWrongInstanceFailed() {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> moduleRegistry.publish(ModuleA.class, new ModuleB(new ModuleA()))
+        );
+    }
+
+    @Test
+    public void snapshotTest() {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        moduleRegistry.publish(ModuleA.class, new ModuleA());
+
+        Map<Class<? extends Module>, Module> snapshot = moduleRegistry.snapshot();
+        moduleRegistry.publish(ModuleB.class, new ModuleB(new ModuleA()));
+
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(2, moduleRegistry.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(ModuleA.class));
+    }
+
+    @Test
+    public void concurrentPublishTest() throws InterruptedException {
+        ModuleRegistry moduleRegistry = new ModuleRegistry();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    moduleRegistry.publish(ModuleA.class, new ModuleA());
+                    moduleRegistry.publish(ModuleB.class, new ModuleB(new ModuleA()));
+                    Assertions.assertTrue(moduleRegistry.snapshot().size() <= 2);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(2, moduleRegistry.size());
+    }
+
+    @Test
+    public void settingsRegistryTest() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+
+        Assertions.assertSame(moduleSchedulerSettings.getModuleRegistry(), moduleSchedulerSettings.getModuleRegistry());
+        Assertions.assertSame(moduleSchedulerSettings.getOutputRegister(),
+                              moduleSchedulerSettings.getOutputRegister());
+    }
+
+    @Test
+    public void outputRegisterTest() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+        ModuleA moduleA = new ModuleA();
+        ModuleB moduleB = new ModuleB(moduleA);
+        moduleSchedulerSettings.getModuleRegistry().publish(ModuleA.class, moduleA);
+
+        Register register = new Register();
+        moduleSchedulerSettings.setOutputRegister(register);
+        moduleSchedulerSettings.getModuleRegistry().publish(ModuleB.class, moduleB);
+
+        Assertions.assertSame(register, moduleSchedulerSettings.getOutputRegister());
+        Assertions.assertSame(moduleA, register.get(ModuleA.class));
+        Assertions.assertSame(moduleB, register.get(ModuleB.class));
+    }
+}
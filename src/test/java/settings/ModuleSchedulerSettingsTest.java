@@ -23,7 +23,11 @@
 package settings;
 
 import modules.ModuleA;
+import modules.ModuleB;
+import modules.ModuleC;
+import nl.devoxist.modulescheduler.console.AsyncHandler;
 import nl.devoxist.modulescheduler.console.Formatter;
+import nl.devoxist.modulescheduler.console.OverflowPolicy;
 import nl.devoxist.modulescheduler.exception.ModuleException;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
 import nl.devoxist.typeresolver.register.Register;
@@ -33,7 +37,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.logging.ConsoleHandler;
+import java.util.Set;
 import java.util.logging.Handler;
 import java.util.logging.Logger;
 
@@ -97,6 +101,36 @@ public class ModuleSchedulerSettingsTest {
         );
     }
 
+    @Test
+    public void addModulesTest() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+        moduleSchedulerSettings.setResolverParallelism(4);
+
+        moduleSchedulerSettings.addModules(List.of("modules.ModuleA", "modules.ModuleB", "modules.ModuleC"));
+
+        Assertions.assertEquals(
+                Set.of(ModuleA.class, ModuleB.class, ModuleC.class),
+                moduleSchedulerSettings.getModules()
+        );
+    }
+
+    @Test
+    public void addModulesFailed() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+        moduleSchedulerSettings.setResolverParallelism(4);
+
+        ModuleException moduleException = Assertions.assertThrows(
+                ModuleException.class,
+                () -> moduleSchedulerSettings.addModules(
+                        List.of("modules.ModuleA", "modules.Module", "modules.ModuleSchedulerProcess")
+                )
+        );
+
+        Assertions.assertTrue(moduleException.getMessage().startsWith("2 of 3 modules could not be loaded:"));
+        Assertions.assertEquals(2, moduleException.getSuppressed().length);
+        Assertions.assertTrue(moduleSchedulerSettings.getModules().isEmpty());
+    }
+
     @Test
     public void addRegistersTest() {
         ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
@@ -160,7 +194,7 @@ public class ModuleSchedulerSettingsTest {
 
 
         Handler handler = handlerList.get(0);
-        Assertions.assertTrue(handler instanceof ConsoleHandler);
+        Assertions.assertTrue(handler instanceof AsyncHandler);
         Assertions.assertTrue(handler.getFormatter() instanceof Formatter);
     }
 
@@ -174,5 +208,36 @@ public class ModuleSchedulerSettingsTest {
         Assertions.assertEquals(logger, moduleSchedulerSettings.getLogger());
     }
 
+    @Test
+    public void setLoggerClosesDefaultHandlerTest() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+        Logger defaultLogger = moduleSchedulerSettings.getLogger();
+
+        moduleSchedulerSettings.setLogger(Logger.getLogger("TestSettingsLogger"));
+
+        Assertions.assertEquals(0, defaultLogger.getHandlers().length);
+    }
+
+    @Test
+    public void logBufferTest() {
+        ModuleSchedulerSettings moduleSchedulerSettings = new ModuleSchedulerSettings();
+        Assertions.assertEquals(AsyncHandler.DEFAULT_CAPACITY, moduleSchedulerSettings.getLogCapacity());
+        Assertions.assertEquals(OverflowPolicy.DROP, moduleSchedulerSettings.getLogOverflowPolicy());
+
+        moduleSchedulerSettings.setLogOverflowPolicy(OverflowPolicy.BLOCK);
+        moduleSchedulerSettings.setLogCapacity(100);
+
+        Handler[] handlers = moduleSchedulerSettings.getLogger().getHandlers();
+        Assertions.assertEquals(1, handlers.length);
+
+        AsyncHandler asyncHandler = (AsyncHandler) handlers[0];
+        Assertions.assertEquals(128, asyncHandler.getCapacity());
+        Assertions.assertEquals(OverflowPolicy.BLOCK, asyncHandler.getOverflowPolicy());
+        Assertions.assertTrue(asyncHandler.getFormatter() instanceof Formatter);
+        Assertions.assertEquals(100, moduleSchedulerSettings.getLogCapacity());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> moduleSchedulerSettings.setLogCapacity(1));
+    }
+
 
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.ResourceGroup;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.ExecutionPlan;
+import nl.devoxist.modulescheduler.runner.ResourceLimiter;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+public class ExecutionPlanTest {
+
+    private static ExecutionPlan compile(Set<Class<? extends Module>> modules) throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation =
+                new ModuleSchedulerInformation(new ModuleSchedulerSettings());
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+
+        Set<Stage> stages = Staging.stageModules(schedulerInformation);
+        return ExecutionPlan.compile(stages);
+    }
+
+    private static int idOf(ExecutionPlan plan, Class<? extends Module> moduleCls) {
+        for (int id = 0; id < plan.size(); id++) {
+            if (plan.getModule(id).getModule() == moduleCls) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    public void compileTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, ModuleB.class, ModuleC.class));
+
+        Assertions.assertEquals(3, plan.size());
+
+        int a = idOf(plan, ModuleA.class);
+        int b = idOf(plan, ModuleB.class);
+        int c = idOf(plan, ModuleC.class);
+        int[] dependencyCounts = plan.copyDependencyCounts();
+
+        Assertions.assertEquals(0, dependencyCounts[a]);
+        Assertions.assertEquals(1, dependencyCounts[b]);
+        Assertions.assertEquals(1, dependencyCounts[c]);
+        Assertions.assertArrayEquals(new int[]{b, c}, plan.getDependents(a));
+        Assertions.assertTrue(a < b && b < c);
+    }
+
+    @Test
+    public void prioritiesTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, ModuleB.class, ModuleC.class, ModuleD.class));
+
+        long[] costs = new long[plan.size()];
+        costs[idOf(plan, ModuleA.class)] = 10;
+        costs[idOf(plan, ModuleB.class)] = 100;
+        costs[idOf(plan, ModuleC.class)] = 5;
+        costs[idOf(plan, ModuleD.class)] = 20;
+
+        long[] priorities = plan.calculatePriorities(costs);
+
+        Assertions.assertEquals(110, priorities[idOf(plan, ModuleA.class)]);
+        Assertions.assertEquals(100, priorities[idOf(plan, ModuleB.class)]);
+        Assertions.assertEquals(20, priorities[idOf(plan, ModuleD.class)]);
+    }
+
+    @Test
+    public void predictMakespanTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(ModuleA.class, ModuleB.class, ModuleC.class, ModuleD.class));
+
+        long[] costs = new long[plan.size()];
+        costs[idOf(plan, ModuleA.class)] = 10;
+        costs[idOf(plan, ModuleB.class)] = 100;
+        costs[idOf(plan, ModuleC.class)] = 5;
+        costs[idOf(plan, ModuleD.class)] = 20;
+
+        long[] priorities = plan.calculatePriorities(costs);
+
+        Assertions.assertEquals(135, plan.predictMakespan(costs, priorities, 1));
+        Assertions.assertEquals(110, plan.predictMakespan(costs, priorities, 2));
+    }
+
+    @Test
+    public void duplicateResourceGroupTest() throws InterruptedException {
+        ExecutionPlan plan = compile(Set.of(DuplicateGroupModule.class, GroupModuleA.class, GroupModuleB.class));
+        ResourceLimiter resourceLimiter = new ResourceLimiter(plan, Map.of());
+
+        Assertions.assertTrue(resourceLimiter.tryAcquire(idOf(plan, DuplicateGroupModule.class)));
+        Assertions.assertTrue(resourceLimiter.tryAcquire(idOf(plan, GroupModuleA.class)));
+        Assertions.assertFalse(resourceLimiter.tryAcquire(idOf(plan, GroupModuleB.class)));
+
+        resourceLimiter.release(idOf(plan, DuplicateGroupModule.class));
+        Assertions.assertTrue(resourceLimiter.tryAcquire(idOf(plan, GroupModuleB.class)));
+        Assertions.assertFalse(resourceLimiter.tryAcquire(idOf(plan, DuplicateGroupModule.class)));
+    }
+
+    @ResourceGroup(value = "database", permits = 2)
+    @ResourceGroup(value = "database", permits = 2)
+    public static class DuplicateGroupModule implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @ResourceGroup(value = "database", permits = 2)
+    public static class GroupModuleA implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @ResourceGroup(value = "database", permits = 2)
+    public static class GroupModuleB implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    public static class ModuleA implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency(ModuleA.class)
+    public static class ModuleB implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency(ModuleA.class)
+    public static class ModuleC implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    public static class ModuleD implements Module {
+
+        @Override
+        public void onExecute() {
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.Lazy;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.LazyModuleLoader;
+import nl.devoxist.modulescheduler.runner.StageRunner;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class LazyModuleTest {
+
+    private static final AtomicInteger LAZY_CONSTRUCTIONS = new AtomicInteger();
+    private static final AtomicReference<Module> RUNTIME_LOOKUP = new AtomicReference<>();
+    private static volatile ModuleSchedulerSettings lookupSettings;
+
+    private static Set<Stage> stage(ModuleSchedulerSettings schedulerSettings, Set<Class<? extends Module>> modules)
+            throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation = new ModuleSchedulerInformation(schedulerSettings);
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+        return Staging.stageModules(schedulerInformation);
+    }
+
+    private static Set<Class<? extends Module>> modulesOf(Set<Stage> stages) {
+        Set<Class<? extends Module>> modules = new HashSet<>();
+        for (Stage stage : stages) {
+            modules.add(stage.moduleInformation().getModule());
+        }
+        return modules;
+    }
+
+    @Test
+    public void lazyModuleTest() throws ExecutionException, InterruptedException {
+        LAZY_CONSTRUCTIONS.set(0);
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Map<Class<? extends Module>, Module> constructedModules = new ConcurrentHashMap<>();
+        LazyModuleLoader lazyModuleLoader =
+                new LazyModuleLoader(schedulerSettings, new LazyScheduler(), constructedModules);
+        schedulerSettings.getModuleRegistry().setLazyLoader(lazyModuleLoader);
+
+        Set<Stage> stages = stage(schedulerSettings, Set.of(
+                EagerModule.class,
+                LazyBaseModule.class,
+                LazyServiceModule.class,
+                NeededLazyModule.class,
+                EagerDependentModule.class
+        ));
+        Set<Stage> eagerStages = lazyModuleLoader.defer(stages);
+
+        Assertions.assertEquals(
+                Set.of(EagerModule.class, NeededLazyModule.class, EagerDependentModule.class),
+                modulesOf(eagerStages)
+        );
+        Assertions.assertTrue(lazyModuleLoader.isDeferred(LazyServiceModule.class));
+        Assertions.assertFalse(lazyModuleLoader.isDeferred(NeededLazyModule.class));
+
+        StageRunner.runStages(schedulerSettings, new LazyScheduler(), eagerStages, constructedModules).get();
+
+        Assertions.assertEquals(0, LAZY_CONSTRUCTIONS.get());
+        Assertions.assertFalse(schedulerSettings.getModuleRegistry().contains(LazyServiceModule.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<LazyServiceModule>> lookups = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                lookups.add(executor.submit(
+                        () -> schedulerSettings.getModuleRegistry().get(LazyServiceModule.class)
+                ));
+            }
+
+            LazyServiceModule lazyServiceModule = lookups.get(0).get();
+            Assertions.assertNotNull(lazyServiceModule);
+            for (Future<LazyServiceModule> lookup : lookups) {
+                Assertions.assertSame(lazyServiceModule, lookup.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(2, LAZY_CONSTRUCTIONS.get());
+        Assertions.assertTrue(schedulerSettings.getModuleRegistry().contains(LazyBaseModule.class));
+        Assertions.assertEquals(stages.size(), lazyModuleLoader.removeUnloaded(stages).size());
+        Assertions.assertNull(schedulerSettings.getModuleRegistry().get(UnknownModule.class));
+    }
+
+    @Test
+    public void nestedLazyLookupTest() throws ExecutionException, InterruptedException, TimeoutException {
+        RUNTIME_LOOKUP.set(null);
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Map<Class<? extends Module>, Module> constructedModules = new ConcurrentHashMap<>();
+        LazyModuleLoader lazyModuleLoader =
+                new LazyModuleLoader(schedulerSettings, new LazyScheduler(), constructedModules);
+        schedulerSettings.getModuleRegistry().setLazyLoader(lazyModuleLoader);
+        lookupSettings = schedulerSettings;
+
+        Set<Stage> eagerStages = lazyModuleLoader.defer(stage(schedulerSettings, Set.of(
+                EagerModule.class,
+                LazyBaseModule.class,
+                LookingUpLazyModule.class
+        )));
+        StageRunner.runStages(schedulerSettings, new LazyScheduler(), eagerStages, constructedModules).get();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LookingUpLazyModule lookingUpLazyModule = executor.submit(
+                    () -> schedulerSettings.getModuleRegistry().get(LookingUpLazyModule.class)
+            ).get(10, TimeUnit.SECONDS);
+
+            Assertions.assertNotNull(lookingUpLazyModule);
+            Assertions.assertNotNull(RUNTIME_LOOKUP.get());
+            Assertions.assertSame(
+                    schedulerSettings.getModuleRegistry().get(LazyBaseModule.class),
+                    RUNTIME_LOOKUP.get()
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static class LazyScheduler implements ModuleScheduler {
+        @Override
+        public void updateSettings(ModuleSchedulerSettings settings) {
+
+        }
+
+        @Override
+        public void beforeModuleExecute(Module module) {
+
+        }
+
+        @Override
+        public void afterModuleExecute(Module module) {
+
+        }
+    }
+
+    public static class EagerModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Lazy
+    public static class LazyBaseModule implements Module {
+        public LazyBaseModule(EagerModule eagerModule) {
+            LAZY_CONSTRUCTIONS.incrementAndGet();
+        }
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Lazy
+    public static class LazyServiceModule implements Module {
+        public LazyServiceModule(LazyBaseModule lazyBaseModule) {
+            LAZY_CONSTRUCTIONS.incrementAndGet();
+        }
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Lazy
+    public static class LookingUpLazyModule implements Module {
+        @Override
+        public void onExecute() {
+            RUNTIME_LOOKUP.set(lookupSettings.getModuleRegistry().get(LazyBaseModule.class));
+        }
+    }
+
+    @Lazy
+    public static class NeededLazyModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(NeededLazyModule.class)
+    public static class EagerDependentModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    public static class UnknownModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+}
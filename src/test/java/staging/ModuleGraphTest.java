@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import modules.ModuleA;
+import modules.ModuleB;
+import modules.ModuleC;
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.Scheduler;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.SoftDependency;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.ModuleGraph;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Handler;
+
+public class ModuleGraphTest {
+
+    @Test
+    public void addModulesTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class));
+        Assertions.assertEquals(0, moduleGraph.getStageNumber(ModuleA.class));
+
+        Set<Stage> stages = moduleGraph.addModules(List.of(ModuleC.class, ModuleB.class));
+
+        Assertions.assertEquals(2, stages.size());
+        Assertions.assertEquals(1, moduleGraph.getStageNumber(ModuleA.class));
+        Assertions.assertEquals(2, moduleGraph.getStageNumber(ModuleB.class));
+        Assertions.assertEquals(3, moduleGraph.getStageNumber(ModuleC.class));
+        Assertions.assertEquals(
+                createGraph(List.of(ModuleA.class, ModuleB.class, ModuleC.class)).getStages(),
+                moduleGraph.getStages()
+        );
+    }
+
+    @Test
+    public void addPresentModuleTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class));
+
+        Assertions.assertTrue(moduleGraph.addModules(List.of(ModuleA.class)).isEmpty());
+    }
+
+    @Test
+    public void removeModulesTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class, ModuleB.class, ModuleC.class));
+
+        Set<Class<? extends Module>> removed = moduleGraph.removeModules(List.of(ModuleB.class));
+
+        Assertions.assertEquals(Set.of(ModuleB.class, ModuleC.class), removed);
+        Assertions.assertEquals(-1, moduleGraph.getStageNumber(ModuleC.class));
+        Assertions.assertEquals(0, moduleGraph.getStageNumber(ModuleA.class));
+        Assertions.assertEquals(1, moduleGraph.getStages().size());
+    }
+
+    @Test
+    public void removeSoftDependencyTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class, ModuleB.class, SoftModule.class));
+        Assertions.assertEquals(3, moduleGraph.getStageNumber(SoftModule.class));
+
+        Set<Class<? extends Module>> removed = moduleGraph.removeModules(List.of(ModuleB.class));
+
+        Assertions.assertEquals(Set.of(ModuleB.class), removed);
+        Assertions.assertEquals(1, moduleGraph.getStageNumber(ModuleA.class));
+        Assertions.assertEquals(2, moduleGraph.getStageNumber(SoftModule.class));
+        Assertions.assertEquals(
+                createGraph(List.of(ModuleA.class, SoftModule.class)).getStages(),
+                moduleGraph.getStages()
+        );
+    }
+
+    @Test
+    public void addCycleTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class));
+
+        Assertions.assertThrows(
+                ModuleException.class,
+                () -> moduleGraph.addModules(List.of(CycleModuleA.class, CycleModuleB.class))
+        );
+        Assertions.assertEquals(-1, moduleGraph.getStageNumber(CycleModuleA.class));
+        Assertions.assertEquals(1, moduleGraph.getStages().size());
+    }
+
+    @Test
+    public void affectedStagesTest() throws InterruptedException {
+        ModuleGraph moduleGraph = createGraph(List.of(ModuleA.class, ModuleB.class, ModuleC.class));
+
+        Set<Stage> stages = moduleGraph.getAffectedStages(List.of(ModuleB.class));
+
+        Assertions.assertEquals(
+                List.of(ModuleB.class, ModuleC.class),
+                stages.stream().map(stage -> stage.moduleInformation().getModule()).toList()
+        );
+    }
+
+    @Test
+    public void schedulerRerunModulesTest() throws ExecutionException, InterruptedException {
+        List<Module> executed = new ArrayList<>();
+        Scheduler scheduler = new Scheduler(new ModuleScheduler() {
+            @Override
+            public void updateSettings(@NotNull ModuleSchedulerSettings settings) {
+                settings.addModule(ModuleA.class);
+                settings.addModule(ModuleB.class);
+                settings.addModule(ModuleC.class);
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+                executed.add(module);
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        });
+
+        Assertions.assertEquals(3, scheduler.getRunReport().get().getModuleReports().size());
+
+        RunReport runReport = scheduler.rerunModules(List.of(ModuleB.class)).get();
+
+        Assertions.assertEquals(
+                List.of(ModuleB.class, ModuleC.class),
+                runReport.getModuleReports().stream().map(ModuleReport::module).toList()
+        );
+        Assertions.assertEquals(5, executed.size());
+        Assertions.assertNotSame(executed.get(1), executed.get(3));
+    }
+
+    @Test
+    public void schedulerAddModulesTest() throws ExecutionException, InterruptedException {
+        Scheduler scheduler = new Scheduler(new ModuleScheduler() {
+            @Override
+            public void updateSettings(@NotNull ModuleSchedulerSettings settings) {
+                settings.addModule(ModuleA.class);
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        });
+
+        Assertions.assertEquals(1, scheduler.getRunReport().get().getModuleReports().size());
+
+        RunReport runReport = scheduler.addModules(List.of(ModuleB.class, ModuleC.class)).get();
+
+        Assertions.assertEquals(
+                List.of(ModuleB.class, ModuleC.class),
+                runReport.getModuleReports().stream().map(ModuleReport::module).toList()
+        );
+        Assertions.assertEquals(Set.of(ModuleC.class), scheduler.removeModules(List.of(ModuleC.class)).get());
+    }
+
+    private static @NotNull ModuleGraph createGraph(@NotNull List<Class<? extends Module>> modules)
+            throws InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        ModuleSchedulerInformation schedulerInformation = new ModuleSchedulerInformation(schedulerSettings);
+
+        for (Handler handler : schedulerSettings.getLogger().getHandlers()) {
+            schedulerSettings.getLogger().removeHandler(handler);
+        }
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(Set.copyOf(modules));
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+
+        return new ModuleGraph(
+                schedulerInformation,
+                moduleInformationMap,
+                Staging.stageModules(schedulerInformation)
+        );
+    }
+
+    @Dependency(ModuleA.class)
+    @SoftDependency(ModuleB.class)
+    public static class SoftModule implements Module {
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(CycleModuleB.class)
+    public static class CycleModuleA implements Module {
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(CycleModuleA.class)
+    public static class CycleModuleB implements Module {
+
+        @Override
+        public void onExecute() {
+
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.exception.ModuleException;
+import nl.devoxist.modulescheduler.lifecycle.PhasedModule;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.runner.StageRunner;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+public class PhasedModuleTest {
+
+    private static final List<String> PHASES = new CopyOnWriteArrayList<>();
+    private static final CountDownLatch DEPENDENT_INITIALIZED = new CountDownLatch(1);
+    private static volatile boolean overlapped;
+
+    private static Set<Stage> stage(ModuleSchedulerSettings schedulerSettings, Set<Class<? extends Module>> modules)
+            throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation = new ModuleSchedulerInformation(schedulerSettings);
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+        return Staging.stageModules(schedulerInformation);
+    }
+
+    private static void assertBefore(String first, String second) {
+        Assertions.assertTrue(
+                PHASES.indexOf(first) < PHASES.indexOf(second),
+                "%s must be before %s in %s".formatted(first, second, PHASES)
+        );
+    }
+
+    @Test
+    public void phasePipelineTest() throws ExecutionException, InterruptedException, TimeoutException {
+        PHASES.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setParallelism(4);
+        Set<Stage> stages = stage(schedulerSettings, Set.of(
+                WarmupModule.class,
+                DependentModule.class,
+                PlainDependentModule.class
+        ));
+
+        RunReport runReport = StageRunner.runStages(schedulerSettings, new PhasedScheduler(), stages)
+                .get(30, TimeUnit.SECONDS);
+
+        Assertions.assertTrue(overlapped);
+        Assertions.assertEquals(3, runReport.getModuleReports().size());
+        Assertions.assertEquals(7, PHASES.size());
+        assertBefore("WarmupModule.start", "DependentModule.init");
+        assertBefore("DependentModule.init", "WarmupModule.warmup");
+        assertBefore("WarmupModule.warmup", "DependentModule.start");
+        assertBefore("DependentModule.warmup", "PlainDependentModule.start");
+    }
+
+    @Test
+    public void phaseFailureTest() throws InterruptedException {
+        PHASES.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setParallelism(2);
+        Set<Stage> stages = stage(schedulerSettings, Set.of(FailingWarmupModule.class, WaitingModule.class));
+
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> StageRunner.runStages(schedulerSettings, new PhasedScheduler(), stages)
+                        .get(30, TimeUnit.SECONDS)
+        );
+
+        Assertions.assertInstanceOf(ModuleException.class, exception.getCause());
+        Assertions.assertFalse(PHASES.contains("WaitingModule.start"));
+    }
+
+    public static class PhasedScheduler implements ModuleScheduler {
+        @Override
+        public void updateSettings(ModuleSchedulerSettings settings) {
+
+        }
+
+        @Override
+        public void beforeModuleExecute(Module module) {
+
+        }
+
+        @Override
+        public void afterModuleExecute(Module module) {
+
+        }
+    }
+
+    public static class WarmupModule implements PhasedModule {
+        @Override
+        public void onInit() {
+            PHASES.add("WarmupModule.init");
+        }
+
+        @Override
+        public void onExecute() {
+            PHASES.add("WarmupModule.start");
+        }
+
+        @Override
+        public void onWarmup() {
+            try {
+                overlapped = DEPENDENT_INITIALIZED.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            PHASES.add("WarmupModule.warmup");
+        }
+    }
+
+    public static class DependentModule implements PhasedModule {
+        public DependentModule(WarmupModule warmupModule) {
+        }
+
+        @Override
+        public void onInit() {
+            PHASES.add("DependentModule.init");
+            DEPENDENT_INITIALIZED.countDown();
+        }
+
+        @Override
+        public void onExecute() {
+            PHASES.add("DependentModule.start");
+        }
+
+        @Override
+        public void onWarmup() {
+            PHASES.add("DependentModule.warmup");
+        }
+    }
+
+    @Dependency(DependentModule.class)
+    public static class PlainDependentModule implements Module {
+        @Override
+        public void onExecute() {
+            PHASES.add("PlainDependentModule.start");
+        }
+    }
+
+    public static class FailingWarmupModule implements PhasedModule {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void onWarmup() {
+            throw new IllegalStateException("The warmup failed.");
+        }
+    }
+
+    @Dependency(FailingWarmupModule.class)
+    public static class WaitingModule implements Module {
+        @Override
+        public void onExecute() {
+            PHASES.add("WaitingModule.start");
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.resolvers.ModuleInformationResolver;
+import nl.devoxist.modulescheduler.runner.RecurringRunner;
+import nl.devoxist.modulescheduler.runner.RunReport;
+import nl.devoxist.modulescheduler.schedule.OverlapPolicy;
+import nl.devoxist.modulescheduler.schedule.TickSchedule;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+public class RecurringRunnerTest {
+
+    private static final AtomicInteger TICK_EXECUTIONS = new AtomicInteger();
+    private static final AtomicInteger SLOW_EXECUTIONS = new AtomicInteger();
+    private static final AtomicInteger TICK_CLOSES = new AtomicInteger();
+
+    private static Set<Stage> stagesOf(Class<? extends Module> first, Class<? extends Module> second) {
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(first, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(second, moduleInformationMap)));
+        return stages;
+    }
+
+    @Test
+    public void recurringRunnerFixedRateTest() throws InterruptedException {
+        TICK_EXECUTIONS.set(0);
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Map<Class<? extends Module>, Module> constructedModules = new ConcurrentHashMap<>();
+        CountDownLatch ticks = new CountDownLatch(3);
+        List<RunReport> reports = Collections.synchronizedList(new ArrayList<>());
+
+        try (RecurringRunner recurringRunner = RecurringRunner.start(
+                schedulerSettings,
+                new TickScheduler() {
+                    @Override
+                    public void onTickReport(RunReport runReport) {
+                        reports.add(runReport);
+                        ticks.countDown();
+                    }
+                },
+                stagesOf(TickModuleA.class, TickModuleB.class),
+                constructedModules,
+                TickSchedule.fixedRate(Duration.ofMillis(20)),
+                OverlapPolicy.SKIP
+        )) {
+            Assertions.assertTrue(ticks.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(recurringRunner.getCompletedTicks() >= 3);
+            Assertions.assertEquals(0, recurringRunner.getFailedTicks());
+            Assertions.assertNotNull(recurringRunner.getLastReport());
+        }
+
+        Assertions.assertTrue(TICK_EXECUTIONS.get() >= 6);
+        Assertions.assertEquals(2, reports.get(0).getModuleReports().size());
+        Assertions.assertInstanceOf(TickModuleB.class, constructedModules.get(TickModuleB.class));
+        Assertions.assertNotNull(schedulerSettings.getModuleRegistry().get(TickModuleB.class));
+
+        int executions = TICK_EXECUTIONS.get();
+        Thread.sleep(100);
+        Assertions.assertEquals(executions, TICK_EXECUTIONS.get());
+    }
+
+    @Test
+    public void recurringRunnerCloseReplacedTest() throws InterruptedException {
+        TICK_CLOSES.set(0);
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        CountDownLatch ticks = new CountDownLatch(3);
+
+        RecurringRunner recurringRunner = RecurringRunner.start(
+                schedulerSettings,
+                new TickScheduler() {
+                    @Override
+                    public void onTickReport(RunReport runReport) {
+                        ticks.countDown();
+                    }
+                },
+                stagesOf(TickModuleA.class, ClosingTickModule.class),
+                new ConcurrentHashMap<>(),
+                TickSchedule.fixedRate(Duration.ofMillis(20)),
+                OverlapPolicy.SKIP
+        );
+        Assertions.assertTrue(ticks.await(5, TimeUnit.SECONDS));
+        recurringRunner.close();
+
+        Assertions.assertEquals(recurringRunner.getCompletedTicks() - 1, TICK_CLOSES.get());
+    }
+
+    @Test
+    public void recurringRunnerSkipTest() throws InterruptedException {
+        SLOW_EXECUTIONS.set(0);
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+
+        RecurringRunner recurringRunner = RecurringRunner.start(
+                schedulerSettings,
+                new TickScheduler(),
+                stagesOf(TickModuleA.class, SlowTickModule.class),
+                new ConcurrentHashMap<>(),
+                TickSchedule.fixedRate(Duration.ofMillis(10)),
+                OverlapPolicy.SKIP
+        );
+        Thread.sleep(400);
+        recurringRunner.close();
+
+        Assertions.assertTrue(recurringRunner.getSkippedTicks() > 0);
+        Assertions.assertEquals(SLOW_EXECUTIONS.get(), recurringRunner.getCompletedTicks());
+        Assertions.assertTrue(recurringRunner.getCompletedTicks() < 20);
+    }
+
+    @Test
+    public void recurringRunnerFailureTest() throws InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.getLogger().setLevel(Level.OFF);
+
+        try (RecurringRunner recurringRunner = RecurringRunner.start(
+                schedulerSettings,
+                new TickScheduler(),
+                stagesOf(TickModuleA.class, FailingTickModule.class),
+                new ConcurrentHashMap<>(),
+                TickSchedule.fixedRate(Duration.ofMillis(20)),
+                OverlapPolicy.QUEUE
+        )) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (recurringRunner.getFailedTicks() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertTrue(recurringRunner.getFailedTicks() >= 2);
+            Assertions.assertEquals(0, recurringRunner.getCompletedTicks());
+        }
+    }
+
+    public static class TickScheduler implements ModuleScheduler {
+        @Override
+        public void updateSettings(ModuleSchedulerSettings settings) {
+
+        }
+
+        @Override
+        public void beforeModuleExecute(Module module) {
+
+        }
+
+        @Override
+        public void afterModuleExecute(Module module) {
+
+        }
+    }
+
+    public static class TickModuleA implements Module {
+        @Override
+        public void onExecute() {
+            TICK_EXECUTIONS.incrementAndGet();
+        }
+    }
+
+    @Dependency(TickModuleA.class)
+    public static class TickModuleB implements Module {
+        public TickModuleB(TickModuleA tickModuleA) {
+        }
+
+        @Override
+        public void onExecute() {
+            TICK_EXECUTIONS.incrementAndGet();
+        }
+    }
+
+    @Dependency(TickModuleA.class)
+    public static class SlowTickModule implements Module {
+        public SlowTickModule(TickModuleA tickModuleA) {
+        }
+
+        @Override
+        public void onExecute() {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            SLOW_EXECUTIONS.incrementAndGet();
+        }
+    }
+
+    @Dependency(TickModuleA.class)
+    public static class ClosingTickModule implements Module, AutoCloseable {
+        public ClosingTickModule(TickModuleA tickModuleA) {
+        }
+
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            TICK_CLOSES.incrementAndGet();
+        }
+    }
+
+    @Dependency(TickModuleA.class)
+    public static class FailingTickModule implements Module {
+        public FailingTickModule(TickModuleA tickModuleA) {
+        }
+
+        @Override
+        public void onExecute() {
+            throw new IllegalStateException("The tick failed.");
+        }
+    }
+}
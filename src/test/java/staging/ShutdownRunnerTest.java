@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2023 Devoxist, Dev-Bjorn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package staging;
+
+import nl.devoxist.modulescheduler.Module;
+import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.Scheduler;
+import nl.devoxist.modulescheduler.annotation.CloseTimeout;
+import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.resolvers.DependencyResolver;
+import nl.devoxist.modulescheduler.runner.CloseReport;
+import nl.devoxist.modulescheduler.runner.CloseStatus;
+import nl.devoxist.modulescheduler.runner.ShutdownReport;
+import nl.devoxist.modulescheduler.runner.ShutdownRunner;
+import nl.devoxist.modulescheduler.settings.ModuleInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerInformation;
+import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
+import nl.devoxist.modulescheduler.stage.Stage;
+import nl.devoxist.modulescheduler.stage.Staging;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+public class ShutdownRunnerTest {
+
+    private static final List<Class<? extends Module>> CLOSE_ORDER = new CopyOnWriteArrayList<>();
+    private static final CountDownLatch PARALLEL_CLOSES = new CountDownLatch(2);
+    private static final CountDownLatch STUCK_RELEASE = new CountDownLatch(1);
+    private static final List<Module> REPLACED_CLOSES = new CopyOnWriteArrayList<>();
+    private static final List<Class<? extends Module>> CHAIN_CLOSES = new CopyOnWriteArrayList<>();
+
+    private static Set<Stage> stage(ModuleSchedulerSettings schedulerSettings, Set<Class<? extends Module>> modules)
+            throws InterruptedException {
+        ModuleSchedulerInformation schedulerInformation = new ModuleSchedulerInformation(schedulerSettings);
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                DependencyResolver.resolveDependencies(modules);
+        schedulerInformation.setModuleInformationMap(moduleInformationMap);
+        return Staging.stageModules(schedulerInformation);
+    }
+
+    private static Map<Class<? extends Module>, CloseReport> byModule(ShutdownReport shutdownReport) {
+        Map<Class<? extends Module>, CloseReport> closeReports = new HashMap<>();
+        for (CloseReport closeReport : shutdownReport.getCloseReports()) {
+            closeReports.put(closeReport.module(), closeReport);
+        }
+        return closeReports;
+    }
+
+    @Test
+    public void reverseOrderTest() throws InterruptedException {
+        CLOSE_ORDER.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Set<Stage> stages = stage(schedulerSettings, Set.of(
+                ResourceModule.class,
+                FirstServiceModule.class,
+                SecondServiceModule.class,
+                PlainModule.class
+        ));
+
+        Map<Class<? extends Module>, Module> constructedModules = new HashMap<>();
+        constructedModules.put(ResourceModule.class, new ResourceModule());
+        constructedModules.put(FirstServiceModule.class, new FirstServiceModule());
+        constructedModules.put(SecondServiceModule.class, new SecondServiceModule());
+        constructedModules.put(PlainModule.class, new PlainModule());
+
+        ShutdownReport shutdownReport = ShutdownRunner.closeModules(schedulerSettings, stages, constructedModules);
+
+        Assertions.assertTrue(shutdownReport.isClean());
+        Assertions.assertEquals(3, shutdownReport.getCloseReports().size());
+        Assertions.assertEquals(3, CLOSE_ORDER.size());
+        Assertions.assertEquals(ResourceModule.class, CLOSE_ORDER.get(2));
+        Assertions.assertEquals(0, PARALLEL_CLOSES.getCount());
+    }
+
+    @Test
+    public void timeoutTest() throws InterruptedException {
+        CLOSE_ORDER.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.getLogger().setLevel(Level.OFF);
+        Set<Stage> stages = stage(schedulerSettings, Set.of(
+                ResourceModule.class,
+                StuckModule.class,
+                FailingModule.class,
+                ErrorModule.class
+        ));
+
+        Map<Class<? extends Module>, Module> constructedModules = new HashMap<>();
+        constructedModules.put(ResourceModule.class, new ResourceModule());
+        constructedModules.put(StuckModule.class, new StuckModule());
+        constructedModules.put(FailingModule.class, new FailingModule());
+        constructedModules.put(ErrorModule.class, new ErrorModule());
+
+        try {
+            ShutdownReport shutdownReport = ShutdownRunner.closeModules(schedulerSettings, stages, constructedModules);
+            Map<Class<? extends Module>, CloseReport> closeReports = byModule(shutdownReport);
+
+            Assertions.assertFalse(shutdownReport.isClean());
+            Assertions.assertEquals(CloseStatus.TIMED_OUT, closeReports.get(StuckModule.class).status());
+            Assertions.assertEquals(CloseStatus.FAILED, closeReports.get(FailingModule.class).status());
+            Assertions.assertInstanceOf(
+                    IllegalStateException.class,
+                    closeReports.get(FailingModule.class).failure()
+            );
+            Assertions.assertEquals(CloseStatus.FAILED, closeReports.get(ErrorModule.class).status());
+            Assertions.assertInstanceOf(AssertionError.class, closeReports.get(ErrorModule.class).failure());
+            Assertions.assertEquals(CloseStatus.CLOSED, closeReports.get(ResourceModule.class).status());
+            Assertions.assertEquals(List.of(ResourceModule.class), CLOSE_ORDER);
+        } finally {
+            STUCK_RELEASE.countDown();
+        }
+    }
+
+    @Test
+    public void invalidTimeoutTest() throws InterruptedException {
+        CLOSE_ORDER.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.getLogger().setLevel(Level.OFF);
+        Set<Stage> stages = stage(schedulerSettings, Set.of(ResourceModule.class, InvalidTimeoutModule.class));
+
+        Map<Class<? extends Module>, Module> constructedModules = new HashMap<>();
+        constructedModules.put(ResourceModule.class, new ResourceModule());
+        constructedModules.put(InvalidTimeoutModule.class, new InvalidTimeoutModule());
+
+        ShutdownReport shutdownReport = ShutdownRunner.closeModules(schedulerSettings, stages, constructedModules);
+
+        Assertions.assertTrue(shutdownReport.isClean());
+        Assertions.assertEquals(List.of(InvalidTimeoutModule.class, ResourceModule.class), CLOSE_ORDER);
+    }
+
+    @Test
+    public void schedulerReplacedModulesTest() throws ExecutionException, InterruptedException {
+        REPLACED_CLOSES.clear();
+        Scheduler scheduler = new Scheduler(new ModuleScheduler() {
+            @Override
+            public void updateSettings(@NotNull ModuleSchedulerSettings settings) {
+                settings.addModule(ReplacedModule.class);
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        });
+        scheduler.getRunReport().get();
+
+        scheduler.rerunModules(List.of(ReplacedModule.class)).get();
+        Assertions.assertEquals(1, REPLACED_CLOSES.size());
+
+        scheduler.removeModules(List.of(ReplacedModule.class)).get();
+        Assertions.assertEquals(2, REPLACED_CLOSES.size());
+        Assertions.assertNotSame(REPLACED_CLOSES.get(0), REPLACED_CLOSES.get(1));
+    }
+
+    @Test
+    public void replacedChainOrderTest() throws InterruptedException {
+        CHAIN_CLOSES.clear();
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Set<Stage> stages = stage(schedulerSettings, Set.of(
+                ChainBaseModule.class,
+                ChainMiddleModule.class,
+                ChainTopModule.class
+        ));
+
+        Map<Class<? extends Module>, Module> previousModules = new HashMap<>();
+        previousModules.put(ChainBaseModule.class, new ChainBaseModule());
+        previousModules.put(ChainMiddleModule.class, new ChainMiddleModule());
+        previousModules.put(ChainTopModule.class, new ChainTopModule());
+
+        Map<Class<? extends Module>, Module> constructedModules = new HashMap<>();
+        constructedModules.put(ChainBaseModule.class, new ChainBaseModule());
+        constructedModules.put(ChainMiddleModule.class, new ChainMiddleModule());
+        constructedModules.put(ChainTopModule.class, new ChainTopModule());
+
+        ShutdownReport shutdownReport = ShutdownRunner.closeReplacedModules(
+                schedulerSettings,
+                stages,
+                previousModules,
+                constructedModules
+        );
+
+        Assertions.assertTrue(shutdownReport.isClean());
+        Assertions.assertEquals(List.of(ChainTopModule.class, ChainBaseModule.class), CHAIN_CLOSES);
+    }
+
+    public static class ChainBaseModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            CHAIN_CLOSES.add(ChainBaseModule.class);
+        }
+    }
+
+    @Dependency(ChainBaseModule.class)
+    public static class ChainMiddleModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @Dependency(ChainMiddleModule.class)
+    public static class ChainTopModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CHAIN_CLOSES.add(ChainTopModule.class);
+        }
+    }
+
+    @CloseTimeout(5000)
+    @Dependency(ResourceModule.class)
+    public static class ErrorModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError("The module cannot be closed.");
+        }
+    }
+
+    @CloseTimeout(0)
+    @Dependency(ResourceModule.class)
+    public static class InvalidTimeoutModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            CLOSE_ORDER.add(InvalidTimeoutModule.class);
+        }
+    }
+
+    public static class ReplacedModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            REPLACED_CLOSES.add(this);
+        }
+    }
+
+    public static class ResourceModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            CLOSE_ORDER.add(ResourceModule.class);
+        }
+    }
+
+    @Dependency(ResourceModule.class)
+    public static class FirstServiceModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            PARALLEL_CLOSES.countDown();
+            try {
+                PARALLEL_CLOSES.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CLOSE_ORDER.add(FirstServiceModule.class);
+        }
+    }
+
+    @Dependency(ResourceModule.class)
+    public static class SecondServiceModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            PARALLEL_CLOSES.countDown();
+            try {
+                PARALLEL_CLOSES.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            CLOSE_ORDER.add(SecondServiceModule.class);
+        }
+    }
+
+    @Dependency(ResourceModule.class)
+    public static class PlainModule implements Module {
+        @Override
+        public void onExecute() {
+
+        }
+    }
+
+    @CloseTimeout(50)
+    @Dependency(ResourceModule.class)
+    public static class StuckModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            try {
+                STUCK_RELEASE.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Dependency(ResourceModule.class)
+    public static class FailingModule implements Module, AutoCloseable {
+        @Override
+        public void onExecute() {
+
+        }
+
+        @Override
+        public void close() {
+            throw new IllegalStateException("The module cannot be closed.");
+        }
+    }
+}
@@ -24,20 +24,43 @@ package staging;
 
 import nl.devoxist.modulescheduler.Module;
 import nl.devoxist.modulescheduler.ModuleScheduler;
+import nl.devoxist.modulescheduler.annotation.Cacheable;
+import nl.devoxist.modulescheduler.annotation.Checkpoint;
 import nl.devoxist.modulescheduler.annotation.Dependency;
+import nl.devoxist.modulescheduler.annotation.Execution;
+import nl.devoxist.modulescheduler.annotation.ExecutionClass;
+import nl.devoxist.modulescheduler.annotation.ResourceGroup;
+import nl.devoxist.modulescheduler.annotation.Streaming;
+import nl.devoxist.modulescheduler.cache.ModuleCodec;
+import nl.devoxist.modulescheduler.channel.ModuleChannel;
+import nl.devoxist.modulescheduler.channel.StreamingModule;
+import nl.devoxist.modulescheduler.exception.ModuleException;
 import nl.devoxist.modulescheduler.resolvers.ModuleInformationResolver;
+import nl.devoxist.modulescheduler.runner.ModuleReport;
+import nl.devoxist.modulescheduler.runner.RunReport;
 import nl.devoxist.modulescheduler.runner.StageRunner;
 import nl.devoxist.modulescheduler.settings.ModuleInformation;
 import nl.devoxist.modulescheduler.settings.ModuleSchedulerSettings;
 import nl.devoxist.modulescheduler.stage.Stage;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-
-import java.util.Comparator;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StagingRunnerTest {
 
@@ -198,6 +221,492 @@ public class StagingRunnerTest {
         }, stages);
     }
 
+    @Test
+    public void stageRunnerParallelTest() throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setParallelism(2);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        ModuleInformation<?> moduleInformationA = ModuleInformationResolver.resolveInformation(
+                ModuleA.class,
+                moduleInformationMap
+        );
+
+        ModuleInformation<?> moduleInformationB = ModuleInformationResolver.resolveInformation(
+                ModuleB.class,
+                moduleInformationMap
+        );
+
+        ModuleInformation<?> moduleInformationC = ModuleInformationResolver.resolveInformation(
+                ModuleC.class,
+                moduleInformationMap
+        );
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(1, moduleInformationA));
+        stages.add(new Stage(2, moduleInformationB));
+        stages.add(new Stage(3, moduleInformationC));
+
+        List<Class<?>> executed = Collections.synchronizedList(new ArrayList<>());
+
+        RunReport runReport = StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+                executed.add(module.getClass());
+            }
+        }, stages).get();
+
+        Assertions.assertEquals(List.of(ModuleA.class, ModuleB.class, ModuleC.class), executed);
+        Assertions.assertEquals(3, runReport.getModuleReports().size());
+        Assertions.assertEquals(-1, runReport.getPredictedMakespanNanos());
+    }
+
+    @Test
+    public void stageRunnerResourceAccountingTest() throws ExecutionException, InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        boolean cpuTimeEnabled = threadMXBean.isThreadCpuTimeEnabled();
+        threadMXBean.setThreadCpuTimeEnabled(false);
+
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setResourceAccounting(true);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        ModuleInformation<?> moduleInformationA = ModuleInformationResolver.resolveInformation(
+                ModuleA.class,
+                moduleInformationMap
+        );
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, moduleInformationA));
+
+        List<ModuleReport> listenedReports = Collections.synchronizedList(new ArrayList<>());
+
+        RunReport runReport = StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+
+            @Override
+            public void onModuleReport(ModuleReport moduleReport) {
+                listenedReports.add(moduleReport);
+            }
+        }, stages).get();
+
+        Assertions.assertEquals(runReport.getModuleReports(), listenedReports);
+
+        ModuleReport moduleReport = runReport.getModuleReports().get(0);
+        Assertions.assertEquals(ModuleA.class, moduleReport.module());
+        Assertions.assertTrue(moduleReport.executionCpuNanos() >= 0);
+        Assertions.assertTrue(moduleReport.constructionCpuNanos() >= 0);
+        Assertions.assertFalse(threadMXBean.isThreadCpuTimeEnabled());
+
+        threadMXBean.setThreadCpuTimeEnabled(cpuTimeEnabled);
+    }
+
+    @Test
+    public void stageRunnerResourceAccountingDisabledTest() throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        ModuleInformation<?> moduleInformationA = ModuleInformationResolver.resolveInformation(
+                ModuleA.class,
+                moduleInformationMap
+        );
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, moduleInformationA));
+
+        RunReport runReport = StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        }, stages).get();
+
+        ModuleReport moduleReport = runReport.getModuleReports().get(0);
+        Assertions.assertEquals(-1, moduleReport.executionCpuNanos());
+        Assertions.assertEquals(-1, moduleReport.executionAllocatedBytes());
+    }
+
+    @Test
+    public void stageRunnerCacheTest(@TempDir Path directory) throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setCacheDirectory(directory);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        ModuleInformation<?> moduleInformationA = ModuleInformationResolver.resolveInformation(
+                CachedModuleA.class,
+                moduleInformationMap
+        );
+        ModuleInformation<?> moduleInformationB = ModuleInformationResolver.resolveInformation(
+                CachedModuleB.class,
+                moduleInformationMap
+        );
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, moduleInformationA));
+        stages.add(new Stage(1, moduleInformationB));
+
+        ModuleScheduler moduleScheduler = new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        };
+
+        CachedModuleA.EXECUTIONS.set(0);
+        RunReport firstReport = StageRunner.runStages(schedulerSettings, moduleScheduler, stages).get();
+
+        Assertions.assertEquals(2, CachedModuleA.EXECUTIONS.get());
+        Assertions.assertFalse(firstReport.getModuleReports().get(0).cached());
+
+        RunReport secondReport = StageRunner.runStages(schedulerSettings, moduleScheduler, stages).get();
+
+        Assertions.assertEquals(2, CachedModuleA.EXECUTIONS.get());
+        for (ModuleReport moduleReport : secondReport.getModuleReports()) {
+            Assertions.assertTrue(moduleReport.cached());
+        }
+    }
+
+    @Test
+    public void stageRunnerCheckpointTest(@TempDir Path directory) throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        Path journalFile = directory.resolve("run.journal");
+        schedulerSettings.setCheckpointJournal(journalFile);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        ModuleInformation<?> moduleInformationA = ModuleInformationResolver.resolveInformation(
+                CheckpointModuleA.class,
+                moduleInformationMap
+        );
+        ModuleInformation<?> moduleInformationB = ModuleInformationResolver.resolveInformation(
+                CheckpointModuleB.class,
+                moduleInformationMap
+        );
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, moduleInformationA));
+        stages.add(new Stage(1, moduleInformationB));
+
+        ModuleScheduler moduleScheduler = new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        };
+
+        CheckpointModuleA.EXECUTIONS.set(0);
+        CheckpointModuleB.FAIL.set(true);
+        Assertions.assertThrows(
+                ExecutionException.class,
+                () -> StageRunner.runStages(schedulerSettings, moduleScheduler, stages).get()
+        );
+        Assertions.assertEquals(1, CheckpointModuleA.EXECUTIONS.get());
+        Assertions.assertTrue(Files.exists(journalFile));
+
+        CheckpointModuleB.FAIL.set(false);
+        RunReport runReport = StageRunner.runStages(schedulerSettings, moduleScheduler, stages).get();
+
+        Assertions.assertEquals(1, CheckpointModuleA.EXECUTIONS.get());
+        Assertions.assertTrue(runReport.getModuleReports().get(0).resumed());
+        Assertions.assertFalse(runReport.getModuleReports().get(1).resumed());
+        Assertions.assertFalse(Files.exists(journalFile));
+    }
+
+    @Test
+    public void stageRunnerResourceGroupTest() throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setParallelism(4);
+
+        Assertions.assertEquals(1, runResourceGroup(schedulerSettings));
+        Assertions.assertTrue(OtherResourceModule.OVERLAPPED.get());
+
+        schedulerSettings.setResourceGroupPermits("disk", 2);
+        Assertions.assertEquals(2, runResourceGroup(schedulerSettings));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> schedulerSettings.setResourceGroupPermits("disk", 0)
+        );
+    }
+
+    private static int runResourceGroup(ModuleSchedulerSettings schedulerSettings)
+            throws ExecutionException, InterruptedException {
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        List<Class<? extends Module>> modules = List.of(
+                DiskModuleA.class,
+                DiskModuleB.class,
+                DiskModuleC.class,
+                OtherResourceModule.class
+        );
+        TreeSet<Stage> stages = new TreeSet<>();
+        for (int i = 0; i < modules.size(); i++) {
+            stages.add(new Stage(i, ModuleInformationResolver.resolveInformation(modules.get(i), moduleInformationMap)));
+        }
+
+        DiskModule.RUNNING.set(0);
+        DiskModule.MAX_RUNNING.set(0);
+        OtherResourceModule.OVERLAPPED.set(false);
+
+        StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+            }
+        }, stages).get();
+
+        return DiskModule.MAX_RUNNING.get();
+    }
+
+    @Test
+    public void stageRunnerExecutionClassTest() throws ExecutionException, InterruptedException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setExecutor("custom", (runnable) -> new Thread(runnable, "custom-executor").start());
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(BlockingModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(CustomModule.class, moduleInformationMap)));
+        stages.add(new Stage(2, ModuleInformationResolver.resolveInformation(ComputeModule.class, moduleInformationMap)));
+
+        Map<Class<?>, Thread> threads = new ConcurrentHashMap<>();
+        List<Class<?>> executed = Collections.synchronizedList(new ArrayList<>());
+
+        StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+                threads.put(module.getClass(), Thread.currentThread());
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+                executed.add(module.getClass());
+            }
+        }, stages).get();
+
+        Assertions.assertEquals(List.of(BlockingModule.class, CustomModule.class, ComputeModule.class), executed);
+        Assertions.assertInstanceOf(StageRunner.class, threads.get(ComputeModule.class));
+        Assertions.assertEquals("custom-executor", threads.get(CustomModule.class).getName());
+        Assertions.assertFalse(threads.get(BlockingModule.class) instanceof StageRunner);
+        Assertions.assertEquals(3, schedulerSettings.getModuleRegistry().size());
+        Assertions.assertNotNull(schedulerSettings.getModuleRegistry().get(ComputeModule.class));
+    }
+
+    @Test
+    public void stageRunnerUnknownExecutorTest() {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(BlockingModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(CustomModule.class, moduleInformationMap)));
+
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+                    @Override
+                    public void updateSettings(ModuleSchedulerSettings settings) {
+
+                    }
+
+                    @Override
+                    public void beforeModuleExecute(Module module) {
+                    }
+
+                    @Override
+                    public void afterModuleExecute(Module module) {
+                    }
+                }, stages).get()
+        );
+
+        Assertions.assertInstanceOf(ModuleException.class, exception.getCause());
+    }
+
+    @Test
+    public void stageRunnerStreamingTest() throws ExecutionException, InterruptedException, TimeoutException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(ProducerModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(ConsumerModule.class, moduleInformationMap)));
+
+        List<Module> executed = Collections.synchronizedList(new ArrayList<>());
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+                events.add("before " + module.getClass().getSimpleName());
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+                events.add("after " + module.getClass().getSimpleName());
+                executed.add(module);
+            }
+        }, stages).get(30, TimeUnit.SECONDS);
+
+        ConsumerModule consumerModule = (ConsumerModule) executed.stream()
+                .filter(ConsumerModule.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(ProducerModule.ITEMS * (ProducerModule.ITEMS - 1) / 2, consumerModule.sum);
+        Assertions.assertTrue(consumerModule.overlapped);
+        Assertions.assertEquals(2, executed.size());
+        Assertions.assertTrue(events.indexOf("before ProducerModule") >= 0);
+        Assertions.assertTrue(events.indexOf("before ProducerModule") < events.indexOf("after ConsumerModule"));
+    }
+
+    @Test
+    public void stageRunnerStreamingLimitTest() throws ExecutionException, InterruptedException, TimeoutException {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+        schedulerSettings.setBlockingParallelism(1);
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(ProducerModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(ConsumerModule.class, moduleInformationMap)));
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(GroupProducerModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(GroupConsumerModule.class, moduleInformationMap)));
+
+        List<Module> executed = Collections.synchronizedList(new ArrayList<>());
+
+        StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+            @Override
+            public void updateSettings(ModuleSchedulerSettings settings) {
+
+            }
+
+            @Override
+            public void beforeModuleExecute(Module module) {
+            }
+
+            @Override
+            public void afterModuleExecute(Module module) {
+                executed.add(module);
+            }
+        }, stages).get(30, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(4, executed.size());
+        for (Module module : executed) {
+            if (module instanceof ConsumerModule consumerModule) {
+                Assertions.assertEquals(ProducerModule.ITEMS * (ProducerModule.ITEMS - 1) / 2, consumerModule.sum);
+            }
+        }
+    }
+
+    @Test
+    public void stageRunnerStreamingFailureTest() {
+        ModuleSchedulerSettings schedulerSettings = new ModuleSchedulerSettings();
+
+        Map<Class<? extends Module>, ModuleInformation<?>> moduleInformationMap =
+                new TreeMap<>(Comparator.comparing(Class::getName));
+
+        TreeSet<Stage> stages = new TreeSet<>();
+        stages.add(new Stage(0, ModuleInformationResolver.resolveInformation(ProducerModule.class, moduleInformationMap)));
+        stages.add(new Stage(1, ModuleInformationResolver.resolveInformation(FailingConsumerModule.class, moduleInformationMap)));
+
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> StageRunner.runStages(schedulerSettings, new ModuleScheduler() {
+                    @Override
+                    public void updateSettings(ModuleSchedulerSettings settings) {
+
+                    }
+
+                    @Override
+                    public void beforeModuleExecute(Module module) {
+                    }
+
+                    @Override
+                    public void afterModuleExecute(Module module) {
+                    }
+                }, stages).get(30, TimeUnit.SECONDS)
+        );
+
+        Assertions.assertInstanceOf(ModuleException.class, exception.getCause());
+    }
+
     public static class ModuleA implements Module {
 
 
@@ -234,4 +743,225 @@ public class StagingRunnerTest {
 
         }
     }
+
+    @Cacheable(CachedModuleA.Codec.class)
+    public static class CachedModuleA implements Module {
+        private static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+        @Override
+        public void onExecute() {
+            EXECUTIONS.incrementAndGet();
+        }
+
+        public static class Codec implements ModuleCodec<CachedModuleA> {
+            @Override
+            public String inputKey() {
+                return "a";
+            }
+
+            @Override
+            public void encode(CachedModuleA module, DataOutput output) {
+            }
+
+            @Override
+            public CachedModuleA decode(DataInput input) {
+                return new CachedModuleA();
+            }
+        }
+    }
+
+    @Dependency({CachedModuleA.class})
+    @Cacheable(CachedModuleB.Codec.class)
+    public static class CachedModuleB implements Module {
+
+        @Contract(pure = true)
+        public CachedModuleB(CachedModuleA moduleA) {
+        }
+
+        @Override
+        public void onExecute() {
+            CachedModuleA.EXECUTIONS.incrementAndGet();
+        }
+
+        public static class Codec implements ModuleCodec<CachedModuleB> {
+            @Override
+            public String inputKey() {
+                return "b";
+            }
+
+            @Override
+            public void encode(CachedModuleB module, DataOutput output) {
+            }
+
+            @Override
+            public CachedModuleB decode(DataInput input) {
+                return new CachedModuleB(null);
+            }
+        }
+    }
+
+    @Checkpoint
+    public static class CheckpointModuleA implements Module {
+        private static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+        @Override
+        public void onExecute() {
+            EXECUTIONS.incrementAndGet();
+        }
+    }
+
+    @Dependency({CheckpointModuleA.class})
+    @Checkpoint
+    public static class CheckpointModuleB implements Module {
+        private static final AtomicBoolean FAIL = new AtomicBoolean();
+
+        @Contract(pure = true)
+        public CheckpointModuleB(CheckpointModuleA moduleA) {
+        }
+
+        @Override
+        public void onExecute() {
+            if (FAIL.get()) {
+                throw new IllegalStateException("Interrupted run.");
+            }
+        }
+    }
+
+    public abstract static class DiskModule implements Module {
+        private static final AtomicInteger RUNNING = new AtomicInteger();
+        private static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+        @Override
+        public void onExecute() {
+            int running = RUNNING.incrementAndGet();
+            MAX_RUNNING.accumulateAndGet(running, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+    }
+
+    @ResourceGroup("disk")
+    public static class DiskModuleA extends DiskModule {
+    }
+
+    @ResourceGroup("disk")
+    public static class DiskModuleB extends DiskModule {
+    }
+
+    @ResourceGroup("disk")
+    @ResourceGroup("network")
+    public static class DiskModuleC extends DiskModule {
+    }
+
+    @ResourceGroup(value = "network", permits = 2)
+    public static class OtherResourceModule implements Module {
+        private static final AtomicBoolean OVERLAPPED = new AtomicBoolean();
+
+        @Override
+        public void onExecute() {
+            try {
+                Thread.sleep(25);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            OVERLAPPED.set(DiskModule.RUNNING.get() > 0);
+        }
+    }
+
+    @Execution(ExecutionClass.BLOCKING)
+    public static class BlockingModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({BlockingModule.class})
+    @Execution(value = ExecutionClass.CUSTOM, executor = "custom")
+    public static class CustomModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    @Dependency({CustomModule.class})
+    @Execution(ExecutionClass.COMPUTE)
+    public static class ComputeModule implements Module {
+        @Override
+        public void onExecute() {
+        }
+    }
+
+    public static class ProducerModule implements StreamingModule<Integer> {
+        private static final int ITEMS = 1000;
+        private final ModuleChannel<Integer> channel = new ModuleChannel<>(4);
+        private volatile boolean producing;
+
+        @Override
+        public @NotNull ModuleChannel<Integer> getChannel() {
+            return channel;
+        }
+
+        @Override
+        public void onExecute() {
+            producing = true;
+            for (int i = 0; i < ITEMS; i++) {
+                channel.send(i);
+            }
+            producing = false;
+        }
+    }
+
+    @Streaming({ProducerModule.class})
+    public static class ConsumerModule implements Module {
+        private final ProducerModule producerModule;
+        private long sum;
+        private boolean overlapped;
+
+        @Contract(pure = true)
+        public ConsumerModule(ProducerModule producerModule) {
+            this.producerModule = producerModule;
+        }
+
+        @Override
+        public void onExecute() {
+            for (int item : producerModule.getChannel()) {
+                overlapped |= producerModule.producing;
+                sum += item;
+            }
+        }
+    }
+
+    @ResourceGroup("pipeline")
+    public static class GroupProducerModule extends ProducerModule {
+    }
+
+    @ResourceGroup("pipeline")
+    @Streaming({GroupProducerModule.class})
+    public static class GroupConsumerModule extends ConsumerModule {
+        @Contract(pure = true)
+        public GroupConsumerModule(GroupProducerModule producerModule) {
+            super(producerModule);
+        }
+    }
+
+    @Streaming({ProducerModule.class})
+    public static class FailingConsumerModule implements Module {
+        private final ProducerModule producerModule;
+
+        @Contract(pure = true)
+        public FailingConsumerModule(ProducerModule producerModule) {
+            this.producerModule = producerModule;
+        }
+
+        @Override
+        public void onExecute() {
+            producerModule.getChannel().receive();
+            throw new IllegalStateException("The consumer failed.");
+        }
+    }
 }